@@ -15,6 +15,7 @@ import android.hardware.camera2.CameraCaptureSession;
 import android.hardware.camera2.CameraDevice;
 import android.hardware.camera2.CameraManager;
 import android.hardware.camera2.CameraMetadata;
+import android.hardware.camera2.CaptureFailure;
 import android.hardware.camera2.CaptureRequest;
 import android.hardware.camera2.TotalCaptureResult;
 import android.hardware.camera2.params.OutputConfiguration;
@@ -59,6 +60,8 @@ import io.flutter.plugins.camera.features.resolution.ResolutionFeature;
 import io.flutter.plugins.camera.features.resolution.ResolutionPreset;
 import io.flutter.plugins.camera.features.sensororientation.DeviceOrientationManager;
 import io.flutter.plugins.camera.features.zoomlevel.ZoomLevelFeature;
+import io.flutter.plugins.camera.media.ImageStreamDeliveryMode;
+import io.flutter.plugins.camera.media.ImageStreamPreprocessor;
 import io.flutter.plugins.camera.media.ImageStreamReader;
 import io.flutter.plugins.camera.media.MediaRecorderBuilder;
 import io.flutter.plugins.camera.types.CameraCaptureProperties;
@@ -71,7 +74,15 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @FunctionalInterface
 interface ErrorCallback {
@@ -85,6 +96,19 @@ class Camera
 
   private static final HashMap<String, Integer> supportedImageFormats;
 
+  /** The maximum number of pictures that can be requested in a single burst. */
+  @VisibleForTesting static final int MAX_BURST_SIZE = 10;
+
+  /**
+   * The number of JPEG images the picture reader can hold at once. Images are closed as soon as
+   * their bytes are copied, so this only needs to cover images that arrive back to back in a burst.
+   */
+  private static final int MAX_PICTURE_IMAGES = 2;
+
+  // A burst fails unless all its pictures arrive within this base time plus a time per picture.
+  private static final long BURST_TIMEOUT_MS = 3000;
+  private static final long BURST_TIMEOUT_MS_PER_PICTURE = 1000;
+
   // Current supported outputs.
   static {
     supportedImageFormats = new HashMap<>();
@@ -128,6 +152,12 @@ class Camera
   /** An additional thread for running tasks that shouldn't block the UI. */
   private HandlerThread backgroundHandlerThread;
 
+  /**
+   * Writes pictures to disk, so that file I/O does not block the capture callbacks, focus and
+   * exposure requests and the image stream serviced by {@link #backgroundHandler}.
+   */
+  @VisibleForTesting @Nullable ExecutorService imageSaverExecutor;
+
   CameraDeviceWrapper cameraDevice;
   CameraCaptureSession captureSession;
   @VisibleForTesting ImageReader pictureImageReader;
@@ -140,8 +170,18 @@ class Camera
   boolean recordingVideo;
   /** True when the preview is paused. */
   @VisibleForTesting boolean pausedPreview;
+  /** True when streamed frames should reuse pooled plane buffers. */
+  private boolean imageStreamBufferPoolEnabled;
+  /** How streamed frames are dropped when dart does not keep up. */
+  private ImageStreamDeliveryMode imageStreamDeliveryMode = ImageStreamDeliveryMode.all;
+  /** The queue size or frame interval used by {@link #imageStreamDeliveryMode}. */
+  private int imageStreamDeliveryCount = 1;
+  /** Optional crop/downscale/rotate stage for streamed frames. */
+  @Nullable private ImageStreamPreprocessor imageStreamPreprocessor;
 
   private File captureFile;
+  /** The {@link System#nanoTime()} at which the current picture was requested. */
+  private long pictureRequestedNanos;
 
   /** Holds the current capture timeouts */
   private CaptureTimeoutsWrapper captureTimeouts;
@@ -361,7 +401,7 @@ class Camera
             resolutionFeature.getCaptureSize().getWidth(),
             resolutionFeature.getCaptureSize().getHeight(),
             ImageFormat.JPEG,
-            1);
+            MAX_PICTURE_IMAGES);
 
     // For image streaming, use the provided image format or fall back to YUV420.
     Integer imageFormat = supportedImageFormats.get(imageFormatGroup);
@@ -375,6 +415,9 @@ class Camera
             resolutionFeature.getPreviewSize().getHeight(),
             imageFormat,
             1);
+    imageStreamReader.setBufferPoolEnabled(imageStreamBufferPoolEnabled);
+    imageStreamReader.setDeliveryPolicy(imageStreamDeliveryMode, imageStreamDeliveryCount);
+    imageStreamReader.setPreprocessor(imageStreamPreprocessor);
 
     // Open the camera.
     CameraManager cameraManager = CameraUtils.getCameraManager(activity);
@@ -626,6 +669,7 @@ class Camera
     }
 
     flutterResult = result;
+    pictureRequestedNanos = System.nanoTime();
 
     // Create temporary file.
     final File outputDir = applicationContext.getCacheDir();
@@ -698,11 +742,38 @@ class Camera
     // This is the CaptureRequest.Builder that is used to take a picture.
     CaptureRequest.Builder stillBuilder;
     try {
-      stillBuilder = cameraDevice.createCaptureRequest(CameraDevice.TEMPLATE_STILL_CAPTURE);
+      stillBuilder = createStillCaptureRequestBuilder();
     } catch (CameraAccessException e) {
       dartMessenger.error(flutterResult, "cameraAccess", e.getMessage(), null);
       return;
     }
+
+    CameraCaptureSession.CaptureCallback captureCallback =
+        new CameraCaptureSession.CaptureCallback() {
+          @Override
+          public void onCaptureCompleted(
+              @NonNull CameraCaptureSession session,
+              @NonNull CaptureRequest request,
+              @NonNull TotalCaptureResult result) {
+            unlockAutoFocus();
+          }
+        };
+
+    try {
+      Log.i(TAG, "sending capture request");
+      captureSession.capture(stillBuilder.build(), captureCallback, backgroundHandler);
+    } catch (CameraAccessException e) {
+      dartMessenger.error(flutterResult, "cameraAccess", e.getMessage(), null);
+    }
+  }
+
+  /**
+   * Creates a still capture request targeting {@link #pictureImageReader}, with the current zoom,
+   * feature settings and orientation applied.
+   */
+  private CaptureRequest.Builder createStillCaptureRequestBuilder() throws CameraAccessException {
+    CaptureRequest.Builder stillBuilder =
+        cameraDevice.createCaptureRequest(CameraDevice.TEMPLATE_STILL_CAPTURE);
     stillBuilder.addTarget(pictureImageReader.getSurface());
 
     // Zoom.
@@ -721,23 +792,244 @@ class Camera
         lockedOrientation == null
             ? getDeviceOrientationManager().getPhotoOrientation()
             : getDeviceOrientationManager().getPhotoOrientation(lockedOrientation));
+    return stillBuilder;
+  }
 
-    CameraCaptureSession.CaptureCallback captureCallback =
+  /**
+   * Takes several pictures in one burst.
+   *
+   * <p>All still requests are submitted at once, without running the focus and precapture
+   * sequences. Each picture is handed to {@link #imageSaverExecutor} as soon as it arrives, so
+   * capturing does not wait for earlier pictures to be written. The result receives the paths of
+   * all pictures, in capture order, once every picture has been saved. It receives an error instead
+   * if a picture fails to be captured, or if the burst does not complete in time.
+   *
+   * @param result is the result to report the list of saved paths to.
+   * @param count is the number of pictures to take, between 1 and {@link #MAX_BURST_SIZE}.
+   */
+  public void takePictureBurst(@NonNull final Result result, int count) {
+    if (cameraCaptureCallback.getCameraState() != CameraState.STATE_PREVIEW) {
+      result.error("captureAlreadyActive", "Picture is currently already being captured", null);
+      return;
+    }
+    if (count < 1 || count > MAX_BURST_SIZE) {
+      result.error("invalidBurstSize", "Burst size must be between 1 and " + MAX_BURST_SIZE, null);
+      return;
+    }
+    if (cameraDevice == null || captureSession == null) {
+      result.error("cameraAccess", "Camera is not open", null);
+      return;
+    }
+
+    List<CaptureRequest> requests = new ArrayList<>();
+    try {
+      CaptureRequest.Builder stillBuilder = createStillCaptureRequestBuilder();
+      for (int i = 0; i < count; i++) {
+        requests.add(stillBuilder.build());
+      }
+    } catch (CameraAccessException e) {
+      result.error("cameraAccess", e.getMessage(), null);
+      return;
+    }
+
+    final long requestedNanos = System.nanoTime();
+    final String[] paths = new String[count];
+    final AtomicInteger pendingSaves = new AtomicInteger(count);
+    final AtomicBoolean failed = new AtomicBoolean(false);
+    final File outputDir = applicationContext.getCacheDir();
+    final ErrorCallback onError =
+        (String errorCode, String errorMessage) -> {
+          if (failed.compareAndSet(false, true)) {
+            dartMessenger.error(result, errorCode, errorMessage, null);
+          }
+        };
+
+    // The capture callbacks, the image listener and the timeout all run on the background thread,
+    // so the burst state needs no synchronization.
+    final BurstCapture burstCapture = new BurstCapture(count, onError);
+    final ImageReader.OnImageAvailableListener burstListener =
+        new ImageReader.OnImageAvailableListener() {
+          private int received;
+
+          @Override
+          public void onImageAvailable(ImageReader reader) {
+            Image image = reader.acquireNextImage();
+            if (image == null) {
+              return;
+            }
+            final int index = received++;
+            burstCapture.onImageReceived();
+            if (failed.get()) {
+              // The burst already failed; only drain the images still in flight.
+              image.close();
+              return;
+            }
+
+            File file;
+            try {
+              file = File.createTempFile("CAP", ".jpg", outputDir);
+            } catch (IOException | SecurityException e) {
+              image.close();
+              pendingSaves.decrementAndGet();
+              onError.onError("cannotCreateFile", e.getMessage());
+              return;
+            }
+
+            ImageSaver.Timings timings = new ImageSaver.Timings(System.nanoTime() - requestedNanos);
+            saveImage(
+                image,
+                file,
+                timings,
+                new ImageSaver.Callback() {
+                  @Override
+                  public void onComplete(@NonNull String absolutePath) {
+                    dartMessenger.sendPictureSavedEvent(absolutePath, timings);
+                    paths[index] = absolutePath;
+                    if (pendingSaves.decrementAndGet() == 0 && !failed.get()) {
+                      dartMessenger.finish(result, Arrays.asList(paths));
+                    }
+                  }
+
+                  @Override
+                  public void onError(@NonNull String errorCode, @NonNull String errorMessage) {
+                    pendingSaves.decrementAndGet();
+                    onError.onError(errorCode, errorMessage);
+                  }
+                });
+          }
+        };
+
+    pictureImageReader.setOnImageAvailableListener(burstListener, backgroundHandler);
+    cameraCaptureCallback.setCameraState(CameraState.STATE_CAPTURING);
+    backgroundHandler.postDelayed(
+        burstCapture.timeout, BURST_TIMEOUT_MS + (long) count * BURST_TIMEOUT_MS_PER_PICTURE);
+    try {
+      Log.i(TAG, "sending burst capture request");
+      captureSession.captureBurst(requests, burstCapture.captureCallback, backgroundHandler);
+    } catch (CameraAccessException e) {
+      burstCapture.abort("cameraAccess", e.getMessage());
+    }
+  }
+
+  /**
+   * Tracks the capture phase of a {@link #takePictureBurst} call, and hands the picture reader and
+   * the camera state back once no more images of the burst can arrive.
+   *
+   * <p>A failed or timed out burst is reported right away, but the burst listener stays installed
+   * until the capture sequence ends, so that late images are closed by it instead of being saved
+   * as a single picture.
+   */
+  private final class BurstCapture {
+    private final int count;
+    private final ErrorCallback onError;
+    private int receivedImages;
+    private int failedFrames;
+    private boolean sequenceCompleted;
+    private boolean timedOut;
+    private boolean released;
+
+    final Runnable timeout =
+        () -> {
+          timedOut = true;
+          onError.onError("captureTimeout", "The burst capture did not complete in time");
+          releaseIfDone();
+        };
+
+    final CameraCaptureSession.CaptureCallback captureCallback =
         new CameraCaptureSession.CaptureCallback() {
           @Override
-          public void onCaptureCompleted(
+          public void onCaptureFailed(
               @NonNull CameraCaptureSession session,
               @NonNull CaptureRequest request,
-              @NonNull TotalCaptureResult result) {
-            unlockAutoFocus();
+              @NonNull CaptureFailure failure) {
+            failedFrames++;
+            onError.onError("captureFailed", "A picture of the burst could not be captured");
+            releaseIfDone();
+          }
+
+          @Override
+          public void onCaptureSequenceCompleted(
+              @NonNull CameraCaptureSession session, int sequenceId, long frameNumber) {
+            sequenceCompleted = true;
+            releaseIfDone();
+          }
+
+          @Override
+          public void onCaptureSequenceAborted(
+              @NonNull CameraCaptureSession session, int sequenceId) {
+            // No more images of the burst will arrive.
+            abort("captureAborted", "The burst capture was aborted");
           }
         };
 
+    BurstCapture(int count, @NonNull ErrorCallback onError) {
+      this.count = count;
+      this.onError = onError;
+    }
+
+    void onImageReceived() {
+      receivedImages++;
+      releaseIfDone();
+    }
+
+    /** Reports the error and releases the picture reader, once no image of the burst can arrive. */
+    void abort(@NonNull String errorCode, @Nullable String errorMessage) {
+      onError.onError(errorCode, errorMessage);
+      release();
+    }
+
+    private void releaseIfDone() {
+      // Images can still arrive after the sequence completed, so they are waited for until the
+      // timeout.
+      if (receivedImages + failedFrames >= count || (sequenceCompleted && timedOut)) {
+        release();
+      }
+    }
+
+    /** Restores the normal picture listener and camera state. */
+    private void release() {
+      if (released) {
+        return;
+      }
+      released = true;
+      if (backgroundHandler != null) {
+        backgroundHandler.removeCallbacks(timeout);
+      }
+      if (pictureImageReader != null) {
+        pictureImageReader.setOnImageAvailableListener(Camera.this, backgroundHandler);
+      }
+      cameraCaptureCallback.setCameraState(CameraState.STATE_PREVIEW);
+    }
+  }
+
+  /**
+   * Copies the bytes out of a captured JPEG image and queues them to be written on {@link
+   * #imageSaverExecutor}.
+   *
+   * <p>The image is closed before this method returns, so the reader can deliver the next picture
+   * while this one is waiting to be written.
+   */
+  private void saveImage(
+      @NonNull Image image,
+      @NonNull File file,
+      @NonNull ImageSaver.Timings timings,
+      @NonNull ImageSaver.Callback callback) {
+    ImageSaver imageSaver = new ImageSaver(image, file, timings, callback);
     try {
-      Log.i(TAG, "sending capture request");
-      captureSession.capture(stillBuilder.build(), captureCallback, backgroundHandler);
-    } catch (CameraAccessException e) {
-      dartMessenger.error(flutterResult, "cameraAccess", e.getMessage(), null);
+      imageSaver.releaseImage();
+    } catch (IllegalStateException e) {
+      callback.onError("IOError", "Failed reading image: " + e.getMessage());
+      return;
+    }
+
+    if (imageSaverExecutor == null) {
+      backgroundHandler.post(imageSaver);
+      return;
+    }
+    try {
+      imageSaverExecutor.execute(imageSaver);
+    } catch (RejectedExecutionException e) {
+      callback.onError("imageSaveQueueFull", "Too many pictures are waiting to be saved");
     }
   }
 
@@ -759,6 +1051,7 @@ class Camera
       // Ignore exception in case the thread has already started.
     }
     backgroundHandler = HandlerFactory.create(backgroundHandlerThread.getLooper());
+    imageSaverExecutor = ImageSaverExecutorFactory.create();
   }
 
   /** Stops the background thread and its {@link Handler}. */
@@ -768,6 +1061,11 @@ class Camera
     }
     backgroundHandlerThread = null;
     backgroundHandler = null;
+    if (imageSaverExecutor != null) {
+      // Let queued pictures finish saving, but do not accept new ones.
+      imageSaverExecutor.shutdown();
+      imageSaverExecutor = null;
+    }
   }
 
   /** Start capturing a picture, doing autofocus first. */
@@ -1203,6 +1501,102 @@ class Camera
     createCaptureSession(CameraDevice.TEMPLATE_RECORD, videoRenderer.getInputSurface());
   }
 
+  /**
+   * Enables or disables reuse of plane buffers for streamed frames.
+   *
+   * <p>The setting is kept across calls to {@link #open(String)}.
+   *
+   * @param enabled whether plane buffers should be pooled.
+   */
+  public void setImageStreamBufferPoolEnabled(boolean enabled) {
+    imageStreamBufferPoolEnabled = enabled;
+    if (imageStreamReader != null) {
+      imageStreamReader.setBufferPoolEnabled(enabled);
+    }
+  }
+
+  /**
+   * Sets the policy used to drop streamed frames when dart does not keep up with the camera.
+   *
+   * <p>The setting is kept across calls to {@link #open(String)}.
+   *
+   * @param mode is the {@link ImageStreamDeliveryMode} to apply.
+   * @param count is the queue size for {@link ImageStreamDeliveryMode#boundedQueue} and the
+   *     interval for {@link ImageStreamDeliveryMode#everyNth}.
+   */
+  public void setImageStreamDeliveryPolicy(@NonNull ImageStreamDeliveryMode mode, int count) {
+    imageStreamDeliveryMode = mode;
+    imageStreamDeliveryCount = count;
+    if (imageStreamReader != null) {
+      imageStreamReader.setDeliveryPolicy(mode, count);
+    }
+  }
+
+  /**
+   * Sets the preprocessing applied to streamed YUV frames before they are sent to dart.
+   *
+   * <p>The setting is kept across calls to {@link #open(String)}. When all arguments are at their
+   * defaults (no crop, factor 1, no rotation, all planes) preprocessing is disabled.
+   *
+   * @param cropLeft is the left edge of the region of interest, in sensor pixels.
+   * @param cropTop is the top edge of the region of interest, in sensor pixels.
+   * @param cropWidth is the width of the region of interest, or 0 for the full width.
+   * @param cropHeight is the height of the region of interest, or 0 for the full height.
+   * @param downscaleFactor is the integer factor by which frames are downscaled.
+   * @param rotateToSensorOrientation is whether frames are rotated upright using the sensor and
+   *     capture orientation, as is done for still pictures.
+   * @param grayscaleOnly is whether only the Y plane should be sent.
+   */
+  public void setImageStreamPreprocessing(
+      int cropLeft,
+      int cropTop,
+      int cropWidth,
+      int cropHeight,
+      int downscaleFactor,
+      boolean rotateToSensorOrientation,
+      boolean grayscaleOnly) {
+    boolean isIdentity =
+        cropLeft <= 0
+            && cropTop <= 0
+            && cropWidth <= 0
+            && cropHeight <= 0
+            && downscaleFactor <= 1
+            && !rotateToSensorOrientation
+            && !grayscaleOnly;
+    imageStreamPreprocessor =
+        isIdentity
+            ? null
+            : new ImageStreamPreprocessor(
+                cropLeft,
+                cropTop,
+                cropWidth,
+                cropHeight,
+                downscaleFactor,
+                grayscaleOnly,
+                rotateToSensorOrientation ? this::getImageStreamRotation : null);
+    if (imageStreamReader != null) {
+      imageStreamReader.setPreprocessor(imageStreamPreprocessor);
+    }
+  }
+
+  /** Returns the clockwise rotation that makes streamed frames upright. */
+  private int getImageStreamRotation() {
+    final PlatformChannel.DeviceOrientation lockedOrientation =
+        cameraFeatures.getSensorOrientation().getLockedCaptureOrientation();
+    return lockedOrientation == null
+        ? getDeviceOrientationManager().getPhotoOrientation()
+        : getDeviceOrientationManager().getPhotoOrientation(lockedOrientation);
+  }
+
+  /** Returns counters describing the image stream, or an empty map if the camera is not open. */
+  @NonNull
+  public Map<String, Object> getImageStreamStatistics() {
+    if (imageStreamReader == null) {
+      return new HashMap<>();
+    }
+    return imageStreamReader.getStatistics();
+  }
+
   public void startPreviewWithImageStream(EventChannel imageStreamChannel)
       throws CameraAccessException {
     setStreamHandler(imageStreamChannel);
@@ -1225,21 +1619,27 @@ class Camera
       return;
     }
 
-    backgroundHandler.post(
-        new ImageSaver(
-            image,
-            captureFile,
-            new ImageSaver.Callback() {
-              @Override
-              public void onComplete(String absolutePath) {
-                dartMessenger.finish(flutterResult, absolutePath);
-              }
+    // The next picture may be requested before this one has been written, so capture the
+    // per-picture state now.
+    final Result result = flutterResult;
+    final ImageSaver.Timings timings =
+        new ImageSaver.Timings(System.nanoTime() - pictureRequestedNanos);
+    saveImage(
+        image,
+        captureFile,
+        timings,
+        new ImageSaver.Callback() {
+          @Override
+          public void onComplete(@NonNull String absolutePath) {
+            dartMessenger.sendPictureSavedEvent(absolutePath, timings);
+            dartMessenger.finish(result, absolutePath);
+          }
 
-              @Override
-              public void onError(String errorCode, String errorMessage) {
-                dartMessenger.error(flutterResult, errorCode, errorMessage, null);
-              }
-            }));
+          @Override
+          public void onError(@NonNull String errorCode, @NonNull String errorMessage) {
+            dartMessenger.error(result, errorCode, errorMessage, null);
+          }
+        });
     cameraCaptureCallback.setCameraState(CameraState.STATE_PREVIEW);
   }
 
@@ -1421,6 +1821,37 @@ class Camera
     }
   }
 
+  /** Factory class that assists in creating the {@link ExecutorService} that saves pictures. */
+  static class ImageSaverExecutorFactory {
+    /** The number of pictures that can be written concurrently. */
+    private static final int THREAD_COUNT = 2;
+
+    /** The number of pictures that can wait to be written before new ones are rejected. */
+    private static final int QUEUE_CAPACITY = MAX_BURST_SIZE;
+
+    /**
+     * Creates a new bounded {@link ExecutorService} for {@link ImageSaver} tasks.
+     *
+     * <p>This method is visible for testing purposes only and should never be used outside this *
+     * class.
+     *
+     * @return new instance of the {@link ExecutorService} class.
+     */
+    @VisibleForTesting
+    public static ExecutorService create() {
+      ThreadPoolExecutor executor =
+          new ThreadPoolExecutor(
+              THREAD_COUNT,
+              THREAD_COUNT,
+              10,
+              TimeUnit.SECONDS,
+              new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+              runnable -> new Thread(runnable, "CameraImageSaver"));
+      executor.allowCoreThreadTimeOut(true);
+      return executor;
+    }
+  }
+
   /** Factory class that assists in creating a {@link Handler} instance. */
   static class HandlerFactory {
     /**
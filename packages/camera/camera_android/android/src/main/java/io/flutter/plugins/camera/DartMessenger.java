@@ -40,7 +40,9 @@ public class DartMessenger {
     /** Indicates that the camera is closing. */
     CLOSING("camera_closing"),
     /** Indicates that the camera is initialized. */
-    INITIALIZED("initialized");
+    INITIALIZED("initialized"),
+    /** Indicates that a picture has been saved, and how long each stage took. */
+    PICTURE_SAVED("picture_saved");
 
     final String method;
 
@@ -144,6 +146,18 @@ public class DartMessenger {
         });
   }
 
+  /**
+   * Sends a message to the Flutter client informing that a picture has been saved.
+   *
+   * @param path is the absolute path of the saved picture.
+   * @param timings describes how long each stage of taking and saving the picture took.
+   */
+  void sendPictureSavedEvent(@NonNull String path, @NonNull ImageSaver.Timings timings) {
+    Map<String, Object> args = timings.toMap();
+    args.put("path", path);
+    this.send(CameraEventType.PICTURE_SAVED, args);
+  }
+
   private void send(CameraEventType eventType) {
     send(eventType, new HashMap<>());
   }
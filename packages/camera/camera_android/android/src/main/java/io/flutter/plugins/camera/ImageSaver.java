@@ -6,18 +6,25 @@ package io.flutter.plugins.camera;
 
 import android.media.Image;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 import java.io.File;
+import java.io.FileDescriptor;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
 
 /** Saves a JPEG {@link Image} into the specified {@link File}. */
 public class ImageSaver implements Runnable {
 
-  /** The JPEG image */
-  private final Image image;
+  /** The JPEG image, or null once its bytes have been copied out. */
+  @Nullable private Image image;
+
+  /** The JPEG bytes, once they have been copied out of the image. */
+  @Nullable private byte[] bytes;
 
   /** The file we save the image into. */
   private final File file;
@@ -25,6 +32,9 @@ public class ImageSaver implements Runnable {
   /** Used to report the status of the save action. */
   private final Callback callback;
 
+  /** Receives the duration of each stage of the save action. */
+  private final Timings timings;
+
   /**
    * Creates an instance of the ImageSaver runnable
    *
@@ -33,27 +43,72 @@ public class ImageSaver implements Runnable {
    * @param callback - The callback that is run on completion, or when an error is encountered.
    */
   ImageSaver(@NonNull Image image, @NonNull File file, @NonNull Callback callback) {
+    this(image, file, new Timings(0), callback);
+  }
+
+  /**
+   * Creates an instance of the ImageSaver runnable that records the duration of each stage.
+   *
+   * @param image - The image to save
+   * @param file - The file to save the image to
+   * @param timings - Receives the stage durations. They are complete when the callback is run.
+   * @param callback - The callback that is run on completion, or when an error is encountered.
+   */
+  ImageSaver(
+      @NonNull Image image,
+      @NonNull File file,
+      @NonNull Timings timings,
+      @NonNull Callback callback) {
     this.image = image;
     this.file = file;
+    this.timings = timings;
     this.callback = callback;
   }
 
+  /**
+   * Copies the JPEG bytes out of the image and closes it.
+   *
+   * <p>This is done by {@link #run()} if it has not been called before. Calling it ahead of time,
+   * on the thread that acquired the image, frees the image reader to deliver the next capture
+   * while this one is still queued for writing.
+   */
+  void releaseImage() {
+    if (image == null) {
+      return;
+    }
+    long startNanos = System.nanoTime();
+    try {
+      ByteBuffer buffer = image.getPlanes()[0].getBuffer();
+      bytes = new byte[buffer.remaining()];
+      buffer.get(bytes);
+    } finally {
+      image.close();
+      image = null;
+    }
+    timings.copyNanos = System.nanoTime() - startNanos;
+  }
+
   @Override
   public void run() {
-    ByteBuffer buffer = image.getPlanes()[0].getBuffer();
-    byte[] bytes = new byte[buffer.remaining()];
-    buffer.get(bytes);
+    releaseImage();
+    long copiedNanos = System.nanoTime();
+
     FileOutputStream output = null;
     try {
       output = FileOutputStreamFactory.create(file);
       output.write(bytes);
+      long writtenNanos = System.nanoTime();
+      timings.writeNanos = writtenNanos - copiedNanos;
+
+      FileDescriptor fileDescriptor = output.getFD();
+      fileDescriptor.sync();
+      timings.syncNanos = System.nanoTime() - writtenNanos;
 
       callback.onComplete(file.getAbsolutePath());
 
     } catch (IOException e) {
       callback.onError("IOError", "Failed saving image");
     } finally {
-      image.close();
       if (null != output) {
         try {
           output.close();
@@ -85,6 +140,38 @@ public class ImageSaver implements Runnable {
     void onError(@NonNull String errorCode, @NonNull String errorMessage);
   }
 
+  /** Durations of the stages of taking and saving a picture, in nanoseconds. */
+  public static class Timings {
+    /** Time from the capture request until the JPEG image was available. */
+    final long captureNanos;
+    /** Time spent copying the JPEG bytes out of the image. */
+    long copyNanos;
+    /** Time spent writing the JPEG bytes to the file. */
+    long writeNanos;
+    /** Time spent flushing the file to storage. */
+    long syncNanos;
+
+    /**
+     * Creates a new instance of the {@link Timings} class.
+     *
+     * @param captureNanos is the time from the capture request until the image was available.
+     */
+    public Timings(long captureNanos) {
+      this.captureNanos = captureNanos;
+    }
+
+    /** Returns the stage durations in milliseconds, suitable to send back to dart. */
+    @NonNull
+    public Map<String, Object> toMap() {
+      Map<String, Object> map = new HashMap<>();
+      map.put("captureMillis", captureNanos / 1e6);
+      map.put("copyMillis", copyNanos / 1e6);
+      map.put("writeMillis", writeNanos / 1e6);
+      map.put("syncMillis", syncNanos / 1e6);
+      return map;
+    }
+  }
+
   /** Factory class that assists in creating a {@link FileOutputStream} instance. */
   static class FileOutputStreamFactory {
     /**
@@ -24,6 +24,7 @@ import io.flutter.plugins.camera.features.autofocus.FocusMode;
 import io.flutter.plugins.camera.features.exposurelock.ExposureMode;
 import io.flutter.plugins.camera.features.flash.FlashMode;
 import io.flutter.plugins.camera.features.resolution.ResolutionPreset;
+import io.flutter.plugins.camera.media.ImageStreamDeliveryMode;
 import io.flutter.view.TextureRegistry;
 import java.util.HashMap;
 import java.util.Map;
@@ -112,6 +113,11 @@ final class MethodCallHandlerImpl implements MethodChannel.MethodCallHandler {
           camera.takePicture(result);
           break;
         }
+      case "takePictureBurst":
+        {
+          camera.takePictureBurst(result, intArgument(call, "count", 1));
+          break;
+        }
       case "prepareForVideoRecording":
         {
           // This optimization is not required for Android.
@@ -273,6 +279,60 @@ final class MethodCallHandlerImpl implements MethodChannel.MethodCallHandler {
           }
           break;
         }
+      case "setImageStreamBufferPoolEnabled":
+        {
+          try {
+            camera.setImageStreamBufferPoolEnabled(Objects.equals(call.argument("enabled"), true));
+            result.success(null);
+          } catch (Exception e) {
+            handleException(e, result);
+          }
+          break;
+        }
+      case "setImageStreamDeliveryPolicy":
+        {
+          String modeStr = call.argument("mode");
+          ImageStreamDeliveryMode mode = ImageStreamDeliveryMode.getValueForString(modeStr);
+          if (mode == null) {
+            result.error(
+                "setImageStreamDeliveryPolicyFailed", "Unknown delivery mode " + modeStr, null);
+            return;
+          }
+          Integer count = call.argument("count");
+          try {
+            camera.setImageStreamDeliveryPolicy(mode, count == null ? 1 : count);
+            result.success(null);
+          } catch (Exception e) {
+            handleException(e, result);
+          }
+          break;
+        }
+      case "setImageStreamPreprocessing":
+        {
+          try {
+            camera.setImageStreamPreprocessing(
+                intArgument(call, "cropLeft", 0),
+                intArgument(call, "cropTop", 0),
+                intArgument(call, "cropWidth", 0),
+                intArgument(call, "cropHeight", 0),
+                intArgument(call, "downscaleFactor", 1),
+                Objects.equals(call.argument("rotateToSensorOrientation"), true),
+                Objects.equals(call.argument("grayscaleOnly"), true));
+            result.success(null);
+          } catch (Exception e) {
+            handleException(e, result);
+          }
+          break;
+        }
+      case "getImageStreamStatistics":
+        {
+          try {
+            result.success(camera.getImageStreamStatistics());
+          } catch (Exception e) {
+            handleException(e, result);
+          }
+          break;
+        }
       case "getMaxZoomLevel":
         {
           assert camera != null;
@@ -381,6 +441,11 @@ final class MethodCallHandlerImpl implements MethodChannel.MethodCallHandler {
     }
   }
 
+  private static int intArgument(MethodCall call, String key, int defaultValue) {
+    Integer value = call.argument(key);
+    return value == null ? defaultValue : value;
+  }
+
   void stopListening() {
     methodChannel.setMethodCallHandler(null);
   }
@@ -0,0 +1,98 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import androidx.annotation.NonNull;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * A bounded pool of byte arrays used to hold streamed frame data.
+ *
+ * <p>Buffers are acquired on the camera background thread while a frame is being parsed, and
+ * released on the main thread once the frame has been handed to the {@link
+ * io.flutter.plugin.common.EventChannel.EventSink}, which copies the bytes into the platform
+ * message. In steady state (constant resolution and format) every frame is served from the pool
+ * and {@link #getAllocationCount()} stops increasing.
+ */
+public class ImageStreamBufferPool {
+  private final int maxPooledBuffers;
+  private final ArrayDeque<byte[]> freeBuffers = new ArrayDeque<>();
+
+  private long allocationCount;
+  private long reuseCount;
+
+  /**
+   * Creates a new instance of the {@link ImageStreamBufferPool}.
+   *
+   * @param maxPooledBuffers is the maximum number of free buffers retained by the pool. Buffers
+   *     released while the pool is full are left to the garbage collector.
+   */
+  public ImageStreamBufferPool(int maxPooledBuffers) {
+    this.maxPooledBuffers = maxPooledBuffers;
+  }
+
+  /**
+   * Returns a buffer of exactly {@code size} bytes, reusing a free buffer when one is available.
+   *
+   * <p>The returned buffer's contents are undefined and must be fully overwritten by the caller.
+   *
+   * @param size is the required buffer length in bytes.
+   * @return a buffer whose length is {@code size}.
+   */
+  @NonNull
+  public synchronized byte[] acquire(int size) {
+    Iterator<byte[]> iterator = freeBuffers.iterator();
+    while (iterator.hasNext()) {
+      byte[] buffer = iterator.next();
+      if (buffer.length == size) {
+        iterator.remove();
+        reuseCount++;
+        return buffer;
+      }
+    }
+
+    allocationCount++;
+    return new byte[size];
+  }
+
+  /**
+   * Returns a buffer previously obtained from {@link #acquire(int)} to the pool.
+   *
+   * <p>When the pool is full the oldest free buffer is evicted, so buffers of a stale size (e.g.
+   * after a resolution change) are eventually dropped.
+   *
+   * @param buffer is the buffer to return. It must no longer be referenced by the caller.
+   */
+  public synchronized void release(@NonNull byte[] buffer) {
+    if (maxPooledBuffers <= 0) {
+      return;
+    }
+    if (freeBuffers.size() >= maxPooledBuffers) {
+      freeBuffers.pollFirst();
+    }
+    freeBuffers.addLast(buffer);
+  }
+
+  /** Drops all free buffers held by the pool. Counters are left untouched. */
+  public synchronized void clear() {
+    freeBuffers.clear();
+  }
+
+  /** Returns the number of buffers that had to be newly allocated by {@link #acquire(int)}. */
+  public synchronized long getAllocationCount() {
+    return allocationCount;
+  }
+
+  /** Returns the number of buffers that were served from the pool by {@link #acquire(int)}. */
+  public synchronized long getReuseCount() {
+    return reuseCount;
+  }
+
+  /** Returns the number of free buffers currently held by the pool. */
+  public synchronized int getPooledBufferCount() {
+    return freeBuffers.size();
+  }
+}
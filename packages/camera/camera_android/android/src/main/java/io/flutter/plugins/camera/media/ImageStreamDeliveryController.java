@@ -0,0 +1,243 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import android.os.Handler;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides which streamed frames are sent to dart and posts them to the main thread.
+ *
+ * <p>Frames are parsed on the camera background thread but handed to the event sink on the main
+ * thread. Without any limit, a slow consumer lets the main thread queue grow without bound. This
+ * class tracks the number of frames that have been posted but not yet delivered ("in flight") and
+ * drops frames according to the configured {@link ImageStreamDeliveryMode}.
+ *
+ * <p>In {@link ImageStreamDeliveryMode#latestOnly} mode, a single frame is parsed and in flight at
+ * a time. Frames arriving meanwhile are not parsed: only the newest one is kept, replacing (and
+ * discarding) the one kept before, and it is processed once the frame in flight was delivered.
+ */
+public class ImageStreamDeliveryController {
+  /** A parsed frame waiting to be delivered. */
+  public interface Frame {
+    /** Sends the frame to dart. Always called on the main thread. */
+    void deliver();
+  }
+
+  /** A frame that was acquired but not parsed yet. */
+  public interface PendingFrame {
+    /**
+     * Parses the frame and passes it to {@link #post(Frame)}, or calls {@link #onFrameFailed()}.
+     * Called on the processing thread.
+     */
+    void process();
+
+    /** Releases the frame without parsing it. */
+    void discard();
+  }
+
+  private final Handler mainHandler;
+  @Nullable private volatile Handler processingHandler;
+
+  private volatile ImageStreamDeliveryMode mode = ImageStreamDeliveryMode.all;
+  private volatile int count = 1;
+
+  // Guarded by this. Whether a frame accepted in latestOnly mode has not been delivered yet.
+  private boolean latestFrameInFlight;
+  // Guarded by this. The newest frame that arrived while latestFrameInFlight.
+  @Nullable private PendingFrame pendingFrame;
+
+  private final AtomicInteger inFlightFrames = new AtomicInteger();
+  private final AtomicLong frameIndex = new AtomicLong();
+  private final AtomicLong deliveredFrames = new AtomicLong();
+  private final AtomicLong droppedFrames = new AtomicLong();
+
+  /**
+   * Creates a new instance of the {@link ImageStreamDeliveryController}.
+   *
+   * @param mainHandler is the {@link Handler} of the thread frames are delivered on.
+   */
+  public ImageStreamDeliveryController(@NonNull Handler mainHandler) {
+    this.mainHandler = mainHandler;
+  }
+
+  /**
+   * Sets the delivery policy.
+   *
+   * @param mode is the {@link ImageStreamDeliveryMode} to apply.
+   * @param count is the queue size for {@link ImageStreamDeliveryMode#boundedQueue} and the
+   *     interval for {@link ImageStreamDeliveryMode#everyNth}. Values below 1 are treated as 1.
+   */
+  public void setPolicy(@NonNull ImageStreamDeliveryMode mode, int count) {
+    this.count = Math.max(1, count);
+    this.mode = mode;
+  }
+
+  @NonNull
+  public ImageStreamDeliveryMode getMode() {
+    return mode;
+  }
+
+  /**
+   * Sets the {@link Handler} of the thread kept frames are processed on, or null to process them on
+   * the main thread.
+   */
+  public void setProcessingHandler(@Nullable Handler processingHandler) {
+    this.processingHandler = processingHandler;
+  }
+
+  /**
+   * Returns whether a newly acquired frame should be processed at all.
+   *
+   * <p>Frames that are not accepted are dropped. See {@link #shouldAcceptFrame(PendingFrame)}.
+   */
+  public boolean shouldAcceptFrame() {
+    return shouldAcceptFrame(null);
+  }
+
+  /**
+   * Returns whether a newly acquired frame should be processed now.
+   *
+   * <p>Called on the camera background thread before any plane data is copied, so that dropped
+   * frames cost nothing beyond closing the image. A frame that is not accepted is either discarded
+   * or, in {@link ImageStreamDeliveryMode#latestOnly} mode, kept to be processed later.
+   *
+   * @param pending is the frame, or null to drop it if it is not accepted.
+   * @return true if the frame should be parsed and passed to {@link #post(Frame)}.
+   */
+  public boolean shouldAcceptFrame(@Nullable PendingFrame pending) {
+    long index = frameIndex.getAndIncrement();
+    boolean accept;
+    switch (mode) {
+      case boundedQueue:
+        accept = inFlightFrames.get() < count;
+        break;
+      case everyNth:
+        accept = index % count == 0;
+        break;
+      case latestOnly:
+        accept = acceptOrKeepLatestFrame(pending);
+        if (!accept && pending != null) {
+          return false;
+        }
+        break;
+      case all:
+      default:
+        accept = true;
+        break;
+    }
+    if (!accept) {
+      droppedFrames.incrementAndGet();
+      if (pending != null) {
+        pending.discard();
+      }
+    }
+    return accept;
+  }
+
+  // Accepts the frame if no other one is in flight, otherwise keeps it instead of the frame kept
+  // before, if any.
+  private boolean acceptOrKeepLatestFrame(@Nullable PendingFrame pending) {
+    final PendingFrame replaced;
+    synchronized (this) {
+      if (!latestFrameInFlight) {
+        latestFrameInFlight = true;
+        return true;
+      }
+      if (pending == null) {
+        return false;
+      }
+      replaced = pendingFrame;
+      pendingFrame = pending;
+    }
+    discard(replaced);
+    return false;
+  }
+
+  /**
+   * Schedules a parsed frame for delivery on the main thread.
+   *
+   * @param frame is the frame to deliver.
+   */
+  public void post(@NonNull Frame frame) {
+    inFlightFrames.incrementAndGet();
+    mainHandler.post(
+        () -> {
+          inFlightFrames.decrementAndGet();
+          frame.deliver();
+          deliveredFrames.incrementAndGet();
+          onFrameDone();
+        });
+  }
+
+  /** Reports that an accepted frame could not be parsed, so it will not be posted. */
+  public void onFrameFailed() {
+    onFrameDone();
+  }
+
+  /** Discards the frame kept to be processed later, if any. */
+  public void discardPendingFrame() {
+    final PendingFrame pending;
+    synchronized (this) {
+      pending = pendingFrame;
+      pendingFrame = null;
+    }
+    discard(pending);
+  }
+
+  private void discard(@Nullable PendingFrame pending) {
+    if (pending != null) {
+      droppedFrames.incrementAndGet();
+      pending.discard();
+    }
+  }
+
+  private void onFrameDone() {
+    synchronized (this) {
+      if (pendingFrame == null) {
+        latestFrameInFlight = false;
+        return;
+      }
+    }
+    Handler handler = processingHandler;
+    if (handler == null) {
+      processPendingFrame();
+    } else {
+      handler.post(this::processPendingFrame);
+    }
+  }
+
+  private void processPendingFrame() {
+    final PendingFrame pending;
+    synchronized (this) {
+      pending = pendingFrame;
+      pendingFrame = null;
+      if (pending == null) {
+        // It was discarded in the meantime.
+        latestFrameInFlight = false;
+        return;
+      }
+    }
+    pending.process();
+  }
+
+  /** Returns the number of frames posted to the main thread but not yet delivered. */
+  public int getInFlightFrameCount() {
+    return inFlightFrames.get();
+  }
+
+  /** Returns the number of frames delivered to dart. */
+  public long getDeliveredFrameCount() {
+    return deliveredFrames.get();
+  }
+
+  /** Returns the number of frames dropped by the delivery policy. */
+  public long getDroppedFrameCount() {
+    return droppedFrames.get();
+  }
+}
@@ -0,0 +1,48 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+// Mirrors image_stream_delivery_mode.dart
+public enum ImageStreamDeliveryMode {
+  /** Every frame is delivered, regardless of how many are still waiting to be sent. */
+  all("all"),
+  /** Only the most recent frame is delivered; older undelivered frames are dropped. */
+  latestOnly("latestOnly"),
+  /** Frames are dropped while the given number of frames are still waiting to be sent. */
+  boundedQueue("boundedQueue"),
+  /** Only every Nth frame produced by the camera is delivered. */
+  everyNth("everyNth");
+
+  private final String strValue;
+
+  ImageStreamDeliveryMode(String strValue) {
+    this.strValue = strValue;
+  }
+
+  /**
+   * Tries to convert the supplied string into an {@see ImageStreamDeliveryMode} enum value.
+   *
+   * <p>When the supplied string doesn't match a valid {@see ImageStreamDeliveryMode} enum value,
+   * null is returned.
+   *
+   * @param modeStr String value to convert into an {@see ImageStreamDeliveryMode} enum value.
+   * @return Matching {@see ImageStreamDeliveryMode} enum value, or null if no match is found.
+   */
+  @Nullable
+  public static ImageStreamDeliveryMode getValueForString(@NonNull String modeStr) {
+    for (ImageStreamDeliveryMode value : values()) {
+      if (value.strValue.equals(modeStr)) return value;
+    }
+    return null;
+  }
+
+  @Override
+  public String toString() {
+    return strValue;
+  }
+}
@@ -0,0 +1,269 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import android.graphics.ImageFormat;
+import android.media.Image;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Crops, downscales and rotates YUV_420_888 frames before they are sent to dart.
+ *
+ * <p>Pixels are sampled directly from the source planes, so only the bytes of the output frame are
+ * ever copied. Downscaling uses point sampling by an integer factor.
+ *
+ * <p>The output is a single Y plane when {@code grayscaleOnly} is set, a single NV21 plane when
+ * dart requested {@link ImageFormat#NV21}, and otherwise three tightly packed Y, U and V planes
+ * (I420 layout, pixel stride 1).
+ */
+public class ImageStreamPreprocessor {
+  /** Supplies the clockwise rotation, in degrees, to apply to each frame. */
+  public interface RotationProvider {
+    int getRotationDegrees();
+  }
+
+  /** A preprocessed frame. */
+  public static class Frame {
+    public final int width;
+    public final int height;
+    @NonNull public final List<Map<String, Object>> planes;
+
+    Frame(int width, int height, @NonNull List<Map<String, Object>> planes) {
+      this.width = width;
+      this.height = height;
+      this.planes = planes;
+    }
+  }
+
+  private final int cropLeft;
+  private final int cropTop;
+  private final int cropWidth;
+  private final int cropHeight;
+  private final int downscaleFactor;
+  private final boolean grayscaleOnly;
+  @Nullable private final RotationProvider rotationProvider;
+
+  /**
+   * Creates a new instance of the {@link ImageStreamPreprocessor}.
+   *
+   * @param cropLeft is the left edge of the region of interest, in sensor pixels.
+   * @param cropTop is the top edge of the region of interest, in sensor pixels.
+   * @param cropWidth is the width of the region of interest, or 0 to extend to the right edge.
+   * @param cropHeight is the height of the region of interest, or 0 to extend to the bottom edge.
+   * @param downscaleFactor is the integer factor by which the region is downscaled, at least 1.
+   * @param grayscaleOnly is whether only the Y plane should be sent.
+   * @param rotationProvider supplies the rotation to apply, or null to leave frames unrotated.
+   */
+  public ImageStreamPreprocessor(
+      int cropLeft,
+      int cropTop,
+      int cropWidth,
+      int cropHeight,
+      int downscaleFactor,
+      boolean grayscaleOnly,
+      @Nullable RotationProvider rotationProvider) {
+    this.cropLeft = Math.max(0, cropLeft) & ~1;
+    this.cropTop = Math.max(0, cropTop) & ~1;
+    this.cropWidth = Math.max(0, cropWidth);
+    this.cropHeight = Math.max(0, cropHeight);
+    this.downscaleFactor = Math.max(1, downscaleFactor);
+    this.grayscaleOnly = grayscaleOnly;
+    this.rotationProvider = rotationProvider;
+  }
+
+  /**
+   * Returns whether frames of the given dart image format can be preprocessed. Only YUV based
+   * formats are supported; JPEG frames are sent unmodified.
+   */
+  public static boolean supportsFormat(int dartImageFormat) {
+    return dartImageFormat == ImageFormat.YUV_420_888 || dartImageFormat == ImageFormat.NV21;
+  }
+
+  /**
+   * Preprocesses a YUV_420_888 image.
+   *
+   * @param image is the image to process.
+   * @param dartImageFormat is the image format dart is requesting.
+   * @param pool is the pool to take output buffers from, or null to allocate new buffers.
+   * @return the preprocessed frame.
+   * @throws IllegalStateException if the region of interest is empty after cropping and scaling.
+   */
+  @NonNull
+  public Frame process(
+      @NonNull Image image, int dartImageFormat, @Nullable ImageStreamBufferPool pool) {
+    int imageWidth = image.getWidth();
+    int imageHeight = image.getHeight();
+
+    int left = Math.min(cropLeft, imageWidth);
+    int top = Math.min(cropTop, imageHeight);
+    int width = cropWidth == 0 ? imageWidth - left : Math.min(cropWidth, imageWidth - left);
+    int height = cropHeight == 0 ? imageHeight - top : Math.min(cropHeight, imageHeight - top);
+
+    // Keep sampled dimensions even so that chroma planes line up with the luma plane.
+    int sampledWidth = (width / downscaleFactor) & ~1;
+    int sampledHeight = (height / downscaleFactor) & ~1;
+    if (sampledWidth == 0 || sampledHeight == 0) {
+      throw new IllegalStateException(
+          "Preprocessed frame is empty for a " + imageWidth + "x" + imageHeight + " image.");
+    }
+
+    int rotation = getRotation();
+    boolean swapDimensions = rotation == 90 || rotation == 270;
+    int outputWidth = swapDimensions ? sampledHeight : sampledWidth;
+    int outputHeight = swapDimensions ? sampledWidth : sampledHeight;
+    int lumaSize = outputWidth * outputHeight;
+    int chromaSize = lumaSize / 4;
+
+    Image.Plane[] planes = image.getPlanes();
+    List<Map<String, Object>> outputPlanes = new ArrayList<>();
+
+    if (grayscaleOnly) {
+      byte[] luma = allocate(pool, lumaSize);
+      samplePlane(planes[0], left, top, sampledWidth, sampledHeight, rotation, luma, 0, 1);
+      outputPlanes.add(planeMap(luma, outputWidth));
+    } else if (dartImageFormat == ImageFormat.NV21) {
+      byte[] nv21 = allocate(pool, lumaSize + 2 * chromaSize);
+      samplePlane(planes[0], left, top, sampledWidth, sampledHeight, rotation, nv21, 0, 1);
+      // NV21 stores interleaved V and U values after the Y plane.
+      samplePlane(
+          planes[2],
+          left / 2,
+          top / 2,
+          sampledWidth / 2,
+          sampledHeight / 2,
+          rotation,
+          nv21,
+          lumaSize,
+          2);
+      samplePlane(
+          planes[1],
+          left / 2,
+          top / 2,
+          sampledWidth / 2,
+          sampledHeight / 2,
+          rotation,
+          nv21,
+          lumaSize + 1,
+          2);
+      outputPlanes.add(planeMap(nv21, outputWidth));
+    } else {
+      byte[] luma = allocate(pool, lumaSize);
+      byte[] u = allocate(pool, chromaSize);
+      byte[] v = allocate(pool, chromaSize);
+      samplePlane(planes[0], left, top, sampledWidth, sampledHeight, rotation, luma, 0, 1);
+      samplePlane(
+          planes[1], left / 2, top / 2, sampledWidth / 2, sampledHeight / 2, rotation, u, 0, 1);
+      samplePlane(
+          planes[2], left / 2, top / 2, sampledWidth / 2, sampledHeight / 2, rotation, v, 0, 1);
+      outputPlanes.add(planeMap(luma, outputWidth));
+      outputPlanes.add(planeMap(u, outputWidth / 2));
+      outputPlanes.add(planeMap(v, outputWidth / 2));
+    }
+
+    return new Frame(outputWidth, outputHeight, outputPlanes);
+  }
+
+  private int getRotation() {
+    if (rotationProvider == null) {
+      return 0;
+    }
+    int degrees = ((rotationProvider.getRotationDegrees() % 360) + 360) % 360;
+    return (degrees / 90) * 90;
+  }
+
+  /**
+   * Copies a (possibly rotated) grid of samples from a plane into {@code out}.
+   *
+   * <p>{@code sampleColumns} x {@code sampleRows} samples are taken starting at ({@code left},
+   * {@code top}), spaced {@code downscaleFactor} plane pixels apart, and written in rotated order
+   * starting at {@code offset} with {@code outPixelStride} between consecutive samples.
+   */
+  private void samplePlane(
+      @NonNull Image.Plane plane,
+      int left,
+      int top,
+      int sampleColumns,
+      int sampleRows,
+      int rotation,
+      @NonNull byte[] out,
+      int offset,
+      int outPixelStride) {
+    ByteBuffer buffer = plane.getBuffer();
+    int rowStride = plane.getRowStride();
+    int pixelStride = plane.getPixelStride();
+    int step = downscaleFactor;
+
+    if (step == 1 && rotation == 0) {
+      // A plain crop keeps rows contiguous, so they can be copied in bulk.
+      ImageStreamReaderUtils.copyPlaneRegion(
+          buffer,
+          rowStride,
+          pixelStride,
+          left,
+          top,
+          sampleColumns,
+          sampleRows,
+          out,
+          offset,
+          outPixelStride);
+      return;
+    }
+
+    boolean swapDimensions = rotation == 90 || rotation == 270;
+    int outColumns = swapDimensions ? sampleRows : sampleColumns;
+    int outRows = swapDimensions ? sampleColumns : sampleRows;
+
+    int outputPos = offset;
+    for (int row = 0; row < outRows; row++) {
+      for (int col = 0; col < outColumns; col++) {
+        // Map the rotated output position back to the unrotated sample grid.
+        int sampleX;
+        int sampleY;
+        switch (rotation) {
+          case 90:
+            sampleX = row;
+            sampleY = sampleRows - 1 - col;
+            break;
+          case 180:
+            sampleX = sampleColumns - 1 - col;
+            sampleY = sampleRows - 1 - row;
+            break;
+          case 270:
+            sampleX = sampleColumns - 1 - row;
+            sampleY = col;
+            break;
+          default:
+            sampleX = col;
+            sampleY = row;
+            break;
+        }
+        int x = left + sampleX * step;
+        int y = top + sampleY * step;
+        out[outputPos] = buffer.get(y * rowStride + x * pixelStride);
+        outputPos += outPixelStride;
+      }
+    }
+  }
+
+  @NonNull
+  private static byte[] allocate(@Nullable ImageStreamBufferPool pool, int size) {
+    return pool == null ? new byte[size] : pool.acquire(size);
+  }
+
+  @NonNull
+  private static Map<String, Object> planeMap(@NonNull byte[] bytes, int bytesPerRow) {
+    Map<String, Object> planeBuffer = new HashMap<>();
+    planeBuffer.put("bytesPerRow", bytesPerRow);
+    planeBuffer.put("bytesPerPixel", 1);
+    planeBuffer.put("bytes", bytes);
+    return planeBuffer;
+  }
+}
@@ -11,6 +11,7 @@ import android.os.Handler;
 import android.os.Looper;
 import android.view.Surface;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 import io.flutter.plugin.common.EventChannel;
 import io.flutter.plugins.camera.types.CameraCaptureProperties;
@@ -23,6 +24,15 @@ import java.util.Map;
 // Wraps an ImageReader to allow for testing of the image handler.
 public class ImageStreamReader {
 
+  /**
+   * The number of frames that may have been parsed but not yet handed to the event sink on the
+   * main thread. Used together with the reader's maxImages to size the buffer pool.
+   */
+  @VisibleForTesting static final int MAX_IN_FLIGHT_FRAMES = 2;
+
+  /** The maximum number of planes in a streamed frame (Y, U and V for YUV_420_888). */
+  private static final int MAX_PLANES_PER_FRAME = 3;
+
   /**
    * The image format we are going to send back to dart. Usually it's the same as streamImageFormat
    * but in the case of NV21 we will actually request YUV frames but convert it to NV21 before
@@ -32,6 +42,16 @@ public class ImageStreamReader {
 
   private final ImageReader imageReader;
   private final ImageStreamReaderUtils imageStreamReaderUtils;
+  private final int maxImages;
+  private final Handler mainHandler = new Handler(Looper.getMainLooper());
+  private final ImageStreamDeliveryController deliveryController =
+      new ImageStreamDeliveryController(mainHandler);
+
+  /** Pool of reusable plane buffers, or null when every frame should allocate new buffers. */
+  @Nullable private volatile ImageStreamBufferPool bufferPool;
+
+  /** Optional crop/downscale/rotate stage applied before frames are sent to dart. */
+  @Nullable private volatile ImageStreamPreprocessor preprocessor;
 
   /**
    * Creates a new instance of the {@link ImageStreamReader}.
@@ -47,6 +67,7 @@ public class ImageStreamReader {
     this.imageReader = imageReader;
     this.dartImageFormat = dartImageFormat;
     this.imageStreamReaderUtils = imageStreamReaderUtils;
+    this.maxImages = imageReader.getMaxImages();
   }
 
   /**
@@ -62,6 +83,73 @@ public class ImageStreamReader {
     this.imageReader =
         ImageReader.newInstance(width, height, computeStreamImageFormat(imageFormat), maxImages);
     this.imageStreamReaderUtils = new ImageStreamReaderUtils();
+    this.maxImages = maxImages;
+  }
+
+  /**
+   * Enables or disables reuse of plane buffers between frames.
+   *
+   * <p>When enabled, the byte arrays sent to dart are taken from an {@link ImageStreamBufferPool}
+   * sized for maxImages plus {@link #MAX_IN_FLIGHT_FRAMES} frames, and are returned to the pool
+   * once the frame has been delivered to the event sink.
+   *
+   * @param enabled whether plane buffers should be pooled.
+   */
+  public void setBufferPoolEnabled(boolean enabled) {
+    if (!enabled) {
+      bufferPool = null;
+    } else if (bufferPool == null) {
+      bufferPool =
+          new ImageStreamBufferPool((maxImages + MAX_IN_FLIGHT_FRAMES) * MAX_PLANES_PER_FRAME);
+    }
+  }
+
+  /** Returns the active buffer pool, or null if buffer pooling is disabled. */
+  @Nullable
+  public ImageStreamBufferPool getBufferPool() {
+    return bufferPool;
+  }
+
+  /**
+   * Sets the preprocessing stage applied to YUV frames before they are sent to dart.
+   *
+   * @param preprocessor is the {@link ImageStreamPreprocessor} to apply, or null to send frames
+   *     at full resolution.
+   */
+  public void setPreprocessor(@Nullable ImageStreamPreprocessor preprocessor) {
+    this.preprocessor = preprocessor;
+  }
+
+  /**
+   * Sets the policy used to drop frames when dart does not keep up with the camera.
+   *
+   * @param mode is the {@link ImageStreamDeliveryMode} to apply.
+   * @param count is the queue size for {@link ImageStreamDeliveryMode#boundedQueue} and the
+   *     interval for {@link ImageStreamDeliveryMode#everyNth}.
+   */
+  public void setDeliveryPolicy(@NonNull ImageStreamDeliveryMode mode, int count) {
+    deliveryController.setPolicy(mode, count);
+  }
+
+  /**
+   * Returns counters describing the image stream, suitable to send back to dart.
+   *
+   * @return a map containing the delivered, dropped and in-flight frame counts, and the buffer
+   *     pool allocation, reuse and pooled buffer counts. The buffer pool counters are 0 when
+   *     buffer pooling is disabled.
+   */
+  @NonNull
+  public Map<String, Object> getStatistics() {
+    ImageStreamBufferPool pool = bufferPool;
+    Map<String, Object> statistics = new HashMap<>();
+    statistics.put("deliveredFrames", deliveryController.getDeliveredFrameCount());
+    statistics.put("droppedFrames", deliveryController.getDroppedFrameCount());
+    statistics.put("inFlightFrames", deliveryController.getInFlightFrameCount());
+    statistics.put("bufferPoolEnabled", pool != null);
+    statistics.put("bufferAllocations", pool == null ? 0L : pool.getAllocationCount());
+    statistics.put("bufferReuses", pool == null ? 0L : pool.getReuseCount());
+    statistics.put("pooledBuffers", pool == null ? 0 : pool.getPooledBufferCount());
+    return statistics;
   }
 
   /**
@@ -95,18 +183,52 @@ public class ImageStreamReader {
       @NonNull Image image,
       @NonNull CameraCaptureProperties captureProps,
       @NonNull EventChannel.EventSink imageStreamSink) {
+    final boolean accepted =
+        deliveryController.shouldAcceptFrame(
+            new ImageStreamDeliveryController.PendingFrame() {
+              @Override
+              public void process() {
+                processImage(image, captureProps, imageStreamSink);
+              }
+
+              @Override
+              public void discard() {
+                image.close();
+              }
+            });
+    // Otherwise the frame was dropped, or kept for later, before copying any of its data.
+    if (accepted) {
+      processImage(image, captureProps, imageStreamSink);
+    }
+  }
+
+  private void processImage(
+      @NonNull Image image,
+      @NonNull CameraCaptureProperties captureProps,
+      @NonNull EventChannel.EventSink imageStreamSink) {
     try {
       Map<String, Object> imageBuffer = new HashMap<>();
 
       // Get plane data ready
-      if (dartImageFormat == ImageFormat.NV21) {
-        imageBuffer.put("planes", parsePlanesForNv21(image));
+      final List<Map<String, Object>> planes;
+      int width = image.getWidth();
+      int height = image.getHeight();
+      ImageStreamPreprocessor activePreprocessor = preprocessor;
+      if (activePreprocessor != null && ImageStreamPreprocessor.supportsFormat(dartImageFormat)) {
+        ImageStreamPreprocessor.Frame frame =
+            activePreprocessor.process(image, dartImageFormat, bufferPool);
+        planes = frame.planes;
+        width = frame.width;
+        height = frame.height;
+      } else if (dartImageFormat == ImageFormat.NV21) {
+        planes = parsePlanesForNv21(image);
       } else {
-        imageBuffer.put("planes", parsePlanesForYuvOrJpeg(image));
+        planes = parsePlanesForYuvOrJpeg(image);
       }
+      imageBuffer.put("planes", planes);
 
-      imageBuffer.put("width", image.getWidth());
-      imageBuffer.put("height", image.getHeight());
+      imageBuffer.put("width", width);
+      imageBuffer.put("height", height);
       imageBuffer.put("format", dartImageFormat);
       imageBuffer.put("lensAperture", captureProps.getLastLensAperture());
       imageBuffer.put("sensorExposureTime", captureProps.getLastSensorExposureTime());
@@ -114,20 +236,28 @@ public class ImageStreamReader {
       imageBuffer.put(
           "sensorSensitivity", sensorSensitivity == null ? null : (double) sensorSensitivity);
 
-      final Handler handler = new Handler(Looper.getMainLooper());
-      handler.post(() -> imageStreamSink.success(imageBuffer));
+      final ImageStreamBufferPool pool = bufferPool;
+      deliveryController.post(
+          new ImageStreamDeliveryController.Frame() {
+            @Override
+            public void deliver() {
+              imageStreamSink.success(imageBuffer);
+              // The sink has encoded the frame by now, so the plane bytes can be reused.
+              releasePlaneBuffers(pool, planes);
+            }
+          });
       image.close();
 
     } catch (IllegalStateException e) {
       // Handle "buffer is inaccessible" errors that can happen on some devices from ImageStreamReaderUtils.yuv420ThreePlanesToNV21()
-      final Handler handler = new Handler(Looper.getMainLooper());
-      handler.post(
+      mainHandler.post(
           () ->
               imageStreamSink.error(
                   "IllegalStateException",
                   "Caught IllegalStateException: " + e.getMessage(),
                   null));
       image.close();
+      deliveryController.onFrameFailed();
     }
   }
 
@@ -148,7 +278,7 @@ public class ImageStreamReader {
     for (Image.Plane plane : image.getPlanes()) {
       ByteBuffer buffer = plane.getBuffer();
 
-      byte[] bytes = new byte[buffer.remaining()];
+      byte[] bytes = allocatePlaneBuffer(buffer.remaining());
       buffer.get(bytes, 0, bytes.length);
 
       Map<String, Object> planeBuffer = new HashMap<>();
@@ -172,9 +302,21 @@ public class ImageStreamReader {
     List<Map<String, Object>> planes = new ArrayList<>();
 
     // We will convert the YUV data to NV21 which is a single-plane image
-    ByteBuffer bytes =
-        imageStreamReaderUtils.yuv420ThreePlanesToNV21(
-            image.getPlanes(), image.getWidth(), image.getHeight());
+    ImageStreamBufferPool pool = bufferPool;
+    ByteBuffer bytes;
+    if (pool == null) {
+      bytes =
+          imageStreamReaderUtils.yuv420ThreePlanesToNV21(
+              image.getPlanes(), image.getWidth(), image.getHeight());
+    } else {
+      bytes =
+          imageStreamReaderUtils.yuv420ThreePlanesToNV21(
+              image.getPlanes(),
+              image.getWidth(),
+              image.getHeight(),
+              pool.acquire(
+                  ImageStreamReaderUtils.nv21BufferSize(image.getWidth(), image.getHeight())));
+    }
 
     Map<String, Object> planeBuffer = new HashMap<>();
     planeBuffer.put("bytesPerRow", image.getWidth());
@@ -184,6 +326,25 @@ public class ImageStreamReader {
     return planes;
   }
 
+  @NonNull
+  private byte[] allocatePlaneBuffer(int size) {
+    ImageStreamBufferPool pool = bufferPool;
+    return pool == null ? new byte[size] : pool.acquire(size);
+  }
+
+  private static void releasePlaneBuffers(
+      @Nullable ImageStreamBufferPool pool, @NonNull List<Map<String, Object>> planes) {
+    if (pool == null) {
+      return;
+    }
+    for (Map<String, Object> plane : planes) {
+      Object bytes = plane.get("bytes");
+      if (bytes instanceof byte[]) {
+        pool.release((byte[]) bytes);
+      }
+    }
+  }
+
   /** Returns the image reader surface. */
   @NonNull
   public Surface getSurface() {
@@ -202,8 +363,12 @@ public class ImageStreamReader {
       @NonNull CameraCaptureProperties captureProps,
       @NonNull EventChannel.EventSink imageStreamSink,
       @NonNull Handler handler) {
+    deliveryController.setProcessingHandler(handler);
     imageReader.setOnImageAvailableListener(
         reader -> {
+          // A frame kept for later is replaced by this one anyway, and must be closed first so
+          // that the image reader has room to acquire it.
+          deliveryController.discardPendingFrame();
           Image image = reader.acquireNextImage();
           if (image == null) return;
 
@@ -219,10 +384,16 @@ public class ImageStreamReader {
    */
   public void removeListener(@NonNull Handler handler) {
     imageReader.setOnImageAvailableListener(null, handler);
+    deliveryController.discardPendingFrame();
   }
 
   /** Closes the image reader. */
   public void close() {
+    deliveryController.discardPendingFrame();
     imageReader.close();
+    ImageStreamBufferPool pool = bufferPool;
+    if (pool != null) {
+      pool.clear();
+    }
   }
 }
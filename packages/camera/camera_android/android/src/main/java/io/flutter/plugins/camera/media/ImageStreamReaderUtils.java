@@ -12,6 +12,10 @@ import androidx.annotation.NonNull;
 import java.nio.ByteBuffer;
 
 public class ImageStreamReaderUtils {
+  // The scratch row of copyPlaneRegion, kept per thread and only ever grown, so converting frames
+  // does not allocate.
+  private static final ThreadLocal<byte[]> scratchRow = new ThreadLocal<>();
+
   /**
    * Converts YUV_420_888 to NV21 bytebuffer.
    *
@@ -34,8 +38,23 @@ public class ImageStreamReaderUtils {
   @NonNull
   public ByteBuffer yuv420ThreePlanesToNV21(
       @NonNull Image.Plane[] yuv420888planes, int width, int height) {
+    return yuv420ThreePlanesToNV21(
+        yuv420888planes, width, height, new byte[nv21BufferSize(width, height)]);
+  }
+
+  /**
+   * Converts YUV_420_888 to NV21, writing the result into a caller-provided array.
+   *
+   * <p>This allows callers to reuse output arrays across frames instead of allocating a new one
+   * for every conversion. See {@link #yuv420ThreePlanesToNV21(Image.Plane[], int, int)}.
+   *
+   * @param out is the destination array, at least {@link #nv21BufferSize(int, int)} bytes long.
+   * @return a {@link ByteBuffer} wrapping {@code out}.
+   */
+  @NonNull
+  public ByteBuffer yuv420ThreePlanesToNV21(
+      @NonNull Image.Plane[] yuv420888planes, int width, int height, @NonNull byte[] out) {
     int imageSize = width * height;
-    byte[] out = new byte[imageSize + 2 * (imageSize / 4)];
 
     if (areUVPlanesNV21(yuv420888planes, width, height)) {
       // Copy the Y values.
@@ -48,7 +67,7 @@ public class ImageStreamReaderUtils {
       // Copy the first U value and the remaining VU values from the U buffer.
       uBuffer.get(out, imageSize + 1, 2 * imageSize / 4 - 1);
     } else {
-      // Fallback to copying the UV values one by one, which is slower but also works.
+      // Fallback to unpacking each plane row by row, which is slower but also works.
       // Unpack Y.
       unpackPlane(yuv420888planes[0], width, height, out, 0, 1);
       // Unpack U.
@@ -60,6 +79,57 @@ public class ImageStreamReaderUtils {
     return ByteBuffer.wrap(out);
   }
 
+  /**
+   * Converts YUV_420_888 to I420 (planar Y, then U, then V, with no padding), writing the result
+   * into a caller-provided array.
+   *
+   * @param yuv420888planes is the Y, U and V planes of the image.
+   * @param width is the image width.
+   * @param height is the image height.
+   * @param out is the destination array, at least {@link #nv21BufferSize(int, int)} bytes long
+   *     (I420 and NV21 have the same size).
+   * @return a {@link ByteBuffer} wrapping {@code out}.
+   */
+  @NonNull
+  public ByteBuffer yuv420ThreePlanesToI420(
+      @NonNull Image.Plane[] yuv420888planes, int width, int height, @NonNull byte[] out) {
+    int imageSize = width * height;
+    int chromaSize = imageSize / 4;
+    unpackPlane(yuv420888planes[0], width, height, out, 0, 1);
+    unpackPlane(yuv420888planes[1], width, height, out, imageSize, 1);
+    unpackPlane(yuv420888planes[2], width, height, out, imageSize + chromaSize, 1);
+    return ByteBuffer.wrap(out);
+  }
+
+  /**
+   * Copies the Y plane of a YUV_420_888 image into a caller-provided array, dropping any row
+   * padding.
+   *
+   * @param yuv420888planes is the Y, U and V planes of the image.
+   * @param width is the image width.
+   * @param height is the image height.
+   * @param out is the destination array, at least {@code width * height} bytes long.
+   * @return a {@link ByteBuffer} wrapping {@code out}.
+   */
+  @NonNull
+  public ByteBuffer yuv420ToYPlane(
+      @NonNull Image.Plane[] yuv420888planes, int width, int height, @NonNull byte[] out) {
+    unpackPlane(yuv420888planes[0], width, height, out, 0, 1);
+    return ByteBuffer.wrap(out);
+  }
+
+  /**
+   * Returns the size in bytes of an NV21 image with the given dimensions.
+   *
+   * @param width is the image width.
+   * @param height is the image height.
+   * @return the number of bytes needed to hold the Y plane followed by the interleaved VU plane.
+   */
+  public static int nv21BufferSize(int width, int height) {
+    int imageSize = width * height;
+    return imageSize + 2 * (imageSize / 4);
+  }
+
   /**
    * Copyright 2020 Google LLC. All rights reserved.
    *
@@ -139,16 +209,94 @@ public class ImageStreamReaderUtils {
     int numCol = width / scaleFactor;
 
     // Extract the data in the output buffer.
+    copyPlaneRegion(
+        buffer,
+        plane.getRowStride(),
+        plane.getPixelStride(),
+        0,
+        0,
+        numCol,
+        numRow,
+        out,
+        offset,
+        pixelStride);
+  }
+
+  /**
+   * Copies a rectangular region of a plane into a byte array, one row at a time.
+   *
+   * <p>Each row is read from the buffer with a single bulk {@link ByteBuffer#get(byte[], int,
+   * int)}. When both the input and output pixel strides are 1 the row is read straight into {@code
+   * out}; otherwise it is read into a scratch row and de-interleaved from there, which avoids a
+   * bounds-checked {@link ByteBuffer#get(int)} call per pixel. The scratch row is reused by later
+   * calls on the same thread.
+   *
+   * <p>The buffer's position is restored to 0 on return.
+   *
+   * @param buffer is the plane buffer.
+   * @param rowStride is the distance in bytes between the start of two consecutive rows.
+   * @param pixelStride is the distance in bytes between two consecutive pixels in a row.
+   * @param left is the first column to copy.
+   * @param top is the first row to copy.
+   * @param columns is the number of pixels to copy from each row.
+   * @param rows is the number of rows to copy.
+   * @param out is the destination array.
+   * @param offset is the position in {@code out} of the first pixel.
+   * @param outPixelStride is the distance in bytes between two consecutive pixels in {@code out}.
+   */
+  public static void copyPlaneRegion(
+      @NonNull ByteBuffer buffer,
+      int rowStride,
+      int pixelStride,
+      int left,
+      int top,
+      int columns,
+      int rows,
+      @NonNull byte[] out,
+      int offset,
+      int outPixelStride) {
+    if (columns <= 0 || rows <= 0) {
+      return;
+    }
+    int rowLength = (columns - 1) * pixelStride + 1;
+    int limit = buffer.limit();
+    byte[] scratch = pixelStride == 1 && outPixelStride == 1 ? null : scratchRow(rowLength);
+
     int outputPos = offset;
-    int rowStart = 0;
-    for (int row = 0; row < numRow; row++) {
-      int inputPos = rowStart;
-      for (int col = 0; col < numCol; col++) {
-        out[outputPos] = buffer.get(inputPos);
-        outputPos += pixelStride;
-        inputPos += plane.getPixelStride();
+    int rowStart = top * rowStride + left * pixelStride;
+    for (int row = 0; row < rows; row++) {
+      // The last row of a plane is not padded to the full row stride.
+      int available = Math.min(rowLength, limit - rowStart);
+      if (available <= 0) {
+        break;
       }
-      rowStart += plane.getRowStride();
+      buffer.position(rowStart);
+      if (scratch == null) {
+        buffer.get(out, outputPos, available);
+        outputPos += columns;
+      } else {
+        buffer.get(scratch, 0, available);
+        int copied = 0;
+        for (int inputPos = 0; inputPos < available; inputPos += pixelStride) {
+          out[outputPos] = scratch[inputPos];
+          outputPos += outPixelStride;
+          copied++;
+        }
+        // Skip any pixels that were missing from a truncated last row.
+        outputPos += (columns - copied) * outPixelStride;
+      }
+      rowStart += rowStride;
+    }
+    buffer.position(0);
+  }
+
+  @NonNull
+  private static byte[] scratchRow(int length) {
+    byte[] scratch = scratchRow.get();
+    if (scratch == null || scratch.length < length) {
+      scratch = new byte[length];
+      scratchRow.set(scratch);
     }
+    return scratch;
   }
 }
@@ -7,6 +7,8 @@ package io.flutter.plugins.camera;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -17,6 +19,7 @@ import android.graphics.SurfaceTexture;
 import android.hardware.camera2.*;
 import android.hardware.camera2.params.SessionConfiguration;
 import android.media.CamcorderProfile;
+import android.media.Image;
 import android.media.ImageReader;
 import android.media.MediaRecorder;
 import android.os.Build;
@@ -59,9 +62,11 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.MockedConstruction;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
@@ -1071,6 +1076,180 @@ public class CameraTest {
     verify(mockHandlerThread, never()).join();
   }
 
+  @Test
+  public void stopBackgroundThread_shutsDownImageSaverExecutor() {
+    camera.startBackgroundThread();
+    ExecutorService executor = camera.imageSaverExecutor;
+    assertNotNull(executor);
+
+    camera.stopBackgroundThread();
+
+    assertTrue(executor.isShutdown());
+    assertNull(camera.imageSaverExecutor);
+  }
+
+  @Test
+  public void takePictureBurst_shouldRejectInvalidBurstSize() throws CameraAccessException {
+    MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
+
+    camera.takePictureBurst(mockResult, 0);
+    camera.takePictureBurst(mockResult, Camera.MAX_BURST_SIZE + 1);
+
+    verify(mockResult, times(2)).error(eq("invalidBurstSize"), any(), any());
+    verify(mockCaptureSession, never()).captureBurst(any(), any(), any());
+  }
+
+  @Test
+  public void takePictureBurst_shouldSubmitOneRequestPerPicture() throws CameraAccessException {
+    ArrayList<CaptureRequest.Builder> mockRequestBuilders = new ArrayList<>();
+    mockRequestBuilders.add(mock(CaptureRequest.Builder.class));
+    camera.cameraDevice = new FakeCameraDeviceWrapper(mockRequestBuilders);
+    camera.pictureImageReader = mock(ImageReader.class);
+    SensorOrientationFeature mockSensorOrientationFeature =
+        mockCameraFeatureFactory.createSensorOrientationFeature(mockCameraProperties, null, null);
+    DeviceOrientationManager mockDeviceOrientationManager = mock(DeviceOrientationManager.class);
+    when(mockSensorOrientationFeature.getDeviceOrientationManager())
+        .thenReturn(mockDeviceOrientationManager);
+    MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
+
+    camera.takePictureBurst(mockResult, 3);
+
+    verify(mockCaptureSession, times(1))
+        .captureBurst(argThat(requests -> requests.size() == 3), any(), any());
+    verify(mockCaptureSession, never()).capture(any(), any(), any());
+    verify(mockResult, never()).error(any(), any(), any());
+  }
+
+  @Test
+  public void takePictureBurst_shouldRejectWhileCapturing() throws CameraAccessException {
+    ArrayList<CaptureRequest.Builder> mockRequestBuilders = new ArrayList<>();
+    mockRequestBuilders.add(mock(CaptureRequest.Builder.class));
+    camera.cameraDevice = new FakeCameraDeviceWrapper(mockRequestBuilders);
+    camera.pictureImageReader = mock(ImageReader.class);
+    SensorOrientationFeature mockSensorOrientationFeature =
+        mockCameraFeatureFactory.createSensorOrientationFeature(mockCameraProperties, null, null);
+    when(mockSensorOrientationFeature.getDeviceOrientationManager())
+        .thenReturn(mock(DeviceOrientationManager.class));
+    MethodChannel.Result mockFirstResult = mock(MethodChannel.Result.class);
+    MethodChannel.Result mockSecondResult = mock(MethodChannel.Result.class);
+
+    camera.takePictureBurst(mockFirstResult, 2);
+    camera.takePictureBurst(mockSecondResult, 2);
+
+    verify(mockSecondResult, times(1)).error(eq("captureAlreadyActive"), any(), any());
+    verify(mockCaptureSession, times(1)).captureBurst(any(), any(), any());
+  }
+
+  /** Starts a burst of two pictures and returns the capture callback it submitted. */
+  private CameraCaptureSession.CaptureCallback startBurst(
+      ImageReader mockImageReader, MethodChannel.Result mockResult)
+      throws CameraAccessException {
+    ArrayList<CaptureRequest.Builder> mockRequestBuilders = new ArrayList<>();
+    mockRequestBuilders.add(mock(CaptureRequest.Builder.class));
+    camera.cameraDevice = new FakeCameraDeviceWrapper(mockRequestBuilders);
+    camera.pictureImageReader = mockImageReader;
+    SensorOrientationFeature mockSensorOrientationFeature =
+        mockCameraFeatureFactory.createSensorOrientationFeature(mockCameraProperties, null, null);
+    when(mockSensorOrientationFeature.getDeviceOrientationManager())
+        .thenReturn(mock(DeviceOrientationManager.class));
+
+    camera.takePictureBurst(mockResult, 2);
+
+    ArgumentCaptor<CameraCaptureSession.CaptureCallback> callbackCaptor =
+        ArgumentCaptor.forClass(CameraCaptureSession.CaptureCallback.class);
+    verify(mockCaptureSession).captureBurst(any(), callbackCaptor.capture(), any());
+    return callbackCaptor.getValue();
+  }
+
+  @Test
+  public void takePictureBurst_shouldRecoverWhenACaptureFails() throws CameraAccessException {
+    ImageReader mockImageReader = mock(ImageReader.class);
+    MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
+    CameraCaptureSession.CaptureCallback callback = startBurst(mockImageReader, mockResult);
+
+    callback.onCaptureFailed(
+        mockCaptureSession, mock(CaptureRequest.class), mock(CaptureFailure.class));
+    callback.onCaptureFailed(
+        mockCaptureSession, mock(CaptureRequest.class), mock(CaptureFailure.class));
+
+    verify(mockDartMessenger, times(1)).error(eq(mockResult), eq("captureFailed"), any(), any());
+    verify(mockImageReader).setOnImageAvailableListener(camera, mockHandler);
+    verify(mockHandler).removeCallbacks(any(Runnable.class));
+
+    // The camera is back in preview, so the next burst is accepted.
+    camera.takePictureBurst(mock(MethodChannel.Result.class), 2);
+    verify(mockCaptureSession, times(2)).captureBurst(any(), any(), any());
+  }
+
+  @Test
+  public void takePictureBurst_shouldRecoverWhenTheSequenceIsAborted()
+      throws CameraAccessException {
+    ImageReader mockImageReader = mock(ImageReader.class);
+    MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
+    CameraCaptureSession.CaptureCallback callback = startBurst(mockImageReader, mockResult);
+
+    callback.onCaptureSequenceAborted(mockCaptureSession, 1);
+
+    verify(mockDartMessenger, times(1)).error(eq(mockResult), eq("captureAborted"), any(), any());
+    verify(mockImageReader).setOnImageAvailableListener(camera, mockHandler);
+
+    camera.takePictureBurst(mock(MethodChannel.Result.class), 2);
+    verify(mockCaptureSession, times(2)).captureBurst(any(), any(), any());
+  }
+
+  @Test
+  public void takePictureBurst_shouldFailAfterTimeout() throws CameraAccessException {
+    ImageReader mockImageReader = mock(ImageReader.class);
+    MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
+    CameraCaptureSession.CaptureCallback callback = startBurst(mockImageReader, mockResult);
+    ArgumentCaptor<Runnable> timeoutCaptor = ArgumentCaptor.forClass(Runnable.class);
+    verify(mockHandler).postDelayed(timeoutCaptor.capture(), anyLong());
+
+    timeoutCaptor.getValue().run();
+
+    verify(mockDartMessenger, times(1)).error(eq(mockResult), eq("captureTimeout"), any(), any());
+    // Images of the burst may still arrive until the sequence completes.
+    verify(mockImageReader, never()).setOnImageAvailableListener(camera, mockHandler);
+
+    callback.onCaptureSequenceCompleted(mockCaptureSession, 1, 2);
+
+    verify(mockImageReader).setOnImageAvailableListener(camera, mockHandler);
+    camera.takePictureBurst(mock(MethodChannel.Result.class), 2);
+    verify(mockCaptureSession, times(2)).captureBurst(any(), any(), any());
+  }
+
+  @Test
+  public void takePictureBurst_shouldCloseImagesArrivingAfterTheTimeout()
+      throws CameraAccessException {
+    ImageReader mockImageReader = mock(ImageReader.class);
+    MethodChannel.Result mockResult = mock(MethodChannel.Result.class);
+    startBurst(mockImageReader, mockResult);
+    ArgumentCaptor<ImageReader.OnImageAvailableListener> listenerCaptor =
+        ArgumentCaptor.forClass(ImageReader.OnImageAvailableListener.class);
+    verify(mockImageReader).setOnImageAvailableListener(listenerCaptor.capture(), eq(mockHandler));
+    ArgumentCaptor<Runnable> timeoutCaptor = ArgumentCaptor.forClass(Runnable.class);
+    verify(mockHandler).postDelayed(timeoutCaptor.capture(), anyLong());
+    timeoutCaptor.getValue().run();
+
+    // A new single picture is rejected while the burst images are still in flight.
+    MethodChannel.Result mockPictureResult = mock(MethodChannel.Result.class);
+    camera.takePicture(mockPictureResult);
+    verify(mockPictureResult).error(eq("captureAlreadyActive"), any(), any());
+
+    Image firstImage = mock(Image.class);
+    Image secondImage = mock(Image.class);
+    when(mockImageReader.acquireNextImage()).thenReturn(firstImage, secondImage);
+    listenerCaptor.getValue().onImageAvailable(mockImageReader);
+    listenerCaptor.getValue().onImageAvailable(mockImageReader);
+
+    verify(firstImage).close();
+    verify(secondImage).close();
+    verify(mockDartMessenger, never()).finish(any(), any());
+    verify(mockDartMessenger, times(1)).error(any(), any(), any(), any());
+    // Every image of the burst arrived, so the single picture listener is back.
+    verify(mockImageReader).setOnImageAvailableListener(camera, mockHandler);
+  }
+
   @Test
   public void onConverge_shouldTakePictureWithoutAbortingSession() throws CameraAccessException {
     ArrayList<CaptureRequest.Builder> mockRequestBuilders = new ArrayList<>();
@@ -4,6 +4,8 @@
 
 package io.flutter.plugins.camera;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
@@ -15,9 +17,11 @@ import static org.mockito.Mockito.when;
 
 import android.media.Image;
 import java.io.File;
+import java.io.FileDescriptor;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Map;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -35,9 +39,10 @@ public class ImageSaverTests {
   ByteBuffer mockBuffer;
   MockedStatic<ImageSaver.FileOutputStreamFactory> mockFileOutputStreamFactory;
   FileOutputStream mockFileOutputStream;
+  FileDescriptor mockFileDescriptor;
 
   @Before
-  public void setup() {
+  public void setup() throws IOException {
     // Set up mocked file dependency
     mockFile = mock(File.class);
     when(mockFile.getAbsolutePath()).thenReturn("absolute/path");
@@ -65,6 +70,8 @@ public class ImageSaverTests {
     // Set up mocked FileOutputStream
     mockFileOutputStreamFactory = mockStatic(ImageSaver.FileOutputStreamFactory.class);
     mockFileOutputStream = mock(FileOutputStream.class);
+    mockFileDescriptor = mock(FileDescriptor.class);
+    when(mockFileOutputStream.getFD()).thenReturn(mockFileDescriptor);
     mockFileOutputStreamFactory
         .when(() -> ImageSaver.FileOutputStreamFactory.create(any()))
         .thenReturn(mockFileOutputStream);
@@ -88,6 +95,42 @@ public class ImageSaverTests {
     verify(mockCallback, never()).onError(any(), any());
   }
 
+  @Test
+  public void runSyncsFileBeforeFinishing() throws IOException {
+    imageSaver.run();
+
+    verify(mockFileDescriptor, times(1)).sync();
+    verify(mockCallback, times(1)).onComplete("absolute/path");
+  }
+
+  @Test
+  public void releaseImageClosesImageBeforeWriting() throws IOException {
+    imageSaver.releaseImage();
+
+    verify(mockImage, times(1)).close();
+    verify(mockFileOutputStream, never()).write(any());
+
+    imageSaver.run();
+
+    verify(mockImage, times(1)).close();
+    verify(mockFileOutputStream, times(1)).write(new byte[] {0x42, 0x00, 0x13});
+    verify(mockCallback, times(1)).onComplete("absolute/path");
+  }
+
+  @Test
+  public void runRecordsStageTimings() {
+    ImageSaver.Timings timings = new ImageSaver.Timings(5000000);
+    imageSaver = new ImageSaver(mockImage, mockFile, timings, mockCallback);
+
+    imageSaver.run();
+
+    Map<String, Object> map = timings.toMap();
+    assertEquals(5.0, (double) map.get("captureMillis"), 0.0);
+    assertTrue((double) map.get("copyMillis") >= 0);
+    assertTrue((double) map.get("writeMillis") >= 0);
+    assertTrue((double) map.get("syncMillis") >= 0);
+  }
+
   @Test
   public void runCallsErrorOnWriteIoexception() throws IOException {
     doThrow(new IOException()).when(mockFileOutputStream).write(any());
@@ -16,7 +16,10 @@ import androidx.lifecycle.LifecycleObserver;
 import io.flutter.plugin.common.BinaryMessenger;
 import io.flutter.plugin.common.MethodCall;
 import io.flutter.plugin.common.MethodChannel;
+import io.flutter.plugins.camera.media.ImageStreamDeliveryMode;
 import io.flutter.view.TextureRegistry;
+import java.util.HashMap;
+import java.util.Map;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -73,4 +76,28 @@ public class MethodCallHandlerImplTest {
     verify(mockCamera, times(1)).resumePreview();
     verify(mockResult, times(1)).success(null);
   }
+
+  @Test
+  public void onMethodCall_setImageStreamDeliveryPolicy_shouldSetPolicyAndSendSuccessResult() {
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("mode", "boundedQueue");
+    arguments.put("count", 2);
+
+    handler.onMethodCall(new MethodCall("setImageStreamDeliveryPolicy", arguments), mockResult);
+
+    verify(mockCamera, times(1))
+        .setImageStreamDeliveryPolicy(ImageStreamDeliveryMode.boundedQueue, 2);
+    verify(mockResult, times(1)).success(null);
+  }
+
+  @Test
+  public void onMethodCall_setImageStreamDeliveryPolicy_shouldSendErrorResultOnUnknownMode() {
+    Map<String, Object> arguments = new HashMap<>();
+    arguments.put("mode", "sometimes");
+
+    handler.onMethodCall(new MethodCall("setImageStreamDeliveryPolicy", arguments), mockResult);
+
+    verify(mockResult, times(1))
+        .error("setImageStreamDeliveryPolicyFailed", "Unknown delivery mode sometimes", null);
+  }
 }
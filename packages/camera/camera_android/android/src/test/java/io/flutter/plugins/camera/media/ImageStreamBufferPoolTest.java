@@ -0,0 +1,80 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+public class ImageStreamBufferPoolTest {
+  @Test
+  public void acquire_allocatesWhenPoolIsEmpty() {
+    ImageStreamBufferPool pool = new ImageStreamBufferPool(3);
+
+    byte[] buffer = pool.acquire(16);
+
+    assertEquals(16, buffer.length);
+    assertEquals(1, pool.getAllocationCount());
+    assertEquals(0, pool.getReuseCount());
+  }
+
+  @Test
+  public void acquire_reusesReleasedBufferOfSameSize() {
+    ImageStreamBufferPool pool = new ImageStreamBufferPool(3);
+    byte[] first = pool.acquire(16);
+    pool.release(first);
+
+    byte[] second = pool.acquire(16);
+
+    assertSame(first, second);
+    assertEquals(1, pool.getAllocationCount());
+    assertEquals(1, pool.getReuseCount());
+    assertEquals(0, pool.getPooledBufferCount());
+  }
+
+  @Test
+  public void acquire_doesNotReuseBufferOfDifferentSize() {
+    ImageStreamBufferPool pool = new ImageStreamBufferPool(3);
+    byte[] first = pool.acquire(16);
+    pool.release(first);
+
+    byte[] second = pool.acquire(32);
+
+    assertNotSame(first, second);
+    assertEquals(2, pool.getAllocationCount());
+    assertEquals(1, pool.getPooledBufferCount());
+  }
+
+  @Test
+  public void release_evictsOldestBufferWhenFull() {
+    ImageStreamBufferPool pool = new ImageStreamBufferPool(1);
+    byte[] stale = pool.acquire(8);
+    byte[] fresh = pool.acquire(16);
+    pool.release(stale);
+    pool.release(fresh);
+
+    assertEquals(1, pool.getPooledBufferCount());
+    assertSame(fresh, pool.acquire(16));
+  }
+
+  @Test
+  public void steadyState_stopsAllocating() {
+    ImageStreamBufferPool pool = new ImageStreamBufferPool(6);
+
+    for (int frame = 0; frame < 100; frame++) {
+      byte[] y = pool.acquire(1024);
+      byte[] u = pool.acquire(511);
+      byte[] v = pool.acquire(511);
+      pool.release(y);
+      pool.release(u);
+      pool.release(v);
+    }
+
+    assertEquals(3, pool.getAllocationCount());
+    assertEquals(297, pool.getReuseCount());
+  }
+}
@@ -0,0 +1,125 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import android.os.Handler;
+import android.os.Looper;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
+
+@RunWith(RobolectricTestRunner.class)
+public class ImageStreamDeliveryControllerTest {
+  private ImageStreamDeliveryController controller;
+
+  @Before
+  public void setUp() {
+    controller = new ImageStreamDeliveryController(new Handler(Looper.getMainLooper()));
+  }
+
+  @Test
+  public void all_deliversEveryFrame() {
+    for (int i = 0; i < 3; i++) {
+      assertTrue(controller.shouldAcceptFrame());
+      controller.post(mock(ImageStreamDeliveryController.Frame.class));
+    }
+    assertEquals(3, controller.getInFlightFrameCount());
+
+    ShadowLooper.idleMainLooper();
+
+    assertEquals(0, controller.getInFlightFrameCount());
+    assertEquals(3, controller.getDeliveredFrameCount());
+    assertEquals(0, controller.getDroppedFrameCount());
+  }
+
+  @Test
+  public void latestOnly_keepsOnlyTheNewestFrameWhileOneIsInFlight() {
+    controller.setPolicy(ImageStreamDeliveryMode.latestOnly, 1);
+    ImageStreamDeliveryController.PendingFrame replaced =
+        mock(ImageStreamDeliveryController.PendingFrame.class);
+    ImageStreamDeliveryController.PendingFrame latest =
+        mock(ImageStreamDeliveryController.PendingFrame.class);
+    ImageStreamDeliveryController.Frame latestFrame =
+        mock(ImageStreamDeliveryController.Frame.class);
+    doAnswer(
+            invocation -> {
+              controller.post(latestFrame);
+              return null;
+            })
+        .when(latest)
+        .process();
+
+    assertTrue(controller.shouldAcceptFrame());
+    controller.post(mock(ImageStreamDeliveryController.Frame.class));
+    assertFalse(controller.shouldAcceptFrame(replaced));
+    assertFalse(controller.shouldAcceptFrame(latest));
+
+    verify(replaced).discard();
+    verify(latest, never()).process();
+    ShadowLooper.idleMainLooper();
+
+    verify(replaced, never()).process();
+    verify(latest).process();
+    verify(latestFrame).deliver();
+    assertEquals(2, controller.getDeliveredFrameCount());
+    assertEquals(1, controller.getDroppedFrameCount());
+    assertEquals(0, controller.getInFlightFrameCount());
+    // Nothing is in flight anymore.
+    assertTrue(controller.shouldAcceptFrame());
+  }
+
+  @Test
+  public void latestOnly_acceptsTheNextFrameAfterAFailure() {
+    controller.setPolicy(ImageStreamDeliveryMode.latestOnly, 1);
+
+    assertTrue(controller.shouldAcceptFrame());
+    assertFalse(controller.shouldAcceptFrame());
+    controller.onFrameFailed();
+
+    assertTrue(controller.shouldAcceptFrame());
+  }
+
+  @Test
+  public void boundedQueue_dropsFramesWhileQueueIsFull() {
+    controller.setPolicy(ImageStreamDeliveryMode.boundedQueue, 2);
+
+    assertTrue(controller.shouldAcceptFrame());
+    controller.post(mock(ImageStreamDeliveryController.Frame.class));
+    assertTrue(controller.shouldAcceptFrame());
+    controller.post(mock(ImageStreamDeliveryController.Frame.class));
+    assertFalse(controller.shouldAcceptFrame());
+
+    ShadowLooper.idleMainLooper();
+
+    assertTrue(controller.shouldAcceptFrame());
+    assertEquals(2, controller.getDeliveredFrameCount());
+    assertEquals(1, controller.getDroppedFrameCount());
+  }
+
+  @Test
+  public void everyNth_acceptsOnlyEveryNthFrame() {
+    controller.setPolicy(ImageStreamDeliveryMode.everyNth, 3);
+
+    int accepted = 0;
+    for (int i = 0; i < 9; i++) {
+      if (controller.shouldAcceptFrame()) {
+        accepted++;
+      }
+    }
+
+    assertEquals(3, accepted);
+    assertEquals(6, controller.getDroppedFrameCount());
+  }
+}
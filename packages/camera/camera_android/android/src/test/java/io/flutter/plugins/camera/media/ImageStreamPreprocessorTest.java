@@ -0,0 +1,144 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import android.graphics.ImageFormat;
+import android.media.Image;
+import java.nio.ByteBuffer;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class ImageStreamPreprocessorTest {
+  /**
+   * Creates a YUV_420_888 image whose Y values are {@code row * width + col} and whose U and V
+   * values are the chroma sample index, offset by 100 and 200 respectively.
+   */
+  private static Image createImage(int width, int height) {
+    byte[] y = new byte[width * height];
+    for (int i = 0; i < y.length; i++) {
+      y[i] = (byte) i;
+    }
+    // Interleaved chroma planes (pixel stride 2), as produced by most devices.
+    int chromaWidth = width / 2;
+    int chromaHeight = height / 2;
+    byte[] u = new byte[width * chromaHeight];
+    byte[] v = new byte[width * chromaHeight];
+    for (int row = 0; row < chromaHeight; row++) {
+      for (int col = 0; col < chromaWidth; col++) {
+        u[row * width + col * 2] = (byte) (100 + row * chromaWidth + col);
+        v[row * width + col * 2] = (byte) (200 + row * chromaWidth + col);
+      }
+    }
+
+    Image image = mock(Image.class);
+    when(image.getWidth()).thenReturn(width);
+    when(image.getHeight()).thenReturn(height);
+    Image.Plane planeY = mockPlane(y, width, 1);
+    Image.Plane planeU = mockPlane(u, width, 2);
+    Image.Plane planeV = mockPlane(v, width, 2);
+    Image.Plane[] planes = {planeY, planeU, planeV};
+    when(image.getPlanes()).thenReturn(planes);
+    return image;
+  }
+
+  private static Image.Plane mockPlane(byte[] data, int rowStride, int pixelStride) {
+    Image.Plane plane = mock(Image.Plane.class);
+    when(plane.getBuffer()).thenReturn(ByteBuffer.wrap(data));
+    when(plane.getRowStride()).thenReturn(rowStride);
+    when(plane.getPixelStride()).thenReturn(pixelStride);
+    return plane;
+  }
+
+  private static byte[] planeBytes(ImageStreamPreprocessor.Frame frame, int index) {
+    return (byte[]) frame.planes.get(index).get("bytes");
+  }
+
+  @Test
+  public void process_cropsRegionOfInterest() {
+    ImageStreamPreprocessor preprocessor = new ImageStreamPreprocessor(2, 2, 2, 2, 1, true, null);
+
+    ImageStreamPreprocessor.Frame frame =
+        preprocessor.process(createImage(8, 8), ImageFormat.YUV_420_888, null);
+
+    assertEquals(2, frame.width);
+    assertEquals(2, frame.height);
+    assertEquals(1, frame.planes.size());
+    assertArrayEquals(new byte[] {18, 19, 26, 27}, planeBytes(frame, 0));
+  }
+
+  @Test
+  public void process_downscalesByIntegerFactor() {
+    ImageStreamPreprocessor preprocessor = new ImageStreamPreprocessor(0, 0, 0, 0, 2, false, null);
+
+    ImageStreamPreprocessor.Frame frame =
+        preprocessor.process(createImage(8, 8), ImageFormat.YUV_420_888, null);
+
+    assertEquals(4, frame.width);
+    assertEquals(4, frame.height);
+    assertEquals(3, frame.planes.size());
+    assertArrayEquals(
+        new byte[] {0, 2, 4, 6, 16, 18, 20, 22, 32, 34, 36, 38, 48, 50, 52, 54},
+        planeBytes(frame, 0));
+    assertArrayEquals(new byte[] {100, 102, 108, 110}, planeBytes(frame, 1));
+    assertArrayEquals(
+        new byte[] {(byte) 200, (byte) 202, (byte) 208, (byte) 210}, planeBytes(frame, 2));
+    assertEquals(2, frame.planes.get(1).get("bytesPerRow"));
+  }
+
+  @Test
+  public void process_rotatesClockwise() {
+    ImageStreamPreprocessor preprocessor =
+        new ImageStreamPreprocessor(0, 0, 0, 0, 1, true, () -> 90);
+
+    ImageStreamPreprocessor.Frame frame =
+        preprocessor.process(createImage(4, 2), ImageFormat.YUV_420_888, null);
+
+    // A 4x2 image becomes 2x4; the bottom-left pixel ends up top-left.
+    assertEquals(2, frame.width);
+    assertEquals(4, frame.height);
+    assertArrayEquals(new byte[] {4, 0, 5, 1, 6, 2, 7, 3}, planeBytes(frame, 0));
+  }
+
+  @Test
+  public void process_writesInterleavedVuForNv21() {
+    ImageStreamPreprocessor preprocessor = new ImageStreamPreprocessor(0, 0, 0, 0, 1, false, null);
+
+    ImageStreamPreprocessor.Frame frame =
+        preprocessor.process(createImage(4, 2), ImageFormat.NV21, null);
+
+    assertEquals(1, frame.planes.size());
+    assertArrayEquals(
+        new byte[] {0, 1, 2, 3, 4, 5, 6, 7, (byte) 200, 100, (byte) 201, 101},
+        planeBytes(frame, 0));
+  }
+
+  @Test
+  public void process_takesBuffersFromPool() {
+    ImageStreamBufferPool pool = new ImageStreamBufferPool(3);
+    ImageStreamPreprocessor preprocessor = new ImageStreamPreprocessor(0, 0, 0, 0, 2, true, null);
+
+    ImageStreamPreprocessor.Frame frame =
+        preprocessor.process(createImage(8, 8), ImageFormat.YUV_420_888, pool);
+    pool.release(planeBytes(frame, 0));
+    preprocessor.process(createImage(8, 8), ImageFormat.YUV_420_888, pool);
+
+    assertEquals(1, pool.getAllocationCount());
+    assertEquals(1, pool.getReuseCount());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void process_throwsWhenRegionIsEmpty() {
+    ImageStreamPreprocessor preprocessor = new ImageStreamPreprocessor(0, 0, 0, 0, 16, false, null);
+
+    preprocessor.process(createImage(8, 8), ImageFormat.YUV_420_888, null);
+  }
+}
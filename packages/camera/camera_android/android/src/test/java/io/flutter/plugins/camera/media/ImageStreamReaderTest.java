@@ -5,10 +5,14 @@
 package io.flutter.plugins.camera.media;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -21,6 +25,7 @@ import java.nio.ByteBuffer;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.robolectric.RobolectricTestRunner;
+import org.robolectric.shadows.ShadowLooper;
 
 @RunWith(RobolectricTestRunner.class)
 public class ImageStreamReaderTest {
@@ -162,4 +167,149 @@ public class ImageStreamReaderTest {
     // Make sure we processed the frame with parsePlanesForYuvOrJpeg
     verify(mockImageStreamReaderUtils, never()).yuv420ThreePlanesToNV21(any(), anyInt(), anyInt());
   }
+
+  /** With buffer pooling enabled, plane buffers are recycled once the frame has been sent. */
+  @Test
+  public void onImageAvailable_reusesPlaneBuffersWhenBufferPoolEnabled() {
+    ImageReader mockImageReader = mock(ImageReader.class);
+    when(mockImageReader.getMaxImages()).thenReturn(1);
+    ImageStreamReader imageStreamReader =
+        new ImageStreamReader(
+            mockImageReader, ImageFormat.YUV_420_888, mock(ImageStreamReaderUtils.class));
+    imageStreamReader.setBufferPoolEnabled(true);
+    ImageStreamBufferPool pool = imageStreamReader.getBufferPool();
+    assertNotNull(pool);
+
+    CameraCaptureProperties mockCaptureProps = mock(CameraCaptureProperties.class);
+    EventChannel.EventSink mockEventSink = mock(EventChannel.EventSink.class);
+    for (int frame = 0; frame < 5; frame++) {
+      imageStreamReader.onImageAvailable(
+          getYuvImage(160, 120), mockCaptureProps, mockEventSink);
+      ShadowLooper.idleMainLooper();
+    }
+
+    // Only the first frame allocates; Y, U and V buffers are reused afterwards.
+    assertEquals(3, pool.getAllocationCount());
+    assertEquals(12, pool.getReuseCount());
+    verify(mockEventSink, times(5)).success(any());
+  }
+
+  /** NV21 conversion writes into pooled buffers when buffer pooling is enabled. */
+  @Test
+  public void onImageAvailable_convertsIntoPooledBufferForNv21() {
+    ImageReader mockImageReader = mock(ImageReader.class);
+    ImageStreamReaderUtils mockImageStreamReaderUtils = mock(ImageStreamReaderUtils.class);
+    when(mockImageStreamReaderUtils.yuv420ThreePlanesToNV21(
+            any(), anyInt(), anyInt(), any(byte[].class)))
+        .thenAnswer(invocation -> ByteBuffer.wrap(invocation.getArgument(3)));
+    ImageStreamReader imageStreamReader =
+        new ImageStreamReader(mockImageReader, ImageFormat.NV21, mockImageStreamReaderUtils);
+    imageStreamReader.setBufferPoolEnabled(true);
+
+    Image image = getYuvImage(160, 120);
+    imageStreamReader.onImageAvailable(
+        image, mock(CameraCaptureProperties.class), mock(EventChannel.EventSink.class));
+
+    verify(mockImageStreamReaderUtils)
+        .yuv420ThreePlanesToNV21(
+            eq(image.getPlanes()), eq(160), eq(120), any(byte[].class));
+    verify(mockImageStreamReaderUtils, never()).yuv420ThreePlanesToNV21(any(), anyInt(), anyInt());
+  }
+
+  @Test
+  public void setBufferPoolEnabled_falseRemovesPool() {
+    ImageStreamReader imageStreamReader =
+        new ImageStreamReader(
+            mock(ImageReader.class), ImageFormat.YUV_420_888, mock(ImageStreamReaderUtils.class));
+    imageStreamReader.setBufferPoolEnabled(true);
+    imageStreamReader.setBufferPoolEnabled(false);
+
+    assertNull(imageStreamReader.getBufferPool());
+    assertEquals(false, imageStreamReader.getStatistics().get("bufferPoolEnabled"));
+  }
+
+  /** Frames dropped by the delivery policy are closed without being parsed. */
+  @Test
+  public void onImageAvailable_dropsFramesRejectedByDeliveryPolicy() {
+    ImageStreamReaderUtils mockImageStreamReaderUtils = mock(ImageStreamReaderUtils.class);
+    ImageStreamReader imageStreamReader =
+        new ImageStreamReader(
+            mock(ImageReader.class), ImageFormat.NV21, mockImageStreamReaderUtils);
+    imageStreamReader.setDeliveryPolicy(ImageStreamDeliveryMode.everyNth, 2);
+    when(mockImageStreamReaderUtils.yuv420ThreePlanesToNV21(any(), anyInt(), anyInt()))
+        .thenReturn(ByteBuffer.allocate(0));
+
+    CameraCaptureProperties mockCaptureProps = mock(CameraCaptureProperties.class);
+    EventChannel.EventSink mockEventSink = mock(EventChannel.EventSink.class);
+    Image first = getYuvImage(160, 120);
+    Image second = getYuvImage(160, 120);
+    imageStreamReader.onImageAvailable(first, mockCaptureProps, mockEventSink);
+    imageStreamReader.onImageAvailable(second, mockCaptureProps, mockEventSink);
+    ShadowLooper.idleMainLooper();
+
+    verify(second).close();
+    verify(second, never()).getPlanes();
+    verify(mockEventSink, times(1)).success(any());
+    assertEquals(1L, imageStreamReader.getStatistics().get("deliveredFrames"));
+    assertEquals(1L, imageStreamReader.getStatistics().get("droppedFrames"));
+  }
+
+  /** In latestOnly mode, only the newest frame that arrived during a delivery is parsed. */
+  @Test
+  public void onImageAvailable_keepsOnlyTheNewestFrameWhileOneIsInFlight() {
+    ImageStreamReaderUtils mockImageStreamReaderUtils = mock(ImageStreamReaderUtils.class);
+    ImageStreamReader imageStreamReader =
+        new ImageStreamReader(
+            mock(ImageReader.class), ImageFormat.NV21, mockImageStreamReaderUtils);
+    imageStreamReader.setDeliveryPolicy(ImageStreamDeliveryMode.latestOnly, 1);
+    when(mockImageStreamReaderUtils.yuv420ThreePlanesToNV21(any(), anyInt(), anyInt()))
+        .thenReturn(ByteBuffer.allocate(0));
+
+    CameraCaptureProperties mockCaptureProps = mock(CameraCaptureProperties.class);
+    EventChannel.EventSink mockEventSink = mock(EventChannel.EventSink.class);
+    Image first = getYuvImage(160, 120);
+    Image replaced = getYuvImage(160, 120);
+    Image latest = getYuvImage(160, 120);
+    imageStreamReader.onImageAvailable(first, mockCaptureProps, mockEventSink);
+    imageStreamReader.onImageAvailable(replaced, mockCaptureProps, mockEventSink);
+    imageStreamReader.onImageAvailable(latest, mockCaptureProps, mockEventSink);
+
+    verify(replaced).close();
+    verify(replaced, never()).getPlanes();
+    verify(latest, never()).getPlanes();
+    verify(latest, never()).close();
+
+    // Delivering the first frame processes the kept one, which is then delivered too.
+    ShadowLooper.idleMainLooper();
+
+    verify(latest).close();
+    verify(mockEventSink, times(2)).success(any());
+    assertEquals(2L, imageStreamReader.getStatistics().get("deliveredFrames"));
+    assertEquals(1L, imageStreamReader.getStatistics().get("droppedFrames"));
+    assertEquals(0, imageStreamReader.getStatistics().get("inFlightFrames"));
+  }
+
+  private static Image getYuvImage(int width, int height) {
+    Image mockImage = mock(Image.class);
+    when(mockImage.getWidth()).thenReturn(width);
+    when(mockImage.getHeight()).thenReturn(height);
+    when(mockImage.getFormat()).thenReturn(ImageFormat.YUV_420_888);
+
+    Image.Plane planeY = mock(Image.Plane.class);
+    Image.Plane planeU = mock(Image.Plane.class);
+    Image.Plane planeV = mock(Image.Plane.class);
+    when(planeY.getBuffer()).thenReturn(ByteBuffer.allocate(width * height));
+    when(planeY.getRowStride()).thenReturn(width);
+    when(planeY.getPixelStride()).thenReturn(1);
+    when(planeU.getBuffer()).thenReturn(ByteBuffer.allocate(width * height / 2 - 1));
+    when(planeV.getBuffer()).thenReturn(ByteBuffer.allocate(width * height / 2 - 1));
+    when(planeU.getRowStride()).thenReturn(width);
+    when(planeV.getRowStride()).thenReturn(width);
+    when(planeU.getPixelStride()).thenReturn(2);
+    when(planeV.getPixelStride()).thenReturn(2);
+
+    Image.Plane[] planes = {planeY, planeU, planeV};
+    when(mockImage.getPlanes()).thenReturn(planes);
+    return mockImage;
+  }
 }
@@ -0,0 +1,131 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camera.media;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import android.media.Image;
+import java.nio.ByteBuffer;
+import java.util.Locale;
+import java.util.Random;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Measures YUV conversion throughput on the host JVM.
+ *
+ * <p>Planes are synthetic direct buffers laid out like those of real YUV_420_888 images. Skipped
+ * unless the {@code runBenchmarks} Gradle property is set, e.g.:
+ *
+ * <pre>
+ * ./gradlew testDebugUnitTest -PrunBenchmarks --tests '*ImageStreamReaderUtilsBenchmark'
+ * </pre>
+ */
+public class ImageStreamReaderUtilsBenchmark {
+  private static final int WARMUP_ITERATIONS = 50;
+  private static final int MEASURED_ITERATIONS = 200;
+
+  private final ImageStreamReaderUtils utils = new ImageStreamReaderUtils();
+
+  @Before
+  public void setUp() {
+    Assume.assumeTrue(Boolean.getBoolean("runBenchmarks"));
+  }
+
+  /**
+   * Creates planes for a {@code width} x {@code height} image with {@code padding} bytes of row
+   * padding. When {@code interleaved} is true, U and V share one buffer offset by a byte (the
+   * NV21-compatible layout); otherwise they are separate buffers with a pixel stride of 2.
+   */
+  private static Image.Plane[] createPlanes(
+      int width, int height, int padding, boolean interleaved) {
+    Random random = new Random(0);
+    int rowStride = width + padding;
+
+    ByteBuffer y = ByteBuffer.allocateDirect(rowStride * (height - 1) + width);
+    fill(y, random);
+
+    int chromaLength = rowStride * (height / 2 - 1) + width - 1;
+    ByteBuffer u;
+    ByteBuffer v;
+    if (interleaved) {
+      ByteBuffer vu = ByteBuffer.allocateDirect(chromaLength + 1);
+      fill(vu, random);
+      vu.position(1);
+      u = vu.slice();
+      vu.position(0);
+      vu.limit(chromaLength);
+      v = vu.slice();
+    } else {
+      u = ByteBuffer.allocateDirect(chromaLength);
+      v = ByteBuffer.allocateDirect(chromaLength);
+      fill(u, random);
+      fill(v, random);
+    }
+
+    return new Image.Plane[] {
+      mockPlane(y, rowStride, 1), mockPlane(u, rowStride, 2), mockPlane(v, rowStride, 2)
+    };
+  }
+
+  private static void fill(ByteBuffer buffer, Random random) {
+    byte[] bytes = new byte[buffer.capacity()];
+    random.nextBytes(bytes);
+    buffer.put(bytes);
+    buffer.rewind();
+  }
+
+  private static Image.Plane mockPlane(ByteBuffer buffer, int rowStride, int pixelStride) {
+    Image.Plane plane = mock(Image.Plane.class);
+    when(plane.getBuffer()).thenReturn(buffer);
+    when(plane.getRowStride()).thenReturn(rowStride);
+    when(plane.getPixelStride()).thenReturn(pixelStride);
+    return plane;
+  }
+
+  private interface Conversion {
+    void run(Image.Plane[] planes, int width, int height, byte[] out);
+  }
+
+  private static void measure(
+      String name, Image.Plane[] planes, int width, int height, Conversion conversion) {
+    byte[] out = new byte[ImageStreamReaderUtils.nv21BufferSize(width, height)];
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      conversion.run(planes, width, height, out);
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+      conversion.run(planes, width, height, out);
+    }
+    long nsPerFrame = (System.nanoTime() - start) / MEASURED_ITERATIONS;
+    System.out.println(
+        String.format(
+            Locale.ROOT, "%-28s %4dx%-4d %,12d ns/frame", name, width, height, nsPerFrame));
+  }
+
+  private void runAll(int width, int height) {
+    // Row padding rules out the NV21 fast path, so interleaved planes are created without it.
+    Image.Plane[] interleaved = createPlanes(width, height, 0, true);
+    Image.Plane[] separate = createPlanes(width, height, 64, false);
+
+    measure(
+        "nv21 (interleaved input)", interleaved, width, height, utils::yuv420ThreePlanesToNV21);
+    measure("nv21 (separate input)", separate, width, height, utils::yuv420ThreePlanesToNV21);
+    measure("i420", separate, width, height, utils::yuv420ThreePlanesToI420);
+    measure("y only", separate, width, height, utils::yuv420ToYPlane);
+  }
+
+  @Test
+  public void benchmark720p() {
+    runAll(1280, 720);
+  }
+
+  @Test
+  public void benchmark1080p() {
+    runAll(1920, 1080);
+  }
+}
@@ -96,4 +96,72 @@ public class ImageStreamReaderUtilsTest {
         ((long) imageWidth * imageHeight) + (2 * ((long) (imageWidth / 2) * (imageHeight / 2))),
         result.limit());
   }
+
+  /** The fallback path drops row padding and de-interleaves chroma samples. */
+  @Test
+  public void copyPlaneRegion_copiesStridedRows() {
+    // Two rows of three pixels with a pixel stride of 2 and a row stride of 8.
+    ByteBuffer buffer = ByteBuffer.wrap(new byte[] {1, 0, 2, 0, 3, 0, 0, 0, 4, 0, 5, 0, 6});
+    byte[] out = new byte[12];
+
+    ImageStreamReaderUtils.copyPlaneRegion(buffer, 8, 2, 0, 0, 3, 2, out, 1, 2);
+
+    Assert.assertArrayEquals(new byte[] {0, 1, 0, 2, 0, 3, 0, 4, 0, 5, 0, 6}, out);
+    Assert.assertEquals(0, buffer.position());
+  }
+
+  @Test
+  public void copyPlaneRegion_copiesCroppedRegionInBulk() {
+    ByteBuffer buffer = ByteBuffer.wrap(new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9});
+    byte[] out = new byte[4];
+
+    ImageStreamReaderUtils.copyPlaneRegion(buffer, 3, 1, 1, 1, 2, 2, out, 0, 1);
+
+    Assert.assertArrayEquals(new byte[] {5, 6, 8, 9}, out);
+  }
+
+  private static Image.Plane plane(ByteBuffer buffer, int rowStride, int pixelStride) {
+    Image.Plane plane = mock(Image.Plane.class);
+    when(plane.getBuffer()).thenReturn(buffer);
+    when(plane.getRowStride()).thenReturn(rowStride);
+    when(plane.getPixelStride()).thenReturn(pixelStride);
+    return plane;
+  }
+
+  @Test
+  public void yuv420ThreePlanesToI420_writesPlanarOutput() {
+    // A 4x4 image whose rows are padded to 6 bytes, padding being -1.
+    byte[] y = {1, 2, 3, 4, -1, -1, 5, 6, 7, 8, -1, -1, 9, 10, 11, 12, -1, -1, 13, 14, 15, 16};
+    // The 2x2 chroma samples are interleaved in one buffer, like on most devices: U is read from
+    // the first byte and V from the second, each with a pixel stride of 2.
+    byte[] chroma = {101, 111, 102, 112, -1, -1, 103, 113, 104, 114, -1, -1};
+    Image.Plane[] planes = {
+      plane(ByteBuffer.wrap(y), 6, 1),
+      plane(ByteBuffer.wrap(chroma, 0, 9).slice(), 6, 2),
+      plane(ByteBuffer.wrap(chroma, 1, 9).slice(), 6, 2)
+    };
+    byte[] out = new byte[ImageStreamReaderUtils.nv21BufferSize(4, 4)];
+
+    ByteBuffer result = imageStreamReaderUtils.yuv420ThreePlanesToI420(planes, 4, 4, out);
+
+    Assert.assertSame(out, result.array());
+    Assert.assertArrayEquals(
+        new byte[] {
+          1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 101, 102, 103, 104, 111, 112, 113,
+          114
+        },
+        out);
+  }
+
+  @Test
+  public void yuv420ToYPlane_trimsPadding() {
+    Image mockImage = getImage(160, 120, 16);
+    mockImage.getPlanes()[0].getBuffer().put(176, (byte) 42);
+    byte[] out = new byte[160 * 120];
+
+    imageStreamReaderUtils.yuv420ToYPlane(mockImage.getPlanes(), 160, 120, out);
+
+    // The first pixel of the second row follows the first row directly.
+    Assert.assertEquals(42, out[160]);
+  }
 }
@@ -11,6 +11,8 @@ import 'package:flutter/services.dart';
 import 'package:flutter/widgets.dart';
 import 'package:stream_transform/stream_transform.dart';
 
+import 'image_stream_delivery_mode.dart';
+import 'picture_saved_event.dart';
 import 'type_conversion.dart';
 import 'utils.dart';
 
@@ -215,6 +217,14 @@ class AndroidCamera extends CameraPlatform {
     return _cameraEvents(cameraId).whereType<VideoRecordedEvent>();
   }
 
+  /// The camera has saved a picture, and reports how long each stage took.
+  ///
+  /// An event is sent for every picture taken with [takePicture] or
+  /// [takePictureBurst].
+  Stream<PictureSavedEvent> onPictureSaved(int cameraId) {
+    return _cameraEvents(cameraId).whereType<PictureSavedEvent>();
+  }
+
   @override
   Stream<DeviceOrientationChangedEvent> onDeviceOrientationChanged() {
     return _deviceEventStreamController.stream
@@ -260,6 +270,29 @@ class AndroidCamera extends CameraPlatform {
     return XFile(path);
   }
 
+  /// Captures [count] pictures in a single burst and returns them in capture
+  /// order.
+  ///
+  /// The pictures are taken back to back without running the focus and
+  /// exposure metering sequence used by [takePicture], and are written to
+  /// disk in the background while the burst is still being captured.
+  /// [count] must be between 1 and 10.
+  Future<List<XFile>> takePictureBurst(int cameraId, int count) async {
+    final List<String>? paths = await _channel.invokeListMethod<String>(
+      'takePictureBurst',
+      <String, dynamic>{'cameraId': cameraId, 'count': count},
+    );
+
+    if (paths == null) {
+      throw CameraException(
+        'INVALID_PATH',
+        'The platform "$defaultTargetPlatform" did not return paths while reporting success. The platform should always return valid paths or report an error.',
+      );
+    }
+
+    return paths.map((String path) => XFile(path)).toList();
+  }
+
   @override
   Future<void> prepareForVideoRecording() =>
       _channel.invokeMethod<void>('prepareForVideoRecording');
@@ -533,6 +566,89 @@ class AndroidCamera extends CameraPlatform {
     );
   }
 
+  /// Enables or disables reuse of native plane buffers for streamed frames.
+  ///
+  /// When enabled, the plugin recycles the byte buffers backing each streamed
+  /// frame once it has been delivered, avoiding per-frame allocations on the
+  /// platform side. The setting persists across camera re-initialization.
+  Future<void> setImageStreamBufferPoolEnabled(
+      int cameraId, bool enabled) async {
+    await _channel.invokeMethod<void>(
+      'setImageStreamBufferPoolEnabled',
+      <String, dynamic>{
+        'cameraId': cameraId,
+        'enabled': enabled,
+      },
+    );
+  }
+
+  /// Sets how streamed frames are dropped when Dart does not keep up with the
+  /// camera.
+  ///
+  /// [count] is the queue size for [ImageStreamDeliveryMode.boundedQueue] and
+  /// the frame interval for [ImageStreamDeliveryMode.everyNth]. Frames are
+  /// dropped on the platform side before any of their data is copied. The
+  /// setting persists across camera re-initialization.
+  Future<void> setImageStreamDeliveryPolicy(
+      int cameraId, ImageStreamDeliveryMode mode,
+      {int count = 1}) async {
+    await _channel.invokeMethod<void>(
+      'setImageStreamDeliveryPolicy',
+      <String, dynamic>{
+        'cameraId': cameraId,
+        'mode': mode.name,
+        'count': count,
+      },
+    );
+  }
+
+  /// Configures native preprocessing of streamed YUV frames.
+  ///
+  /// Frames are cropped to [crop] (in sensor pixels), downscaled by the integer
+  /// [downscaleFactor], and, if [rotateToSensorOrientation] is set, rotated
+  /// upright using the sensor and capture orientation, before any bytes are
+  /// sent to Dart. When [grayscaleOnly] is set, only the Y plane is sent.
+  /// Preprocessed YUV420 frames use tightly packed Y, U and V planes.
+  ///
+  /// Calling this with the default arguments disables preprocessing. JPEG
+  /// frames are never preprocessed.
+  Future<void> setImageStreamPreprocessing(
+    int cameraId, {
+    Rectangle<int>? crop,
+    int downscaleFactor = 1,
+    bool rotateToSensorOrientation = false,
+    bool grayscaleOnly = false,
+  }) async {
+    await _channel.invokeMethod<void>(
+      'setImageStreamPreprocessing',
+      <String, dynamic>{
+        'cameraId': cameraId,
+        'cropLeft': crop?.left ?? 0,
+        'cropTop': crop?.top ?? 0,
+        'cropWidth': crop?.width ?? 0,
+        'cropHeight': crop?.height ?? 0,
+        'downscaleFactor': downscaleFactor,
+        'rotateToSensorOrientation': rotateToSensorOrientation,
+        'grayscaleOnly': grayscaleOnly,
+      },
+    );
+  }
+
+  /// Returns platform-side counters describing the image stream.
+  ///
+  /// Includes `deliveredFrames`, `droppedFrames` and `inFlightFrames` for the
+  /// delivery policy, and `bufferAllocations` and `bufferReuses`, which can be
+  /// used to verify that buffer pooling reaches a steady state without
+  /// allocations.
+  Future<Map<String, Object?>> getImageStreamStatistics(int cameraId) async {
+    final Map<String, Object?>? statistics =
+        await _channel.invokeMapMethod<String, Object?>(
+      'getImageStreamStatistics',
+      <String, dynamic>{'cameraId': cameraId},
+    );
+    return statistics ?? <String, Object?>{};
+  }
+
   @override
   Widget buildPreview(int cameraId) {
     return Texture(textureId: cameraId);
@@ -625,6 +741,11 @@ class AndroidCamera extends CameraPlatform {
         cameraEventStreamController.add(CameraClosingEvent(
           cameraId,
         ));
+      case 'picture_saved':
+        final Map<String, Object?> arguments = _getArgumentDictionary(call);
+        cameraEventStreamController.add(PictureSavedEvent.fromJson(
+          <String, dynamic>{...arguments, 'cameraId': cameraId},
+        ));
       case 'error':
         final Map<String, Object?> arguments = _getArgumentDictionary(call);
         cameraEventStreamController.add(CameraErrorEvent(
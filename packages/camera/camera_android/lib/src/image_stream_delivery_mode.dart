@@ -0,0 +1,21 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+/// How the platform side drops streamed frames when they are produced faster
+/// than they are delivered.
+// Mirrors ImageStreamDeliveryMode.java
+enum ImageStreamDeliveryMode {
+  /// Every frame is delivered, regardless of how many are waiting to be sent.
+  all,
+
+  /// Only the most recent frame is delivered; older undelivered frames are
+  /// dropped.
+  latestOnly,
+
+  /// New frames are dropped while `count` frames are still waiting to be sent.
+  boundedQueue,
+
+  /// Only every `count`th frame produced by the camera is delivered.
+  everyNth,
+}
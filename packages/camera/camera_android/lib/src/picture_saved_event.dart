@@ -0,0 +1,77 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'package:camera_platform_interface/camera_platform_interface.dart';
+
+/// An event fired when a picture taken by the camera has been saved to disk.
+///
+/// It reports how long each stage of taking and saving the picture took, so
+/// that apps can tell whether the sensor, the copy out of the capture buffer
+/// or the storage is limiting the capture rate.
+class PictureSavedEvent extends CameraEvent {
+  /// Build a PictureSavedEvent triggered from the camera with the `cameraId`.
+  const PictureSavedEvent(
+    super.cameraId,
+    this.path, {
+    required this.captureDuration,
+    required this.copyDuration,
+    required this.writeDuration,
+    required this.syncDuration,
+  });
+
+  /// Converts the supplied [Map] to an instance of the [PictureSavedEvent]
+  /// class.
+  PictureSavedEvent.fromJson(Map<String, dynamic> json)
+      : path = json['path']! as String,
+        captureDuration = _durationFromMillis(json['captureMillis']),
+        copyDuration = _durationFromMillis(json['copyMillis']),
+        writeDuration = _durationFromMillis(json['writeMillis']),
+        syncDuration = _durationFromMillis(json['syncMillis']),
+        super(json['cameraId']! as int);
+
+  /// The path of the saved picture.
+  final String path;
+
+  /// The time from the capture request until the encoded picture was available.
+  final Duration captureDuration;
+
+  /// The time spent copying the encoded picture out of the capture buffer.
+  final Duration copyDuration;
+
+  /// The time spent writing the picture to the file.
+  final Duration writeDuration;
+
+  /// The time spent flushing the file to storage.
+  final Duration syncDuration;
+
+  /// Converts the [PictureSavedEvent] instance into a [Map] instance that can
+  /// be serialized to JSON.
+  Map<String, dynamic> toJson() => <String, Object>{
+        'cameraId': cameraId,
+        'path': path,
+        'captureMillis': captureDuration.inMicroseconds / 1000,
+        'copyMillis': copyDuration.inMicroseconds / 1000,
+        'writeMillis': writeDuration.inMicroseconds / 1000,
+        'syncMillis': syncDuration.inMicroseconds / 1000,
+      };
+
+  static Duration _durationFromMillis(Object? millis) =>
+      Duration(microseconds: (((millis as num?) ?? 0) * 1000).round());
+
+  @override
+  bool operator ==(Object other) =>
+      identical(this, other) ||
+      super == other &&
+          other is PictureSavedEvent &&
+          runtimeType == other.runtimeType &&
+          path == other.path &&
+          captureDuration == other.captureDuration &&
+          copyDuration == other.copyDuration &&
+          writeDuration == other.writeDuration &&
+          syncDuration == other.syncDuration;
+
+  @override
+  int get hashCode => Object.hash(super.hashCode, path, captureDuration,
+      copyDuration, writeDuration, syncDuration);
+}
@@ -7,6 +7,8 @@ import 'dart:math';
 
 import 'package:async/async.dart';
 import 'package:camera_android/src/android_camera.dart';
+import 'package:camera_android/src/image_stream_delivery_mode.dart';
+import 'package:camera_android/src/picture_saved_event.dart';
 import 'package:camera_android/src/utils.dart';
 import 'package:camera_platform_interface/camera_platform_interface.dart';
 import 'package:flutter/services.dart';
@@ -432,6 +434,40 @@ void main() {
       await streamQueue.cancel();
     });
 
+    test('Should receive picture saved events', () async {
+      // Act
+      final Stream<PictureSavedEvent> eventStream =
+          camera.onPictureSaved(cameraId);
+      final StreamQueue<PictureSavedEvent> streamQueue =
+          StreamQueue<PictureSavedEvent>(eventStream);
+
+      // Emit test events
+      await camera.handleCameraMethodCall(
+          const MethodCall('picture_saved', <String, Object>{
+            'path': '/test/path.jpg',
+            'captureMillis': 120.5,
+            'copyMillis': 1.25,
+            'writeMillis': 8.0,
+            'syncMillis': 15.0,
+          }),
+          cameraId);
+
+      // Assert
+      expect(
+          await streamQueue.next,
+          PictureSavedEvent(
+            cameraId,
+            '/test/path.jpg',
+            captureDuration: const Duration(microseconds: 120500),
+            copyDuration: const Duration(microseconds: 1250),
+            writeDuration: const Duration(milliseconds: 8),
+            syncDuration: const Duration(milliseconds: 15),
+          ));
+
+      // Clean up
+      await streamQueue.cancel();
+    });
+
     test('Should receive camera error events', () async {
       // Act
       final Stream<CameraErrorEvent> errorStream =
@@ -606,6 +642,28 @@ void main() {
       expect(file.path, '/test/path.jpg');
     });
 
+    test('Should take a picture burst and return XFile instances', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+          channelName: _channelName,
+          methods: <String, dynamic>{
+            'takePictureBurst': <String>['/test/1.jpg', '/test/2.jpg'],
+          });
+
+      // Act
+      final List<XFile> files = await camera.takePictureBurst(cameraId, 2);
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('takePictureBurst', arguments: <String, Object?>{
+          'cameraId': cameraId,
+          'count': 2,
+        }),
+      ]);
+      expect(files.map((XFile file) => file.path),
+          <String>['/test/1.jpg', '/test/2.jpg']);
+    });
+
     test('Should prepare for video recording', () async {
       // Arrange
       final MethodChannelMock channel = MethodChannelMock(
@@ -1119,6 +1177,106 @@ void main() {
       ]);
     });
 
+    test('Should enable the image stream buffer pool', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{'setImageStreamBufferPoolEnabled': null},
+      );
+
+      // Act
+      await camera.setImageStreamBufferPoolEnabled(cameraId, true);
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('setImageStreamBufferPoolEnabled',
+            arguments: <String, Object?>{
+              'cameraId': cameraId,
+              'enabled': true,
+            }),
+      ]);
+    });
+
+    test('Should set the image stream delivery policy', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{'setImageStreamDeliveryPolicy': null},
+      );
+
+      // Act
+      await camera.setImageStreamDeliveryPolicy(
+          cameraId, ImageStreamDeliveryMode.boundedQueue,
+          count: 2);
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('setImageStreamDeliveryPolicy',
+            arguments: <String, Object?>{
+              'cameraId': cameraId,
+              'mode': 'boundedQueue',
+              'count': 2,
+            }),
+      ]);
+    });
+
+    test('Should set the image stream preprocessing', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{'setImageStreamPreprocessing': null},
+      );
+
+      // Act
+      await camera.setImageStreamPreprocessing(
+        cameraId,
+        crop: const Rectangle<int>(100, 50, 640, 640),
+        downscaleFactor: 2,
+        rotateToSensorOrientation: true,
+      );
+
+      // Assert
+      expect(channel.log, <Matcher>[
+        isMethodCall('setImageStreamPreprocessing',
+            arguments: <String, Object?>{
+              'cameraId': cameraId,
+              'cropLeft': 100,
+              'cropTop': 50,
+              'cropWidth': 640,
+              'cropHeight': 640,
+              'downscaleFactor': 2,
+              'rotateToSensorOrientation': true,
+              'grayscaleOnly': false,
+            }),
+      ]);
+    });
+
+    test('Should get the image stream statistics', () async {
+      // Arrange
+      final MethodChannelMock channel = MethodChannelMock(
+        channelName: _channelName,
+        methods: <String, dynamic>{
+          'getImageStreamStatistics': <String, Object?>{
+            'bufferPoolEnabled': true,
+            'bufferAllocations': 3,
+            'bufferReuses': 42,
+          },
+        },
+      );
+
+      // Act
+      final Map<String, Object?> statistics =
+          await camera.getImageStreamStatistics(cameraId);
+
+      // Assert
+      expect(statistics['bufferAllocations'], 3);
+      expect(statistics['bufferReuses'], 42);
+      expect(channel.log, <Matcher>[
+        isMethodCall('getImageStreamStatistics',
+            arguments: <String, Object?>{'cameraId': cameraId}),
+      ]);
+    });
+
     test('Should start streaming', () async {
       // Arrange
       final MethodChannelMock channel = MethodChannelMock(
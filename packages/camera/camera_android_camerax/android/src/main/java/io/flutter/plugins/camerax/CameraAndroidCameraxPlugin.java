@@ -15,6 +15,8 @@ import io.flutter.embedding.engine.plugins.activity.ActivityAware;
 import io.flutter.embedding.engine.plugins.activity.ActivityPluginBinding;
 import io.flutter.plugin.common.BinaryMessenger;
 import io.flutter.view.TextureRegistry;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /** Platform implementation of the camera_plugin implemented with the CameraX library. */
 public final class CameraAndroidCameraxPlugin implements FlutterPlugin, ActivityAware {
@@ -40,6 +42,18 @@ public final class CameraAndroidCameraxPlugin implements FlutterPlugin, Activity
 
   @VisibleForTesting public @Nullable LiveDataHostApiImpl liveDataHostApiImpl;
 
+  /**
+   * Runs the callbacks of image captures. It is shared by every capture and shut down when the
+   * plugin is detached from the engine.
+   */
+  @VisibleForTesting public @Nullable ExecutorService captureExecutor;
+
+  /**
+   * Runs streaming image analyzers. It is shared by every {@code ImageAnalysis} and shut down when
+   * the plugin is detached from the engine.
+   */
+  @VisibleForTesting public @Nullable ExecutorService analysisExecutor;
+
   /**
    * Initialize this within the {@code #configureFlutterEngine} of a Flutter activity or fragment.
    *
@@ -62,7 +76,7 @@ public final class CameraAndroidCameraxPlugin implements FlutterPlugin, Activity
 
     // Set up Host APIs.
     GeneratedCameraXLibrary.InstanceManagerHostApi.setup(
-        binaryMessenger, () -> instanceManager.clear());
+        binaryMessenger, new InstanceManagerHostApiImpl(instanceManager));
     GeneratedCameraXLibrary.CameraHostApi.setup(
         binaryMessenger, new CameraHostApiImpl(binaryMessenger, instanceManager));
     GeneratedCameraXLibrary.CameraInfoHostApi.setup(
@@ -84,8 +98,11 @@ public final class CameraAndroidCameraxPlugin implements FlutterPlugin, Activity
         binaryMessenger, deviceOrientationManagerHostApiImpl);
     GeneratedCameraXLibrary.PreviewHostApi.setup(
         binaryMessenger, new PreviewHostApiImpl(binaryMessenger, instanceManager, textureRegistry));
+    if (captureExecutor == null) {
+      captureExecutor = Executors.newSingleThreadExecutor();
+    }
     imageCaptureHostApiImpl =
-        new ImageCaptureHostApiImpl(binaryMessenger, instanceManager, context);
+        new ImageCaptureHostApiImpl(binaryMessenger, instanceManager, context, captureExecutor);
     GeneratedCameraXLibrary.ImageCaptureHostApi.setup(binaryMessenger, imageCaptureHostApiImpl);
     GeneratedCameraXLibrary.CameraHostApi.setup(
         binaryMessenger, new CameraHostApiImpl(binaryMessenger, instanceManager));
@@ -93,8 +110,11 @@ public final class CameraAndroidCameraxPlugin implements FlutterPlugin, Activity
     GeneratedCameraXLibrary.LiveDataHostApi.setup(binaryMessenger, liveDataHostApiImpl);
     GeneratedCameraXLibrary.ObserverHostApi.setup(
         binaryMessenger, new ObserverHostApiImpl(binaryMessenger, instanceManager));
+    if (analysisExecutor == null) {
+      analysisExecutor = Executors.newSingleThreadExecutor();
+    }
     imageAnalysisHostApiImpl =
-        new ImageAnalysisHostApiImpl(binaryMessenger, instanceManager, context);
+        new ImageAnalysisHostApiImpl(binaryMessenger, instanceManager, context, analysisExecutor);
     GeneratedCameraXLibrary.ImageAnalysisHostApi.setup(binaryMessenger, imageAnalysisHostApiImpl);
     GeneratedCameraXLibrary.AnalyzerHostApi.setup(
         binaryMessenger, new AnalyzerHostApiImpl(binaryMessenger, instanceManager));
@@ -150,6 +170,14 @@ public final class CameraAndroidCameraxPlugin implements FlutterPlugin, Activity
     if (instanceManager != null) {
       instanceManager.stopFinalizationListener();
     }
+    if (captureExecutor != null) {
+      captureExecutor.shutdown();
+      captureExecutor = null;
+    }
+    if (analysisExecutor != null) {
+      analysisExecutor.shutdown();
+      analysisExecutor = null;
+    }
   }
 
   // Activity Lifecycle methods:
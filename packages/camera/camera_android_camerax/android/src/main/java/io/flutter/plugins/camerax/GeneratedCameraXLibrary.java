@@ -711,12 +711,207 @@ public class GeneratedCameraXLibrary {
     }
   }
 
+  /**
+   * Usage statistics of the native `InstanceManager`.
+   *
+   * <p>Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class InstanceManagerStatistics {
+    /** The number of instances currently held by the `InstanceManager`. */
+    private @NonNull Long liveInstanceCount;
+
+    public @NonNull Long getLiveInstanceCount() {
+      return liveInstanceCount;
+    }
+
+    public void setLiveInstanceCount(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"liveInstanceCount\" is null.");
+      }
+      this.liveInstanceCount = setterArg;
+    }
+
+    /** The largest number of instances held at once since the last clear. */
+    private @NonNull Long peakLiveInstanceCount;
+
+    public @NonNull Long getPeakLiveInstanceCount() {
+      return peakLiveInstanceCount;
+    }
+
+    public void setPeakLiveInstanceCount(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"peakLiveInstanceCount\" is null.");
+      }
+      this.peakLiveInstanceCount = setterArg;
+    }
+
+    /** The number of instances removed after their Dart counterpart was garbage collected. */
+    private @NonNull Long reclaimedInstanceCount;
+
+    public @NonNull Long getReclaimedInstanceCount() {
+      return reclaimedInstanceCount;
+    }
+
+    public void setReclaimedInstanceCount(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"reclaimedInstanceCount\" is null.");
+      }
+      this.reclaimedInstanceCount = setterArg;
+    }
+
+    /** The average time between adding and reclaiming an instance. */
+    private @NonNull Double averageReclaimLatencyMillis;
+
+    public @NonNull Double getAverageReclaimLatencyMillis() {
+      return averageReclaimLatencyMillis;
+    }
+
+    public void setAverageReclaimLatencyMillis(@NonNull Double setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"averageReclaimLatencyMillis\" is null.");
+      }
+      this.averageReclaimLatencyMillis = setterArg;
+    }
+
+    /** The longest time between adding and reclaiming an instance. */
+    private @NonNull Double maxReclaimLatencyMillis;
+
+    public @NonNull Double getMaxReclaimLatencyMillis() {
+      return maxReclaimLatencyMillis;
+    }
+
+    public void setMaxReclaimLatencyMillis(@NonNull Double setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"maxReclaimLatencyMillis\" is null.");
+      }
+      this.maxReclaimLatencyMillis = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    InstanceManagerStatistics() {}
+
+    public static final class Builder {
+
+      private @Nullable Long liveInstanceCount;
+
+      public @NonNull Builder setLiveInstanceCount(@NonNull Long setterArg) {
+        this.liveInstanceCount = setterArg;
+        return this;
+      }
+
+      private @Nullable Long peakLiveInstanceCount;
+
+      public @NonNull Builder setPeakLiveInstanceCount(@NonNull Long setterArg) {
+        this.peakLiveInstanceCount = setterArg;
+        return this;
+      }
+
+      private @Nullable Long reclaimedInstanceCount;
+
+      public @NonNull Builder setReclaimedInstanceCount(@NonNull Long setterArg) {
+        this.reclaimedInstanceCount = setterArg;
+        return this;
+      }
+
+      private @Nullable Double averageReclaimLatencyMillis;
+
+      public @NonNull Builder setAverageReclaimLatencyMillis(@NonNull Double setterArg) {
+        this.averageReclaimLatencyMillis = setterArg;
+        return this;
+      }
+
+      private @Nullable Double maxReclaimLatencyMillis;
+
+      public @NonNull Builder setMaxReclaimLatencyMillis(@NonNull Double setterArg) {
+        this.maxReclaimLatencyMillis = setterArg;
+        return this;
+      }
+
+      public @NonNull InstanceManagerStatistics build() {
+        InstanceManagerStatistics pigeonReturn = new InstanceManagerStatistics();
+        pigeonReturn.setLiveInstanceCount(liveInstanceCount);
+        pigeonReturn.setPeakLiveInstanceCount(peakLiveInstanceCount);
+        pigeonReturn.setReclaimedInstanceCount(reclaimedInstanceCount);
+        pigeonReturn.setAverageReclaimLatencyMillis(averageReclaimLatencyMillis);
+        pigeonReturn.setMaxReclaimLatencyMillis(maxReclaimLatencyMillis);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<Object>(5);
+      toListResult.add(liveInstanceCount);
+      toListResult.add(peakLiveInstanceCount);
+      toListResult.add(reclaimedInstanceCount);
+      toListResult.add(averageReclaimLatencyMillis);
+      toListResult.add(maxReclaimLatencyMillis);
+      return toListResult;
+    }
+
+    static @NonNull InstanceManagerStatistics fromList(@NonNull ArrayList<Object> list) {
+      InstanceManagerStatistics pigeonResult = new InstanceManagerStatistics();
+      Object liveInstanceCount = list.get(0);
+      pigeonResult.setLiveInstanceCount(
+          (liveInstanceCount == null)
+              ? null
+              : ((liveInstanceCount instanceof Integer)
+                  ? (Integer) liveInstanceCount
+                  : (Long) liveInstanceCount));
+      Object peakLiveInstanceCount = list.get(1);
+      pigeonResult.setPeakLiveInstanceCount(
+          (peakLiveInstanceCount == null)
+              ? null
+              : ((peakLiveInstanceCount instanceof Integer)
+                  ? (Integer) peakLiveInstanceCount
+                  : (Long) peakLiveInstanceCount));
+      Object reclaimedInstanceCount = list.get(2);
+      pigeonResult.setReclaimedInstanceCount(
+          (reclaimedInstanceCount == null)
+              ? null
+              : ((reclaimedInstanceCount instanceof Integer)
+                  ? (Integer) reclaimedInstanceCount
+                  : (Long) reclaimedInstanceCount));
+      Object averageReclaimLatencyMillis = list.get(3);
+      pigeonResult.setAverageReclaimLatencyMillis((Double) averageReclaimLatencyMillis);
+      Object maxReclaimLatencyMillis = list.get(4);
+      pigeonResult.setMaxReclaimLatencyMillis((Double) maxReclaimLatencyMillis);
+      return pigeonResult;
+    }
+  }
+
   public interface Result<T> {
     @SuppressWarnings("UnknownNullness")
     void success(T result);
 
     void error(@NonNull Throwable error);
   }
+  private static class InstanceManagerHostApiCodec extends StandardMessageCodec {
+    public static final InstanceManagerHostApiCodec INSTANCE = new InstanceManagerHostApiCodec();
+
+    private InstanceManagerHostApiCodec() {}
+
+    @Override
+    protected Object readValueOfType(byte type, @NonNull ByteBuffer buffer) {
+      switch (type) {
+        case (byte) 128:
+          return InstanceManagerStatistics.fromList((ArrayList<Object>) readValue(buffer));
+        default:
+          return super.readValueOfType(type, buffer);
+      }
+    }
+
+    @Override
+    protected void writeValue(@NonNull ByteArrayOutputStream stream, Object value) {
+      if (value instanceof InstanceManagerStatistics) {
+        stream.write(128);
+        writeValue(stream, ((InstanceManagerStatistics) value).toList());
+      } else {
+        super.writeValue(stream, value);
+      }
+    }
+  }
+
   /** Generated interface from Pigeon that represents a handler of messages from Flutter. */
   public interface InstanceManagerHostApi {
     /**
@@ -726,9 +921,12 @@ public class GeneratedCameraXLibrary {
      */
     void clear();
 
+    /** Returns the usage statistics of the native `InstanceManager`. */
+    InstanceManagerStatistics getStatistics();
+
     /** The codec used by InstanceManagerHostApi. */
     static @NonNull MessageCodec<Object> getCodec() {
-      return new StandardMessageCodec();
+      return InstanceManagerHostApiCodec.INSTANCE;
     }
     /**
      * Sets up an instance of `InstanceManagerHostApi` to handle messages through the
@@ -757,6 +955,29 @@ public class GeneratedCameraXLibrary {
           channel.setMessageHandler(null);
         }
       }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.InstanceManagerHostApi.getStatistics",
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                try {
+                  InstanceManagerStatistics output = api.getStatistics();
+                  wrapped.add(0, output);
+                } catch (Throwable exception) {
+                  ArrayList<Object> wrappedError = wrapError(exception);
+                  wrapped = wrappedError;
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
     }
   }
   /** Generated interface from Pigeon that represents a handler of messages from Flutter. */
@@ -2455,6 +2676,8 @@ public class GeneratedCameraXLibrary {
 
     void takePicture(@NonNull Long identifier, @NonNull Result<String> result);
 
+    void takePictureToMemory(@NonNull Long identifier, @NonNull Result<byte[]> result);
+
     void setTargetRotation(@NonNull Long identifier, @NonNull Long rotation);
 
     /** The codec used by ImageCaptureHostApi. */
@@ -2554,6 +2777,38 @@ public class GeneratedCameraXLibrary {
           channel.setMessageHandler(null);
         }
       }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.ImageCaptureHostApi.takePictureToMemory",
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Number identifierArg = (Number) args.get(0);
+                Result<byte[]> resultCallback =
+                    new Result<byte[]>() {
+                      public void success(byte[] result) {
+                        wrapped.add(0, result);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.takePictureToMemory(
+                    (identifierArg == null) ? null : identifierArg.longValue(), resultCallback);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
@@ -2924,6 +3179,8 @@ public class GeneratedCameraXLibrary {
 
     void setAnalyzer(@NonNull Long identifier, @NonNull Long analyzerIdentifier);
 
+    void setStreamingAnalyzer(@NonNull Long identifier);
+
     void clearAnalyzer(@NonNull Long identifier);
 
     void setTargetRotation(@NonNull Long identifier, @NonNull Long rotation);
@@ -2994,6 +3251,32 @@ public class GeneratedCameraXLibrary {
           channel.setMessageHandler(null);
         }
       }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.ImageAnalysisHostApi.setStreamingAnalyzer",
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Number identifierArg = (Number) args.get(0);
+                try {
+                  api.setStreamingAnalyzer(
+                      (identifierArg == null) ? null : identifierArg.longValue());
+                  wrapped.add(0, null);
+                } catch (Throwable exception) {
+                  ArrayList<Object> wrappedError = wrapError(exception);
+                  wrapped = wrappedError;
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
@@ -3049,6 +3332,53 @@ public class GeneratedCameraXLibrary {
       }
     }
   }
+  /** Generated class from Pigeon that represents Flutter messages that can be called from Java. */
+  public static class ImageAnalysisFlutterApi {
+    private final @NonNull BinaryMessenger binaryMessenger;
+
+    public ImageAnalysisFlutterApi(@NonNull BinaryMessenger argBinaryMessenger) {
+      this.binaryMessenger = argBinaryMessenger;
+    }
+
+    /** Public interface for sending reply. */
+    @SuppressWarnings("UnknownNullness")
+    public interface Reply<T> {
+      void reply(T reply);
+    }
+    /** The codec used by ImageAnalysisFlutterApi. */
+    static @NonNull MessageCodec<Object> getCodec() {
+      return new StandardMessageCodec();
+    }
+
+    public void onFrame(
+        @NonNull Long identifierArg,
+        @NonNull Long formatArg,
+        @NonNull Long widthArg,
+        @NonNull Long heightArg,
+        @NonNull Long rotationDegreesArg,
+        @NonNull Long timestampArg,
+        @NonNull List<byte[]> planeBuffersArg,
+        @NonNull List<Long> pixelStridesArg,
+        @NonNull List<Long> rowStridesArg,
+        @NonNull Reply<Void> callback) {
+      BasicMessageChannel<Object> channel =
+          new BasicMessageChannel<>(
+              binaryMessenger, "dev.flutter.pigeon.ImageAnalysisFlutterApi.onFrame", getCodec());
+      channel.send(
+          new ArrayList<Object>(
+              Arrays.asList(
+                  identifierArg,
+                  formatArg,
+                  widthArg,
+                  heightArg,
+                  rotationDegreesArg,
+                  timestampArg,
+                  planeBuffersArg,
+                  pixelStridesArg,
+                  rowStridesArg)),
+          channelReply -> callback.reply(null));
+    }
+  }
   /** Generated interface from Pigeon that represents a handler of messages from Flutter. */
   public interface AnalyzerHostApi {
 
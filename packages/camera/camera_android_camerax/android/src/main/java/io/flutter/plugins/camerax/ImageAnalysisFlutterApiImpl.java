@@ -0,0 +1,85 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camerax;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import androidx.camera.core.ImageAnalysis;
+import io.flutter.plugin.common.BinaryMessenger;
+import io.flutter.plugins.camerax.GeneratedCameraXLibrary.ImageAnalysisFlutterApi;
+import java.util.List;
+
+/**
+ * Flutter API implementation for {@link ImageAnalysis}.
+ *
+ * <p>This class may handle adding native instances that are attached to a Dart instance or passing
+ * arguments of callbacks methods to a Dart instance.
+ */
+public class ImageAnalysisFlutterApiImpl {
+  private final InstanceManager instanceManager;
+  private ImageAnalysisFlutterApi api;
+
+  /**
+   * Constructs a {@link ImageAnalysisFlutterApiImpl}.
+   *
+   * @param binaryMessenger used to communicate with Dart over asynchronous messages
+   * @param instanceManager maintains instances stored to communicate with attached Dart objects
+   */
+  public ImageAnalysisFlutterApiImpl(
+      @NonNull BinaryMessenger binaryMessenger, @NonNull InstanceManager instanceManager) {
+    this.instanceManager = instanceManager;
+    api = new ImageAnalysisFlutterApi(binaryMessenger);
+  }
+
+  /**
+   * Sends a frame produced by the {@link ImageAnalysis} {@code instance} to the Dart object
+   * representing it, in a single message.
+   *
+   * <p>This must be called on the platform thread.
+   *
+   * @return false if the frame was not sent, because the {@code instance} is no longer known to
+   *     the {@link InstanceManager}, for example after it was disposed from Dart. {@code callback}
+   *     is not called in that case.
+   */
+  public boolean onFrame(
+      @NonNull ImageAnalysis instance,
+      @NonNull Long format,
+      @NonNull Long width,
+      @NonNull Long height,
+      @NonNull Long rotationDegrees,
+      @NonNull Long timestamp,
+      @NonNull List<byte[]> planeBuffers,
+      @NonNull List<Long> pixelStrides,
+      @NonNull List<Long> rowStrides,
+      @NonNull ImageAnalysisFlutterApi.Reply<Void> callback) {
+    final @Nullable Long identifier = instanceManager.getIdentifierForStrongReference(instance);
+    if (identifier == null) {
+      return false;
+    }
+    api.onFrame(
+        identifier,
+        format,
+        width,
+        height,
+        rotationDegrees,
+        timestamp,
+        planeBuffers,
+        pixelStrides,
+        rowStrides,
+        callback);
+    return true;
+  }
+
+  /**
+   * Sets the Flutter API used to send messages to Dart.
+   *
+   * <p>This is only visible for testing.
+   */
+  @VisibleForTesting
+  void setApi(@NonNull ImageAnalysisFlutterApi api) {
+    this.api = api;
+  }
+}
@@ -14,22 +14,39 @@ import androidx.core.content.ContextCompat;
 import io.flutter.plugin.common.BinaryMessenger;
 import io.flutter.plugins.camerax.GeneratedCameraXLibrary.ImageAnalysisHostApi;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 
 public class ImageAnalysisHostApiImpl implements ImageAnalysisHostApi {
 
   private InstanceManager instanceManager;
   private BinaryMessenger binaryMessenger;
+  private final Executor analysisExecutor;
   @Nullable private Context context;
 
   @VisibleForTesting @NonNull public CameraXProxy cameraXProxy = new CameraXProxy();
 
+  @VisibleForTesting @NonNull public ImageAnalysisFlutterApiImpl imageAnalysisFlutterApiImpl;
+
+  /**
+   * Constructs a {@link ImageAnalysisHostApiImpl}.
+   *
+   * @param binaryMessenger used to communicate with Dart over asynchronous messages
+   * @param instanceManager maintains instances stored to communicate with attached Dart objects
+   * @param context {@link Context} used to run tasks on the main thread
+   * @param analysisExecutor runs streaming analyzers. It is owned by the caller, which is
+   *     responsible for shutting it down.
+   */
   public ImageAnalysisHostApiImpl(
       @NonNull BinaryMessenger binaryMessenger,
       @NonNull InstanceManager instanceManager,
-      @NonNull Context context) {
+      @NonNull Context context,
+      @NonNull Executor analysisExecutor) {
     this.binaryMessenger = binaryMessenger;
     this.instanceManager = instanceManager;
     this.context = context;
+    this.analysisExecutor = analysisExecutor;
+    this.imageAnalysisFlutterApiImpl =
+        new ImageAnalysisFlutterApiImpl(binaryMessenger, instanceManager);
   }
 
   /**
@@ -83,6 +100,27 @@ public class ImageAnalysisHostApiImpl implements ImageAnalysisHostApi {
             Objects.requireNonNull(instanceManager.getInstance(analyzerIdentifier)));
   }
 
+  /**
+   * Sets a {@link StreamingAnalyzer} on the {@link ImageAnalysis} instance with the specified
+   * {@code identifier}.
+   *
+   * <p>The analyzer runs on the analysis executor and sends each frame to Dart in a single message,
+   * so no {@link androidx.camera.core.ImageProxy} instances are added to the {@link
+   * InstanceManager}.
+   */
+  @Override
+  public void setStreamingAnalyzer(@NonNull Long identifier) {
+    if (context == null) {
+      throw new IllegalStateException("Context must be set to set an Analyzer.");
+    }
+
+    ImageAnalysis imageAnalysis = getImageAnalysisInstance(identifier);
+    imageAnalysis.setAnalyzer(
+        analysisExecutor,
+        new StreamingAnalyzer(
+            imageAnalysis, imageAnalysisFlutterApiImpl, ContextCompat.getMainExecutor(context)));
+  }
+
   /** Clears any analyzer previously set on the specified {@link ImageAnalysis} instance. */
   @Override
   public void clearAnalyzer(@NonNull Long identifier) {
@@ -10,17 +10,20 @@ import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 import androidx.camera.core.ImageCapture;
 import androidx.camera.core.ImageCaptureException;
+import androidx.camera.core.ImageProxy;
 import androidx.camera.core.resolutionselector.ResolutionSelector;
 import io.flutter.plugin.common.BinaryMessenger;
 import io.flutter.plugins.camerax.GeneratedCameraXLibrary.ImageCaptureHostApi;
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Objects;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
 
 public class ImageCaptureHostApiImpl implements ImageCaptureHostApi {
   private final BinaryMessenger binaryMessenger;
   private final InstanceManager instanceManager;
+  private final Executor captureExecutor;
 
   @Nullable private Context context;
   private SystemServicesFlutterApiImpl systemServicesFlutterApiImpl;
@@ -30,13 +33,24 @@ public class ImageCaptureHostApiImpl implements ImageCaptureHostApi {
 
   @VisibleForTesting public @NonNull CameraXProxy cameraXProxy = new CameraXProxy();
 
+  /**
+   * Constructs a {@link ImageCaptureHostApiImpl}.
+   *
+   * @param binaryMessenger used to communicate with Dart over asynchronous messages
+   * @param instanceManager maintains instances stored to communicate with attached Dart objects
+   * @param context {@link Context} used to find a location to save captured images
+   * @param captureExecutor runs the callbacks of every capture. It is owned by the caller, which is
+   *     responsible for shutting it down.
+   */
   public ImageCaptureHostApiImpl(
       @NonNull BinaryMessenger binaryMessenger,
       @NonNull InstanceManager instanceManager,
-      @NonNull Context context) {
+      @NonNull Context context,
+      @NonNull Executor captureExecutor) {
     this.binaryMessenger = binaryMessenger;
     this.instanceManager = instanceManager;
     this.context = context;
+    this.captureExecutor = captureExecutor;
   }
 
   /**
@@ -106,8 +120,20 @@ public class ImageCaptureHostApiImpl implements ImageCaptureHostApi {
     ImageCapture.OnImageSavedCallback onImageSavedCallback =
         createOnImageSavedCallback(temporaryCaptureFile, result);
 
-    imageCapture.takePicture(
-        outputFileOptions, Executors.newSingleThreadExecutor(), onImageSavedCallback);
+    imageCapture.takePicture(outputFileOptions, captureExecutor, onImageSavedCallback);
+  }
+
+  /**
+   * Captures a still image and returns its JPEG bytes without saving it to a file.
+   *
+   * <p>The rotation of the picture is not applied to its pixels; it is only recorded in the EXIF
+   * data of the JPEG, if the device writes it.
+   */
+  @Override
+  public void takePictureToMemory(
+      @NonNull Long identifier, @NonNull GeneratedCameraXLibrary.Result<byte[]> result) {
+    ImageCapture imageCapture = getImageCaptureInstance(identifier);
+    imageCapture.takePicture(captureExecutor, createOnImageCapturedCallback(result));
   }
 
   /** Creates a callback used when saving a captured image. */
@@ -127,6 +153,32 @@ public class ImageCaptureHostApiImpl implements ImageCaptureHostApi {
     };
   }
 
+  /** Creates a callback used when capturing an image into memory. */
+  @VisibleForTesting
+  public @NonNull ImageCapture.OnImageCapturedCallback createOnImageCapturedCallback(
+      @NonNull GeneratedCameraXLibrary.Result<byte[]> result) {
+    return new ImageCapture.OnImageCapturedCallback() {
+      @Override
+      public void onCaptureSuccess(@NonNull ImageProxy image) {
+        byte[] bytes;
+        try {
+          // Images captured by ImageCapture are JPEG encoded into a single plane.
+          ByteBuffer buffer = image.getPlanes()[0].getBuffer();
+          bytes = cameraXProxy.getBytesFromBuffer(buffer.remaining());
+          buffer.get(bytes, 0, bytes.length);
+        } finally {
+          image.close();
+        }
+        result.success(bytes);
+      }
+
+      @Override
+      public void onError(@NonNull ImageCaptureException exception) {
+        result.error(exception);
+      }
+    };
+  }
+
   /** Dynamically sets the target rotation of the {@link ImageCapture}. */
   @Override
   public void setTargetRotation(@NonNull Long identifier, @NonNull Long rotation) {
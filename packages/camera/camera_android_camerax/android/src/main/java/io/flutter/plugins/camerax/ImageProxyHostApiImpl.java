@@ -23,6 +23,8 @@ import java.util.Objects;
 public class ImageProxyHostApiImpl implements ImageProxyHostApi {
   private final BinaryMessenger binaryMessenger;
   private final InstanceManager instanceManager;
+  // Identifiers of the planes sent to Dart for each image, released when the image is closed.
+  private final LongObjectMap<List<Long>> planeIdentifiersByImage = new LongObjectMap<>();
 
   @VisibleForTesting @NonNull public CameraXProxy cameraXProxy = new CameraXProxy();
 
@@ -61,16 +63,30 @@ public class ImageProxyHostApiImpl implements ImageProxyHostApi {
       planeIdentifiers.add(instanceManager.getIdentifierForStrongReference(plane));
     }
 
+    planeIdentifiersByImage.put(identifier, planeIdentifiers);
     return planeIdentifiers;
   }
 
   /**
    * Closes the {@link androidx.camera.core.Image} instance associated with the {@link ImageProxy}
    * instance with the specified identifier.
+   *
+   * <p>A closed image and its planes can no longer be used, so they are released from the {@link
+   * InstanceManager} immediately rather than when they are garbage collected.
    */
   @Override
   public void close(@NonNull Long identifier) {
     getImageProxyInstance(identifier).close();
+
+    final List<Long> planeIdentifiers = planeIdentifiersByImage.remove(identifier);
+    if (planeIdentifiers != null) {
+      for (Long planeIdentifier : planeIdentifiers) {
+        if (planeIdentifier != null) {
+          instanceManager.release(planeIdentifier);
+        }
+      }
+    }
+    instanceManager.release(identifier);
   }
 
   /**
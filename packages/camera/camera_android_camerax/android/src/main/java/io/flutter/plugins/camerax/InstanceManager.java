@@ -11,7 +11,8 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.WeakHashMap;
 
 /**
@@ -28,6 +29,13 @@ import java.util.WeakHashMap;
  * is removed and then the identifier is retrieved with the intention to pass the identifier to Dart
  * (e.g. calling {@link #getIdentifierForStrongReference(Object)}), the strong reference to the
  * instance is recreated. The strong reference will then need to be removed manually again.
+ *
+ * <p>Short-lived instances, such as the images and planes of an image stream, can be dropped
+ * immediately with {@link #release(long)} instead of waiting for the garbage collector and the next
+ * periodic sweep.
+ *
+ * <p>All methods may be called from any thread. The {@link FinalizationListener} is called on the
+ * main thread for garbage collected instances and on the calling thread of {@link #release(long)}.
  */
 @SuppressWarnings("unchecked")
 public class InstanceManager {
@@ -60,21 +68,71 @@ public class InstanceManager {
     void onFinalize(long identifier);
   }
 
+  /** A snapshot of the instance counts and reclaim latencies of an {@link InstanceManager}. */
+  public static final class Statistics {
+    /** The number of instances currently held by the manager. */
+    public final int liveInstanceCount;
+
+    /** The highest {@link #liveInstanceCount} since the manager was created or cleared. */
+    public final int peakLiveInstanceCount;
+
+    /** The number of instances removed by garbage collection or {@link #release(long)}. */
+    public final long reclaimedInstanceCount;
+
+    /**
+     * The mean time, in milliseconds, between an instance's strong reference being removed and the
+     * instance being reclaimed, or 0 if no instance has been reclaimed.
+     */
+    public final double averageReclaimLatencyMillis;
+
+    /** The longest reclaim latency, in milliseconds. */
+    public final double maxReclaimLatencyMillis;
+
+    Statistics(
+        int liveInstanceCount,
+        int peakLiveInstanceCount,
+        long reclaimedInstanceCount,
+        double averageReclaimLatencyMillis,
+        double maxReclaimLatencyMillis) {
+      this.liveInstanceCount = liveInstanceCount;
+      this.peakLiveInstanceCount = peakLiveInstanceCount;
+      this.reclaimedInstanceCount = reclaimedInstanceCount;
+      this.averageReclaimLatencyMillis = averageReclaimLatencyMillis;
+      this.maxReclaimLatencyMillis = maxReclaimLatencyMillis;
+    }
+  }
+
+  /** A weak reference that remembers the identifier of its instance. */
+  private static final class IdentifiedWeakReference extends WeakReference<Object> {
+    final long identifier;
+    // Time at which the strong reference was last removed, or -1 while it is held.
+    long strongReferenceRemovedNanos = -1;
+
+    IdentifiedWeakReference(Object instance, long identifier, ReferenceQueue<Object> queue) {
+      super(instance, queue);
+      this.identifier = identifier;
+    }
+  }
+
   private final WeakHashMap<Object, Long> identifiers = new WeakHashMap<>();
-  private final HashMap<Long, WeakReference<Object>> weakInstances = new HashMap<>();
-  private final HashMap<Long, Object> strongInstances = new HashMap<>();
+  private final LongObjectMap<IdentifiedWeakReference> weakInstances = new LongObjectMap<>();
+  private final LongObjectMap<Object> strongInstances = new LongObjectMap<>();
 
   private final ReferenceQueue<Object> referenceQueue = new ReferenceQueue<>();
-  private final HashMap<WeakReference<Object>, Long> weakReferencesToIdentifiers = new HashMap<>();
 
   private final Handler handler = new Handler(Looper.getMainLooper());
 
   private final FinalizationListener finalizationListener;
 
   private long nextIdentifier = MIN_HOST_CREATED_IDENTIFIER;
-  private boolean hasFinalizationListenerStopped = false;
+  private volatile boolean hasFinalizationListenerStopped = false;
+
+  private int peakLiveInstanceCount;
+  private long reclaimedInstanceCount;
+  private long totalReclaimLatencyNanos;
+  private long maxReclaimLatencyNanos;
 
-  private long clearFinalizedWeakReferencesInterval =
+  private volatile long clearFinalizedWeakReferencesInterval =
       DEFAULT_CLEAR_FINALIZED_WEAK_REFERENCES_INTERVAL;
 
   /**
@@ -105,9 +163,49 @@ public class InstanceManager {
    *     the manager doesn't contain the value.
    */
   @Nullable
-  public <T> T remove(long identifier) {
+  public synchronized <T> T remove(long identifier) {
     logWarningIfFinalizationListenerHasStopped();
-    return (T) strongInstances.remove(identifier);
+    final T instance = (T) strongInstances.remove(identifier);
+    if (instance != null) {
+      final IdentifiedWeakReference reference = weakInstances.get(identifier);
+      if (reference != null) {
+        reference.strongReferenceRemovedNanos = System.nanoTime();
+      }
+    }
+    return instance;
+  }
+
+  /**
+   * Removes the instance paired with `identifier` from the manager without waiting for it to be
+   * garbage collected, and calls the {@link FinalizationListener} so Dart releases its instance.
+   *
+   * <p>Intended for short-lived instances, such as closed images and their planes, that will never
+   * be used again. Does nothing if the manager doesn't contain `identifier`.
+   *
+   * @param identifier the identifier paired to an instance.
+   */
+  public void release(long identifier) {
+    synchronized (this) {
+      logWarningIfFinalizationListenerHasStopped();
+      final IdentifiedWeakReference reference = weakInstances.remove(identifier);
+      if (reference == null) {
+        return;
+      }
+      final Object instance = reference.get();
+      // The same Dart created instance may also be paired with another identifier.
+      if (instance != null && Long.valueOf(identifier).equals(identifiers.get(instance))) {
+        identifiers.remove(instance);
+      }
+      // Cleared references are never enqueued, so the periodic sweep will not see this instance.
+      reference.clear();
+      if (strongInstances.remove(identifier) != null) {
+        reference.strongReferenceRemovedNanos = System.nanoTime();
+      }
+      recordReclaimed(reference);
+    }
+    if (!hasFinalizationListenerStopped) {
+      finalizationListener.onFinalize(identifier);
+    }
   }
 
   /**
@@ -127,12 +225,16 @@ public class InstanceManager {
    *     `null` if the manager doesn't contain the value.
    */
   @Nullable
-  public Long getIdentifierForStrongReference(@Nullable Object instance) {
+  public synchronized Long getIdentifierForStrongReference(@Nullable Object instance) {
     logWarningIfFinalizationListenerHasStopped();
 
     final Long identifier = identifiers.get(instance);
     if (identifier != null) {
       strongInstances.put(identifier, instance);
+      final IdentifiedWeakReference reference = weakInstances.get(identifier);
+      if (reference != null) {
+        reference.strongReferenceRemovedNanos = -1;
+      }
     }
     return identifier;
   }
@@ -148,7 +250,7 @@ public class InstanceManager {
    * @param identifier the identifier to be paired with instance. This value must be >= 0 and
    *     unique.
    */
-  public void addDartCreatedInstance(@NonNull Object instance, long identifier) {
+  public synchronized void addDartCreatedInstance(@NonNull Object instance, long identifier) {
     logWarningIfFinalizationListenerHasStopped();
     addInstance(instance, identifier);
   }
@@ -159,7 +261,7 @@ public class InstanceManager {
    * @param instance the instance to be stored. This must be unique to all other added instances.
    * @return the unique identifier (>= 0) stored with instance.
    */
-  public long addHostCreatedInstance(@NonNull Object instance) {
+  public synchronized long addHostCreatedInstance(@NonNull Object instance) {
     logWarningIfFinalizationListenerHasStopped();
 
     if (containsInstance(instance)) {
@@ -180,12 +282,12 @@ public class InstanceManager {
    *     `null` if the manager doesn't contain the value.
    */
   @Nullable
-  public <T> T getInstance(long identifier) {
+  public synchronized <T> T getInstance(long identifier) {
     logWarningIfFinalizationListenerHasStopped();
 
-    final WeakReference<T> instance = (WeakReference<T>) weakInstances.get(identifier);
+    final WeakReference<Object> instance = weakInstances.get(identifier);
     if (instance != null) {
-      return instance.get();
+      return (T) instance.get();
     }
     return null;
   }
@@ -196,7 +298,7 @@ public class InstanceManager {
    * @param instance the instance whose presence in this manager is to be tested.
    * @return whether this manager contains the given `instance`.
    */
-  public boolean containsInstance(@Nullable Object instance) {
+  public synchronized boolean containsInstance(@Nullable Object instance) {
     logWarningIfFinalizationListenerHasStopped();
     return identifiers.containsKey(instance);
   }
@@ -218,11 +320,24 @@ public class InstanceManager {
    *
    * <p>The manager will be empty after this call returns.
    */
-  public void clear() {
+  public synchronized void clear() {
     identifiers.clear();
     weakInstances.clear();
     strongInstances.clear();
-    weakReferencesToIdentifiers.clear();
+    peakLiveInstanceCount = 0;
+  }
+
+  /** Returns a snapshot of the instance counts and reclaim latencies of this manager. */
+  @NonNull
+  public synchronized Statistics getStatistics() {
+    return new Statistics(
+        weakInstances.size(),
+        peakLiveInstanceCount,
+        reclaimedInstanceCount,
+        reclaimedInstanceCount == 0
+            ? 0
+            : totalReclaimLatencyNanos / (double) reclaimedInstanceCount / 1e6,
+        maxReclaimLatencyNanos / 1e6);
   }
 
   /**
@@ -252,15 +367,22 @@ public class InstanceManager {
       return;
     }
 
-    WeakReference<Object> reference;
-    while ((reference = (WeakReference<Object>) referenceQueue.poll()) != null) {
-      final Long identifier = weakReferencesToIdentifiers.remove(reference);
-      if (identifier != null) {
-        weakInstances.remove(identifier);
-        strongInstances.remove(identifier);
-        finalizationListener.onFinalize(identifier);
+    final List<Long> finalizedIdentifiers = new ArrayList<>();
+    synchronized (this) {
+      IdentifiedWeakReference reference;
+      while ((reference = (IdentifiedWeakReference) referenceQueue.poll()) != null) {
+        // The identifier may have been released or reused since the reference was enqueued.
+        if (weakInstances.get(reference.identifier) == reference) {
+          weakInstances.remove(reference.identifier);
+          strongInstances.remove(reference.identifier);
+          recordReclaimed(reference);
+          finalizedIdentifiers.add(reference.identifier);
+        }
       }
     }
+    for (Long identifier : finalizedIdentifiers) {
+      finalizationListener.onFinalize(identifier);
+    }
     handler.postDelayed(this::releaseAllFinalizedInstances, clearFinalizedWeakReferencesInterval);
   }
 
@@ -272,11 +394,20 @@ public class InstanceManager {
       throw new IllegalArgumentException(
           String.format("Identifier has already been added: %d", identifier));
     }
-    final WeakReference<Object> weakReference = new WeakReference<>(instance, referenceQueue);
     identifiers.put(instance, identifier);
-    weakInstances.put(identifier, weakReference);
-    weakReferencesToIdentifiers.put(weakReference, identifier);
+    weakInstances.put(
+        identifier, new IdentifiedWeakReference(instance, identifier, referenceQueue));
     strongInstances.put(identifier, instance);
+    peakLiveInstanceCount = Math.max(peakLiveInstanceCount, weakInstances.size());
+  }
+
+  private void recordReclaimed(IdentifiedWeakReference reference) {
+    reclaimedInstanceCount++;
+    if (reference.strongReferenceRemovedNanos >= 0) {
+      final long latency = System.nanoTime() - reference.strongReferenceRemovedNanos;
+      totalReclaimLatencyNanos += latency;
+      maxReclaimLatencyNanos = Math.max(maxReclaimLatencyNanos, latency);
+    }
   }
 
   private void logWarningIfFinalizationListenerHasStopped() {
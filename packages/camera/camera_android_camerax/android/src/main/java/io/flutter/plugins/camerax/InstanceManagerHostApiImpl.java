@@ -0,0 +1,44 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camerax;
+
+import androidx.annotation.NonNull;
+import io.flutter.plugins.camerax.GeneratedCameraXLibrary.InstanceManagerHostApi;
+import io.flutter.plugins.camerax.GeneratedCameraXLibrary.InstanceManagerStatistics;
+
+/**
+ * A pigeon Host API implementation that handles clearing the {@link InstanceManager} and reporting
+ * its statistics to Dart.
+ */
+public class InstanceManagerHostApiImpl implements InstanceManagerHostApi {
+  private final InstanceManager instanceManager;
+
+  /**
+   * Constructs a {@link InstanceManagerHostApiImpl}.
+   *
+   * @param instanceManager maintains instances stored to communicate with Dart objects
+   */
+  public InstanceManagerHostApiImpl(@NonNull InstanceManager instanceManager) {
+    this.instanceManager = instanceManager;
+  }
+
+  @Override
+  public void clear() {
+    instanceManager.clear();
+  }
+
+  @Override
+  @NonNull
+  public InstanceManagerStatistics getStatistics() {
+    final InstanceManager.Statistics statistics = instanceManager.getStatistics();
+    return new InstanceManagerStatistics.Builder()
+        .setLiveInstanceCount((long) statistics.liveInstanceCount)
+        .setPeakLiveInstanceCount((long) statistics.peakLiveInstanceCount)
+        .setReclaimedInstanceCount(statistics.reclaimedInstanceCount)
+        .setAverageReclaimLatencyMillis(statistics.averageReclaimLatencyMillis)
+        .setMaxReclaimLatencyMillis(statistics.maxReclaimLatencyMillis)
+        .build();
+  }
+}
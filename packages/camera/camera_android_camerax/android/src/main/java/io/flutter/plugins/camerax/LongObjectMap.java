@@ -0,0 +1,164 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camerax;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.util.Arrays;
+
+/**
+ * A hash map from primitive {@code long} keys to non-null values.
+ *
+ * <p>Entries are stored in parallel arrays with open addressing and linear probing, so lookups do
+ * not box keys and adding an entry does not allocate a node. Removal shifts later entries of the
+ * probe sequence back instead of leaving tombstones.
+ *
+ * <p>This class is not thread safe. {@link InstanceManager} only accesses it while holding its own
+ * lock.
+ */
+final class LongObjectMap<V> {
+  private static final int DEFAULT_CAPACITY = 16;
+  private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+  private long[] keys;
+  // A null value marks an empty slot.
+  private Object[] values;
+  private int size;
+  private int resizeThreshold;
+
+  LongObjectMap() {
+    allocate(DEFAULT_CAPACITY);
+  }
+
+  /** Returns the value associated with {@code key}, or null if there is none. */
+  @Nullable
+  @SuppressWarnings("unchecked")
+  V get(long key) {
+    final int slot = findSlot(key);
+    return slot < 0 ? null : (V) values[slot];
+  }
+
+  /** Returns whether the map contains {@code key}. */
+  boolean containsKey(long key) {
+    return findSlot(key) >= 0;
+  }
+
+  /**
+   * Associates {@code value} with {@code key}.
+   *
+   * @return the value previously associated with {@code key}, or null if there was none.
+   */
+  @Nullable
+  @SuppressWarnings("unchecked")
+  V put(long key, @NonNull V value) {
+    final int mask = values.length - 1;
+    int slot = indexFor(key, mask);
+    while (values[slot] != null) {
+      if (keys[slot] == key) {
+        final V previous = (V) values[slot];
+        values[slot] = value;
+        return previous;
+      }
+      slot = (slot + 1) & mask;
+    }
+
+    keys[slot] = key;
+    values[slot] = value;
+    if (++size > resizeThreshold) {
+      rehash(values.length * 2);
+    }
+    return null;
+  }
+
+  /**
+   * Removes the entry for {@code key}.
+   *
+   * @return the removed value, or null if the map did not contain {@code key}.
+   */
+  @Nullable
+  @SuppressWarnings("unchecked")
+  V remove(long key) {
+    int slot = findSlot(key);
+    if (slot < 0) {
+      return null;
+    }
+
+    final V removed = (V) values[slot];
+    final int mask = values.length - 1;
+    // Shift back any entry whose probe sequence passes through the freed slot.
+    int next = (slot + 1) & mask;
+    while (values[next] != null) {
+      final int ideal = indexFor(keys[next], mask);
+      if (((next - ideal) & mask) >= ((next - slot) & mask)) {
+        keys[slot] = keys[next];
+        values[slot] = values[next];
+        slot = next;
+      }
+      next = (next + 1) & mask;
+    }
+    values[slot] = null;
+    size--;
+    return removed;
+  }
+
+  /** Returns the number of entries in the map. */
+  int size() {
+    return size;
+  }
+
+  /** Removes all entries and shrinks the backing arrays to their default capacity. */
+  void clear() {
+    if (values.length == DEFAULT_CAPACITY) {
+      Arrays.fill(values, null);
+      size = 0;
+    } else {
+      allocate(DEFAULT_CAPACITY);
+    }
+  }
+
+  private int findSlot(long key) {
+    final int mask = values.length - 1;
+    int slot = indexFor(key, mask);
+    while (values[slot] != null) {
+      if (keys[slot] == key) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  private void rehash(int capacity) {
+    final long[] oldKeys = keys;
+    final Object[] oldValues = values;
+    allocate(capacity);
+
+    final int mask = capacity - 1;
+    for (int i = 0; i < oldValues.length; i++) {
+      if (oldValues[i] != null) {
+        int slot = indexFor(oldKeys[i], mask);
+        while (values[slot] != null) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+        size++;
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    values = new Object[capacity];
+    size = 0;
+    // Keep the load factor at or below 3/4 so probe sequences stay short.
+    resizeThreshold = capacity / 4 * 3;
+  }
+
+  private static int indexFor(long key, int mask) {
+    final long hash = key * HASH_MULTIPLIER;
+    return (int) (hash ^ (hash >>> 32)) & mask;
+  }
+}
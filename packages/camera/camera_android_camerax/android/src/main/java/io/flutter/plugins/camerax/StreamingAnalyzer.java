@@ -0,0 +1,111 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camerax;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+import androidx.camera.core.ImageAnalysis;
+import androidx.camera.core.ImageInfo;
+import androidx.camera.core.ImageProxy;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Implementation of {@link ImageAnalysis.Analyzer} that sends every frame to Dart in a single
+ * message.
+ *
+ * <p>Unlike {@link AnalyzerHostApiImpl.AnalyzerImpl}, frames are not represented by {@link
+ * ImageProxy} instances in the {@link InstanceManager}. The plane bytes and frame metadata are
+ * copied on the analysis executor, the {@link ImageProxy} is closed immediately, and only the send
+ * is posted to the platform thread, which the engine requires for platform messages.
+ *
+ * <p>At most one frame is in flight to Dart at a time. Frames produced while Dart is still
+ * receiving the previous one are closed without being copied, so a slow listener causes frames to
+ * be dropped natively rather than queued.
+ */
+public class StreamingAnalyzer implements ImageAnalysis.Analyzer {
+  private final ImageAnalysis imageAnalysis;
+  private final ImageAnalysisFlutterApiImpl api;
+  private final Executor platformThreadExecutor;
+  private final AtomicBoolean frameInFlight = new AtomicBoolean(false);
+
+  @VisibleForTesting @NonNull public CameraXProxy cameraXProxy = new CameraXProxy();
+
+  /**
+   * Constructs a {@link StreamingAnalyzer}.
+   *
+   * @param imageAnalysis the {@link ImageAnalysis} this analyzer is set on
+   * @param api used to send frames to Dart
+   * @param platformThreadExecutor runs tasks on the platform thread
+   */
+  public StreamingAnalyzer(
+      @NonNull ImageAnalysis imageAnalysis,
+      @NonNull ImageAnalysisFlutterApiImpl api,
+      @NonNull Executor platformThreadExecutor) {
+    this.imageAnalysis = imageAnalysis;
+    this.api = api;
+    this.platformThreadExecutor = platformThreadExecutor;
+  }
+
+  @Override
+  public void analyze(@NonNull ImageProxy imageProxy) {
+    if (!frameInFlight.compareAndSet(false, true)) {
+      imageProxy.close();
+      return;
+    }
+
+    final Long format = Long.valueOf(imageProxy.getFormat());
+    final Long width = Long.valueOf(imageProxy.getWidth());
+    final Long height = Long.valueOf(imageProxy.getHeight());
+    final ImageInfo imageInfo = imageProxy.getImageInfo();
+    final Long rotationDegrees = Long.valueOf(imageInfo.getRotationDegrees());
+    final Long timestamp = imageInfo.getTimestamp();
+    final List<byte[]> planeBuffers = new ArrayList<>();
+    final List<Long> pixelStrides = new ArrayList<>();
+    final List<Long> rowStrides = new ArrayList<>();
+    try {
+      for (ImageProxy.PlaneProxy plane : imageProxy.getPlanes()) {
+        ByteBuffer byteBuffer = plane.getBuffer();
+        byte[] bytes = cameraXProxy.getBytesFromBuffer(byteBuffer.remaining());
+        byteBuffer.get(bytes, 0, bytes.length);
+        planeBuffers.add(bytes);
+        pixelStrides.add(Long.valueOf(plane.getPixelStride()));
+        rowStrides.add(Long.valueOf(plane.getRowStride()));
+      }
+    } catch (RuntimeException e) {
+      frameInFlight.set(false);
+      throw e;
+    } finally {
+      imageProxy.close();
+    }
+
+    platformThreadExecutor.execute(
+        () -> {
+          boolean sent = false;
+          try {
+            sent =
+                api.onFrame(
+                    imageAnalysis,
+                    format,
+                    width,
+                    height,
+                    rotationDegrees,
+                    timestamp,
+                    planeBuffers,
+                    pixelStrides,
+                    rowStrides,
+                    reply -> frameInFlight.set(false));
+          } finally {
+            // No reply comes for a frame that was not sent, so the next frame must not wait for it.
+            if (!sent) {
+              frameInFlight.set(false);
+            }
+          }
+        });
+  }
+}
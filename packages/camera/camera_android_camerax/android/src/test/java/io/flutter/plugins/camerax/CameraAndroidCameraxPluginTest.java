@@ -5,6 +5,7 @@
 package io.flutter.plugins.camerax;
 
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.doNothing;
@@ -21,6 +22,7 @@ import androidx.lifecycle.LifecycleOwner;
 import io.flutter.embedding.engine.plugins.FlutterPlugin.FlutterPluginBinding;
 import io.flutter.embedding.engine.plugins.activity.ActivityPluginBinding;
 import io.flutter.plugins.camerax.CameraPermissionsManager.PermissionsRegistry;
+import java.util.concurrent.ExecutorService;
 import org.junit.Rule;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
@@ -384,4 +386,22 @@ public class CameraAndroidCameraxPluginTest {
     verify(mockCameraControlHostApiImpl).setContext(mockContext);
     verify(mockCamera2CameraControlHostApiImpl).setContext(mockContext);
   }
+
+  @Test
+  public void onDetachedFromEngine_shutsDownExecutors() {
+    final CameraAndroidCameraxPlugin plugin = new CameraAndroidCameraxPlugin();
+    final ExecutorService mockCaptureExecutor = mock(ExecutorService.class);
+    final ExecutorService mockAnalysisExecutor = mock(ExecutorService.class);
+
+    plugin.captureExecutor = mockCaptureExecutor;
+    plugin.analysisExecutor = mockAnalysisExecutor;
+
+    plugin.onAttachedToEngine(flutterPluginBinding);
+    plugin.onDetachedFromEngine(flutterPluginBinding);
+
+    verify(mockCaptureExecutor).shutdown();
+    verify(mockAnalysisExecutor).shutdown();
+    assertNull(plugin.captureExecutor);
+    assertNull(plugin.analysisExecutor);
+  }
 }
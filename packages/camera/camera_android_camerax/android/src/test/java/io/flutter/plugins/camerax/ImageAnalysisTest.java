@@ -33,6 +33,7 @@ public class ImageAnalysisTest {
   @Rule public MockitoRule mockitoRule = MockitoJUnit.rule();
   @Mock public ImageAnalysis mockImageAnalysis;
   @Mock public BinaryMessenger mockBinaryMessenger;
+  @Mock public Executor mockAnalysisExecutor;
 
   InstanceManager instanceManager;
   private Context context;
@@ -51,7 +52,8 @@ public class ImageAnalysisTest {
   @Test
   public void hostApiCreate_createsExpectedImageAnalysisInstanceWithExpectedIdentifier() {
     final ImageAnalysisHostApiImpl hostApi =
-        new ImageAnalysisHostApiImpl(mockBinaryMessenger, instanceManager, context);
+        new ImageAnalysisHostApiImpl(
+            mockBinaryMessenger, instanceManager, context, mockAnalysisExecutor);
     final CameraXProxy mockCameraXProxy = mock(CameraXProxy.class);
     final ImageAnalysis.Builder mockImageAnalysisBuilder = mock(ImageAnalysis.Builder.class);
     final ResolutionSelector mockResolutionSelector = mock(ResolutionSelector.class);
@@ -75,7 +77,8 @@ public class ImageAnalysisTest {
   @Test
   public void setAnalyzer_makesCallToSetAnalyzerOnExpectedImageAnalysisInstance() {
     final ImageAnalysisHostApiImpl hostApi =
-        new ImageAnalysisHostApiImpl(mockBinaryMessenger, instanceManager, context);
+        new ImageAnalysisHostApiImpl(
+            mockBinaryMessenger, instanceManager, context, mockAnalysisExecutor);
 
     final ImageAnalysis.Analyzer mockAnalyzer = mock(ImageAnalysis.Analyzer.class);
     final long analyzerIdentifier = 10;
@@ -89,10 +92,25 @@ public class ImageAnalysisTest {
     verify(mockImageAnalysis).setAnalyzer(any(Executor.class), eq(mockAnalyzer));
   }
 
+  @Test
+  public void setStreamingAnalyzer_setsStreamingAnalyzerOnAnalysisExecutor() {
+    final ImageAnalysisHostApiImpl hostApi =
+        new ImageAnalysisHostApiImpl(
+            mockBinaryMessenger, instanceManager, context, mockAnalysisExecutor);
+    final long instanceIdentifier = 95;
+
+    instanceManager.addDartCreatedInstance(mockImageAnalysis, instanceIdentifier);
+
+    hostApi.setStreamingAnalyzer(instanceIdentifier);
+
+    verify(mockImageAnalysis).setAnalyzer(eq(mockAnalysisExecutor), any(StreamingAnalyzer.class));
+  }
+
   @Test
   public void clearAnalyzer_makesCallToClearAnalyzerOnExpectedImageAnalysisInstance() {
     final ImageAnalysisHostApiImpl hostApi =
-        new ImageAnalysisHostApiImpl(mockBinaryMessenger, instanceManager, context);
+        new ImageAnalysisHostApiImpl(
+            mockBinaryMessenger, instanceManager, context, mockAnalysisExecutor);
     final long instanceIdentifier = 22;
 
     instanceManager.addDartCreatedInstance(mockImageAnalysis, instanceIdentifier);
@@ -105,7 +123,8 @@ public class ImageAnalysisTest {
   @Test
   public void setTargetRotation_makesCallToSetTargetRotation() {
     final ImageAnalysisHostApiImpl hostApi =
-        new ImageAnalysisHostApiImpl(mockBinaryMessenger, instanceManager, context);
+        new ImageAnalysisHostApiImpl(
+            mockBinaryMessenger, instanceManager, context, mockAnalysisExecutor);
     final long instanceIdentifier = 32;
     final int targetRotation = Surface.ROTATION_180;
 
@@ -17,10 +17,12 @@ import android.content.Context;
 import android.view.Surface;
 import androidx.camera.core.ImageCapture;
 import androidx.camera.core.ImageCaptureException;
+import androidx.camera.core.ImageProxy;
 import androidx.camera.core.resolutionselector.ResolutionSelector;
 import io.flutter.plugin.common.BinaryMessenger;
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.concurrent.Executor;
 import org.junit.After;
 import org.junit.Before;
@@ -40,6 +42,7 @@ public class ImageCaptureTest {
   @Mock public ImageCapture mockImageCapture;
   @Mock public BinaryMessenger mockBinaryMessenger;
   @Mock public CameraXProxy mockCameraXProxy;
+  @Mock public Executor mockCaptureExecutor;
 
   InstanceManager testInstanceManager;
   private Context context;
@@ -61,7 +64,8 @@ public class ImageCaptureTest {
   @Test
   public void create_createsImageCaptureWithCorrectConfiguration() {
     final ImageCaptureHostApiImpl imageCaptureHostApiImpl =
-        new ImageCaptureHostApiImpl(mockBinaryMessenger, testInstanceManager, context);
+        new ImageCaptureHostApiImpl(
+            mockBinaryMessenger, testInstanceManager, context, mockCaptureExecutor);
     final ImageCapture.Builder mockImageCaptureBuilder = mock(ImageCapture.Builder.class);
     final Long imageCaptureIdentifier = 74L;
     final int flashMode = ImageCapture.FLASH_MODE_ON;
@@ -90,7 +94,8 @@ public class ImageCaptureTest {
   @Test
   public void setFlashMode_setsFlashModeOfImageCaptureInstance() {
     final ImageCaptureHostApiImpl imageCaptureHostApiImpl =
-        new ImageCaptureHostApiImpl(mockBinaryMessenger, testInstanceManager, context);
+        new ImageCaptureHostApiImpl(
+            mockBinaryMessenger, testInstanceManager, context, mockCaptureExecutor);
     final Long imageCaptureIdentifier = 85L;
     final Long flashMode = Long.valueOf(ImageCapture.FLASH_MODE_AUTO);
 
@@ -105,7 +110,9 @@ public class ImageCaptureTest {
   public void
       takePicture_sendsRequestToTakePictureWithExpectedConfigurationWhenTemporaryFileCanBeCreated() {
     final ImageCaptureHostApiImpl imageCaptureHostApiImpl =
-        spy(new ImageCaptureHostApiImpl(mockBinaryMessenger, testInstanceManager, context));
+        spy(
+            new ImageCaptureHostApiImpl(
+                mockBinaryMessenger, testInstanceManager, context, mockCaptureExecutor));
     final Long imageCaptureIdentifier = 6L;
     final File mockOutputDir = mock(File.class);
     final File mockFile = mock(File.class);
@@ -136,13 +143,106 @@ public class ImageCaptureTest {
     imageCaptureHostApiImpl.takePicture(imageCaptureIdentifier, mockResult);
 
     verify(mockImageCapture)
-        .takePicture(eq(mockOutputFileOptions), any(Executor.class), eq(mockOnImageSavedCallback));
+        .takePicture(
+            eq(mockOutputFileOptions), eq(mockCaptureExecutor), eq(mockOnImageSavedCallback));
+  }
+
+  @Test
+  public void takePicture_reusesCaptureExecutorForEveryCapture() {
+    final ImageCaptureHostApiImpl imageCaptureHostApiImpl =
+        new ImageCaptureHostApiImpl(
+            mockBinaryMessenger, testInstanceManager, context, mockCaptureExecutor);
+    final Long imageCaptureIdentifier = 6L;
+    final File mockOutputDir = mock(File.class);
+    @SuppressWarnings("unchecked")
+    final GeneratedCameraXLibrary.Result<String> mockResult =
+        mock(GeneratedCameraXLibrary.Result.class);
+
+    testInstanceManager.addDartCreatedInstance(mockImageCapture, imageCaptureIdentifier);
+    when(context.getCacheDir()).thenReturn(mockOutputDir);
+    imageCaptureHostApiImpl.cameraXProxy = mockCameraXProxy;
+    mockedStaticFile
+        .when(
+            () ->
+                File.createTempFile(
+                    ImageCaptureHostApiImpl.TEMPORARY_FILE_NAME,
+                    ImageCaptureHostApiImpl.JPG_FILE_TYPE,
+                    mockOutputDir))
+        .thenReturn(mock(File.class));
+
+    imageCaptureHostApiImpl.takePicture(imageCaptureIdentifier, mockResult);
+    imageCaptureHostApiImpl.takePicture(imageCaptureIdentifier, mockResult);
+
+    verify(mockImageCapture, times(2))
+        .takePicture(
+            any(), eq(mockCaptureExecutor), any(ImageCapture.OnImageSavedCallback.class));
+  }
+
+  @Test
+  public void takePictureToMemory_sendsRequestWithoutCreatingFile() {
+    final ImageCaptureHostApiImpl imageCaptureHostApiImpl =
+        spy(
+            new ImageCaptureHostApiImpl(
+                mockBinaryMessenger, testInstanceManager, context, mockCaptureExecutor));
+    final Long imageCaptureIdentifier = 8L;
+    final ImageCapture.OnImageCapturedCallback mockOnImageCapturedCallback =
+        mock(ImageCapture.OnImageCapturedCallback.class);
+    @SuppressWarnings("unchecked")
+    final GeneratedCameraXLibrary.Result<byte[]> mockResult =
+        mock(GeneratedCameraXLibrary.Result.class);
+
+    testInstanceManager.addDartCreatedInstance(mockImageCapture, imageCaptureIdentifier);
+    when(imageCaptureHostApiImpl.createOnImageCapturedCallback(mockResult))
+        .thenReturn(mockOnImageCapturedCallback);
+
+    imageCaptureHostApiImpl.takePictureToMemory(imageCaptureIdentifier, mockResult);
+
+    verify(mockImageCapture).takePicture(mockCaptureExecutor, mockOnImageCapturedCallback);
+    mockedStaticFile.verifyNoInteractions();
+  }
+
+  @Test
+  public void takePictureToMemory_usesExpectedOnImageCapturedCallback() {
+    final ImageCaptureHostApiImpl imageCaptureHostApiImpl =
+        new ImageCaptureHostApiImpl(
+            mockBinaryMessenger, testInstanceManager, context, mockCaptureExecutor);
+    final ImageProxy mockImageProxy = mock(ImageProxy.class);
+    final ImageProxy.PlaneProxy mockPlaneProxy = mock(ImageProxy.PlaneProxy.class);
+    final ByteBuffer mockByteBuffer = mock(ByteBuffer.class);
+    final int bufferRemaining = 23;
+    final byte[] buffer = new byte[bufferRemaining];
+    @SuppressWarnings("unchecked")
+    final GeneratedCameraXLibrary.Result<byte[]> mockResult =
+        mock(GeneratedCameraXLibrary.Result.class);
+    final ImageCaptureException mockException = mock(ImageCaptureException.class);
+
+    imageCaptureHostApiImpl.cameraXProxy = mockCameraXProxy;
+    when(mockImageProxy.getPlanes()).thenReturn(new ImageProxy.PlaneProxy[] {mockPlaneProxy});
+    when(mockPlaneProxy.getBuffer()).thenReturn(mockByteBuffer);
+    when(mockByteBuffer.remaining()).thenReturn(bufferRemaining);
+    when(mockCameraXProxy.getBytesFromBuffer(bufferRemaining)).thenReturn(buffer);
+
+    ImageCapture.OnImageCapturedCallback onImageCapturedCallback =
+        imageCaptureHostApiImpl.createOnImageCapturedCallback(mockResult);
+
+    // Test success case.
+    onImageCapturedCallback.onCaptureSuccess(mockImageProxy);
+
+    verify(mockByteBuffer).get(buffer, 0, bufferRemaining);
+    verify(mockImageProxy).close();
+    verify(mockResult).success(buffer);
+
+    // Test error case.
+    onImageCapturedCallback.onError(mockException);
+
+    verify(mockResult).error(mockException);
   }
 
   @Test
   public void takePicture_sendsErrorWhenTemporaryFileCannotBeCreated() {
     final ImageCaptureHostApiImpl imageCaptureHostApiImpl =
-        new ImageCaptureHostApiImpl(mockBinaryMessenger, testInstanceManager, context);
+        new ImageCaptureHostApiImpl(
+            mockBinaryMessenger, testInstanceManager, context, mockCaptureExecutor);
     final Long imageCaptureIdentifier = 6L;
     final File mockOutputDir = mock(File.class);
     final File mockTemporaryCaptureFile = mock(File.class);
@@ -176,7 +276,8 @@ public class ImageCaptureTest {
   @Test
   public void takePicture_usesExpectedOnImageSavedCallback() {
     final ImageCaptureHostApiImpl imageCaptureHostApiImpl =
-        new ImageCaptureHostApiImpl(mockBinaryMessenger, testInstanceManager, context);
+        new ImageCaptureHostApiImpl(
+            mockBinaryMessenger, testInstanceManager, context, mockCaptureExecutor);
     final SystemServicesFlutterApiImpl mockSystemServicesFlutterApiImpl =
         mock(SystemServicesFlutterApiImpl.class);
     final File mockFile = mock(File.class);
@@ -208,7 +309,8 @@ public class ImageCaptureTest {
   @Test
   public void setTargetRotation_makesCallToSetTargetRotation() {
     final ImageCaptureHostApiImpl hostApi =
-        new ImageCaptureHostApiImpl(mockBinaryMessenger, testInstanceManager, context);
+        new ImageCaptureHostApiImpl(
+            mockBinaryMessenger, testInstanceManager, context, mockCaptureExecutor);
     final long instanceIdentifier = 42;
     final int targetRotation = Surface.ROTATION_90;
 
@@ -5,6 +5,7 @@
 package io.flutter.plugins.camerax;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
@@ -100,6 +101,36 @@ public class ImageProxyTest {
     verify(mockImageProxy).close();
   }
 
+  @Test
+  public void close_releasesImageProxyAndPlanesFromInstanceManager() {
+    final ImageProxyHostApiImpl hostApi =
+        new ImageProxyHostApiImpl(mockBinaryMessenger, instanceManager);
+    final PlaneProxyFlutterApiImpl mockPlaneProxyFlutterApiImpl =
+        mock(PlaneProxyFlutterApiImpl.class);
+    final CameraXProxy mockCameraXProxy = mock(CameraXProxy.class);
+    final ImageProxy.PlaneProxy mockPlaneProxy = mock(ImageProxy.PlaneProxy.class);
+    final ByteBuffer mockByteBuffer = mock(ByteBuffer.class);
+    final long instanceIdentifier = 9;
+    final long planeIdentifier = 10;
+
+    instanceManager.addDartCreatedInstance(mockImageProxy, instanceIdentifier);
+    instanceManager.addDartCreatedInstance(mockPlaneProxy, planeIdentifier);
+
+    hostApi.cameraXProxy = mockCameraXProxy;
+    hostApi.planeProxyFlutterApiImpl = mockPlaneProxyFlutterApiImpl;
+
+    when(mockImageProxy.getPlanes()).thenReturn(new ImageProxy.PlaneProxy[] {mockPlaneProxy});
+    when(mockPlaneProxy.getBuffer()).thenReturn(mockByteBuffer);
+    when(mockCameraXProxy.getBytesFromBuffer(0)).thenReturn(new byte[0]);
+
+    hostApi.getPlanes(instanceIdentifier);
+    hostApi.close(instanceIdentifier);
+
+    verify(mockImageProxy).close();
+    assertNull(instanceManager.getInstance(instanceIdentifier));
+    assertNull(instanceManager.getInstance(planeIdentifier));
+  }
+
   @Test
   public void flutterApiCreate_makesCallToDartCreate() {
     final ImageProxyFlutterApiImpl flutterApi =
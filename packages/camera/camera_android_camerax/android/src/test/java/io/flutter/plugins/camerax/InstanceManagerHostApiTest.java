@@ -0,0 +1,55 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camerax;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import io.flutter.plugins.camerax.GeneratedCameraXLibrary.InstanceManagerStatistics;
+import org.junit.Test;
+
+public class InstanceManagerHostApiTest {
+  @Test
+  public void clear() {
+    final InstanceManager instanceManager = InstanceManager.create(identifier -> {});
+
+    final InstanceManagerHostApiImpl hostApi = new InstanceManagerHostApiImpl(instanceManager);
+
+    final Object object = new Object();
+    instanceManager.addDartCreatedInstance(object, 0);
+
+    hostApi.clear();
+
+    assertNull(instanceManager.getInstance(0));
+
+    instanceManager.stopFinalizationListener();
+  }
+
+  @Test
+  public void getStatistics() {
+    final InstanceManager instanceManager = InstanceManager.create(identifier -> {});
+
+    final InstanceManagerHostApiImpl hostApi = new InstanceManagerHostApiImpl(instanceManager);
+
+    final Object first = new Object();
+    final Object second = new Object();
+    instanceManager.addDartCreatedInstance(first, 0);
+    instanceManager.addDartCreatedInstance(second, 1);
+    instanceManager.remove(1);
+    instanceManager.release(1);
+
+    final InstanceManagerStatistics statistics = hostApi.getStatistics();
+
+    assertEquals(1L, (long) statistics.getLiveInstanceCount());
+    assertEquals(2L, (long) statistics.getPeakLiveInstanceCount());
+    assertEquals(1L, (long) statistics.getReclaimedInstanceCount());
+    assertTrue(statistics.getAverageReclaimLatencyMillis() >= 0);
+    assertEquals(
+        statistics.getAverageReclaimLatencyMillis(), statistics.getMaxReclaimLatencyMillis(), 0.0);
+
+    instanceManager.stopFinalizationListener();
+  }
+}
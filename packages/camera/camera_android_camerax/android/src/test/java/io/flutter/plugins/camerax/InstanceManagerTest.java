@@ -10,6 +10,8 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.Test;
 
 public class InstanceManagerTest {
@@ -137,4 +139,110 @@ public class InstanceManagerTest {
     assertEquals(instanceManager.getIdentifierForStrongReference(instance), (Long) identifier);
     assertTrue(instanceManager.containsInstance(instance));
   }
+
+  @Test
+  public void releaseRemovesInstanceImmediatelyAndCallsFinalizationListener() {
+    final List<Long> finalizedIdentifiers = new ArrayList<>();
+    final InstanceManager instanceManager = InstanceManager.create(finalizedIdentifiers::add);
+
+    final Object instance = new Object();
+    final long identifier = instanceManager.addHostCreatedInstance(instance);
+
+    instanceManager.release(identifier);
+
+    assertNull(instanceManager.getInstance(identifier));
+    assertNull(instanceManager.getIdentifierForStrongReference(instance));
+    assertFalse(instanceManager.containsInstance(instance));
+    assertEquals(1, finalizedIdentifiers.size());
+    assertEquals((Long) identifier, finalizedIdentifiers.get(0));
+
+    // Releasing an unknown identifier does nothing.
+    instanceManager.release(identifier);
+    assertEquals(1, finalizedIdentifiers.size());
+
+    instanceManager.stopFinalizationListener();
+  }
+
+  @Test
+  public void releaseKeepsOtherIdentifierOfSameInstance() {
+    final InstanceManager instanceManager = InstanceManager.create(identifier -> {});
+
+    final Object instance = new Object();
+    instanceManager.addDartCreatedInstance(instance, 0);
+    instanceManager.addDartCreatedInstance(instance, 1);
+
+    instanceManager.release(0);
+
+    assertNull(instanceManager.getInstance(0));
+    assertEquals(instance, instanceManager.getInstance(1));
+    assertEquals((Long) 1L, instanceManager.getIdentifierForStrongReference(instance));
+
+    instanceManager.stopFinalizationListener();
+  }
+
+  @Test
+  public void getStatisticsTracksLiveAndReclaimedInstances() {
+    final InstanceManager instanceManager = InstanceManager.create(identifier -> {});
+
+    final long first = instanceManager.addHostCreatedInstance(new Object());
+    final long second = instanceManager.addHostCreatedInstance(new Object());
+    instanceManager.addHostCreatedInstance(new Object());
+
+    instanceManager.remove(first);
+    instanceManager.release(first);
+    instanceManager.release(second);
+
+    final InstanceManager.Statistics statistics = instanceManager.getStatistics();
+    assertEquals(1, statistics.liveInstanceCount);
+    assertEquals(3, statistics.peakLiveInstanceCount);
+    assertEquals(2, statistics.reclaimedInstanceCount);
+    assertTrue(statistics.averageReclaimLatencyMillis >= 0);
+    assertTrue(statistics.maxReclaimLatencyMillis >= statistics.averageReclaimLatencyMillis);
+
+    instanceManager.clear();
+    assertEquals(0, instanceManager.getStatistics().liveInstanceCount);
+    assertEquals(0, instanceManager.getStatistics().peakLiveInstanceCount);
+
+    instanceManager.stopFinalizationListener();
+  }
+
+  @Test
+  public void addHostCreatedInstanceFromMultipleThreadsAssignsUniqueIdentifiers()
+      throws InterruptedException {
+    final InstanceManager instanceManager = InstanceManager.create(identifier -> {});
+    final int threadCount = 4;
+    final int instancesPerThread = 500;
+    final List<Object> instances = new ArrayList<>();
+    final List<Thread> threads = new ArrayList<>();
+
+    for (int i = 0; i < threadCount * instancesPerThread; i++) {
+      instances.add(new Object());
+    }
+    for (int t = 0; t < threadCount; t++) {
+      final int offset = t * instancesPerThread;
+      final Thread thread =
+          new Thread(
+              () -> {
+                for (int i = offset; i < offset + instancesPerThread; i++) {
+                  final long identifier = instanceManager.addHostCreatedInstance(instances.get(i));
+                  instanceManager.release(identifier);
+                  instanceManager.addHostCreatedInstance(instances.get(i));
+                }
+              });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    final InstanceManager.Statistics statistics = instanceManager.getStatistics();
+    assertEquals(threadCount * instancesPerThread, statistics.liveInstanceCount);
+    assertEquals(threadCount * instancesPerThread, statistics.reclaimedInstanceCount);
+    for (Object instance : instances) {
+      assertTrue(instanceManager.containsInstance(instance));
+    }
+
+    instanceManager.stopFinalizationListener();
+  }
 }
@@ -0,0 +1,80 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camerax;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+
+public class LongObjectMapTest {
+  @Test
+  public void putGetAndRemove() {
+    final LongObjectMap<String> map = new LongObjectMap<>();
+
+    assertNull(map.put(3, "a"));
+    assertEquals("a", map.put(3, "b"));
+
+    assertEquals("b", map.get(3));
+    assertTrue(map.containsKey(3));
+    assertEquals(1, map.size());
+
+    assertEquals("b", map.remove(3));
+    assertNull(map.remove(3));
+    assertNull(map.get(3));
+    assertFalse(map.containsKey(3));
+    assertEquals(0, map.size());
+  }
+
+  @Test
+  public void growsAndKeepsEntriesReachableAfterRemovals() {
+    final LongObjectMap<Long> map = new LongObjectMap<>();
+    final Map<Long, Long> expected = new HashMap<>();
+    final Random random = new Random(42);
+
+    // Sequential host identifiers plus random keys exercise both clustered and sparse probing.
+    for (long key = 65536; key < 65536 + 5000; key++) {
+      map.put(key, key);
+      expected.put(key, key);
+    }
+    for (int i = 0; i < 5000; i++) {
+      final long key = random.nextLong();
+      map.put(key, key);
+      expected.put(key, key);
+    }
+    for (long key = 65536; key < 65536 + 5000; key += 3) {
+      assertEquals((Long) key, map.remove(key));
+      expected.remove(key);
+    }
+
+    assertEquals(expected.size(), map.size());
+    for (Map.Entry<Long, Long> entry : expected.entrySet()) {
+      assertEquals(entry.getValue(), map.get(entry.getKey()));
+    }
+    for (long key = 65536; key < 65536 + 5000; key += 3) {
+      assertFalse(map.containsKey(key));
+    }
+  }
+
+  @Test
+  public void clearRemovesAllEntries() {
+    final LongObjectMap<String> map = new LongObjectMap<>();
+    for (long key = 0; key < 100; key++) {
+      map.put(key, "value");
+    }
+
+    map.clear();
+
+    assertEquals(0, map.size());
+    assertNull(map.get(1));
+    map.put(1, "again");
+    assertEquals("again", map.get(1));
+  }
+}
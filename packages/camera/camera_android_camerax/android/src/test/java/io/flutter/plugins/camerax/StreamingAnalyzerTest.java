@@ -0,0 +1,252 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.camerax;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import androidx.camera.core.ImageAnalysis;
+import androidx.camera.core.ImageInfo;
+import androidx.camera.core.ImageProxy;
+import io.flutter.plugin.common.BinaryMessenger;
+import io.flutter.plugins.camerax.GeneratedCameraXLibrary.ImageAnalysisFlutterApi;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+public class StreamingAnalyzerTest {
+  @Rule public MockitoRule mockitoRule = MockitoJUnit.rule();
+  @Mock public ImageAnalysis mockImageAnalysis;
+  @Mock public ImageAnalysisFlutterApiImpl mockFlutterApiImpl;
+  @Mock public ImageAnalysisFlutterApi mockFlutterApi;
+  @Mock public BinaryMessenger mockBinaryMessenger;
+  @Mock public CameraXProxy mockCameraXProxy;
+
+  InstanceManager instanceManager;
+  List<Runnable> platformThreadTasks;
+
+  @Before
+  public void setUp() {
+    instanceManager = InstanceManager.create(identifier -> {});
+    platformThreadTasks = new ArrayList<>();
+  }
+
+  @After
+  public void tearDown() {
+    instanceManager.stopFinalizationListener();
+  }
+
+  private ImageProxy createMockImageProxy(byte[] planeBytes, ByteBuffer mockByteBuffer) {
+    final ImageProxy mockImageProxy = mock(ImageProxy.class);
+    final ImageProxy.PlaneProxy mockPlaneProxy = mock(ImageProxy.PlaneProxy.class);
+    final ImageInfo mockImageInfo = mock(ImageInfo.class);
+
+    when(mockImageProxy.getFormat()).thenReturn(35);
+    when(mockImageProxy.getWidth()).thenReturn(640);
+    when(mockImageProxy.getHeight()).thenReturn(480);
+    when(mockImageProxy.getImageInfo()).thenReturn(mockImageInfo);
+    when(mockImageInfo.getRotationDegrees()).thenReturn(90);
+    when(mockImageInfo.getTimestamp()).thenReturn(1234L);
+    when(mockImageProxy.getPlanes()).thenReturn(new ImageProxy.PlaneProxy[] {mockPlaneProxy});
+    when(mockPlaneProxy.getBuffer()).thenReturn(mockByteBuffer);
+    when(mockPlaneProxy.getPixelStride()).thenReturn(1);
+    when(mockPlaneProxy.getRowStride()).thenReturn(640);
+    when(mockByteBuffer.remaining()).thenReturn(planeBytes.length);
+    when(mockCameraXProxy.getBytesFromBuffer(planeBytes.length)).thenReturn(planeBytes);
+    return mockImageProxy;
+  }
+
+  @Test
+  public void analyze_copiesPlanesClosesImageAndSendsSingleMessage() {
+    final StreamingAnalyzer analyzer =
+        new StreamingAnalyzer(mockImageAnalysis, mockFlutterApiImpl, platformThreadTasks::add);
+    final byte[] planeBytes = new byte[] {1, 2, 3};
+    final ByteBuffer mockByteBuffer = mock(ByteBuffer.class);
+    final ImageProxy mockImageProxy = createMockImageProxy(planeBytes, mockByteBuffer);
+
+    analyzer.cameraXProxy = mockCameraXProxy;
+    analyzer.analyze(mockImageProxy);
+
+    // The image is released before anything is sent to Dart.
+    verify(mockByteBuffer).get(planeBytes, 0, planeBytes.length);
+    verify(mockImageProxy).close();
+    verify(mockFlutterApiImpl, never())
+        .onFrame(any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+
+    platformThreadTasks.get(0).run();
+
+    verify(mockFlutterApiImpl)
+        .onFrame(
+            eq(mockImageAnalysis),
+            eq(35L),
+            eq(640L),
+            eq(480L),
+            eq(90L),
+            eq(1234L),
+            eq(Collections.singletonList(planeBytes)),
+            eq(Collections.singletonList(1L)),
+            eq(Collections.singletonList(640L)),
+            any());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void analyze_dropsFramesWhileAFrameIsInFlight() {
+    final StreamingAnalyzer analyzer =
+        new StreamingAnalyzer(mockImageAnalysis, mockFlutterApiImpl, platformThreadTasks::add);
+    final byte[] planeBytes = new byte[] {1, 2, 3};
+    final ImageProxy firstImageProxy = createMockImageProxy(planeBytes, mock(ByteBuffer.class));
+    final ImageProxy droppedImageProxy = createMockImageProxy(planeBytes, mock(ByteBuffer.class));
+    final ImageProxy thirdImageProxy = createMockImageProxy(planeBytes, mock(ByteBuffer.class));
+    final ArgumentCaptor<ImageAnalysisFlutterApi.Reply<Void>> replyCaptor =
+        ArgumentCaptor.forClass(ImageAnalysisFlutterApi.Reply.class);
+
+    when(mockFlutterApiImpl.onFrame(
+            any(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+        .thenReturn(true);
+
+    analyzer.cameraXProxy = mockCameraXProxy;
+    analyzer.analyze(firstImageProxy);
+    platformThreadTasks.get(0).run();
+    analyzer.analyze(droppedImageProxy);
+
+    verify(droppedImageProxy).close();
+    verify(droppedImageProxy, never()).getPlanes();
+    verify(mockFlutterApiImpl)
+        .onFrame(
+            any(), any(), any(), any(), any(), any(), any(), any(), any(), replyCaptor.capture());
+
+    // Once Dart has received the first frame, the next one is sent.
+    replyCaptor.getValue().reply(null);
+    analyzer.analyze(thirdImageProxy);
+    platformThreadTasks.get(1).run();
+
+    verify(thirdImageProxy).getPlanes();
+    verify(mockFlutterApiImpl, times(2))
+        .onFrame(any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+  }
+
+  @Test
+  public void analyze_sendsTheNextFrameWhenAFrameWasNotSent() {
+    final StreamingAnalyzer analyzer =
+        new StreamingAnalyzer(mockImageAnalysis, mockFlutterApiImpl, platformThreadTasks::add);
+    final byte[] planeBytes = new byte[] {1, 2, 3};
+    // The ImageAnalysis was disposed, so the frame is not sent and no reply will come.
+    when(mockFlutterApiImpl.onFrame(
+            any(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+        .thenReturn(false);
+
+    analyzer.cameraXProxy = mockCameraXProxy;
+    analyzer.analyze(createMockImageProxy(planeBytes, mock(ByteBuffer.class)));
+    platformThreadTasks.get(0).run();
+    final ImageProxy nextImageProxy = createMockImageProxy(planeBytes, mock(ByteBuffer.class));
+    analyzer.analyze(nextImageProxy);
+
+    verify(nextImageProxy).getPlanes();
+  }
+
+  @Test
+  public void analyze_sendsTheNextFrameWhenSendingFailed() {
+    final StreamingAnalyzer analyzer =
+        new StreamingAnalyzer(mockImageAnalysis, mockFlutterApiImpl, platformThreadTasks::add);
+    final byte[] planeBytes = new byte[] {1, 2, 3};
+    when(mockFlutterApiImpl.onFrame(
+            any(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+        .thenThrow(new IllegalStateException("The engine is detached."));
+
+    analyzer.cameraXProxy = mockCameraXProxy;
+    analyzer.analyze(createMockImageProxy(planeBytes, mock(ByteBuffer.class)));
+    try {
+      platformThreadTasks.get(0).run();
+      fail("Expected IllegalStateException");
+    } catch (IllegalStateException expected) {
+      // The failure is not swallowed.
+    }
+    final ImageProxy nextImageProxy = createMockImageProxy(planeBytes, mock(ByteBuffer.class));
+    analyzer.analyze(nextImageProxy);
+
+    verify(nextImageProxy).getPlanes();
+  }
+
+  @Test
+  public void flutterApiOnFrame_skipsFramesOfUnknownInstances() {
+    final ImageAnalysisFlutterApiImpl flutterApiImpl =
+        new ImageAnalysisFlutterApiImpl(mockBinaryMessenger, instanceManager);
+    flutterApiImpl.setApi(mockFlutterApi);
+
+    final boolean sent =
+        flutterApiImpl.onFrame(
+            mockImageAnalysis,
+            35L,
+            4L,
+            2L,
+            0L,
+            99L,
+            Collections.singletonList(new byte[] {1}),
+            Collections.singletonList(1L),
+            Collections.singletonList(4L),
+            reply -> {});
+
+    assertFalse(sent);
+    verify(mockFlutterApi, never())
+        .onFrame(any(), any(), any(), any(), any(), any(), any(), any(), any(), any());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void flutterApiOnFrame_sendsFrameWithImageAnalysisIdentifier() {
+    final ImageAnalysisFlutterApiImpl flutterApiImpl =
+        new ImageAnalysisFlutterApiImpl(mockBinaryMessenger, instanceManager);
+    final long instanceIdentifier = 7;
+    final List<byte[]> planeBuffers = Arrays.asList(new byte[] {1}, new byte[] {2});
+    final List<Long> pixelStrides = Arrays.asList(1L, 2L);
+    final List<Long> rowStrides = Arrays.asList(4L, 4L);
+
+    flutterApiImpl.setApi(mockFlutterApi);
+    instanceManager.addDartCreatedInstance(mockImageAnalysis, instanceIdentifier);
+
+    flutterApiImpl.onFrame(
+        mockImageAnalysis,
+        35L,
+        4L,
+        2L,
+        0L,
+        99L,
+        planeBuffers,
+        pixelStrides,
+        rowStrides,
+        reply -> {});
+
+    verify(mockFlutterApi)
+        .onFrame(
+            eq(instanceIdentifier),
+            eq(35L),
+            eq(4L),
+            eq(2L),
+            eq(0L),
+            eq(99L),
+            eq(planeBuffers),
+            eq(pixelStrides),
+            eq(rowStrides),
+            any(ImageAnalysisFlutterApi.Reply.class));
+  }
+}
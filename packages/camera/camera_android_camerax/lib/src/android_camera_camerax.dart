@@ -4,6 +4,7 @@
 
 import 'dart:async';
 import 'dart:math' show Point;
+import 'dart:typed_data';
 
 import 'package:async/async.dart';
 import 'package:camera_platform_interface/camera_platform_interface.dart';
@@ -201,6 +202,13 @@ class AndroidCameraCameraX extends CameraPlatform {
   /// for an example on how setting target rotations for [UseCase]s works.
   bool shouldSetDefaultRotation = false;
 
+  /// Whether image streaming should deliver each frame as a single platform
+  /// message using [ImageAnalysis.setStreamingAnalyzer].
+  ///
+  /// When false, frames are read through an [Analyzer] that queries the
+  /// [ImageProxy] and each of its [PlaneProxy]s from Dart.
+  bool useStreamingImageAnalysis = false;
+
   /// Error code indicating that an exposure offset value failed to be set.
   static const String setExposureOffsetFailedErrorCode =
       'setExposureOffsetFailed';
@@ -261,6 +269,15 @@ class AndroidCameraCameraX extends CameraPlatform {
   StreamSubscription<DeviceOrientationChangedEvent>?
       _subscriptionForDeviceOrientationChanges;
 
+  /// Returns the usage statistics of the native `InstanceManager` that holds
+  /// the CameraX objects created by this plugin.
+  ///
+  /// Comparing [InstanceManagerStatistics.liveInstanceCount] before and after
+  /// a camera is disposed shows whether native objects are being leaked.
+  Future<InstanceManagerStatistics> getNativeInstanceManagerStatistics() {
+    return InstanceManagerHostApi().getStatistics();
+  }
+
   /// Returns list of all available cameras and their descriptions.
   @override
   Future<List<CameraDescription>> availableCameras() async {
@@ -934,6 +951,27 @@ class AndroidCameraCameraX extends CameraPlatform {
   /// [cameraId] is not used.
   @override
   Future<XFile> takePicture(int cameraId) async {
+    await _prepareImageCapture(cameraId);
+    final String picturePath = await imageCapture!.takePicture();
+    return XFile(picturePath);
+  }
+
+  /// Captures an image and returns it as an in-memory JPEG file.
+  ///
+  /// Unlike [takePicture], the picture is never written to the cache
+  /// directory, which avoids a file system round trip when the bytes are
+  /// consumed directly, e.g. uploaded or decoded.
+  ///
+  /// [cameraId] is not used.
+  Future<XFile> takePictureToMemory(int cameraId) async {
+    await _prepareImageCapture(cameraId);
+    final Uint8List bytes = await imageCapture!.takePictureToMemory();
+    return XFile.fromData(bytes, mimeType: 'image/jpeg');
+  }
+
+  /// Binds [imageCapture] and applies the current flash mode and target
+  /// rotation before a picture is taken.
+  Future<void> _prepareImageCapture(int cameraId) async {
     await _bindUseCaseToLifecycle(imageCapture!, cameraId);
     // Set flash mode.
     if (_currentFlashMode != null) {
@@ -950,9 +988,6 @@ class AndroidCameraCameraX extends CameraPlatform {
       await imageCapture!
           .setTargetRotation(await proxy.getDefaultDisplayRotation());
     }
-
-    final String picturePath = await imageCapture!.takePicture();
-    return XFile(picturePath);
   }
 
   /// Sets the flash mode for the selected camera.
@@ -1211,6 +1246,30 @@ class AndroidCameraCameraX extends CameraPlatform {
     // Create and set Analyzer that can read image data for image streaming.
     final WeakReference<AndroidCameraCameraX> weakThis =
         WeakReference<AndroidCameraCameraX>(this);
+
+    if (useStreamingImageAnalysis) {
+      void onFrame(ImageFrame frame) {
+        final List<CameraImagePlane> cameraImagePlanes = <CameraImagePlane>[];
+        for (final ImageFramePlane plane in frame.planes) {
+          cameraImagePlanes.add(CameraImagePlane(
+              bytes: plane.bytes,
+              bytesPerRow: plane.rowStride,
+              bytesPerPixel: plane.pixelStride));
+        }
+
+        weakThis.target!.cameraImageDataStreamController!.add(CameraImageData(
+            format: CameraImageFormat(
+                _imageFormatGroupFromPlatformData(frame.format),
+                raw: frame.format),
+            planes: cameraImagePlanes,
+            height: frame.height,
+            width: frame.width));
+      }
+
+      await imageAnalysis!.setStreamingAnalyzer(onFrame);
+      return;
+    }
+
     Future<void> analyze(ImageProxy imageProxy) async {
       final List<PlaneProxy> planes = await imageProxy.getPlanes();
       final List<CameraImagePlane> cameraImagePlanes = <CameraImagePlane>[];
@@ -14,6 +14,7 @@ import 'camerax_library.g.dart';
 import 'device_orientation_manager.dart';
 import 'exposure_state.dart';
 import 'focus_metering_result.dart';
+import 'image_analysis.dart';
 import 'image_proxy.dart';
 import 'java_object.dart';
 import 'live_data.dart';
@@ -50,6 +51,7 @@ class AndroidCameraXCameraFlutterApis {
       LiveDataFlutterApiImpl? liveDataFlutterApiImpl,
       ObserverFlutterApiImpl? observerFlutterApiImpl,
       ImageProxyFlutterApiImpl? imageProxyFlutterApiImpl,
+      ImageAnalysisFlutterApiImpl? imageAnalysisFlutterApiImpl,
       PlaneProxyFlutterApiImpl? planeProxyFlutterApiImpl,
       AnalyzerFlutterApiImpl? analyzerFlutterApiImpl,
       CameraControlFlutterApiImpl? cameraControlFlutterApiImpl,
@@ -96,6 +98,8 @@ class AndroidCameraXCameraFlutterApis {
         imageProxyFlutterApiImpl ?? ImageProxyFlutterApiImpl();
     this.planeProxyFlutterApiImpl =
         planeProxyFlutterApiImpl ?? PlaneProxyFlutterApiImpl();
+    this.imageAnalysisFlutterApiImpl =
+        imageAnalysisFlutterApiImpl ?? ImageAnalysisFlutterApiImpl();
     this.cameraControlFlutterApiImpl =
         cameraControlFlutterApiImpl ?? CameraControlFlutterApiImpl();
     this.focusMeteringResultFlutterApiImpl =
@@ -175,6 +179,9 @@ class AndroidCameraXCameraFlutterApis {
   /// Flutter Api implementation for [PlaneProxy].
   late final PlaneProxyFlutterApiImpl planeProxyFlutterApiImpl;
 
+  /// Flutter Api implementation for [ImageAnalysis].
+  late final ImageAnalysisFlutterApiImpl imageAnalysisFlutterApiImpl;
+
   /// Flutter Api implementation for [CameraControl].
   late final CameraControlFlutterApiImpl cameraControlFlutterApiImpl;
 
@@ -208,6 +215,7 @@ class AndroidCameraXCameraFlutterApis {
       AnalyzerFlutterApi.setup(analyzerFlutterApiImpl);
       ImageProxyFlutterApi.setup(imageProxyFlutterApiImpl);
       PlaneProxyFlutterApi.setup(planeProxyFlutterApiImpl);
+      ImageAnalysisFlutterApi.setup(imageAnalysisFlutterApiImpl);
       LiveDataFlutterApi.setup(liveDataFlutterApiImpl);
       ObserverFlutterApi.setup(observerFlutterApiImpl);
       CameraControlFlutterApi.setup(cameraControlFlutterApiImpl);
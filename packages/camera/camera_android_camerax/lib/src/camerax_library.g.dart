@@ -293,6 +293,77 @@ class MeteringPointInfo {
   }
 }
 
+/// Usage statistics of the native `InstanceManager`.
+class InstanceManagerStatistics {
+  InstanceManagerStatistics({
+    required this.liveInstanceCount,
+    required this.peakLiveInstanceCount,
+    required this.reclaimedInstanceCount,
+    required this.averageReclaimLatencyMillis,
+    required this.maxReclaimLatencyMillis,
+  });
+
+  /// The number of instances currently held by the `InstanceManager`.
+  int liveInstanceCount;
+
+  /// The largest number of instances held at once since the last clear.
+  int peakLiveInstanceCount;
+
+  /// The number of instances removed after their Dart counterpart was garbage
+  /// collected.
+  int reclaimedInstanceCount;
+
+  /// The average time between adding and reclaiming an instance.
+  double averageReclaimLatencyMillis;
+
+  /// The longest time between adding and reclaiming an instance.
+  double maxReclaimLatencyMillis;
+
+  Object encode() {
+    return <Object?>[
+      liveInstanceCount,
+      peakLiveInstanceCount,
+      reclaimedInstanceCount,
+      averageReclaimLatencyMillis,
+      maxReclaimLatencyMillis,
+    ];
+  }
+
+  static InstanceManagerStatistics decode(Object result) {
+    result as List<Object?>;
+    return InstanceManagerStatistics(
+      liveInstanceCount: result[0]! as int,
+      peakLiveInstanceCount: result[1]! as int,
+      reclaimedInstanceCount: result[2]! as int,
+      averageReclaimLatencyMillis: result[3]! as double,
+      maxReclaimLatencyMillis: result[4]! as double,
+    );
+  }
+}
+
+class _InstanceManagerHostApiCodec extends StandardMessageCodec {
+  const _InstanceManagerHostApiCodec();
+  @override
+  void writeValue(WriteBuffer buffer, Object? value) {
+    if (value is InstanceManagerStatistics) {
+      buffer.putUint8(128);
+      writeValue(buffer, value.encode());
+    } else {
+      super.writeValue(buffer, value);
+    }
+  }
+
+  @override
+  Object? readValueOfType(int type, ReadBuffer buffer) {
+    switch (type) {
+      case 128:
+        return InstanceManagerStatistics.decode(readValue(buffer)!);
+      default:
+        return super.readValueOfType(type, buffer);
+    }
+  }
+}
+
 class InstanceManagerHostApi {
   /// Constructor for [InstanceManagerHostApi].  The [binaryMessenger] named argument is
   /// available for dependency injection.  If it is left null, the default
@@ -301,7 +372,7 @@ class InstanceManagerHostApi {
       : _binaryMessenger = binaryMessenger;
   final BinaryMessenger? _binaryMessenger;
 
-  static const MessageCodec<Object?> codec = StandardMessageCodec();
+  static const MessageCodec<Object?> codec = _InstanceManagerHostApiCodec();
 
   /// Clear the native `InstanceManager`.
   ///
@@ -326,6 +397,33 @@ class InstanceManagerHostApi {
       return;
     }
   }
+
+  /// Returns the usage statistics of the native `InstanceManager`.
+  Future<InstanceManagerStatistics> getStatistics() async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.InstanceManagerHostApi.getStatistics', codec,
+        binaryMessenger: _binaryMessenger);
+    final List<Object?>? replyList = await channel.send(null) as List<Object?>?;
+    if (replyList == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyList.length > 1) {
+      throw PlatformException(
+        code: replyList[0]! as String,
+        message: replyList[1] as String?,
+        details: replyList[2],
+      );
+    } else if (replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (replyList[0] as InstanceManagerStatistics?)!;
+    }
+  }
 }
 
 class JavaObjectHostApi {
@@ -1952,6 +2050,33 @@ class ImageCaptureHostApi {
     }
   }
 
+  Future<Uint8List> takePictureToMemory(int arg_identifier) async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.ImageCaptureHostApi.takePictureToMemory', codec,
+        binaryMessenger: _binaryMessenger);
+    final List<Object?>? replyList =
+        await channel.send(<Object?>[arg_identifier]) as List<Object?>?;
+    if (replyList == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyList.length > 1) {
+      throw PlatformException(
+        code: replyList[0]! as String,
+        message: replyList[1] as String?,
+        details: replyList[2],
+      );
+    } else if (replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (replyList[0] as Uint8List?)!;
+    }
+  }
+
   Future<void> setTargetRotation(int arg_identifier, int arg_rotation) async {
     final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
         'dev.flutter.pigeon.ImageCaptureHostApi.setTargetRotation', codec,
@@ -2326,6 +2451,28 @@ class ImageAnalysisHostApi {
     }
   }
 
+  Future<void> setStreamingAnalyzer(int arg_identifier) async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.ImageAnalysisHostApi.setStreamingAnalyzer', codec,
+        binaryMessenger: _binaryMessenger);
+    final List<Object?>? replyList =
+        await channel.send(<Object?>[arg_identifier]) as List<Object?>?;
+    if (replyList == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyList.length > 1) {
+      throw PlatformException(
+        code: replyList[0]! as String,
+        message: replyList[1] as String?,
+        details: replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
   Future<void> clearAnalyzer(int arg_identifier) async {
     final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
         'dev.flutter.pigeon.ImageAnalysisHostApi.clearAnalyzer', codec,
@@ -2371,6 +2518,80 @@ class ImageAnalysisHostApi {
   }
 }
 
+abstract class ImageAnalysisFlutterApi {
+  static const MessageCodec<Object?> codec = StandardMessageCodec();
+
+  void onFrame(
+      int identifier,
+      int format,
+      int width,
+      int height,
+      int rotationDegrees,
+      int timestamp,
+      List<Uint8List?> planeBuffers,
+      List<int?> pixelStrides,
+      List<int?> rowStrides);
+
+  static void setup(ImageAnalysisFlutterApi? api,
+      {BinaryMessenger? binaryMessenger}) {
+    {
+      final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.ImageAnalysisFlutterApi.onFrame', codec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        channel.setMessageHandler(null);
+      } else {
+        channel.setMessageHandler((Object? message) async {
+          assert(message != null,
+              'Argument for dev.flutter.pigeon.ImageAnalysisFlutterApi.onFrame was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final int? arg_identifier = (args[0] as int?);
+          assert(arg_identifier != null,
+              'Argument for dev.flutter.pigeon.ImageAnalysisFlutterApi.onFrame was null, expected non-null int.');
+          final int? arg_format = (args[1] as int?);
+          assert(arg_format != null,
+              'Argument for dev.flutter.pigeon.ImageAnalysisFlutterApi.onFrame was null, expected non-null int.');
+          final int? arg_width = (args[2] as int?);
+          assert(arg_width != null,
+              'Argument for dev.flutter.pigeon.ImageAnalysisFlutterApi.onFrame was null, expected non-null int.');
+          final int? arg_height = (args[3] as int?);
+          assert(arg_height != null,
+              'Argument for dev.flutter.pigeon.ImageAnalysisFlutterApi.onFrame was null, expected non-null int.');
+          final int? arg_rotationDegrees = (args[4] as int?);
+          assert(arg_rotationDegrees != null,
+              'Argument for dev.flutter.pigeon.ImageAnalysisFlutterApi.onFrame was null, expected non-null int.');
+          final int? arg_timestamp = (args[5] as int?);
+          assert(arg_timestamp != null,
+              'Argument for dev.flutter.pigeon.ImageAnalysisFlutterApi.onFrame was null, expected non-null int.');
+          final List<Uint8List?>? arg_planeBuffers =
+              (args[6] as List<Object?>?)?.cast<Uint8List?>();
+          assert(arg_planeBuffers != null,
+              'Argument for dev.flutter.pigeon.ImageAnalysisFlutterApi.onFrame was null, expected non-null List<Uint8List?>.');
+          final List<int?>? arg_pixelStrides =
+              (args[7] as List<Object?>?)?.cast<int?>();
+          assert(arg_pixelStrides != null,
+              'Argument for dev.flutter.pigeon.ImageAnalysisFlutterApi.onFrame was null, expected non-null List<int?>.');
+          final List<int?>? arg_rowStrides =
+              (args[8] as List<Object?>?)?.cast<int?>();
+          assert(arg_rowStrides != null,
+              'Argument for dev.flutter.pigeon.ImageAnalysisFlutterApi.onFrame was null, expected non-null List<int?>.');
+          api.onFrame(
+              arg_identifier!,
+              arg_format!,
+              arg_width!,
+              arg_height!,
+              arg_rotationDegrees!,
+              arg_timestamp!,
+              arg_planeBuffers!,
+              arg_pixelStrides!,
+              arg_rowStrides!);
+          return;
+        });
+      }
+    }
+  }
+}
+
 class AnalyzerHostApi {
   /// Constructor for [AnalyzerHostApi].  The [binaryMessenger] named argument is
   /// available for dependency injection.  If it is left null, the default
@@ -3,6 +3,7 @@
 // found in the LICENSE file.
 
 import 'dart:async';
+import 'dart:typed_data';
 
 import 'package:flutter/services.dart' show BinaryMessenger;
 import 'package:meta/meta.dart' show immutable;
@@ -78,10 +79,76 @@ class ImageAnalysis extends UseCase {
   Future<void> setAnalyzer(Analyzer analyzer) =>
       _api.setAnalyzerFromInstances(this, analyzer);
 
-  /// Removes a previously set [Analyzer].
+  /// Sets an analyzer that sends each image to [onFrame] as a single message.
+  ///
+  /// Unlike [setAnalyzer], the image planes are copied and the native image
+  /// is closed on a background thread, so each frame costs one platform
+  /// message instead of one per [ImageProxy] and [PlaneProxy] accessor. Frames
+  /// produced while a previous frame is still being delivered are dropped.
+  Future<void> setStreamingAnalyzer(void Function(ImageFrame) onFrame) =>
+      _api.setStreamingAnalyzerFromInstances(this, onFrame);
+
+  /// Removes a previously set [Analyzer] or streaming analyzer.
   Future<void> clearAnalyzer() => _api.clearAnalyzerFromInstances(this);
 }
 
+/// Callbacks registered by [ImageAnalysis.setStreamingAnalyzer].
+final Expando<void Function(ImageFrame)> _streamingAnalyzerCallbacks =
+    Expando<void Function(ImageFrame)>();
+
+/// An image delivered by a streaming analyzer set with
+/// [ImageAnalysis.setStreamingAnalyzer].
+@immutable
+class ImageFrame {
+  /// Constructs an [ImageFrame].
+  const ImageFrame({
+    required this.format,
+    required this.width,
+    required this.height,
+    required this.rotationDegrees,
+    required this.timestamp,
+    required this.planes,
+  });
+
+  /// The Android ImageFormat constant of the image.
+  final int format;
+
+  /// The width of the image in pixels.
+  final int width;
+
+  /// The height of the image in pixels.
+  final int height;
+
+  /// The clockwise rotation, in degrees, needed to make the image upright.
+  final int rotationDegrees;
+
+  /// The timestamp of the image in nanoseconds.
+  final int timestamp;
+
+  /// The pixel planes of the image.
+  final List<ImageFramePlane> planes;
+}
+
+/// A pixel plane of an [ImageFrame].
+@immutable
+class ImageFramePlane {
+  /// Constructs an [ImageFramePlane].
+  const ImageFramePlane({
+    required this.bytes,
+    required this.pixelStride,
+    required this.rowStride,
+  });
+
+  /// The pixel data of the plane.
+  final Uint8List bytes;
+
+  /// The distance in bytes between adjacent pixel samples.
+  final int pixelStride;
+
+  /// The distance in bytes between the starts of adjacent rows.
+  final int rowStride;
+}
+
 /// Host API implementation of [ImageAnalysis].
 class _ImageAnalysisHostApiImpl extends ImageAnalysisHostApi {
   /// Constructor for [_ImageAnalysisHostApiImpl].
@@ -144,12 +211,79 @@ class _ImageAnalysisHostApiImpl extends ImageAnalysisHostApi {
     );
   }
 
+  /// Sets a streaming analyzer on the [instance] that delivers frames to
+  /// [onFrame].
+  Future<void> setStreamingAnalyzerFromInstances(
+    ImageAnalysis instance,
+    void Function(ImageFrame) onFrame,
+  ) {
+    _streamingAnalyzerCallbacks[instance] = onFrame;
+    return setStreamingAnalyzer(
+      instanceManager.getIdentifier(instance)!,
+    );
+  }
+
   /// Removes a previously set analyzer from the [instance].
   Future<void> clearAnalyzerFromInstances(
     ImageAnalysis instance,
   ) {
+    _streamingAnalyzerCallbacks[instance] = null;
     return clearAnalyzer(
       instanceManager.getIdentifier(instance)!,
     );
   }
 }
+
+/// Flutter API implementation for [ImageAnalysis].
+class ImageAnalysisFlutterApiImpl implements ImageAnalysisFlutterApi {
+  /// Constructs a [ImageAnalysisFlutterApiImpl].
+  ///
+  /// An [instanceManager] is typically passed when a copy of an instance
+  /// contained by an [InstanceManager] is being created. If left null, it
+  /// will default to the global instance defined in [JavaObject].
+  ImageAnalysisFlutterApiImpl({
+    InstanceManager? instanceManager,
+  }) : _instanceManager = instanceManager ?? JavaObject.globalInstanceManager;
+
+  /// Maintains instances stored to communicate with native language objects.
+  final InstanceManager _instanceManager;
+
+  @override
+  void onFrame(
+    int identifier,
+    int format,
+    int width,
+    int height,
+    int rotationDegrees,
+    int timestamp,
+    List<Uint8List?> planeBuffers,
+    List<int?> pixelStrides,
+    List<int?> rowStrides,
+  ) {
+    final ImageAnalysis? instance =
+        _instanceManager.getInstanceWithWeakReference(identifier);
+    final void Function(ImageFrame)? callback =
+        instance == null ? null : _streamingAnalyzerCallbacks[instance];
+    if (callback == null) {
+      // The analyzer was cleared while this frame was in flight.
+      return;
+    }
+
+    final List<ImageFramePlane> planes = <ImageFramePlane>[];
+    for (int i = 0; i < planeBuffers.length; i++) {
+      planes.add(ImageFramePlane(
+        bytes: planeBuffers[i]!,
+        pixelStride: pixelStrides[i]!,
+        rowStride: rowStrides[i]!,
+      ));
+    }
+    callback(ImageFrame(
+      format: format,
+      width: width,
+      height: height,
+      rotationDegrees: rotationDegrees,
+      timestamp: timestamp,
+      planes: planes,
+    ));
+  }
+}
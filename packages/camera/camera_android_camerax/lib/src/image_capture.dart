@@ -2,6 +2,8 @@
 // Use of this source code is governed by a BSD-style license that can be
 // found in the LICENSE file.
 
+import 'dart:typed_data';
+
 import 'package:flutter/services.dart' show BinaryMessenger;
 import 'package:meta/meta.dart' show immutable;
 
@@ -117,6 +119,23 @@ class ImageCapture extends UseCase {
   Future<String> takePicture() async {
     return _api.takePictureFromInstances(this);
   }
+
+  /// Takes a picture and returns its JPEG encoded bytes without saving it to
+  /// a file.
+  ///
+  /// This method is not a direct mapping of the takePicture method in the
+  /// CameraX, as it also configures an instance of
+  /// ImageCapture.OnImageCapturedCallback that copies the bytes out of the
+  /// captured ImageProxy and closes it.
+  ///
+  /// The rotation of the picture is not applied to its pixels; it is only
+  /// recorded in the EXIF data of the JPEG, if the device writes it.
+  ///
+  /// See https://developer.android.com/reference/androidx/camera/core/ImageCapture
+  /// for more information.
+  Future<Uint8List> takePictureToMemory() async {
+    return _api.takePictureToMemoryFromInstances(this);
+  }
 }
 
 /// Host API implementation of [ImageCapture].
@@ -192,4 +211,15 @@ class ImageCaptureHostApiImpl extends ImageCaptureHostApi {
     final String picturePath = await takePicture(identifier!);
     return picturePath;
   }
+
+  /// Takes a picture with the specified [ImageCapture] instance and returns
+  /// its JPEG encoded bytes.
+  Future<Uint8List> takePictureToMemoryFromInstances(
+      ImageCapture instance) async {
+    final int? identifier = instanceManager.getIdentifier(instance);
+    assert(identifier != null,
+        'No ImageCapture has the identifer of that requested to take a picture with.');
+
+    return takePictureToMemory(identifier!);
+  }
 }
@@ -152,6 +152,33 @@ class MeteringPointInfo {
   int? meteringMode;
 }
 
+/// Usage statistics of the native `InstanceManager`.
+class InstanceManagerStatistics {
+  InstanceManagerStatistics({
+    required this.liveInstanceCount,
+    required this.peakLiveInstanceCount,
+    required this.reclaimedInstanceCount,
+    required this.averageReclaimLatencyMillis,
+    required this.maxReclaimLatencyMillis,
+  });
+
+  /// The number of instances currently held by the `InstanceManager`.
+  int liveInstanceCount;
+
+  /// The largest number of instances held at once since the last clear.
+  int peakLiveInstanceCount;
+
+  /// The number of instances removed after their Dart counterpart was garbage
+  /// collected.
+  int reclaimedInstanceCount;
+
+  /// The average time between adding and reclaiming an instance.
+  double averageReclaimLatencyMillis;
+
+  /// The longest time between adding and reclaiming an instance.
+  double maxReclaimLatencyMillis;
+}
+
 /// The types of capture request options this plugin currently supports.
 ///
 /// If you need to add another option to support, ensure the following is done
@@ -180,6 +207,9 @@ abstract class InstanceManagerHostApi {
   ///
   /// This is typically only used after a hot restart.
   void clear();
+
+  /// Returns the usage statistics of the native `InstanceManager`.
+  InstanceManagerStatistics getStatistics();
 }
 
 @HostApi(dartHostTestHandler: 'TestJavaObjectHostApi')
@@ -368,6 +398,9 @@ abstract class ImageCaptureHostApi {
   @async
   String takePicture(int identifier);
 
+  @async
+  Uint8List takePictureToMemory(int identifier);
+
   void setTargetRotation(int identifier, int rotation);
 }
 
@@ -415,11 +448,28 @@ abstract class ImageAnalysisHostApi {
 
   void setAnalyzer(int identifier, int analyzerIdentifier);
 
+  void setStreamingAnalyzer(int identifier);
+
   void clearAnalyzer(int identifier);
 
   void setTargetRotation(int identifier, int rotation);
 }
 
+@FlutterApi()
+abstract class ImageAnalysisFlutterApi {
+  void onFrame(
+    int identifier,
+    int format,
+    int width,
+    int height,
+    int rotationDegrees,
+    int timestamp,
+    List<Uint8List?> planeBuffers,
+    List<int?> pixelStrides,
+    List<int?> rowStrides,
+  );
+}
+
 @HostApi(dartHostTestHandler: 'TestAnalyzerHostApi')
 abstract class AnalyzerHostApi {
   void create(int identifier);
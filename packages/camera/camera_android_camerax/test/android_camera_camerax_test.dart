@@ -2033,6 +2033,47 @@ void main() {
     expect(imageFile.path, equals(testPicturePath));
   });
 
+  test(
+      'takePictureToMemory binds ImageCapture to lifecycle and returns the captured bytes',
+      () async {
+    final AndroidCameraCameraX camera = AndroidCameraCameraX();
+    final MockProcessCameraProvider mockProcessCameraProvider =
+        MockProcessCameraProvider();
+    final MockCamera mockCamera = MockCamera();
+    final MockCameraInfo mockCameraInfo = MockCameraInfo();
+    final Uint8List testPictureBytes = Uint8List.fromList(<int>[0xFF, 0xD8]);
+
+    // Set directly for test versus calling createCamera.
+    camera.imageCapture = MockImageCapture();
+    camera.processCameraProvider = mockProcessCameraProvider;
+    camera.cameraSelector = MockCameraSelector();
+
+    // Ignore setting target rotation for this test; tested seprately.
+    camera.captureOrientationLocked = true;
+
+    // Tell plugin to create detached camera state observers.
+    camera.proxy = CameraXProxy(
+        createCameraStateObserver: (void Function(Object) onChanged) =>
+            Observer<CameraState>.detached(onChanged: onChanged));
+
+    when(mockProcessCameraProvider.isBound(camera.imageCapture))
+        .thenAnswer((_) async => false);
+    when(mockProcessCameraProvider.bindToLifecycle(
+            camera.cameraSelector, <UseCase>[camera.imageCapture!]))
+        .thenAnswer((_) async => mockCamera);
+    when(mockCamera.getCameraInfo()).thenAnswer((_) async => mockCameraInfo);
+    when(mockCameraInfo.getCameraState())
+        .thenAnswer((_) async => MockLiveCameraState());
+    when(camera.imageCapture!.takePictureToMemory())
+        .thenAnswer((_) async => testPictureBytes);
+
+    final XFile imageFile = await camera.takePictureToMemory(3);
+
+    expect(await imageFile.readAsBytes(), equals(testPictureBytes));
+    expect(imageFile.mimeType, equals('image/jpeg'));
+    verifyNever(camera.imageCapture!.takePicture());
+  });
+
   test(
       'takePicture sets ImageCapture target rotation to currrent photo rotation when orientation unlocked',
       () async {
@@ -2494,6 +2535,73 @@ void main() {
     await onStreamedFrameAvailableSubscription.cancel();
   });
 
+  test(
+      'onStreamedFrameAvailable uses streaming analyzer when useStreamingImageAnalysis is set',
+      () async {
+    final AndroidCameraCameraX camera = AndroidCameraCameraX();
+    const int cameraId = 34;
+    final MockImageAnalysis mockImageAnalysis = MockImageAnalysis();
+    final MockProcessCameraProvider mockProcessCameraProvider =
+        MockProcessCameraProvider();
+    final Uint8List buffer = Uint8List.fromList(<int>[1, 2, 3]);
+    const int pixelStride = 1;
+    const int rowStride = 3;
+    const int imageFormat = 35;
+    const int imageHeight = 1;
+    const int imageWidth = 3;
+
+    // Set directly for test versus calling createCamera.
+    camera.imageAnalysis = mockImageAnalysis;
+    camera.processCameraProvider = mockProcessCameraProvider;
+    camera.useStreamingImageAnalysis = true;
+
+    // Ignore setting target rotation for this test; tested seprately.
+    camera.captureOrientationLocked = true;
+
+    when(mockProcessCameraProvider.isBound(mockImageAnalysis))
+        .thenAnswer((_) async => true);
+
+    final Completer<CameraImageData> imageDataCompleter =
+        Completer<CameraImageData>();
+    final StreamSubscription<CameraImageData>
+        onStreamedFrameAvailableSubscription = camera
+            .onStreamedFrameAvailable(cameraId)
+            .listen((CameraImageData imageData) {
+      imageDataCompleter.complete(imageData);
+    });
+
+    await untilCalled(mockImageAnalysis.setStreamingAnalyzer(any));
+    final void Function(ImageFrame) onFrame =
+        verify(mockImageAnalysis.setStreamingAnalyzer(captureAny))
+            .captured
+            .single as void Function(ImageFrame);
+    verifyNever(mockImageAnalysis.setAnalyzer(any));
+
+    onFrame(ImageFrame(
+        format: imageFormat,
+        width: imageWidth,
+        height: imageHeight,
+        rotationDegrees: 0,
+        timestamp: 0,
+        planes: <ImageFramePlane>[
+          ImageFramePlane(
+              bytes: buffer, pixelStride: pixelStride, rowStride: rowStride)
+        ]));
+
+    final CameraImageData imageData = await imageDataCompleter.future;
+
+    expect(imageData.planes.length, equals(1));
+    expect(imageData.planes[0].bytes, equals(buffer));
+    expect(imageData.planes[0].bytesPerRow, equals(rowStride));
+    expect(imageData.planes[0].bytesPerPixel, equals(pixelStride));
+    expect(imageData.format.raw, equals(imageFormat));
+    expect(imageData.format.group, equals(ImageFormatGroup.yuv420));
+    expect(imageData.height, equals(imageHeight));
+    expect(imageData.width, equals(imageWidth));
+
+    await onStreamedFrameAvailableSubscription.cancel();
+  });
+
   test(
       'onStreamedFrameAvailable returns stream that responds expectedly to being canceled',
       () async {
@@ -4377,4 +4485,33 @@ void main() {
     verifyNoMoreInteractions(camera.videoCapture);
     verifyNoMoreInteractions(camera.camera);
   });
+
+  test(
+      'getNativeInstanceManagerStatistics returns the statistics of the native InstanceManager',
+      () async {
+    final AndroidCameraCameraX camera = AndroidCameraCameraX();
+    final MockTestInstanceManagerHostApi mockApi =
+        MockTestInstanceManagerHostApi();
+    TestInstanceManagerHostApi.setup(mockApi);
+    addTearDown(() =>
+        TestInstanceManagerHostApi.setup(MockTestInstanceManagerHostApi()));
+
+    when(mockApi.getStatistics()).thenReturn(InstanceManagerStatistics(
+      liveInstanceCount: 3,
+      peakLiveInstanceCount: 7,
+      reclaimedInstanceCount: 12,
+      averageReclaimLatencyMillis: 1.5,
+      maxReclaimLatencyMillis: 4.0,
+    ));
+
+    final InstanceManagerStatistics statistics =
+        await camera.getNativeInstanceManagerStatistics();
+
+    expect(statistics.liveInstanceCount, 3);
+    expect(statistics.peakLiveInstanceCount, 7);
+    expect(statistics.reclaimedInstanceCount, 12);
+    expect(statistics.averageReclaimLatencyMillis, 1.5);
+    expect(statistics.maxReclaimLatencyMillis, 4.0);
+    verify(mockApi.getStatistics());
+  });
 }
@@ -237,6 +237,17 @@ class _FakeRecorder_14 extends _i1.SmartFake implements _i15.Recorder {
         );
 }
 
+class _FakeInstanceManagerStatistics_15 extends _i1.SmartFake
+    implements _i10.InstanceManagerStatistics {
+  _FakeInstanceManagerStatistics_15(
+    Object parent,
+    Invocation parentInvocation,
+  ) : super(
+          parent,
+          parentInvocation,
+        );
+}
+
 /// A class which mocks [Analyzer].
 ///
 /// See the documentation for Mockito's code generation for more information.
@@ -890,6 +901,18 @@ class MockImageAnalysis extends _i1.Mock implements _i30.ImageAnalysis {
         returnValueForMissingStub: _i17.Future<void>.value(),
       ) as _i17.Future<void>);
 
+  @override
+  _i17.Future<void> setStreamingAnalyzer(
+          void Function(_i30.ImageFrame)? onFrame) =>
+      (super.noSuchMethod(
+        Invocation.method(
+          #setStreamingAnalyzer,
+          [onFrame],
+        ),
+        returnValue: _i17.Future<void>.value(),
+        returnValueForMissingStub: _i17.Future<void>.value(),
+      ) as _i17.Future<void>);
+
   @override
   _i17.Future<void> clearAnalyzer() => (super.noSuchMethod(
         Invocation.method(
@@ -948,6 +971,17 @@ class MockImageCapture extends _i1.Mock implements _i31.ImageCapture {
           ),
         )),
       ) as _i17.Future<String>);
+
+  @override
+  _i17.Future<_i34.Uint8List> takePictureToMemory() => (super.noSuchMethod(
+        Invocation.method(
+          #takePictureToMemory,
+          [],
+        ),
+        returnValue: _i17.Future<_i34.Uint8List>.value(_i34.Uint8List(0)),
+        returnValueForMissingStub:
+            _i17.Future<_i34.Uint8List>.value(_i34.Uint8List(0)),
+      ) as _i17.Future<_i34.Uint8List>);
 }
 
 /// A class which mocks [ImageProxy].
@@ -1356,6 +1390,28 @@ class MockTestInstanceManagerHostApi extends _i1.Mock
         ),
         returnValueForMissingStub: null,
       );
+
+  @override
+  _i10.InstanceManagerStatistics getStatistics() => (super.noSuchMethod(
+        Invocation.method(
+          #getStatistics,
+          [],
+        ),
+        returnValue: _FakeInstanceManagerStatistics_15(
+          this,
+          Invocation.method(
+            #getStatistics,
+            [],
+          ),
+        ),
+        returnValueForMissingStub: _FakeInstanceManagerStatistics_15(
+          this,
+          Invocation.method(
+            #getStatistics,
+            [],
+          ),
+        ),
+      ) as _i10.InstanceManagerStatistics);
 }
 
 /// A class which mocks [TestSystemServicesHostApi].
@@ -2,6 +2,8 @@
 // Use of this source code is governed by a BSD-style license that can be
 // found in the LICENSE file.
 
+import 'dart:typed_data';
+
 import 'package:camera_android_camerax/src/analyzer.dart';
 import 'package:camera_android_camerax/src/image_analysis.dart';
 import 'package:camera_android_camerax/src/image_proxy.dart';
@@ -185,5 +187,81 @@ void main() {
         instanceIdentifier,
       ));
     });
+
+    test(
+        'setStreamingAnalyzer makes call to set streaming analyzer on ImageAnalysis instance',
+        () async {
+      final MockTestImageAnalysisHostApi mockApi =
+          MockTestImageAnalysisHostApi();
+      TestImageAnalysisHostApi.setup(mockApi);
+
+      final InstanceManager instanceManager = InstanceManager(
+        onWeakReferenceRemoved: (_) {},
+      );
+
+      final ImageAnalysis instance = ImageAnalysis.detached(
+        instanceManager: instanceManager,
+      );
+      const int instanceIdentifier = 0;
+      instanceManager.addHostCreatedInstance(
+        instance,
+        instanceIdentifier,
+        onCopy: (ImageAnalysis original) => ImageAnalysis.detached(
+          instanceManager: instanceManager,
+        ),
+      );
+
+      await instance.setStreamingAnalyzer((_) {});
+
+      verify(mockApi.setStreamingAnalyzer(instanceIdentifier));
+    });
+
+    test('onFrame delivers frame to streaming analyzer callback', () async {
+      final MockTestImageAnalysisHostApi mockApi =
+          MockTestImageAnalysisHostApi();
+      TestImageAnalysisHostApi.setup(mockApi);
+
+      final InstanceManager instanceManager = InstanceManager(
+        onWeakReferenceRemoved: (_) {},
+      );
+      final ImageAnalysisFlutterApiImpl flutterApi =
+          ImageAnalysisFlutterApiImpl(instanceManager: instanceManager);
+
+      final ImageAnalysis instance = ImageAnalysis.detached(
+        instanceManager: instanceManager,
+      );
+      const int instanceIdentifier = 0;
+      instanceManager.addHostCreatedInstance(
+        instance,
+        instanceIdentifier,
+        onCopy: (ImageAnalysis original) => ImageAnalysis.detached(
+          instanceManager: instanceManager,
+        ),
+      );
+
+      final List<ImageFrame> frames = <ImageFrame>[];
+      await instance.setStreamingAnalyzer(frames.add);
+
+      final Uint8List bytes = Uint8List.fromList(<int>[1, 2, 3, 4]);
+      flutterApi.onFrame(instanceIdentifier, 35, 2, 2, 90, 12345,
+          <Uint8List?>[bytes], <int?>[1], <int?>[2]);
+
+      expect(frames, hasLength(1));
+      final ImageFrame frame = frames.single;
+      expect(frame.format, 35);
+      expect(frame.width, 2);
+      expect(frame.height, 2);
+      expect(frame.rotationDegrees, 90);
+      expect(frame.timestamp, 12345);
+      expect(frame.planes.single.bytes, bytes);
+      expect(frame.planes.single.pixelStride, 1);
+      expect(frame.planes.single.rowStride, 2);
+
+      await instance.clearAnalyzer();
+      flutterApi.onFrame(instanceIdentifier, 35, 2, 2, 90, 12346,
+          <Uint8List?>[bytes], <int?>[1], <int?>[2]);
+
+      expect(frames, hasLength(1));
+    });
   });
 }
@@ -64,6 +64,15 @@ class MockTestImageAnalysisHostApi extends _i1.Mock
         returnValueForMissingStub: null,
       );
 
+  @override
+  void setStreamingAnalyzer(int? identifier) => super.noSuchMethod(
+        Invocation.method(
+          #setStreamingAnalyzer,
+          [identifier],
+        ),
+        returnValueForMissingStub: null,
+      );
+
   @override
   void clearAnalyzer(int? identifier) => super.noSuchMethod(
         Invocation.method(
@@ -13,16 +13,42 @@ import 'package:flutter_test/flutter_test.dart';
 
 import 'package:camera_android_camerax/src/camerax_library.g.dart';
 
+class _TestInstanceManagerHostApiCodec extends StandardMessageCodec {
+  const _TestInstanceManagerHostApiCodec();
+  @override
+  void writeValue(WriteBuffer buffer, Object? value) {
+    if (value is InstanceManagerStatistics) {
+      buffer.putUint8(128);
+      writeValue(buffer, value.encode());
+    } else {
+      super.writeValue(buffer, value);
+    }
+  }
+
+  @override
+  Object? readValueOfType(int type, ReadBuffer buffer) {
+    switch (type) {
+      case 128:
+        return InstanceManagerStatistics.decode(readValue(buffer)!);
+      default:
+        return super.readValueOfType(type, buffer);
+    }
+  }
+}
+
 abstract class TestInstanceManagerHostApi {
   static TestDefaultBinaryMessengerBinding? get _testBinaryMessengerBinding =>
       TestDefaultBinaryMessengerBinding.instance;
-  static const MessageCodec<Object?> codec = StandardMessageCodec();
+  static const MessageCodec<Object?> codec = _TestInstanceManagerHostApiCodec();
 
   /// Clear the native `InstanceManager`.
   ///
   /// This is typically only used after a hot restart.
   void clear();
 
+  /// Returns the usage statistics of the native `InstanceManager`.
+  InstanceManagerStatistics getStatistics();
+
   static void setup(TestInstanceManagerHostApi? api,
       {BinaryMessenger? binaryMessenger}) {
     {
@@ -42,6 +68,23 @@ abstract class TestInstanceManagerHostApi {
         });
       }
     }
+    {
+      final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.InstanceManagerHostApi.getStatistics', codec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(channel,
+                (Object? message) async {
+          // ignore message
+          final InstanceManagerStatistics output = api.getStatistics();
+          return <Object?>[output];
+        });
+      }
+    }
   }
 }
 
@@ -1190,6 +1233,8 @@ abstract class TestImageCaptureHostApi {
 
   Future<String> takePicture(int identifier);
 
+  Future<Uint8List> takePictureToMemory(int identifier);
+
   void setTargetRotation(int identifier, int rotation);
 
   static void setup(TestImageCaptureHostApi? api,
@@ -1267,6 +1312,29 @@ abstract class TestImageCaptureHostApi {
         });
       }
     }
+    {
+      final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.ImageCaptureHostApi.takePictureToMemory', codec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(channel,
+                (Object? message) async {
+          assert(message != null,
+              'Argument for dev.flutter.pigeon.ImageCaptureHostApi.takePictureToMemory was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final int? arg_identifier = (args[0] as int?);
+          assert(arg_identifier != null,
+              'Argument for dev.flutter.pigeon.ImageCaptureHostApi.takePictureToMemory was null, expected non-null int.');
+          final Uint8List output =
+              await api.takePictureToMemory(arg_identifier!);
+          return <Object?>[output];
+        });
+      }
+    }
     {
       final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
           'dev.flutter.pigeon.ImageCaptureHostApi.setTargetRotation', codec,
@@ -1447,6 +1515,8 @@ abstract class TestImageAnalysisHostApi {
 
   void setAnalyzer(int identifier, int analyzerIdentifier);
 
+  void setStreamingAnalyzer(int identifier);
+
   void clearAnalyzer(int identifier);
 
   void setTargetRotation(int identifier, int rotation);
@@ -1503,6 +1573,28 @@ abstract class TestImageAnalysisHostApi {
         });
       }
     }
+    {
+      final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+          'dev.flutter.pigeon.ImageAnalysisHostApi.setStreamingAnalyzer', codec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(channel, null);
+      } else {
+        _testBinaryMessengerBinding!.defaultBinaryMessenger
+            .setMockDecodedMessageHandler<Object?>(channel,
+                (Object? message) async {
+          assert(message != null,
+              'Argument for dev.flutter.pigeon.ImageAnalysisHostApi.setStreamingAnalyzer was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final int? arg_identifier = (args[0] as int?);
+          assert(arg_identifier != null,
+              'Argument for dev.flutter.pigeon.ImageAnalysisHostApi.setStreamingAnalyzer was null, expected non-null int.');
+          api.setStreamingAnalyzer(arg_identifier!);
+          return <Object?>[];
+        });
+      }
+    }
     {
       final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
           'dev.flutter.pigeon.ImageAnalysisHostApi.clearAnalyzer', codec,
@@ -25,6 +25,7 @@ import androidx.test.espresso.flutter.common.Duration;
 import androidx.test.espresso.flutter.exception.NoMatchingWidgetException;
 import androidx.test.espresso.flutter.internal.idgenerator.IdGenerator;
 import androidx.test.espresso.flutter.internal.idgenerator.IdGenerators;
+import androidx.test.espresso.flutter.internal.protocol.impl.DartVmServicePool;
 import androidx.test.espresso.flutter.model.WidgetInfo;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -43,11 +44,13 @@ public final class EspressoFlutter {
   private static final OkHttpClient okHttpClient;
   private static final IdGenerator<Integer> idGenerator;
   private static final ExecutorService taskExecutor;
+  private static final DartVmServicePool dartVmServicePool;
 
   static {
     okHttpClient = new OkHttpClient();
     idGenerator = IdGenerators.newIntegerIdGenerator();
     taskExecutor = Executors.newCachedThreadPool();
+    dartVmServicePool = new DartVmServicePool(okHttpClient, idGenerator, taskExecutor);
   }
 
   /**
@@ -137,8 +140,7 @@ public final class EspressoFlutter {
           "The action cannot be null. You must specify an action to perform on the matched"
               + " Flutter widget.");
       FlutterViewAction<T> flutterViewAction =
-          new FlutterViewAction<>(
-              widgetMatcher, flutterAction, okHttpClient, idGenerator, taskExecutor);
+          new FlutterViewAction<>(widgetMatcher, flutterAction, dartVmServicePool, taskExecutor);
       onView(flutterViewMatcher).perform(flutterViewAction);
       T result;
       try {
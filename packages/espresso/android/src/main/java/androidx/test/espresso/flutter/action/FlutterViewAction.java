@@ -21,8 +21,7 @@ import androidx.test.espresso.flutter.api.FlutterAction;
 import androidx.test.espresso.flutter.api.FlutterTestingProtocol;
 import androidx.test.espresso.flutter.api.WidgetMatcher;
 import androidx.test.espresso.flutter.internal.idgenerator.IdGenerator;
-import androidx.test.espresso.flutter.internal.jsonrpc.JsonRpcClient;
-import androidx.test.espresso.flutter.internal.protocol.impl.DartVmService;
+import androidx.test.espresso.flutter.internal.protocol.impl.DartVmServicePool;
 import androidx.test.espresso.flutter.internal.protocol.impl.DartVmServiceUtil;
 import androidx.test.espresso.flutter.internal.protocol.impl.FlutterProtocolException;
 import com.google.common.annotations.VisibleForTesting;
@@ -54,8 +53,9 @@ public final class FlutterViewAction<T> implements ViewAction {
   private final SettableFuture<T> resultFuture = SettableFuture.create();
   private final WidgetMatcher widgetMatcher;
   private final FlutterAction<T> widgetAction;
-  private final OkHttpClient webSocketClient;
-  private final IdGenerator<Integer> messageIdGenerator;
+  private final DartVmServicePool dartVmServicePool;
+  // Whether the pool was created for this action only, and must be shut down after it.
+  private final boolean ownsDartVmServicePool;
   private final ExecutorService taskExecutor;
 
   /**
@@ -77,10 +77,43 @@ public final class FlutterViewAction<T> implements ViewAction {
       OkHttpClient webSocketClient,
       IdGenerator<Integer> messageIdGenerator,
       ExecutorService taskExecutor) {
+    this(
+        widgetMatcher,
+        widgetAction,
+        new DartVmServicePool(webSocketClient, messageIdGenerator, taskExecutor),
+        true,
+        taskExecutor);
+  }
+
+  /**
+   * Constructs an instance that performs the action over a connection from the given pool, which
+   * can be shared with other actions.
+   *
+   * @param widgetMatcher the matcher that uniquely matches a widget on the {@code FlutterView}.
+   *     Could be {@code null} if this is a universal action that doesn't apply to any specific
+   *     widget.
+   * @param widgetAction the action to be performed on the matched Flutter widget.
+   * @param dartVmServicePool the pool of {@code FlutterTestingProtocol} connections.
+   * @param taskExecutor the task executor that shall be used in the {@code WidgetAction}.
+   */
+  public FlutterViewAction(
+      WidgetMatcher widgetMatcher,
+      FlutterAction<T> widgetAction,
+      DartVmServicePool dartVmServicePool,
+      ExecutorService taskExecutor) {
+    this(widgetMatcher, widgetAction, dartVmServicePool, false, taskExecutor);
+  }
+
+  private FlutterViewAction(
+      WidgetMatcher widgetMatcher,
+      FlutterAction<T> widgetAction,
+      DartVmServicePool dartVmServicePool,
+      boolean ownsDartVmServicePool,
+      ExecutorService taskExecutor) {
     this.widgetMatcher = widgetMatcher;
     this.widgetAction = checkNotNull(widgetAction);
-    this.webSocketClient = checkNotNull(webSocketClient);
-    this.messageIdGenerator = checkNotNull(messageIdGenerator);
+    this.dartVmServicePool = checkNotNull(dartVmServicePool);
+    this.ownsDartVmServicePool = ownsDartVmServicePool;
     this.taskExecutor = checkNotNull(taskExecutor);
   }
 
@@ -113,11 +146,20 @@ public final class FlutterViewAction<T> implements ViewAction {
         DartVmServiceUtil.getServiceProtocolUri(FlutterJNI.getVMServiceUri());
     String isolateId = DartVmServiceUtil.getDartIsolateId(flutterView);
     final FlutterTestingProtocol flutterTestingProtocol =
-        new DartVmService(
-            isolateId,
-            new JsonRpcClient(webSocketClient, dartVmServiceProtocolUrl),
-            messageIdGenerator,
-            taskExecutor);
+        dartVmServicePool.acquire(dartVmServiceProtocolUrl, isolateId);
+    // Releases the connection once the action completed, so it can be closed when the pool
+    // replaces it.
+    resultFuture.addListener(
+        new Runnable() {
+          @Override
+          public void run() {
+            flutterTestingProtocol.close();
+            if (ownsDartVmServicePool) {
+              dartVmServicePool.shutdown();
+            }
+          }
+        },
+        directExecutor());
 
     try {
       // First checks the testing protocol is ready for use and then waits until the Flutter app is
@@ -138,6 +180,10 @@ public final class FlutterViewAction<T> implements ViewAction {
       resultFuture.setException(ee.getCause());
     } catch (InterruptedException ie) {
       resultFuture.setException(ie);
+    } catch (RuntimeException re) {
+      // Completes the result so the connection is released, and still fails the ViewAction.
+      resultFuture.setException(re);
+      throw re;
     }
   }
 
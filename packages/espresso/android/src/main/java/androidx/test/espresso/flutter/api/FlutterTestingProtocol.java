@@ -6,7 +6,9 @@ package androidx.test.espresso.flutter.api;
 
 import android.graphics.Rect;
 import androidx.test.espresso.flutter.model.WidgetInfo;
+import androidx.test.espresso.flutter.model.WidgetQueryResult;
 import com.google.common.annotations.Beta;
+import java.util.List;
 import java.util.concurrent.Future;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -69,6 +71,21 @@ public interface FlutterTestingProtocol {
    */
   Future<Rect> getLocalRect(@Nonnull WidgetMatcher widgetMatcher);
 
+  /**
+   * Returns the Java representation and the local rectangle area of the Flutter widgets that match
+   * each of the given widget matchers.
+   *
+   * <p>This is equivalent to calling {@link #matchWidget} and {@link #getLocalRect} for every
+   * matcher, but all the queries are sent together instead of waiting for each response in turn.
+   * If any of the widgets cannot be queried, returns a {@code Future} containing an {@code
+   * ExecutionException} that wraps the exception {@link #matchWidget} would have failed with.
+   *
+   * @param widgetMatchers the matchers to match Flutter widgets. Cannot be {@code null}.
+   * @return a {@code Future} representing pending completion of all the queries, with one result
+   *     for each matcher in the order of {@code widgetMatchers}.
+   */
+  Future<List<WidgetQueryResult>> queryWidgets(@Nonnull List<WidgetMatcher> widgetMatchers);
+
   /** Waits until the Flutter frame is in a stable state. */
   Future<Void> waitUntilIdle();
 
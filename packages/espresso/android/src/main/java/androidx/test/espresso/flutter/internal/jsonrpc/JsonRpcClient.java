@@ -27,10 +27,11 @@ import okhttp3.WebSocketListener;
 /**
  * A client that can be used to talk to a WebSocket-based JSON-RPC server.
  *
- * <p>One {@code JsonRpcClient} instance is not supposed to be shared between multiple threads.
- * Always create a new instance of {@code JsonRpcClient} for connecting to a new JSON-RPC URI, but
- * try to reuse the {@link OkHttpClient} instance, which is thread-safe and maintains a thread pool
- * in handling requests and responses.
+ * <p>Requests are pipelined: each request is sent as soon as it is made, without waiting for the
+ * responses of earlier requests, and responses are matched to requests by their IDs. A {@code
+ * JsonRpcClient} can be shared between threads. Always create a new instance of {@code
+ * JsonRpcClient} for connecting to a new JSON-RPC URI, but try to reuse the {@link OkHttpClient}
+ * instance, which is thread-safe and maintains a thread pool in handling requests and responses.
  */
 public class JsonRpcClient {
 
@@ -40,6 +41,7 @@ public class JsonRpcClient {
   private final URI webSocketUri;
   private final ConcurrentMap<String, SettableFuture<JsonRpcResponse>> responseFutures;
   private WebSocket webSocketConn;
+  private volatile boolean closed;
 
   /** {@code client} can be shared between multiple {@code JsonRpcClient}s. */
   public JsonRpcClient(OkHttpClient client, URI webSocketUri) {
@@ -56,11 +58,30 @@ public class JsonRpcClient {
 
   /** Closes the web socket connection. Non-blocking, and will return immediately. */
   public void disconnect() {
+    closed = true;
     if (webSocketConn != null) {
       webSocketConn.close(NORMAL_CLOSURE_STATUS, "Client request closing. All requests handled.");
     }
   }
 
+  /**
+   * Returns whether requests can still be sent, that is, the connection has neither been closed nor
+   * failed.
+   */
+  public boolean isOpen() {
+    return webSocketConn != null && !closed;
+  }
+
+  /** Fails all the requests that are waiting for a response with {@code cause}. */
+  private void failPendingRequests(Throwable cause) {
+    synchronized (responseFutures) {
+      for (SettableFuture<JsonRpcResponse> responseFuture : responseFutures.values()) {
+        responseFuture.setException(cause);
+      }
+      responseFutures.clear();
+    }
+  }
+
   /**
    * Sends a JSON-RPC request and returns a {@link ListenableFuture} with which the client could
    * wait on response. If the {@code request} is a JSON-RPC notification, this method returns
@@ -87,6 +108,9 @@ public class JsonRpcClient {
       // Holding the lock of responseFutures for send-and-add operations, so that we could make sure
       // to add its ListenableFuture to the responseFutures map before the thread of
       // {@code WebSocketListenerImpl#onMessage} method queries the map.
+      if (closed) {
+        return immediateFailedFuture(new ConnectException("WebSocket connection was closed."));
+      }
       boolean succeeded = webSocketConn.send(request.toJson());
       if (!succeeded) {
         ConnectException e = new ConnectException("Failed to send request: " + request);
@@ -133,13 +157,21 @@ public class JsonRpcClient {
           TAG,
           String.format(
               "Server requested connection close with code %d, reason: %s", code, reason));
+      closed = true;
       webSocket.close(NORMAL_CLOSURE_STATUS, "Server requested closing connection.");
+      failPendingRequests(
+          new ConnectException("Server closed the connection with code " + code + "."));
     }
 
     @Override
     public void onFailure(WebSocket webSocket, Throwable t, Response response) {
       Log.w(TAG, String.format("Failed to deliver message with error: %s.", t.getMessage()));
-      throw new RuntimeException("WebSocket request failure.", t);
+      // The connection cannot be used anymore, so fail the requests waiting on it instead of
+      // leaving them pending until they time out.
+      closed = true;
+      ConnectException e = new ConnectException("WebSocket request failure.");
+      e.initCause(t);
+      failPendingRequests(e);
     }
   }
 }
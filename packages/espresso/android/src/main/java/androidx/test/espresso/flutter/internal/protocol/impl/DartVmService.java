@@ -20,6 +20,7 @@ import androidx.test.espresso.flutter.internal.jsonrpc.message.JsonRpcRequest;
 import androidx.test.espresso.flutter.internal.jsonrpc.message.JsonRpcResponse;
 import androidx.test.espresso.flutter.internal.protocol.impl.GetOffsetAction.OffsetType;
 import androidx.test.espresso.flutter.model.WidgetInfo;
+import androidx.test.espresso.flutter.model.WidgetQueryResult;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Function;
 import com.google.common.util.concurrent.Futures;
@@ -30,8 +31,10 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
@@ -145,7 +148,7 @@ public final class DartVmService implements FlutterTestingProtocol {
   }
 
   @Override
-  public Future<WidgetInfo> matchWidget(@Nonnull WidgetMatcher widgetMatcher) {
+  public ListenableFuture<WidgetInfo> matchWidget(@Nonnull WidgetMatcher widgetMatcher) {
     JsonRpcRequest request = getActionRequest(widgetMatcher, new GetWidgetDiagnosticsAction());
     ListenableFuture<JsonRpcResponse> jsonResponseFuture = client.request(request);
 
@@ -161,7 +164,7 @@ public final class DartVmService implements FlutterTestingProtocol {
   }
 
   @Override
-  public Future<Rect> getLocalRect(@Nonnull WidgetMatcher widgetMatcher) {
+  public ListenableFuture<Rect> getLocalRect(@Nonnull WidgetMatcher widgetMatcher) {
     ListenableFuture<JsonRpcResponse> topLeftFuture =
         client.request(getActionRequest(widgetMatcher, new GetOffsetAction(OffsetType.TOP_LEFT)));
     ListenableFuture<JsonRpcResponse> bottomRightFuture =
@@ -203,6 +206,37 @@ public final class DartVmService implements FlutterTestingProtocol {
     return transform(responses, rectTransformer, directExecutor());
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The Flutter driver extension handles one command per request, so this sends the requests of
+   * all the widgets back to back over the same connection before waiting for any response. The
+   * whole batch then takes about one round trip instead of one per widget.
+   */
+  @Override
+  public ListenableFuture<List<WidgetQueryResult>> queryWidgets(
+      @Nonnull List<WidgetMatcher> widgetMatchers) {
+    checkNotNull(widgetMatchers, "The widget matchers cannot be null.");
+    List<ListenableFuture<WidgetQueryResult>> resultFutures = new ArrayList<>();
+    for (WidgetMatcher widgetMatcher : widgetMatchers) {
+      checkNotNull(widgetMatcher, "A widget matcher cannot be null.");
+      final ListenableFuture<WidgetInfo> widgetInfoFuture = matchWidget(widgetMatcher);
+      final ListenableFuture<Rect> localRectFuture = getLocalRect(widgetMatcher);
+      resultFutures.add(
+          Futures.whenAllSucceed(widgetInfoFuture, localRectFuture)
+              .call(
+                  new Callable<WidgetQueryResult>() {
+                    @Override
+                    public WidgetQueryResult call() throws ExecutionException {
+                      return new WidgetQueryResult(
+                          Futures.getDone(widgetInfoFuture), Futures.getDone(localRectFuture));
+                    }
+                  },
+                  directExecutor()));
+    }
+    return Futures.allAsList(resultFutures);
+  }
+
   @Override
   public Future<Void> waitUntilIdle() {
     return perform(
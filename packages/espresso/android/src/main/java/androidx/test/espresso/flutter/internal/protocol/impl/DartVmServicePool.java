@@ -0,0 +1,236 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package androidx.test.espresso.flutter.internal.protocol.impl;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import android.graphics.Rect;
+import android.util.Log;
+import androidx.test.espresso.flutter.api.FlutterTestingProtocol;
+import androidx.test.espresso.flutter.api.SyntheticAction;
+import androidx.test.espresso.flutter.api.WidgetMatcher;
+import androidx.test.espresso.flutter.internal.idgenerator.IdGenerator;
+import androidx.test.espresso.flutter.internal.jsonrpc.JsonRpcClient;
+import androidx.test.espresso.flutter.model.WidgetInfo;
+import androidx.test.espresso.flutter.model.WidgetQueryResult;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.JdkFutureAdapters;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import okhttp3.OkHttpClient;
+
+/**
+ * Shares one {@link DartVmService} connection between all the Flutter actions performed on the
+ * same Dart isolate.
+ *
+ * <p>Creating a {@code DartVmService} opens a new WebSocket to the Dart VM service and checks that
+ * the Flutter testing API is registered, which costs several round trips. This pool keeps the
+ * connection of the current isolate open and reuses it, so only the first action pays for it.
+ * Requests of concurrent actions are pipelined over the same WebSocket.
+ *
+ * <p>Connections are reference counted. Each {@link #acquire} returns a new reference that must be
+ * released with {@link FlutterTestingProtocol#close()}. A connection is replaced when a different
+ * isolate or service URI is requested, for example after a hot restart, or when its WebSocket
+ * failed, and is closed once the last reference to it is released.
+ */
+public final class DartVmServicePool {
+
+  private static final String TAG = DartVmServicePool.class.getSimpleName();
+
+  private final OkHttpClient webSocketClient;
+  private final IdGenerator<Integer> messageIdGenerator;
+  private final ExecutorService taskExecutor;
+
+  // Guarded by this.
+  @Nullable private PooledConnection current;
+
+  /**
+   * Constructs a pool whose connections use the given params.
+   *
+   * @param webSocketClient the WebSocket client used to connect to the Dart VM service.
+   * @param messageIdGenerator an ID generator for generating the JSON-RPC request IDs.
+   * @param taskExecutor an executor for running async tasks.
+   */
+  public DartVmServicePool(
+      OkHttpClient webSocketClient,
+      IdGenerator<Integer> messageIdGenerator,
+      ExecutorService taskExecutor) {
+    this.webSocketClient = checkNotNull(webSocketClient);
+    this.messageIdGenerator = checkNotNull(messageIdGenerator);
+    this.taskExecutor = checkNotNull(taskExecutor);
+  }
+
+  /**
+   * Returns a reference to the connection to the given isolate, opening a new connection if there
+   * is no usable one.
+   *
+   * @param serviceUri the WebSocket URI of the Dart VM service protocol.
+   * @param isolateId the ID of the Dart isolate that draws the Flutter UI.
+   */
+  public synchronized FlutterTestingProtocol acquire(URI serviceUri, String isolateId) {
+    checkNotNull(serviceUri, "The Dart VM service URI shouldn't be null.");
+    checkNotNull(isolateId, "The Dart isolate ID shouldn't be null.");
+    if (current != null && !current.isUsableFor(serviceUri, isolateId)) {
+      Log.d(TAG, String.format("Replacing the Dart VM service connection to %s.", current));
+      current.retire();
+      current = null;
+    }
+    if (current == null) {
+      current = new PooledConnection(serviceUri, isolateId);
+    }
+    return current.newReference();
+  }
+
+  /** Closes the pooled connection once it is no longer referenced. */
+  public synchronized void shutdown() {
+    if (current != null) {
+      current.retire();
+      current = null;
+    }
+  }
+
+  /** A shared {@link DartVmService}, and whether its testing API is known to be ready. */
+  private final class PooledConnection {
+    private final URI serviceUri;
+    private final String isolateId;
+    private final JsonRpcClient client;
+    private final DartVmService service;
+
+    // Guarded by DartVmServicePool.this.
+    private int referenceCount;
+    private boolean retired;
+    @Nullable private ListenableFuture<Void> readyFuture;
+
+    PooledConnection(URI serviceUri, String isolateId) {
+      this.serviceUri = serviceUri;
+      this.isolateId = isolateId;
+      this.client = new JsonRpcClient(webSocketClient, serviceUri);
+      this.service = new DartVmService(isolateId, client, messageIdGenerator, taskExecutor);
+    }
+
+    boolean isUsableFor(URI serviceUri, String isolateId) {
+      return this.serviceUri.equals(serviceUri)
+          && this.isolateId.equals(isolateId)
+          && client.isOpen();
+    }
+
+    FlutterTestingProtocol newReference() {
+      referenceCount++;
+      return new ConnectionReference(this);
+    }
+
+    /** Checks that the testing API is registered once, and shares the result. */
+    ListenableFuture<Void> connect() {
+      synchronized (DartVmServicePool.this) {
+        if (readyFuture == null) {
+          final ListenableFuture<Void> future =
+              JdkFutureAdapters.listenInPoolThread(service.connect(), taskExecutor);
+          readyFuture = future;
+          Futures.addCallback(
+              future,
+              new FutureCallback<Void>() {
+                @Override
+                public void onSuccess(@Nullable Void result) {}
+
+                @Override
+                public void onFailure(Throwable t) {
+                  // Checks again on the next action, the isolate might not have been ready yet.
+                  synchronized (DartVmServicePool.this) {
+                    if (readyFuture == future) {
+                      readyFuture = null;
+                    }
+                  }
+                }
+              },
+              MoreExecutors.directExecutor());
+        }
+        return readyFuture;
+      }
+    }
+
+    void release() {
+      synchronized (DartVmServicePool.this) {
+        referenceCount--;
+        closeIfUnused();
+      }
+    }
+
+    void retire() {
+      retired = true;
+      closeIfUnused();
+    }
+
+    private void closeIfUnused() {
+      if (retired && referenceCount == 0) {
+        service.close();
+      }
+    }
+
+    @Override
+    public String toString() {
+      return String.format("isolate %s at %s", isolateId, serviceUri);
+    }
+  }
+
+  /** A reference to a {@link PooledConnection}, which is released when it is closed. */
+  private static final class ConnectionReference implements FlutterTestingProtocol {
+    private final PooledConnection connection;
+    private boolean closed;
+
+    ConnectionReference(PooledConnection connection) {
+      this.connection = connection;
+    }
+
+    @Override
+    public Future<Void> connect() {
+      return connection.connect();
+    }
+
+    @Override
+    public Future<Void> perform(
+        @Nullable WidgetMatcher widgetMatcher, @Nonnull SyntheticAction action) {
+      return connection.service.perform(widgetMatcher, action);
+    }
+
+    @Override
+    public Future<WidgetInfo> matchWidget(@Nonnull WidgetMatcher widgetMatcher) {
+      return connection.service.matchWidget(widgetMatcher);
+    }
+
+    @Override
+    public Future<Rect> getLocalRect(@Nonnull WidgetMatcher widgetMatcher) {
+      return connection.service.getLocalRect(widgetMatcher);
+    }
+
+    @Override
+    public Future<List<WidgetQueryResult>> queryWidgets(
+        @Nonnull List<WidgetMatcher> widgetMatchers) {
+      return connection.service.queryWidgets(widgetMatchers);
+    }
+
+    @Override
+    public Future<Void> waitUntilIdle() {
+      return connection.service.waitUntilIdle();
+    }
+
+    @Override
+    public void close() {
+      synchronized (this) {
+        if (closed) {
+          return;
+        }
+        closed = true;
+      }
+      connection.release();
+    }
+  }
+}
@@ -0,0 +1,53 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package androidx.test.espresso.flutter.model;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import android.graphics.Rect;
+import com.google.common.annotations.Beta;
+import javax.annotation.Nonnull;
+
+/**
+ * The diagnostics and the local rectangle area of a Flutter widget, as returned for each widget
+ * matcher of a batch query.
+ */
+@Beta
+public final class WidgetQueryResult {
+
+  private final WidgetInfo widgetInfo;
+  private final Rect localRect;
+
+  /**
+   * Constructs a result.
+   *
+   * @param widgetInfo the Java representation of the matched widget.
+   * @param localRect the rectangle area of the matched widget, relative to its outer Flutter View.
+   */
+  public WidgetQueryResult(@Nonnull WidgetInfo widgetInfo, @Nonnull Rect localRect) {
+    this.widgetInfo = checkNotNull(widgetInfo, "WidgetInfo cannot be null.");
+    this.localRect = checkNotNull(localRect, "The local rect cannot be null.");
+  }
+
+  /** Returns the Java representation of the matched widget. */
+  @Nonnull
+  public WidgetInfo getWidgetInfo() {
+    return widgetInfo;
+  }
+
+  /**
+   * Returns the rectangle area of the matched widget relative to its outer Flutter View, in the
+   * unit of dp (Density-independent Pixel).
+   */
+  @Nonnull
+  public Rect getLocalRect() {
+    return localRect;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("WidgetQueryResult{widgetInfo=%s, localRect=%s}", widgetInfo, localRect);
+  }
+}
@@ -0,0 +1,192 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package androidx.test.espresso.flutter.internal.jsonrpc;
+
+import androidx.test.espresso.flutter.internal.jsonrpc.message.JsonRpcRequest;
+import androidx.test.espresso.flutter.internal.jsonrpc.message.JsonRpcResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.WebSocket;
+import okhttp3.WebSocketListener;
+import okio.ByteString;
+
+/**
+ * An in-process stand-in for a WebSocket-based JSON-RPC server, such as the Dart VM service.
+ *
+ * <p>Pass it to a {@link JsonRpcClient} in place of a real {@link OkHttpClient}. Each request is
+ * answered by a {@link Handler} after {@code latencyMillis}, simulating the round trip to a device.
+ * Requests are answered independently of each other, so pipelined requests overlap like they do
+ * over a real socket.
+ *
+ * <p>Responses can be held back with {@link #pauseResponses()}, so tests can check which requests
+ * were sent before any response arrived without depending on timing.
+ */
+public final class LocalJsonRpcServer extends OkHttpClient {
+
+  /** Answers the requests received by the server. */
+  public interface Handler {
+    @Nonnull
+    JsonRpcResponse handle(@Nonnull JsonRpcRequest request);
+  }
+
+  private final Handler handler;
+  private final long latencyMillis;
+  private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+  private final AtomicInteger requestCount = new AtomicInteger();
+  private final List<LocalWebSocket> sockets = new CopyOnWriteArrayList<>();
+  private final AtomicInteger requestCountAtFirstResponse = new AtomicInteger(-1);
+  // Guarded by this.
+  private boolean responsesPaused;
+  // Guarded by this.
+  private final List<Runnable> pausedResponses = new ArrayList<>();
+
+  public LocalJsonRpcServer(Handler handler, long latencyMillis) {
+    this.handler = handler;
+    this.latencyMillis = latencyMillis;
+  }
+
+  /** Returns the number of requests received so far. */
+  public int getRequestCount() {
+    return requestCount.get();
+  }
+
+  /**
+   * Returns the number of requests that had been received when the first response was sent, or -1
+   * if no response was sent yet.
+   */
+  public int getRequestCountAtFirstResponse() {
+    return requestCountAtFirstResponse.get();
+  }
+
+  /** Holds back the responses to the requests received from now on. */
+  public synchronized void pauseResponses() {
+    responsesPaused = true;
+  }
+
+  /** Sends the responses held back since {@link #pauseResponses()}, after the usual latency. */
+  public synchronized void resumeResponses() {
+    responsesPaused = false;
+    for (Runnable response : pausedResponses) {
+      scheduleResponse(response);
+    }
+    pausedResponses.clear();
+  }
+
+  /** Returns the number of WebSockets opened so far. */
+  public int getSocketCount() {
+    return sockets.size();
+  }
+
+  /** Returns the number of WebSockets closed by their client so far. */
+  public int getClosedSocketCount() {
+    int count = 0;
+    for (LocalWebSocket socket : sockets) {
+      if (socket.closed) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /** Fails all the open WebSockets with {@code cause}, like a dropped connection. */
+  public void failSockets(Throwable cause) {
+    for (LocalWebSocket socket : sockets) {
+      if (!socket.closed) {
+        socket.closed = true;
+        socket.listener.onFailure(socket, cause, null);
+      }
+    }
+  }
+
+  /** Stops answering requests. */
+  public void shutdown() {
+    scheduler.shutdownNow();
+  }
+
+  private synchronized void respond(Runnable response) {
+    if (responsesPaused) {
+      pausedResponses.add(response);
+    } else {
+      scheduleResponse(response);
+    }
+  }
+
+  private void scheduleResponse(Runnable response) {
+    scheduler.schedule(response, latencyMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  @Nonnull
+  public WebSocket newWebSocket(@Nonnull Request request, @Nonnull WebSocketListener listener) {
+    final LocalWebSocket socket = new LocalWebSocket(request, listener);
+    sockets.add(socket);
+    return socket;
+  }
+
+  private final class LocalWebSocket implements WebSocket {
+    private final Request request;
+    private final WebSocketListener listener;
+    private volatile boolean closed;
+
+    LocalWebSocket(Request request, WebSocketListener listener) {
+      this.request = request;
+      this.listener = listener;
+    }
+
+    @Override
+    @Nonnull
+    public Request request() {
+      return request;
+    }
+
+    @Override
+    public long queueSize() {
+      return 0;
+    }
+
+    @Override
+    public boolean send(@Nonnull String text) {
+      if (closed) {
+        return false;
+      }
+      requestCount.incrementAndGet();
+      final JsonRpcRequest rpcRequest = JsonRpcRequest.fromJson(text);
+      respond(
+          new Runnable() {
+            @Override
+            public void run() {
+              requestCountAtFirstResponse.compareAndSet(-1, requestCount.get());
+              listener.onMessage(LocalWebSocket.this, handler.handle(rpcRequest).toJson());
+            }
+          });
+      return true;
+    }
+
+    @Override
+    public boolean send(@Nonnull ByteString bytes) {
+      return send(bytes.utf8());
+    }
+
+    @Override
+    public boolean close(int code, @Nullable String reason) {
+      closed = true;
+      return true;
+    }
+
+    @Override
+    public void cancel() {
+      closed = true;
+    }
+  }
+}
@@ -0,0 +1,162 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package androidx.test.espresso.flutter.internal.protocol.impl;
+
+import static androidx.test.espresso.flutter.matcher.FlutterMatchers.withText;
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+import android.graphics.Rect;
+import androidx.test.espresso.flutter.api.WidgetMatcher;
+import androidx.test.espresso.flutter.internal.idgenerator.IdGenerators;
+import androidx.test.espresso.flutter.internal.jsonrpc.JsonRpcClient;
+import androidx.test.espresso.flutter.internal.jsonrpc.LocalJsonRpcServer;
+import androidx.test.espresso.flutter.internal.jsonrpc.message.ErrorObject;
+import androidx.test.espresso.flutter.internal.jsonrpc.message.JsonRpcRequest;
+import androidx.test.espresso.flutter.internal.jsonrpc.message.JsonRpcResponse;
+import androidx.test.espresso.flutter.model.WidgetQueryResult;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class DartVmServiceBatchTest {
+
+  private static final long LATENCY_MILLIS = 20;
+  private static final int WIDGET_COUNT = 10;
+
+  private LocalJsonRpcServer server;
+  private ExecutorService taskExecutor;
+  private DartVmService dartVmService;
+
+  /** Answers Flutter driver commands for Text widgets whose text is "widget-<index>". */
+  private static JsonRpcResponse handle(JsonRpcRequest request) {
+    JsonRpcResponse response = new JsonRpcResponse(request.getId());
+    JsonObject params = request.getParams();
+    String text = params.get("text").getAsString();
+    if (!text.startsWith("widget-")) {
+      response.setError(new ErrorObject(-32000, "No widget with text " + text));
+      return response;
+    }
+    int index = Integer.parseInt(text.substring("widget-".length()));
+
+    JsonObject result = new JsonObject();
+    result.addProperty("isError", false);
+    JsonObject body = new JsonObject();
+    switch (params.get("command").getAsString()) {
+      case "get_diagnostics_tree":
+        JsonObject property = new JsonObject();
+        property.addProperty("name", "data");
+        property.addProperty("value", text);
+        property.addProperty("description", text);
+        JsonArray properties = new JsonArray();
+        properties.add(property);
+        body.addProperty("widgetRuntimeType", "Text");
+        body.add("properties", properties);
+        body.addProperty("description", "Text");
+        body.addProperty("hasChildren", false);
+        break;
+      case "get_offset":
+        boolean topLeft = "topLeft".equals(params.get("offsetType").getAsString());
+        body.addProperty("dx", topLeft ? 0 : 100);
+        body.addProperty("dy", topLeft ? index * 50 : index * 50 + 40);
+        result.addProperty("type", params.get("offsetType").getAsString());
+        break;
+      default:
+        throw new IllegalArgumentException("Unexpected request " + request);
+    }
+    result.add("response", body);
+    response.setResult(result);
+    return response;
+  }
+
+  @Before
+  public void setUp() {
+    server =
+        new LocalJsonRpcServer(
+            new LocalJsonRpcServer.Handler() {
+              @Override
+              public JsonRpcResponse handle(JsonRpcRequest request) {
+                return DartVmServiceBatchTest.handle(request);
+              }
+            },
+            LATENCY_MILLIS);
+    taskExecutor = Executors.newCachedThreadPool();
+    dartVmService =
+        new DartVmService(
+            "isolates/1",
+            new JsonRpcClient(server, URI.create("ws://localhost:1234/ws")),
+            IdGenerators.newIntegerIdGenerator(),
+            taskExecutor);
+  }
+
+  @After
+  public void tearDown() {
+    server.shutdown();
+    taskExecutor.shutdownNow();
+  }
+
+  private static List<WidgetMatcher> widgetMatchers(int count) {
+    List<WidgetMatcher> matchers = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      matchers.add(withText("widget-" + i));
+    }
+    return matchers;
+  }
+
+  @Test
+  public void queryWidgets_returnsResultsInOrder() throws Exception {
+    List<WidgetQueryResult> results = dartVmService.queryWidgets(widgetMatchers(3)).get();
+
+    assertThat(results).hasSize(3);
+    for (int i = 0; i < 3; i++) {
+      assertThat(results.get(i).getWidgetInfo().getType()).isEqualTo("Text");
+      assertThat(results.get(i).getWidgetInfo().getText()).isEqualTo("widget-" + i);
+    }
+    // One diagnostics and two offset requests per widget.
+    assertThat(server.getRequestCount()).isEqualTo(9);
+  }
+
+  @Test
+  public void queryWidgets_failsIfAnyWidgetCannotBeQueried() throws Exception {
+    List<WidgetMatcher> matchers = widgetMatchers(2);
+    matchers.add(withText("missing"));
+
+    try {
+      dartVmService.queryWidgets(matchers).get();
+      fail("Expected the query to fail.");
+    } catch (ExecutionException e) {
+      assertThat(e.getCause()).isInstanceOf(FlutterProtocolException.class);
+    }
+  }
+
+  @Test
+  public void queryWidgets_sendsAllRequestsBeforeTheFirstResponse() throws Exception {
+    server.pauseResponses();
+    ListenableFuture<List<WidgetQueryResult>> resultsFuture =
+        dartVmService.queryWidgets(widgetMatchers(WIDGET_COUNT));
+    server.resumeResponses();
+    List<WidgetQueryResult> results = resultsFuture.get();
+
+    // One diagnostics and two offset requests per widget, all sent without waiting for a response.
+    assertThat(server.getRequestCountAtFirstResponse()).isEqualTo(3 * WIDGET_COUNT);
+    assertThat(server.getRequestCount()).isEqualTo(3 * WIDGET_COUNT);
+    assertThat(results).hasSize(WIDGET_COUNT);
+    for (int i = 0; i < WIDGET_COUNT; i++) {
+      assertThat(results.get(i).getLocalRect()).isEqualTo(new Rect(0, i * 50, 100, i * 50 + 40));
+    }
+  }
+}
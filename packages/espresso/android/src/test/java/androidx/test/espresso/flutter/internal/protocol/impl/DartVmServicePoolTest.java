@@ -0,0 +1,141 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package androidx.test.espresso.flutter.internal.protocol.impl;
+
+import static androidx.test.espresso.flutter.matcher.FlutterMatchers.withText;
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.Assert.fail;
+
+import androidx.test.espresso.flutter.api.FlutterTestingProtocol;
+import androidx.test.espresso.flutter.internal.idgenerator.IdGenerators;
+import androidx.test.espresso.flutter.internal.jsonrpc.LocalJsonRpcServer;
+import androidx.test.espresso.flutter.internal.jsonrpc.message.JsonRpcRequest;
+import androidx.test.espresso.flutter.internal.jsonrpc.message.JsonRpcResponse;
+import androidx.test.espresso.flutter.model.WidgetInfo;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DartVmServicePoolTest {
+
+  private static final URI SERVICE_URI = URI.create("ws://localhost:1234/ws");
+
+  private LocalJsonRpcServer server;
+  private ExecutorService taskExecutor;
+  private DartVmServicePool pool;
+
+  /** Answers the isolate info requests with the Flutter driver extension registered. */
+  private static JsonRpcResponse handle(JsonRpcRequest request) {
+    if (!"getIsolate".equals(request.getMethod())) {
+      throw new IllegalArgumentException("Unexpected request " + request);
+    }
+    JsonArray extensionRpcs = new JsonArray();
+    extensionRpcs.add("ext.flutter.driver");
+    JsonObject result = new JsonObject();
+    result.add("extensionRPCs", extensionRpcs);
+    JsonRpcResponse response = new JsonRpcResponse(request.getId());
+    response.setResult(result);
+    return response;
+  }
+
+  @Before
+  public void setUp() {
+    taskExecutor = Executors.newCachedThreadPool();
+    startServer(0);
+  }
+
+  @After
+  public void tearDown() {
+    pool.shutdown();
+    server.shutdown();
+    taskExecutor.shutdownNow();
+  }
+
+  private void startServer(long latencyMillis) {
+    server =
+        new LocalJsonRpcServer(
+            new LocalJsonRpcServer.Handler() {
+              @Override
+              public JsonRpcResponse handle(JsonRpcRequest request) {
+                return DartVmServicePoolTest.handle(request);
+              }
+            },
+            latencyMillis);
+    pool = new DartVmServicePool(server, IdGenerators.newIntegerIdGenerator(), taskExecutor);
+  }
+
+  private static void assertFailsWithConnectException(Future<?> future) throws Exception {
+    try {
+      future.get();
+      fail("Expected the request to fail.");
+    } catch (ExecutionException e) {
+      assertThat(e.getCause()).isInstanceOf(ConnectException.class);
+    }
+  }
+
+  @Test
+  public void acquire_reusesTheConnectionAfterRelease() throws Exception {
+    FlutterTestingProtocol first = pool.acquire(SERVICE_URI, "isolates/1");
+    first.connect().get();
+    first.close();
+
+    FlutterTestingProtocol second = pool.acquire(SERVICE_URI, "isolates/1");
+    second.connect().get();
+    second.close();
+
+    assertThat(server.getSocketCount()).isEqualTo(1);
+    assertThat(server.getClosedSocketCount()).isEqualTo(0);
+    // The testing API is only checked by the first action.
+    assertThat(server.getRequestCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void acquire_replacesTheConnectionWhenTheIsolateChanges() throws Exception {
+    FlutterTestingProtocol oldIsolate = pool.acquire(SERVICE_URI, "isolates/1");
+
+    FlutterTestingProtocol newIsolate = pool.acquire(SERVICE_URI, "isolates/2");
+    newIsolate.connect().get();
+
+    assertThat(server.getSocketCount()).isEqualTo(2);
+    // The old connection is still referenced, so it stays open until it is released.
+    assertThat(server.getClosedSocketCount()).isEqualTo(0);
+    oldIsolate.close();
+    assertThat(server.getClosedSocketCount()).isEqualTo(1);
+    newIsolate.close();
+    assertThat(server.getClosedSocketCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void socketFailure_failsPendingRequestsAndNextAcquireReconnects() throws Exception {
+    server.shutdown();
+    // The requests are not answered before the socket fails.
+    startServer(60000);
+    FlutterTestingProtocol protocol = pool.acquire(SERVICE_URI, "isolates/1");
+    Future<WidgetInfo> firstRequest = protocol.matchWidget(withText("first"));
+    Future<WidgetInfo> secondRequest = protocol.matchWidget(withText("second"));
+
+    server.failSockets(new IOException("Connection reset"));
+
+    assertFailsWithConnectException(firstRequest);
+    assertFailsWithConnectException(secondRequest);
+    protocol.close();
+
+    FlutterTestingProtocol reconnected = pool.acquire(SERVICE_URI, "isolates/1");
+    reconnected.matchWidget(withText("third"));
+    reconnected.close();
+
+    assertThat(server.getSocketCount()).isEqualTo(2);
+    assertThat(server.getRequestCount()).isEqualTo(3);
+  }
+}
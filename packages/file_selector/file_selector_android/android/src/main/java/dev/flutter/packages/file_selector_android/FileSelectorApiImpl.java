@@ -23,13 +23,19 @@ import androidx.annotation.VisibleForTesting;
 import io.flutter.embedding.engine.plugins.activity.ActivityPluginBinding;
 import io.flutter.plugin.common.PluginRegistry;
 import java.io.DataInputStream;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
 public class FileSelectorApiImpl implements GeneratedFileSelectorApi.FileSelectorApi {
   private static final String TAG = "FileSelectorApiImpl";
@@ -39,9 +45,16 @@ public class FileSelectorApiImpl implements GeneratedFileSelectorApi.FileSelecto
   private static final int OPEN_FILES = 222;
   // Request code for selecting a directory.
   private static final int OPEN_DIR = 223;
+  // Shared by all instances, so recreating the activity does not leak threads.
+  private static final Executor BACKGROUND_EXECUTOR = Executors.newSingleThreadExecutor();
 
   private final @NonNull NativeObjectFactory objectFactory;
   private final @NonNull AndroidSdkChecker sdkChecker;
+  // Runs reads and copies of lazily opened files off the main thread.
+  private final @NonNull Executor backgroundExecutor;
+  // The lazily opened file that was read last, kept open for the read of its next range. Only
+  // accessed on the background executor.
+  private @Nullable OpenFile openFile;
   @Nullable ActivityPluginBinding activityPluginBinding;
 
   private abstract static class OnResultListener {
@@ -61,6 +74,23 @@ public class FileSelectorApiImpl implements GeneratedFileSelectorApi.FileSelecto
     DataInputStream newDataInputStream(InputStream inputStream) {
       return new DataInputStream(inputStream);
     }
+
+    @NonNull
+    Uri parseUri(@NonNull String uri) {
+      return Uri.parse(uri);
+    }
+
+    // Opens a file the same way eagerly read files are opened, so providers that return pipes
+    // are supported as well.
+    @NonNull
+    InputStream openInputStream(@NonNull ContentResolver contentResolver, @NonNull Uri uri)
+        throws FileNotFoundException {
+      final InputStream inputStream = contentResolver.openInputStream(uri);
+      if (inputStream == null) {
+        throw new FileNotFoundException("Failed to open file: " + uri);
+      }
+      return inputStream;
+    }
   }
 
   // Interface for an injectable SDK version checker.
@@ -74,23 +104,27 @@ public class FileSelectorApiImpl implements GeneratedFileSelectorApi.FileSelecto
     this(
         activityPluginBinding,
         new NativeObjectFactory(),
-        (int version) -> Build.VERSION.SDK_INT >= version);
+        (int version) -> Build.VERSION.SDK_INT >= version,
+        BACKGROUND_EXECUTOR);
   }
 
   @VisibleForTesting
   FileSelectorApiImpl(
       @NonNull ActivityPluginBinding activityPluginBinding,
       @NonNull NativeObjectFactory objectFactory,
-      @NonNull AndroidSdkChecker sdkChecker) {
+      @NonNull AndroidSdkChecker sdkChecker,
+      @NonNull Executor backgroundExecutor) {
     this.activityPluginBinding = activityPluginBinding;
     this.objectFactory = objectFactory;
     this.sdkChecker = sdkChecker;
+    this.backgroundExecutor = backgroundExecutor;
   }
 
   @Override
   public void openFile(
       @Nullable String initialDirectory,
       @NonNull GeneratedFileSelectorApi.FileTypes allowedTypes,
+      @NonNull Boolean lazy,
       @NonNull GeneratedFileSelectorApi.Result<GeneratedFileSelectorApi.FileResponse> result) {
     final Intent intent = objectFactory.newIntent(Intent.ACTION_OPEN_DOCUMENT);
     intent.addCategory(Intent.CATEGORY_OPENABLE);
@@ -113,7 +147,7 @@ public class FileSelectorApiImpl implements GeneratedFileSelectorApi.FileSelecto
                   return;
                 }
 
-                final GeneratedFileSelectorApi.FileResponse file = toFileResponse(uri);
+                final GeneratedFileSelectorApi.FileResponse file = toFileResponse(uri, lazy);
                 if (file != null) {
                   result.success(file);
                 } else {
@@ -133,6 +167,7 @@ public class FileSelectorApiImpl implements GeneratedFileSelectorApi.FileSelecto
   public void openFiles(
       @Nullable String initialDirectory,
       @NonNull GeneratedFileSelectorApi.FileTypes allowedTypes,
+      @NonNull Boolean lazy,
       @NonNull
           GeneratedFileSelectorApi.Result<List<GeneratedFileSelectorApi.FileResponse>> result) {
     final Intent intent = objectFactory.newIntent(Intent.ACTION_OPEN_DOCUMENT);
@@ -153,7 +188,7 @@ public class FileSelectorApiImpl implements GeneratedFileSelectorApi.FileSelecto
                 // Only one file was returned.
                 final Uri uri = data.getData();
                 if (uri != null) {
-                  final GeneratedFileSelectorApi.FileResponse file = toFileResponse(uri);
+                  final GeneratedFileSelectorApi.FileResponse file = toFileResponse(uri, lazy);
                   if (file != null) {
                     result.success(Collections.singletonList(file));
                   } else {
@@ -169,7 +204,7 @@ public class FileSelectorApiImpl implements GeneratedFileSelectorApi.FileSelecto
                   for (int i = 0; i < clipData.getItemCount(); i++) {
                     final ClipData.Item clipItem = clipData.getItemAt(i);
                     final GeneratedFileSelectorApi.FileResponse file =
-                        toFileResponse(clipItem.getUri());
+                        toFileResponse(clipItem.getUri(), lazy);
                     if (file != null) {
                       files.add(file);
                     } else {
@@ -238,8 +273,62 @@ public class FileSelectorApiImpl implements GeneratedFileSelectorApi.FileSelecto
     }
   }
 
+  @Override
+  public void readFileRange(
+      @NonNull String uri,
+      @NonNull Long offset,
+      @NonNull Long length,
+      @NonNull GeneratedFileSelectorApi.Result<byte[]> result) {
+    if (offset < 0 || length < 0 || length > Integer.MAX_VALUE) {
+      result.error(
+          new IllegalArgumentException(
+              "Invalid range: offset = " + offset + ", length = " + length));
+      return;
+    }
+    if (activityPluginBinding == null) {
+      result.error(new Exception("No activity is available."));
+      return;
+    }
+
+    final ContentResolver contentResolver =
+        activityPluginBinding.getActivity().getContentResolver();
+    final Uri parsedUri = objectFactory.parseUri(uri);
+    backgroundExecutor.execute(
+        () -> {
+          try {
+            result.success(readRange(contentResolver, parsedUri, offset, length.intValue()));
+          } catch (IOException | SecurityException exception) {
+            result.error(exception);
+          }
+        });
+  }
+
+  @Override
+  public void copyFileToCache(
+      @NonNull String uri, @NonNull GeneratedFileSelectorApi.Result<String> result) {
+    if (activityPluginBinding == null) {
+      result.error(new Exception("No activity is available."));
+      return;
+    }
+
+    final Activity activity = activityPluginBinding.getActivity();
+    final Uri parsedUri = objectFactory.parseUri(uri);
+    backgroundExecutor.execute(
+        () -> {
+          final String path = FileUtils.getPathFromCopyOfFileFromUri(activity, parsedUri);
+          if (path != null) {
+            result.success(path);
+          } else {
+            result.error(new Exception("Failed to copy file: " + uri));
+          }
+        });
+  }
+
   public void setActivityPluginBinding(@Nullable ActivityPluginBinding activityPluginBinding) {
     this.activityPluginBinding = activityPluginBinding;
+    if (activityPluginBinding == null) {
+      backgroundExecutor.execute(this::closeOpenFile);
+    }
   }
 
   // Setting the mimeType with `setType` is required when opening files. This handles setting the
@@ -311,8 +400,120 @@ public class FileSelectorApiImpl implements GeneratedFileSelectorApi.FileSelecto
     activityPluginBinding.getActivity().startActivityForResult(intent, attemptRequestCode);
   }
 
+  // Reads `length` bytes starting at `offset`, or fewer if the end of the file is reached first.
+  //
+  // The file stays open between reads, so reading it in consecutive ranges opens it once. It is
+  // closed when its end is reached, when another file is read, or when the activity detaches.
+  @NonNull
+  private byte[] readRange(
+      @NonNull ContentResolver contentResolver, @NonNull Uri uri, long offset, int length)
+      throws IOException {
+    if (openFile != null && !openFile.canReadAt(uri, offset)) {
+      closeOpenFile();
+    }
+    if (openFile == null) {
+      openFile = new OpenFile(uri, objectFactory.openInputStream(contentResolver, uri));
+    }
+    try {
+      final byte[] bytes = openFile.read(offset, length);
+      if (bytes.length < length) {
+        closeOpenFile();
+      }
+      return bytes;
+    } catch (IOException | SecurityException exception) {
+      closeOpenFile();
+      throw exception;
+    }
+  }
+
+  private void closeOpenFile() {
+    if (openFile == null) {
+      return;
+    }
+    try {
+      openFile.inputStream.close();
+    } catch (IOException exception) {
+      Log.w(TAG, "Failed to close file: " + exception.getMessage());
+    }
+    openFile = null;
+  }
+
+  // A lazily opened file and the offset its stream is at.
+  private static final class OpenFile {
+    final @NonNull Uri uri;
+    final @NonNull InputStream inputStream;
+    // Used to seek if the stream is backed by a seekable file, and null if the stream can only be
+    // read in order, as is the case for the pipes that some providers return.
+    private final @Nullable FileChannel channel;
+    private long position;
+
+    OpenFile(@NonNull Uri uri, @NonNull InputStream inputStream) {
+      this.uri = uri;
+      this.inputStream = inputStream;
+      this.channel = seekableChannel(inputStream);
+    }
+
+    // Returns the channel of `inputStream` if seeking it to an offset reads the byte at that
+    // offset.
+    //
+    // Asking a pipe for its position fails. A stream of only a part of a file, such as an asset,
+    // starts at a position other than 0, and its channel would seek relative to the whole file.
+    @Nullable
+    private static FileChannel seekableChannel(@NonNull InputStream inputStream) {
+      if (!(inputStream instanceof FileInputStream)) {
+        return null;
+      }
+      final FileChannel channel = ((FileInputStream) inputStream).getChannel();
+      try {
+        return channel.position() == 0 ? channel : null;
+      } catch (IOException exception) {
+        return null;
+      }
+    }
+
+    // Whether the range at `offset` of `uri` can be read without opening the file again.
+    boolean canReadAt(@NonNull Uri uri, long offset) {
+      return this.uri.equals(uri) && (channel != null || offset >= position);
+    }
+
+    @NonNull
+    byte[] read(long offset, int length) throws IOException {
+      if (channel != null) {
+        channel.position(offset);
+        position = offset;
+      } else {
+        skipTo(offset);
+      }
+      final byte[] bytes = new byte[length];
+      int count = 0;
+      while (count < length) {
+        final int read = inputStream.read(bytes, count, length - count);
+        if (read == -1) {
+          break;
+        }
+        count += read;
+      }
+      position += count;
+      return count == length ? bytes : Arrays.copyOf(bytes, count);
+    }
+
+    // Reads up to `offset`, since skipping is not supported by every stream.
+    private void skipTo(long offset) throws IOException {
+      final byte[] discarded = new byte[8192];
+      while (position < offset) {
+        final int read =
+            inputStream.read(discarded, 0, (int) Math.min(discarded.length, offset - position));
+        if (read == -1) {
+          return;
+        }
+        position += read;
+      }
+    }
+  }
+
+  // Lazily opened files only have their metadata read; their content URI is returned as the path.
   @Nullable
-  GeneratedFileSelectorApi.FileResponse toFileResponse(@NonNull Uri uri) {
+  GeneratedFileSelectorApi.FileResponse toFileResponse(@NonNull Uri uri, boolean lazy) {
     if (activityPluginBinding == null) {
       Log.d(TAG, "Activity is not available.");
       return null;
@@ -346,6 +547,15 @@ public class FileSelectorApiImpl implements GeneratedFileSelectorApi.FileSelecto
       return null;
     }
 
+    if (lazy) {
+      return new GeneratedFileSelectorApi.FileResponse.Builder()
+          .setName(name)
+          .setPath(uri.toString())
+          .setMimeType(contentResolver.getType(uri))
+          .setSize(size.longValue())
+          .build();
+    }
+
     final byte[] bytes = new byte[size];
     try (InputStream inputStream = contentResolver.openInputStream(uri)) {
       final DataInputStream dataInputStream = objectFactory.newDataInputStream(inputStream);
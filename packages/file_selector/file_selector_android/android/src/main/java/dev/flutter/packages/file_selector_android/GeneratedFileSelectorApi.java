@@ -103,16 +103,19 @@ public class GeneratedFileSelectorApi {
       this.size = setterArg;
     }
 
-    private @NonNull byte[] bytes;
+    /**
+     * The contents of the file, or null if the file was opened lazily.
+     *
+     * <p>Lazily opened files have a content URI as their [path]; their contents are read with
+     * [FileSelectorApi.readFileRange].
+     */
+    private @Nullable byte[] bytes;
 
-    public @NonNull byte[] getBytes() {
+    public @Nullable byte[] getBytes() {
       return bytes;
     }
 
-    public void setBytes(@NonNull byte[] setterArg) {
-      if (setterArg == null) {
-        throw new IllegalStateException("Nonnull field \"bytes\" is null.");
-      }
+    public void setBytes(@Nullable byte[] setterArg) {
       this.bytes = setterArg;
     }
 
@@ -151,7 +154,7 @@ public class GeneratedFileSelectorApi {
 
       private @Nullable byte[] bytes;
 
-      public @NonNull Builder setBytes(@NonNull byte[] setterArg) {
+      public @NonNull Builder setBytes(@Nullable byte[] setterArg) {
         this.bytes = setterArg;
         return this;
       }
@@ -315,19 +318,27 @@ public class GeneratedFileSelectorApi {
     /**
      * Opens a file dialog for loading files and returns a file path.
      *
+     * <p>If [lazy] is true, the contents of the file are not read and it is not copied; see
+     * [FileResponse.bytes].
+     *
      * <p>Returns `null` if user cancels the operation.
      */
     void openFile(
         @Nullable String initialDirectory,
         @NonNull FileTypes allowedTypes,
+        @NonNull Boolean lazy,
         @NonNull Result<FileResponse> result);
     /**
      * Opens a file dialog for loading files and returns a list of file responses chosen by the
      * user.
+     *
+     * <p>If [lazy] is true, the contents of the files are not read and they are not copied; see
+     * [FileResponse.bytes].
      */
     void openFiles(
         @Nullable String initialDirectory,
         @NonNull FileTypes allowedTypes,
+        @NonNull Boolean lazy,
         @NonNull Result<List<FileResponse>> result);
     /**
      * Opens a file dialog for loading directories and returns a directory path.
@@ -335,6 +346,22 @@ public class GeneratedFileSelectorApi {
      * <p>Returns `null` if user cancels the operation.
      */
     void getDirectoryPath(@Nullable String initialDirectory, @NonNull Result<String> result);
+    /**
+     * Reads up to [length] bytes of the file at the content [uri], starting at [offset], on a
+     * background thread.
+     *
+     * <p>Returns fewer bytes than requested only at the end of the file.
+     */
+    void readFileRange(
+        @NonNull String uri,
+        @NonNull Long offset,
+        @NonNull Long length,
+        @NonNull Result<byte[]> result);
+    /**
+     * Copies the file at the content [uri] to the cache directory on a background thread and
+     * returns the path of the copy.
+     */
+    void copyFileToCache(@NonNull String uri, @NonNull Result<String> result);
 
     /** The codec used by FileSelectorApi. */
     static @NonNull MessageCodec<Object> getCodec() {
@@ -355,6 +382,7 @@ public class GeneratedFileSelectorApi {
                 ArrayList<Object> args = (ArrayList<Object>) message;
                 String initialDirectoryArg = (String) args.get(0);
                 FileTypes allowedTypesArg = (FileTypes) args.get(1);
+                Boolean lazyArg = (Boolean) args.get(2);
                 Result<FileResponse> resultCallback =
                     new Result<FileResponse>() {
                       public void success(FileResponse result) {
@@ -368,7 +396,7 @@ public class GeneratedFileSelectorApi {
                       }
                     };
 
-                api.openFile(initialDirectoryArg, allowedTypesArg, resultCallback);
+                api.openFile(initialDirectoryArg, allowedTypesArg, lazyArg, resultCallback);
               });
         } else {
           channel.setMessageHandler(null);
@@ -385,6 +413,7 @@ public class GeneratedFileSelectorApi {
                 ArrayList<Object> args = (ArrayList<Object>) message;
                 String initialDirectoryArg = (String) args.get(0);
                 FileTypes allowedTypesArg = (FileTypes) args.get(1);
+                Boolean lazyArg = (Boolean) args.get(2);
                 Result<List<FileResponse>> resultCallback =
                     new Result<List<FileResponse>>() {
                       public void success(List<FileResponse> result) {
@@ -398,7 +427,7 @@ public class GeneratedFileSelectorApi {
                       }
                     };
 
-                api.openFiles(initialDirectoryArg, allowedTypesArg, resultCallback);
+                api.openFiles(initialDirectoryArg, allowedTypesArg, lazyArg, resultCallback);
               });
         } else {
           channel.setMessageHandler(null);
@@ -433,6 +462,70 @@ public class GeneratedFileSelectorApi {
           channel.setMessageHandler(null);
         }
       }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.FileSelectorApi.readFileRange", getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                String uriArg = (String) args.get(0);
+                Number offsetArg = (Number) args.get(1);
+                Number lengthArg = (Number) args.get(2);
+                Result<byte[]> resultCallback =
+                    new Result<byte[]>() {
+                      public void success(byte[] result) {
+                        wrapped.add(0, result);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.readFileRange(
+                    uriArg,
+                    (offsetArg == null) ? null : offsetArg.longValue(),
+                    (lengthArg == null) ? null : lengthArg.longValue(),
+                    resultCallback);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger, "dev.flutter.pigeon.FileSelectorApi.copyFileToCache", getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                String uriArg = (String) args.get(0);
+                Result<String> resultCallback =
+                    new Result<String>() {
+                      public void success(String result) {
+                        wrapped.add(0, result);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.copyFileToCache(uriArg, resultCallback);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
     }
   }
 }
@@ -5,10 +5,14 @@
 package dev.flutter.packages.file_selector_android;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.aryEq;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -25,13 +29,19 @@ import android.provider.OpenableColumns;
 import androidx.annotation.NonNull;
 import io.flutter.embedding.engine.plugins.activity.ActivityPluginBinding;
 import io.flutter.plugin.common.PluginRegistry;
+import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.util.Collections;
 import java.util.List;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
@@ -41,6 +51,7 @@ import org.mockito.stubbing.Answer;
 
 public class FileSelectorAndroidPluginTest {
   @Rule public MockitoRule mockitoRule = MockitoJUnit.rule();
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
 
   @Mock public Intent mockIntent;
 
@@ -93,7 +104,8 @@ public class FileSelectorAndroidPluginTest {
           new FileSelectorApiImpl(
               mockActivityBinding,
               mockObjectFactory,
-              (version) -> Build.VERSION.SDK_INT >= version);
+              (version) -> Build.VERSION.SDK_INT >= version,
+              Runnable::run);
 
       final GeneratedFileSelectorApi.Result mockResult =
           mock(GeneratedFileSelectorApi.Result.class);
@@ -103,6 +115,7 @@ public class FileSelectorAndroidPluginTest {
               .setMimeTypes(Collections.emptyList())
               .setExtensions(Collections.emptyList())
               .build(),
+          false,
           mockResult);
       verify(mockIntent).addCategory(Intent.CATEGORY_OPENABLE);
 
@@ -158,7 +171,8 @@ public class FileSelectorAndroidPluginTest {
           new FileSelectorApiImpl(
               mockActivityBinding,
               mockObjectFactory,
-              (version) -> Build.VERSION.SDK_INT >= version);
+              (version) -> Build.VERSION.SDK_INT >= version,
+              Runnable::run);
 
       final GeneratedFileSelectorApi.Result mockResult =
           mock(GeneratedFileSelectorApi.Result.class);
@@ -168,6 +182,7 @@ public class FileSelectorAndroidPluginTest {
               .setMimeTypes(Collections.emptyList())
               .setExtensions(Collections.emptyList())
               .build(),
+          false,
           mockResult);
       verify(mockIntent).addCategory(Intent.CATEGORY_OPENABLE);
       verify(mockIntent).putExtra(Intent.EXTRA_ALLOW_MULTIPLE, true);
@@ -241,7 +256,8 @@ public class FileSelectorAndroidPluginTest {
             new FileSelectorApiImpl(
                 mockActivityBinding,
                 mockObjectFactory,
-                (version) -> Build.VERSION_CODES.LOLLIPOP >= version);
+                (version) -> Build.VERSION_CODES.LOLLIPOP >= version,
+                Runnable::run);
 
         final GeneratedFileSelectorApi.Result mockResult =
             mock(GeneratedFileSelectorApi.Result.class);
@@ -270,7 +286,8 @@ public class FileSelectorAndroidPluginTest {
         new FileSelectorApiImpl(
             mockActivityBinding,
             mockObjectFactory,
-            (version) -> Build.VERSION_CODES.KITKAT >= version);
+            (version) -> Build.VERSION_CODES.KITKAT >= version,
+            Runnable::run);
 
     @SuppressWarnings("unchecked")
     final GeneratedFileSelectorApi.Result<String> mockResult =
@@ -279,4 +296,169 @@ public class FileSelectorAndroidPluginTest {
 
     verify(mockResult).error(any());
   }
+
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  @Test
+  public void openFileLazilyDoesNotReadOrCopyFile() throws FileNotFoundException {
+    try (MockedStatic<FileUtils> mockedFileUtils = mockStatic(FileUtils.class)) {
+      final ContentResolver mockContentResolver = mock(ContentResolver.class);
+
+      final Uri mockUri = mock(Uri.class);
+      when(mockUri.toString()).thenReturn("content://some/file");
+      mockContentResolver(mockContentResolver, mockUri, "filename", 30, "text/plain");
+
+      when(mockObjectFactory.newIntent(Intent.ACTION_OPEN_DOCUMENT)).thenReturn(mockIntent);
+      when(mockActivity.getContentResolver()).thenReturn(mockContentResolver);
+      when(mockActivityBinding.getActivity()).thenReturn(mockActivity);
+      final FileSelectorApiImpl fileSelectorApi =
+          new FileSelectorApiImpl(
+              mockActivityBinding,
+              mockObjectFactory,
+              (version) -> Build.VERSION.SDK_INT >= version,
+              Runnable::run);
+
+      final GeneratedFileSelectorApi.Result mockResult =
+          mock(GeneratedFileSelectorApi.Result.class);
+      fileSelectorApi.openFile(
+          null,
+          new GeneratedFileSelectorApi.FileTypes.Builder()
+              .setMimeTypes(Collections.emptyList())
+              .setExtensions(Collections.emptyList())
+              .build(),
+          true,
+          mockResult);
+
+      final ArgumentCaptor<PluginRegistry.ActivityResultListener> listenerArgumentCaptor =
+          ArgumentCaptor.forClass(PluginRegistry.ActivityResultListener.class);
+      verify(mockActivityBinding).addActivityResultListener(listenerArgumentCaptor.capture());
+
+      final Intent resultMockIntent = mock(Intent.class);
+      when(resultMockIntent.getData()).thenReturn(mockUri);
+      listenerArgumentCaptor.getValue().onActivityResult(221, Activity.RESULT_OK, resultMockIntent);
+
+      final ArgumentCaptor<GeneratedFileSelectorApi.FileResponse> fileCaptor =
+          ArgumentCaptor.forClass(GeneratedFileSelectorApi.FileResponse.class);
+      verify(mockResult).success(fileCaptor.capture());
+
+      final GeneratedFileSelectorApi.FileResponse file = fileCaptor.getValue();
+      assertNull(file.getBytes());
+      assertEquals(file.getPath(), "content://some/file");
+      assertEquals(file.getName(), "filename");
+      assertEquals(file.getSize(), (Long) 30L);
+      verify(mockContentResolver, never()).openInputStream(mockUri);
+      mockedFileUtils.verify(
+          () -> FileUtils.getPathFromCopyOfFileFromUri(any(Context.class), any(Uri.class)),
+          never());
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void readFileRangeReadsRequestedBytes() throws IOException {
+    final File file = temporaryFolder.newFile();
+    try (FileOutputStream outputStream = new FileOutputStream(file)) {
+      outputStream.write(new byte[] {0, 1, 2, 3, 4, 5, 6, 7});
+    }
+    final ContentResolver mockContentResolver = mock(ContentResolver.class);
+    final Uri mockUri = mock(Uri.class);
+    when(mockObjectFactory.parseUri("content://some/file")).thenReturn(mockUri);
+    when(mockObjectFactory.openInputStream(mockContentResolver, mockUri))
+        .thenAnswer((Answer<InputStream>) invocation -> new FileInputStream(file));
+    when(mockActivity.getContentResolver()).thenReturn(mockContentResolver);
+    when(mockActivityBinding.getActivity()).thenReturn(mockActivity);
+    final FileSelectorApiImpl fileSelectorApi =
+        new FileSelectorApiImpl(
+            mockActivityBinding,
+            mockObjectFactory,
+            (version) -> Build.VERSION.SDK_INT >= version,
+            Runnable::run);
+
+    final GeneratedFileSelectorApi.Result<byte[]> mockResult =
+        mock(GeneratedFileSelectorApi.Result.class);
+    fileSelectorApi.readFileRange("content://some/file", 2L, 3L, mockResult);
+    verify(mockResult).success(aryEq(new byte[] {2, 3, 4}));
+
+    // Earlier ranges are read by seeking the open file.
+    final GeneratedFileSelectorApi.Result<byte[]> mockEarlierResult =
+        mock(GeneratedFileSelectorApi.Result.class);
+    fileSelectorApi.readFileRange("content://some/file", 0L, 2L, mockEarlierResult);
+    verify(mockEarlierResult).success(aryEq(new byte[] {0, 1}));
+    verify(mockObjectFactory, times(1)).openInputStream(mockContentResolver, mockUri);
+
+    // Ranges past the end of the file are truncated.
+    final GeneratedFileSelectorApi.Result<byte[]> mockEndResult =
+        mock(GeneratedFileSelectorApi.Result.class);
+    fileSelectorApi.readFileRange("content://some/file", 6L, 10L, mockEndResult);
+    verify(mockEndResult).success(aryEq(new byte[] {6, 7}));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void readFileRangeKeepsTheFileOpenForConsecutiveRanges() throws IOException {
+    final File file = temporaryFolder.newFile();
+    try (FileOutputStream outputStream = new FileOutputStream(file)) {
+      outputStream.write(new byte[] {0, 1, 2, 3, 4, 5, 6, 7});
+    }
+    final ContentResolver mockContentResolver = mock(ContentResolver.class);
+    final Uri mockUri = mock(Uri.class);
+    when(mockObjectFactory.parseUri("content://some/file")).thenReturn(mockUri);
+    when(mockObjectFactory.openInputStream(mockContentResolver, mockUri))
+        .thenAnswer((Answer<InputStream>) invocation -> new FileInputStream(file));
+    when(mockActivity.getContentResolver()).thenReturn(mockContentResolver);
+    when(mockActivityBinding.getActivity()).thenReturn(mockActivity);
+    final FileSelectorApiImpl fileSelectorApi =
+        new FileSelectorApiImpl(
+            mockActivityBinding,
+            mockObjectFactory,
+            (version) -> Build.VERSION.SDK_INT >= version,
+            Runnable::run);
+
+    for (byte offset = 0; offset < 8; offset += 2) {
+      final GeneratedFileSelectorApi.Result<byte[]> mockResult =
+          mock(GeneratedFileSelectorApi.Result.class);
+      fileSelectorApi.readFileRange("content://some/file", (long) offset, 2L, mockResult);
+      verify(mockResult).success(aryEq(new byte[] {offset, (byte) (offset + 1)}));
+    }
+
+    verify(mockObjectFactory, times(1)).openInputStream(mockContentResolver, mockUri);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Test
+  public void readFileRangeReadsUnseekableStreamsInOrder() throws IOException {
+    final byte[] content = new byte[] {0, 1, 2, 3, 4, 5, 6, 7};
+    final ContentResolver mockContentResolver = mock(ContentResolver.class);
+    final Uri mockUri = mock(Uri.class);
+    when(mockObjectFactory.parseUri("content://some/file")).thenReturn(mockUri);
+    // Streams that are not backed by a file, like pipes, can only be read in order.
+    when(mockObjectFactory.openInputStream(mockContentResolver, mockUri))
+        .thenAnswer((Answer<InputStream>) invocation -> new ByteArrayInputStream(content));
+    when(mockActivity.getContentResolver()).thenReturn(mockContentResolver);
+    when(mockActivityBinding.getActivity()).thenReturn(mockActivity);
+    final FileSelectorApiImpl fileSelectorApi =
+        new FileSelectorApiImpl(
+            mockActivityBinding,
+            mockObjectFactory,
+            (version) -> Build.VERSION.SDK_INT >= version,
+            Runnable::run);
+
+    final GeneratedFileSelectorApi.Result<byte[]> mockResult =
+        mock(GeneratedFileSelectorApi.Result.class);
+    fileSelectorApi.readFileRange("content://some/file", 2L, 3L, mockResult);
+    verify(mockResult).success(aryEq(new byte[] {2, 3, 4}));
+
+    // Later ranges are reached by reading past the bytes in between.
+    final GeneratedFileSelectorApi.Result<byte[]> mockLaterResult =
+        mock(GeneratedFileSelectorApi.Result.class);
+    fileSelectorApi.readFileRange("content://some/file", 6L, 1L, mockLaterResult);
+    verify(mockLaterResult).success(aryEq(new byte[] {6}));
+    verify(mockObjectFactory, times(1)).openInputStream(mockContentResolver, mockUri);
+
+    // Earlier ranges open the file again.
+    final GeneratedFileSelectorApi.Result<byte[]> mockEarlierResult =
+        mock(GeneratedFileSelectorApi.Result.class);
+    fileSelectorApi.readFileRange("content://some/file", 0L, 2L, mockEarlierResult);
+    verify(mockEarlierResult).success(aryEq(new byte[] {0, 1}));
+    verify(mockObjectFactory, times(2)).openInputStream(mockContentResolver, mockUri);
+  }
 }
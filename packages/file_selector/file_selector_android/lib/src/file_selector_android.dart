@@ -4,6 +4,11 @@
 
 // ignore_for_file: public_member_api_docs
 
+import 'dart:convert';
+import 'dart:io';
+import 'dart:math';
+import 'dart:typed_data';
+
 import 'package:file_selector_platform_interface/file_selector_platform_interface.dart';
 import 'package:flutter/cupertino.dart';
 
@@ -16,6 +21,17 @@ class FileSelectorAndroid extends FileSelectorPlatform {
 
   final FileSelectorApi _api;
 
+  /// Whether selected files are opened lazily.
+  ///
+  /// By default the contents of every selected file are read into memory and
+  /// the file is copied to the cache directory before the selection returns.
+  /// When this is true, only the metadata of the files is read, and their
+  /// contents are read on demand in chunks on a background thread, so memory
+  /// use does not grow with the size of the files. The [XFile.path] of a
+  /// lazily opened file is its content URI; use [copyToCache] to get a copy
+  /// on the file system.
+  bool useLazyFileAccess = false;
+
   /// Registers this class as the implementation of the file_selector platform interface.
   static void registerWith() {
     FileSelectorPlatform.instance = FileSelectorAndroid();
@@ -30,6 +46,7 @@ class FileSelectorAndroid extends FileSelectorPlatform {
     final FileResponse? file = await _api.openFile(
       initialDirectory,
       _fileTypesFromTypeGroups(acceptedTypeGroups),
+      useLazyFileAccess,
     );
     return file == null ? null : _xFileFromFileResponse(file);
   }
@@ -43,6 +60,7 @@ class FileSelectorAndroid extends FileSelectorPlatform {
     final List<FileResponse?> files = await _api.openFiles(
       initialDirectory,
       _fileTypesFromTypeGroups(acceptedTypeGroups),
+      useLazyFileAccess,
     );
     return files
         .cast<FileResponse>()
@@ -58,9 +76,26 @@ class FileSelectorAndroid extends FileSelectorPlatform {
     return _api.getDirectoryPath(initialDirectory);
   }
 
+  /// Copies a file opened with [useLazyFileAccess] to the cache directory on a
+  /// background thread and returns the copy.
+  ///
+  /// Files that were not opened lazily are already copied and are returned
+  /// unchanged.
+  Future<XFile> copyToCache(XFile file) async {
+    if (file is! _LazyXFile) {
+      return file;
+    }
+    final String path = await _api.copyFileToCache(file.path);
+    return XFile(path, mimeType: file.mimeType, length: file._size);
+  }
+
   XFile _xFileFromFileResponse(FileResponse file) {
+    final Uint8List? bytes = file.bytes;
+    if (bytes == null) {
+      return _LazyXFile(_api, file);
+    }
     return XFile.fromData(
-      file.bytes,
+      bytes,
       // Note: The name parameter is not used by XFile. The XFile.name returns
       // the extracted file name from XFile.path.
       name: file.name,
@@ -99,3 +134,67 @@ class FileSelectorAndroid extends FileSelectorPlatform {
     );
   }
 }
+
+/// An [XFile] for a content URI whose contents are read from the host in
+/// chunks when they are needed.
+class _LazyXFile extends XFile {
+  _LazyXFile(this._api, FileResponse file)
+      : _size = file.size,
+        _displayName = file.name,
+        super(file.path, mimeType: file.mimeType, length: file.size);
+
+  // The maximum number of bytes requested from the host at once.
+  static const int _chunkSize = 1024 * 1024;
+
+  final FileSelectorApi _api;
+  final int _size;
+  final String? _displayName;
+
+  @override
+  String get name => _displayName ?? super.name;
+
+  @override
+  Future<int> length() => Future<int>.value(_size);
+
+  @override
+  Stream<Uint8List> openRead([int? start, int? end]) async* {
+    int offset = start ?? 0;
+    final int endOffset = end ?? _size;
+    while (offset < endOffset) {
+      final int chunkLength = min(_chunkSize, endOffset - offset);
+      final Uint8List chunk =
+          await _api.readFileRange(path, offset, chunkLength);
+      if (chunk.isEmpty) {
+        return;
+      }
+      yield chunk;
+      if (chunk.length < chunkLength) {
+        // The file is shorter than its reported size.
+        return;
+      }
+      offset += chunk.length;
+    }
+  }
+
+  @override
+  Future<Uint8List> readAsBytes() async {
+    final BytesBuilder builder = BytesBuilder(copy: false);
+    await openRead().forEach(builder.add);
+    return builder.takeBytes();
+  }
+
+  @override
+  Future<String> readAsString({Encoding encoding = utf8}) async {
+    return encoding.decode(await readAsBytes());
+  }
+
+  @override
+  Future<void> saveTo(String path) async {
+    final IOSink sink = File(path).openWrite();
+    try {
+      await sink.addStream(openRead());
+    } finally {
+      await sink.close();
+    }
+  }
+}
@@ -17,7 +17,7 @@ class FileResponse {
     this.mimeType,
     this.name,
     required this.size,
-    required this.bytes,
+    this.bytes,
   });
 
   String path;
@@ -28,7 +28,11 @@ class FileResponse {
 
   int size;
 
-  Uint8List bytes;
+  /// The contents of the file, or null if the file was opened lazily.
+  ///
+  /// Lazily opened files have a content URI as their [path]; their contents
+  /// are read with [FileSelectorApi.readFileRange].
+  Uint8List? bytes;
 
   Object encode() {
     return <Object?>[
@@ -47,7 +51,7 @@ class FileResponse {
       mimeType: result[1] as String?,
       name: result[2] as String?,
       size: result[3]! as int,
-      bytes: result[4]! as Uint8List,
+      bytes: result[4] as Uint8List?,
     );
   }
 }
@@ -119,15 +123,18 @@ class FileSelectorApi {
 
   /// Opens a file dialog for loading files and returns a file path.
   ///
+  /// If [lazy] is true, the contents of the file are not read and it is not
+  /// copied; see [FileResponse.bytes].
+  ///
   /// Returns `null` if user cancels the operation.
-  Future<FileResponse?> openFile(
-      String? arg_initialDirectory, FileTypes arg_allowedTypes) async {
+  Future<FileResponse?> openFile(String? arg_initialDirectory,
+      FileTypes arg_allowedTypes, bool arg_lazy) async {
     final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
         'dev.flutter.pigeon.FileSelectorApi.openFile', codec,
         binaryMessenger: _binaryMessenger);
-    final List<Object?>? replyList =
-        await channel.send(<Object?>[arg_initialDirectory, arg_allowedTypes])
-            as List<Object?>?;
+    final List<Object?>? replyList = await channel.send(
+            <Object?>[arg_initialDirectory, arg_allowedTypes, arg_lazy])
+        as List<Object?>?;
     if (replyList == null) {
       throw PlatformException(
         code: 'channel-error',
@@ -146,14 +153,17 @@ class FileSelectorApi {
 
   /// Opens a file dialog for loading files and returns a list of file responses
   /// chosen by the user.
-  Future<List<FileResponse?>> openFiles(
-      String? arg_initialDirectory, FileTypes arg_allowedTypes) async {
+  ///
+  /// If [lazy] is true, the contents of the files are not read and they are
+  /// not copied; see [FileResponse.bytes].
+  Future<List<FileResponse?>> openFiles(String? arg_initialDirectory,
+      FileTypes arg_allowedTypes, bool arg_lazy) async {
     final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
         'dev.flutter.pigeon.FileSelectorApi.openFiles', codec,
         binaryMessenger: _binaryMessenger);
-    final List<Object?>? replyList =
-        await channel.send(<Object?>[arg_initialDirectory, arg_allowedTypes])
-            as List<Object?>?;
+    final List<Object?>? replyList = await channel.send(
+            <Object?>[arg_initialDirectory, arg_allowedTypes, arg_lazy])
+        as List<Object?>?;
     if (replyList == null) {
       throw PlatformException(
         code: 'channel-error',
@@ -199,4 +209,65 @@ class FileSelectorApi {
       return (replyList[0] as String?);
     }
   }
+
+  /// Reads up to [length] bytes of the file at the content [uri], starting at
+  /// [offset], on a background thread.
+  ///
+  /// Returns fewer bytes than requested only at the end of the file.
+  Future<Uint8List> readFileRange(
+      String arg_uri, int arg_offset, int arg_length) async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.FileSelectorApi.readFileRange', codec,
+        binaryMessenger: _binaryMessenger);
+    final List<Object?>? replyList = await channel
+        .send(<Object?>[arg_uri, arg_offset, arg_length]) as List<Object?>?;
+    if (replyList == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyList.length > 1) {
+      throw PlatformException(
+        code: replyList[0]! as String,
+        message: replyList[1] as String?,
+        details: replyList[2],
+      );
+    } else if (replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (replyList[0] as Uint8List?)!;
+    }
+  }
+
+  /// Copies the file at the content [uri] to the cache directory on a
+  /// background thread and returns the path of the copy.
+  Future<String> copyFileToCache(String arg_uri) async {
+    final BasicMessageChannel<Object?> channel = BasicMessageChannel<Object?>(
+        'dev.flutter.pigeon.FileSelectorApi.copyFileToCache', codec,
+        binaryMessenger: _binaryMessenger);
+    final List<Object?>? replyList =
+        await channel.send(<Object?>[arg_uri]) as List<Object?>?;
+    if (replyList == null) {
+      throw PlatformException(
+        code: 'channel-error',
+        message: 'Unable to establish connection on channel.',
+      );
+    } else if (replyList.length > 1) {
+      throw PlatformException(
+        code: replyList[0]! as String,
+        message: replyList[1] as String?,
+        details: replyList[2],
+      );
+    } else if (replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (replyList[0] as String?)!;
+    }
+  }
 }
@@ -21,7 +21,12 @@ class FileResponse {
   late final String? mimeType;
   late final String? name;
   late final int size;
-  late final Uint8List bytes;
+
+  /// The contents of the file, or null if the file was opened lazily.
+  ///
+  /// Lazily opened files have a content URI as their [path]; their contents
+  /// are read with [FileSelectorApi.readFileRange].
+  late final Uint8List? bytes;
 }
 
 class FileTypes {
@@ -34,16 +39,27 @@ class FileTypes {
 abstract class FileSelectorApi {
   /// Opens a file dialog for loading files and returns a file path.
   ///
+  /// If [lazy] is true, the contents of the file are not read and it is not
+  /// copied; see [FileResponse.bytes].
+  ///
   /// Returns `null` if user cancels the operation.
   @async
-  FileResponse? openFile(String? initialDirectory, FileTypes allowedTypes);
+  FileResponse? openFile(
+    String? initialDirectory,
+    FileTypes allowedTypes,
+    bool lazy,
+  );
 
   /// Opens a file dialog for loading files and returns a list of file responses
   /// chosen by the user.
+  ///
+  /// If [lazy] is true, the contents of the files are not read and they are
+  /// not copied; see [FileResponse.bytes].
   @async
   List<FileResponse?> openFiles(
     String? initialDirectory,
     FileTypes allowedTypes,
+    bool lazy,
   );
 
   /// Opens a file dialog for loading directories and returns a directory path.
@@ -51,4 +67,16 @@ abstract class FileSelectorApi {
   /// Returns `null` if user cancels the operation.
   @async
   String? getDirectoryPath(String? initialDirectory);
+
+  /// Reads up to [length] bytes of the file at the content [uri], starting at
+  /// [offset], on a background thread.
+  ///
+  /// Returns fewer bytes than requested only at the end of the file.
+  @async
+  Uint8List readFileRange(String uri, int offset, int length);
+
+  /// Copies the file at the content [uri] to the cache directory on a
+  /// background thread and returns the path of the copy.
+  @async
+  String copyFileToCache(String uri);
 }
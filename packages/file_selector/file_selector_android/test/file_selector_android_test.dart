@@ -46,6 +46,7 @@ void main() {
               <String>['txt', 'jpg'],
             ),
           ),
+          false,
         ),
       ).thenAnswer(
         (_) => Future<FileResponse?>.value(
@@ -97,6 +98,7 @@ void main() {
               <String>['txt', 'jpg'],
             ),
           ),
+          false,
         ),
       ).thenAnswer(
         (_) => Future<List<FileResponse>>.value(
@@ -145,6 +147,63 @@ void main() {
     });
   });
 
+  group('lazy file access', () {
+    final FileResponse lazyFile = FileResponse(
+      path: 'content://some/file',
+      size: 5,
+      name: 'file.txt',
+      mimeType: 'text/plain',
+    );
+
+    setUp(() {
+      plugin.useLazyFileAccess = true;
+    });
+
+    test('opens files without reading them', () async {
+      when(mockApi.openFile(any, any, true))
+          .thenAnswer((_) async => lazyFile);
+
+      final XFile? file = await plugin.openFile();
+
+      expect(file?.path, 'content://some/file');
+      expect(file?.name, 'file.txt');
+      expect(await file?.length(), 5);
+      verifyNever(mockApi.readFileRange(any, any, any));
+    });
+
+    test('reads requested ranges from the host', () async {
+      when(mockApi.openFiles(any, any, true))
+          .thenAnswer((_) async => <FileResponse>[lazyFile]);
+      when(mockApi.readFileRange('content://some/file', 1, 3))
+          .thenAnswer((_) async => Uint8List.fromList(<int>[2, 3, 4]));
+      when(mockApi.readFileRange('content://some/file', 0, 5))
+          .thenAnswer((_) async => Uint8List.fromList(<int>[1, 2, 3, 4, 5]));
+
+      final List<XFile> files = await plugin.openFiles();
+
+      expect(
+        await files[0].openRead(1, 4).toList(),
+        <Uint8List>[
+          Uint8List.fromList(<int>[2, 3, 4])
+        ],
+      );
+      expect(await files[0].readAsString(), '\x01\x02\x03\x04\x05');
+    });
+
+    test('copies files to the cache', () async {
+      when(mockApi.openFile(any, any, true))
+          .thenAnswer((_) async => lazyFile);
+      when(mockApi.copyFileToCache('content://some/file'))
+          .thenAnswer((_) async => '/cache/file.txt');
+
+      final XFile file = (await plugin.openFile())!;
+      final XFile copy = await plugin.copyToCache(file);
+
+      expect(copy.path, '/cache/file.txt');
+      expect(copy.mimeType, 'text/plain');
+    });
+  });
+
   test('getDirectoryPath', () async {
     when(mockApi.getDirectoryPath('some/path'))
         .thenAnswer((_) => Future<String?>.value('some/path/chosen/'));
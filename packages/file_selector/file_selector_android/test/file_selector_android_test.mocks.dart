@@ -4,9 +4,11 @@
 
 // ignore_for_file: no_leading_underscores_for_library_prefixes
 import 'dart:async' as _i3;
+import 'dart:typed_data' as _i4;
 
 import 'package:file_selector_android/src/file_selector_api.g.dart' as _i2;
 import 'package:mockito/mockito.dart' as _i1;
+import 'package:mockito/src/dummies.dart' as _i5;
 
 // ignore_for_file: type=lint
 // ignore_for_file: avoid_redundant_argument_values
@@ -33,6 +35,7 @@ class MockFileSelectorApi extends _i1.Mock implements _i2.FileSelectorApi {
   _i3.Future<_i2.FileResponse?> openFile(
     String? arg_initialDirectory,
     _i2.FileTypes? arg_allowedTypes,
+    bool? arg_lazy,
   ) =>
       (super.noSuchMethod(
         Invocation.method(
@@ -40,6 +43,7 @@ class MockFileSelectorApi extends _i1.Mock implements _i2.FileSelectorApi {
           [
             arg_initialDirectory,
             arg_allowedTypes,
+            arg_lazy,
           ],
         ),
         returnValue: _i3.Future<_i2.FileResponse?>.value(),
@@ -49,6 +53,7 @@ class MockFileSelectorApi extends _i1.Mock implements _i2.FileSelectorApi {
   _i3.Future<List<_i2.FileResponse?>> openFiles(
     String? arg_initialDirectory,
     _i2.FileTypes? arg_allowedTypes,
+    bool? arg_lazy,
   ) =>
       (super.noSuchMethod(
         Invocation.method(
@@ -56,6 +61,7 @@ class MockFileSelectorApi extends _i1.Mock implements _i2.FileSelectorApi {
           [
             arg_initialDirectory,
             arg_allowedTypes,
+            arg_lazy,
           ],
         ),
         returnValue:
@@ -71,4 +77,38 @@ class MockFileSelectorApi extends _i1.Mock implements _i2.FileSelectorApi {
         ),
         returnValue: _i3.Future<String?>.value(),
       ) as _i3.Future<String?>);
+
+  @override
+  _i3.Future<_i4.Uint8List> readFileRange(
+    String? arg_uri,
+    int? arg_offset,
+    int? arg_length,
+  ) =>
+      (super.noSuchMethod(
+        Invocation.method(
+          #readFileRange,
+          [
+            arg_uri,
+            arg_offset,
+            arg_length,
+          ],
+        ),
+        returnValue: _i3.Future<_i4.Uint8List>.value(_i4.Uint8List(0)),
+      ) as _i3.Future<_i4.Uint8List>);
+
+  @override
+  _i3.Future<String> copyFileToCache(String? arg_uri) =>
+      (super.noSuchMethod(
+        Invocation.method(
+          #copyFileToCache,
+          [arg_uri],
+        ),
+        returnValue: _i3.Future<String>.value(_i5.dummyValue<String>(
+          this,
+          Invocation.method(
+            #copyFileToCache,
+            [arg_uri],
+          ),
+        )),
+      ) as _i3.Future<String>);
 }
@@ -0,0 +1,127 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import android.util.LruCache;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.google.android.gms.maps.model.BitmapDescriptor;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caches the {@link BitmapDescriptor}s created for marker icons.
+ *
+ * <p>Entries are keyed by the content of the icon rather than by the marker it belongs to, so
+ * markers that share the same image bytes or asset are decoded and scaled only once, also across
+ * maps when the {@link #getSharedInstance() shared instance} is used.
+ *
+ * <p>Only icons that need decoding ({@code bytes}, {@code asset} and the legacy {@code fromBytes})
+ * are cached; the other icon types are cheap to create.
+ *
+ * <p>All methods are thread safe.
+ */
+class BitmapDescriptorCache {
+  /** The default maximum number of cached descriptors. */
+  static final int DEFAULT_MAX_ENTRIES = 64;
+
+  private static final BitmapDescriptorCache sharedInstance =
+      new BitmapDescriptorCache(DEFAULT_MAX_ENTRIES);
+
+  // LruCache is synchronized internally.
+  private final LruCache<String, BitmapDescriptor> cache;
+
+  /** Returns the cache shared by all maps of the process. */
+  static BitmapDescriptorCache getSharedInstance() {
+    return sharedInstance;
+  }
+
+  BitmapDescriptorCache(int maxEntries) {
+    this.cache = new LruCache<>(maxEntries);
+  }
+
+  /** Returns the descriptor cached for {@code key}, or null if there is none. */
+  @Nullable
+  BitmapDescriptor get(@NonNull String key) {
+    return cache.get(key);
+  }
+
+  void put(@NonNull String key, @NonNull BitmapDescriptor bitmapDescriptor) {
+    cache.put(key, bitmapDescriptor);
+  }
+
+  @VisibleForTesting
+  int size() {
+    return cache.size();
+  }
+
+  /**
+   * Returns the cache key for a marker icon, or null if the icon should not be cached.
+   *
+   * <p>Image bytes are identified by their SHA-256 digest. Every parameter that affects decoding or
+   * scaling, including the display density, is part of the key.
+   *
+   * @param icon the serialized bitmap descriptor, as sent by Dart.
+   * @param density the density of the display.
+   */
+  @Nullable
+  static String keyFor(@NonNull Object icon, float density) {
+    if (!(icon instanceof List)) {
+      return null;
+    }
+    final List<?> data = (List<?>) icon;
+    if (data.size() != 2) {
+      return null;
+    }
+    final Object type = data.get(0);
+    final Object details = data.get(1);
+    if ("fromBytes".equals(type) && details instanceof byte[]) {
+      return "fromBytes/" + digest((byte[]) details);
+    }
+    if (!(details instanceof Map)) {
+      return null;
+    }
+    final Map<?, ?> detailsMap = (Map<?, ?>) details;
+    final String source;
+    if ("bytes".equals(type) && detailsMap.get("byteData") instanceof byte[]) {
+      source = "bytes/" + digest((byte[]) detailsMap.get("byteData"));
+    } else if ("asset".equals(type) && detailsMap.get("assetName") instanceof String) {
+      source = "asset/" + detailsMap.get("assetName");
+    } else {
+      return null;
+    }
+    return source
+        + '/'
+        + detailsMap.get("bitmapScaling")
+        + '/'
+        + detailsMap.get("imagePixelRatio")
+        + '/'
+        + detailsMap.get("width")
+        + '/'
+        + detailsMap.get("height")
+        + '/'
+        + density;
+  }
+
+  private static String digest(byte[] bytes) {
+    final MessageDigest messageDigest;
+    try {
+      messageDigest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      // SHA-256 is always available on Android.
+      throw new IllegalStateException(e);
+    }
+    final byte[] hash = messageDigest.digest(bytes);
+    final StringBuilder builder = new StringBuilder(hash.length * 2);
+    for (byte b : hash) {
+      builder.append(Character.forDigit((b >> 4) & 0xf, 16));
+      builder.append(Character.forDigit(b & 0xf, 16));
+    }
+    return builder.toString();
+  }
+}
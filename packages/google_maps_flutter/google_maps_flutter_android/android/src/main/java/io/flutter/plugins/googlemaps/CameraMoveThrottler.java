@@ -0,0 +1,151 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import android.view.Choreographer;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.google.android.gms.maps.model.CameraPosition;
+
+/**
+ * Limits the camera move events sent to Dart while the camera moves.
+ *
+ * <p>The Maps SDK reports camera moves more often than frames are drawn during flings. Camera
+ * positions are coalesced so that only the latest one is sent per frame, at most {@code
+ * maxEventsPerSecond} times per second, and only once the camera moved by a minimum delta since
+ * the last sent position. The latest position is always sent before the camera becomes idle, so
+ * Dart ends up with the final position.
+ *
+ * <p>All methods must be called on the main thread.
+ */
+class CameraMoveThrottler {
+  private static final long NANOS_PER_SECOND = 1000000000L;
+
+  /** Receives the camera positions to send. */
+  interface Sink {
+    void onCameraMove(@NonNull CameraPosition position);
+  }
+
+  /** Schedules a callback for the next frame, like {@link Choreographer#postFrameCallback}. */
+  interface FrameScheduler {
+    void postFrameCallback(@NonNull Choreographer.FrameCallback callback);
+  }
+
+  private final Sink sink;
+  private final FrameScheduler frameScheduler;
+  private final long minIntervalNanos;
+  private final double minZoomDelta;
+  private final double minLatLngDelta;
+
+  @Nullable private CameraPosition latest;
+  @Nullable private CameraPosition lastSent;
+  private boolean hasPending;
+  private boolean frameCallbackPosted;
+  private long lastSentFrameTimeNanos;
+  private long receivedEventCount;
+  private long sentEventCount;
+
+  /**
+   * Creates a throttler.
+   *
+   * @param sink receives the camera positions to send.
+   * @param maxEventsPerSecond is the maximum rate of sent positions; 0 only limits it to one per
+   *     frame.
+   * @param minZoomDelta is the zoom change from which a position is sent.
+   * @param minLatLngDelta is the latitude or longitude change, in degrees, from which a position is
+   *     sent.
+   */
+  CameraMoveThrottler(
+      @NonNull Sink sink, int maxEventsPerSecond, double minZoomDelta, double minLatLngDelta) {
+    this(
+        sink,
+        maxEventsPerSecond,
+        minZoomDelta,
+        minLatLngDelta,
+        callback -> Choreographer.getInstance().postFrameCallback(callback));
+  }
+
+  @VisibleForTesting
+  CameraMoveThrottler(
+      @NonNull Sink sink,
+      int maxEventsPerSecond,
+      double minZoomDelta,
+      double minLatLngDelta,
+      @NonNull FrameScheduler frameScheduler) {
+    this.sink = sink;
+    this.frameScheduler = frameScheduler;
+    this.minIntervalNanos = maxEventsPerSecond > 0 ? NANOS_PER_SECOND / maxEventsPerSecond : 0;
+    this.minZoomDelta = Math.max(0, minZoomDelta);
+    this.minLatLngDelta = Math.max(0, minLatLngDelta);
+  }
+
+  /** Records a camera move, to be sent on the next frame if it is not throttled. */
+  void onCameraMove(@NonNull CameraPosition position) {
+    receivedEventCount++;
+    latest = position;
+    hasPending = true;
+    postFrameCallback();
+  }
+
+  /** Sends the latest position if it was not sent yet. Call it before the camera idle event. */
+  void flush() {
+    if (latest != null && latest != lastSent) {
+      send(latest, lastSentFrameTimeNanos);
+    }
+  }
+
+  /** Returns the number of camera moves that were not sent to Dart. */
+  long getSuppressedEventCount() {
+    return receivedEventCount - sentEventCount;
+  }
+
+  private void postFrameCallback() {
+    if (!frameCallbackPosted) {
+      frameCallbackPosted = true;
+      frameScheduler.postFrameCallback(this::doFrame);
+    }
+  }
+
+  private void doFrame(long frameTimeNanos) {
+    frameCallbackPosted = false;
+    if (!hasPending || latest == null) {
+      return;
+    }
+    if (lastSent != null) {
+      if (frameTimeNanos - lastSentFrameTimeNanos < minIntervalNanos) {
+        // Tries again on the next frame, so the latest position is sent as soon as allowed.
+        postFrameCallback();
+        return;
+      }
+      if (!movedEnough(lastSent, latest)) {
+        hasPending = false;
+        return;
+      }
+    }
+    send(latest, frameTimeNanos);
+  }
+
+  private void send(@NonNull CameraPosition position, long frameTimeNanos) {
+    hasPending = false;
+    lastSent = position;
+    lastSentFrameTimeNanos = frameTimeNanos;
+    sentEventCount++;
+    sink.onCameraMove(position);
+  }
+
+  private boolean movedEnough(@NonNull CameraPosition from, @NonNull CameraPosition to) {
+    double longitudeDelta = Math.abs(to.target.longitude - from.target.longitude);
+    if (longitudeDelta > 180) {
+      // The camera crossed the antimeridian.
+      longitudeDelta = 360 - longitudeDelta;
+    }
+    return Math.abs(to.zoom - from.zoom) >= minZoomDelta
+        || Math.abs(to.target.latitude - from.target.latitude) >= minLatLngDelta
+        || longitudeDelta >= minLatLngDelta
+        || to.bearing != from.bearing
+        || to.tilt != from.tilt;
+  }
+}
@@ -13,10 +13,19 @@ import com.google.android.gms.maps.model.MarkerOptions;
 import com.google.maps.android.clustering.Cluster;
 import com.google.maps.android.clustering.ClusterItem;
 import com.google.maps.android.clustering.ClusterManager;
+import com.google.maps.android.clustering.algo.Algorithm;
+import com.google.maps.android.clustering.algo.GridBasedAlgorithm;
+import com.google.maps.android.clustering.algo.NonHierarchicalDistanceBasedAlgorithm;
+import com.google.maps.android.clustering.algo.PreCachingAlgorithmDecorator;
 import com.google.maps.android.clustering.view.DefaultClusterRenderer;
 import com.google.maps.android.collections.MarkerManager;
 import io.flutter.plugins.googlemaps.Messages.MapsCallbackApi;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -33,6 +42,8 @@ class ClusterManagersController
   @NonNull private final MapsCallbackApi flutterApi;
   @Nullable private MarkerManager markerManager;
   @Nullable private GoogleMap googleMap;
+  // Creates the algorithm of new ClusterManagers, or null to use the library default.
+  @Nullable private AlgorithmFactory algorithmFactory;
 
   @Nullable
   private ClusterManager.OnClusterItemClickListener<MarkerBuilder> clusterItemClickListener;
@@ -63,6 +74,43 @@ class ClusterManagersController
     clusterItemRenderedListener = listener;
   }
 
+  /**
+   * Sets how the algorithm of each ClusterManager is created, or null to use the library default.
+   *
+   * <p>Existing ClusterManagers switch to a new algorithm, which takes over their items.
+   */
+  void setAlgorithmFactory(@Nullable AlgorithmFactory algorithmFactory) {
+    this.algorithmFactory = algorithmFactory;
+    if (algorithmFactory == null) {
+      return;
+    }
+    for (ClusterManager<MarkerBuilder> clusterManager : clusterManagerIdToManager.values()) {
+      // Also re-clusters with the new algorithm.
+      clusterManager.setAlgorithm(algorithmFactory.create());
+    }
+  }
+
+  /**
+   * Configures the algorithm of the ClusterManagers.
+   *
+   * @param useGridAlgorithm is whether items are grouped by grid cell rather than by distance.
+   * @param maxDistanceBetweenClusteredItems is the maximum distance between the items of a
+   *     cluster, or the size of a grid cell, in density-independent pixels.
+   */
+  void configureClustering(boolean useGridAlgorithm, int maxDistanceBetweenClusteredItems) {
+    setAlgorithmFactory(
+        () -> {
+          Algorithm<MarkerBuilder> algorithm =
+              useGridAlgorithm
+                  ? new GridBasedAlgorithm<>()
+                  : new NonHierarchicalDistanceBasedAlgorithm<>();
+          algorithm.setMaxDistanceBetweenClusteredItems(maxDistanceBetweenClusteredItems);
+          // Computes the clusters of the neighboring zoom levels in the background, like the
+          // default algorithm of ClusterManager.
+          return new PreCachingAlgorithmDecorator<>(algorithm);
+        });
+  }
+
   private void initListenersForClusterManagers() {
     for (Map.Entry<String, ClusterManager<MarkerBuilder>> entry :
         clusterManagerIdToManager.entrySet()) {
@@ -92,6 +140,9 @@ class ClusterManagersController
     ClusterRenderer<MarkerBuilder> clusterRenderer =
         new ClusterRenderer<MarkerBuilder>(context, googleMap, clusterManager, this);
     clusterManager.setRenderer(clusterRenderer);
+    if (algorithmFactory != null) {
+      clusterManager.setAlgorithm(algorithmFactory.create());
+    }
     initListenersForClusterManager(clusterManager, this, clusterItemClickListener);
     clusterManagerIdToManager.put(clusterManagerId, clusterManager);
   }
@@ -122,24 +173,59 @@ class ClusterManagersController
 
   /** Adds item to the ClusterManager it belongs to. */
   public void addItem(MarkerBuilder item) {
-    ClusterManager<MarkerBuilder> clusterManager =
-        clusterManagerIdToManager.get(item.clusterManagerId());
-    if (clusterManager != null) {
-      clusterManager.addItem(item);
-      clusterManager.cluster();
-    }
+    updateItems(Collections.singletonList(item), Collections.emptyList());
   }
 
   /** Removes item from the ClusterManager it belongs to. */
   public void removeItem(MarkerBuilder item) {
-    ClusterManager<MarkerBuilder> clusterManager =
-        clusterManagerIdToManager.get(item.clusterManagerId());
-    if (clusterManager != null) {
-      clusterManager.removeItem(item);
+    updateItems(Collections.emptyList(), Collections.singletonList(item));
+  }
+
+  /**
+   * Adds and removes items from the ClusterManagers they belong to.
+   *
+   * <p>Each ClusterManager receives its items in a single call and re-clusters once, instead of
+   * once per item, as clustering goes over all the items of the ClusterManager.
+   */
+  void updateItems(
+      @NonNull Collection<MarkerBuilder> itemsToAdd,
+      @NonNull Collection<MarkerBuilder> itemsToRemove) {
+    final Set<ClusterManager<MarkerBuilder>> updatedClusterManagers = new LinkedHashSet<>();
+    for (Map.Entry<ClusterManager<MarkerBuilder>, List<MarkerBuilder>> entry :
+        groupByClusterManager(itemsToRemove).entrySet()) {
+      entry.getKey().removeItems(entry.getValue());
+      updatedClusterManagers.add(entry.getKey());
+    }
+    for (Map.Entry<ClusterManager<MarkerBuilder>, List<MarkerBuilder>> entry :
+        groupByClusterManager(itemsToAdd).entrySet()) {
+      entry.getKey().addItems(entry.getValue());
+      updatedClusterManagers.add(entry.getKey());
+    }
+    for (ClusterManager<MarkerBuilder> clusterManager : updatedClusterManagers) {
       clusterManager.cluster();
     }
   }
 
+  private Map<ClusterManager<MarkerBuilder>, List<MarkerBuilder>> groupByClusterManager(
+      @NonNull Collection<MarkerBuilder> items) {
+    final Map<ClusterManager<MarkerBuilder>, List<MarkerBuilder>> itemsByClusterManager =
+        new LinkedHashMap<>();
+    for (MarkerBuilder item : items) {
+      ClusterManager<MarkerBuilder> clusterManager =
+          clusterManagerIdToManager.get(item.clusterManagerId());
+      if (clusterManager == null) {
+        continue;
+      }
+      List<MarkerBuilder> clusterManagerItems = itemsByClusterManager.get(clusterManager);
+      if (clusterManagerItems == null) {
+        clusterManagerItems = new ArrayList<>();
+        itemsByClusterManager.put(clusterManager, clusterManagerItems);
+      }
+      clusterManagerItems.add(item);
+    }
+    return itemsByClusterManager;
+  }
+
   /** Called when ClusterRenderer has rendered new visible marker to the map. */
   void onClusterItemRendered(@NonNull MarkerBuilder item, @NonNull Marker marker) {
     // If map is being disposed, clusterItemRenderedListener might have been cleared and
@@ -225,6 +311,12 @@ class ClusterManagersController
     }
   }
 
+  /** Creates the clustering algorithm of a ClusterManager. */
+  interface AlgorithmFactory {
+    @NonNull
+    Algorithm<MarkerBuilder> create();
+  }
+
   /** Interface for handling situations where clusterManager adds new visible marker to the map. */
   public interface OnClusterItemRendered<T extends ClusterItem> {
     void onClusterItemRendered(@NonNull T item, @NonNull Marker marker);
@@ -65,6 +65,26 @@ class Convert {
     return toBitmapDescriptor(o, assetManager, density, new BitmapDescriptorFactoryWrapper());
   }
 
+  private static BitmapDescriptor toBitmapDescriptor(
+      Object o,
+      AssetManager assetManager,
+      float density,
+      BitmapDescriptorFactoryWrapper wrapper,
+      @Nullable BitmapDescriptorCache cache) {
+    final String cacheKey = cache == null ? null : BitmapDescriptorCache.keyFor(o, density);
+    if (cacheKey != null) {
+      final BitmapDescriptor cachedBitmapDescriptor = cache.get(cacheKey);
+      if (cachedBitmapDescriptor != null) {
+        return cachedBitmapDescriptor;
+      }
+    }
+    final BitmapDescriptor bitmapDescriptor = toBitmapDescriptor(o, assetManager, density, wrapper);
+    if (cacheKey != null && bitmapDescriptor != null) {
+      cache.put(cacheKey, bitmapDescriptor);
+    }
+    return bitmapDescriptor;
+  }
+
   private static BitmapDescriptor toBitmapDescriptor(
       Object o, AssetManager assetManager, float density, BitmapDescriptorFactoryWrapper wrapper) {
     final List<?> data = toList(o);
@@ -646,13 +666,23 @@ class Convert {
       AssetManager assetManager,
       float density,
       BitmapDescriptorFactoryWrapper wrapper) {
+    interpretMarkerOptions(marker, sink, assetManager, density, wrapper, null);
+  }
+
+  static void interpretMarkerOptions(
+      Messages.PlatformMarker marker,
+      MarkerOptionsSink sink,
+      AssetManager assetManager,
+      float density,
+      BitmapDescriptorFactoryWrapper wrapper,
+      @Nullable BitmapDescriptorCache cache) {
     sink.setAlpha(marker.getAlpha().floatValue());
     sink.setAnchor(
         marker.getAnchor().getDx().floatValue(), marker.getAnchor().getDy().floatValue());
     sink.setConsumeTapEvents(marker.getConsumeTapEvents());
     sink.setDraggable(marker.getDraggable());
     sink.setFlat(marker.getFlat());
-    sink.setIcon(toBitmapDescriptor(marker.getIcon(), assetManager, density, wrapper));
+    sink.setIcon(toBitmapDescriptor(marker.getIcon(), assetManager, density, wrapper, cache));
     interpretInfoWindowOptions(sink, marker.getInfoWindow());
     sink.setPosition(toLatLng(marker.getPosition().toList()));
     sink.setRotation(marker.getRotation().floatValue());
@@ -660,6 +690,102 @@ class Convert {
     sink.setZIndex(marker.getZIndex().floatValue());
   }
 
+  /**
+   * Applies only the options of {@code marker} that differ from {@code previous} to {@code sink}.
+   *
+   * <p>This avoids decoding the icon again, and touching unrelated marker properties, when only
+   * some options of a marker changed, e.g. its position.
+   */
+  static void interpretMarkerOptionsChanges(
+      Messages.PlatformMarker previous,
+      Messages.PlatformMarker marker,
+      MarkerOptionsSink sink,
+      AssetManager assetManager,
+      float density,
+      BitmapDescriptorFactoryWrapper wrapper,
+      @Nullable BitmapDescriptorCache cache) {
+    if (!previous.getAlpha().equals(marker.getAlpha())) {
+      sink.setAlpha(marker.getAlpha().floatValue());
+    }
+    if (!previous.getAnchor().equals(marker.getAnchor())) {
+      sink.setAnchor(
+          marker.getAnchor().getDx().floatValue(), marker.getAnchor().getDy().floatValue());
+    }
+    if (!previous.getConsumeTapEvents().equals(marker.getConsumeTapEvents())) {
+      sink.setConsumeTapEvents(marker.getConsumeTapEvents());
+    }
+    if (!previous.getDraggable().equals(marker.getDraggable())) {
+      sink.setDraggable(marker.getDraggable());
+    }
+    if (!previous.getFlat().equals(marker.getFlat())) {
+      sink.setFlat(marker.getFlat());
+    }
+    if (!bitmapDescriptorDataEquals(previous.getIcon(), marker.getIcon())) {
+      sink.setIcon(toBitmapDescriptor(marker.getIcon(), assetManager, density, wrapper, cache));
+    }
+    if (!previous.getInfoWindow().equals(marker.getInfoWindow())) {
+      interpretInfoWindowOptions(sink, marker.getInfoWindow());
+    }
+    if (!previous.getPosition().equals(marker.getPosition())) {
+      sink.setPosition(toLatLng(marker.getPosition().toList()));
+    }
+    if (!previous.getRotation().equals(marker.getRotation())) {
+      sink.setRotation(marker.getRotation().floatValue());
+    }
+    if (!previous.getVisible().equals(marker.getVisible())) {
+      sink.setVisible(marker.getVisible());
+    }
+    if (!previous.getZIndex().equals(marker.getZIndex())) {
+      sink.setZIndex(marker.getZIndex().floatValue());
+    }
+  }
+
+  /**
+   * Compares two serialized bitmap descriptors by value.
+   *
+   * <p>Unlike {@link Object#equals}, image bytes nested in the descriptors are compared by content.
+   */
+  @VisibleForTesting
+  static boolean bitmapDescriptorDataEquals(@Nullable Object a, @Nullable Object b) {
+    if (a == b) {
+      return true;
+    }
+    if (a == null || b == null) {
+      return false;
+    }
+    if (a instanceof byte[] && b instanceof byte[]) {
+      return Arrays.equals((byte[]) a, (byte[]) b);
+    }
+    if (a instanceof List && b instanceof List) {
+      final List<?> listA = (List<?>) a;
+      final List<?> listB = (List<?>) b;
+      if (listA.size() != listB.size()) {
+        return false;
+      }
+      for (int i = 0; i < listA.size(); i++) {
+        if (!bitmapDescriptorDataEquals(listA.get(i), listB.get(i))) {
+          return false;
+        }
+      }
+      return true;
+    }
+    if (a instanceof Map && b instanceof Map) {
+      final Map<?, ?> mapA = (Map<?, ?>) a;
+      final Map<?, ?> mapB = (Map<?, ?>) b;
+      if (mapA.size() != mapB.size()) {
+        return false;
+      }
+      for (Map.Entry<?, ?> entry : mapA.entrySet()) {
+        if (!mapB.containsKey(entry.getKey())
+            || !bitmapDescriptorDataEquals(entry.getValue(), mapB.get(entry.getKey()))) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return a.equals(b);
+  }
+
   private static void interpretInfoWindowOptions(
       MarkerOptionsSink sink, Messages.PlatformInfoWindow infoWindow) {
     String title = infoWindow.getTitle();
@@ -679,7 +805,7 @@ class Convert {
     sink.setStrokeColor(polygon.getStrokeColor().intValue());
     sink.setStrokeWidth(polygon.getStrokeWidth());
     sink.setZIndex(polygon.getZIndex());
-    sink.setPoints(pointsFromPigeon(polygon.getPoints()));
+    sink.setPoints(pointsFromPigeon(polygon.getPoints(), polygon.getPackedPoints()));
     sink.setHoles(toHoles(polygon.getHoles()));
     return polygon.getPolygonId();
   }
@@ -710,7 +836,7 @@ class Convert {
     sink.setVisible(polyline.getVisible());
     sink.setWidth(polyline.getWidth());
     sink.setZIndex(polyline.getZIndex());
-    sink.setPoints(pointsFromPigeon(polyline.getPoints()));
+    sink.setPoints(pointsFromPigeon(polyline.getPoints(), polyline.getPackedPoints()));
     sink.setPattern(patternFromPigeon(polyline.getPatterns()));
     return polyline.getPolylineId();
   }
@@ -776,6 +902,63 @@ class Convert {
     }
   }
 
+  /**
+   * Set the options in the given heatmap to the given sink.
+   *
+   * <p>The weighted data is read from {@link Messages.PlatformHeatmap#getPackedWeightedData()} when
+   * it is set, and from the JSON data otherwise.
+   *
+   * @return the heatmapId.
+   */
+  static String interpretHeatmapOptions(
+      Messages.PlatformHeatmap heatmap, HeatmapOptionsSink sink) {
+    final double[] packedWeightedData = heatmap.getPackedWeightedData();
+    if (packedWeightedData != null) {
+      sink.setWeightedData(weightedDataFromPacked(packedWeightedData));
+    }
+    return interpretHeatmapOptions(heatmap.getJson(), sink);
+  }
+
+  /** Returns the packed points if they are set, or converts the Pigeon points otherwise. */
+  static List<LatLng> pointsFromPigeon(
+      List<Messages.PlatformLatLng> data, @Nullable double[] packedData) {
+    return packedData == null ? pointsFromPigeon(data) : pointsFromPacked(packedData);
+  }
+
+  /**
+   * Converts points packed as [latitude, longitude] pairs to a list of LatLng.
+   *
+   * @throws IllegalArgumentException if the array does not hold whole pairs.
+   */
+  static List<LatLng> pointsFromPacked(@NonNull double[] data) {
+    if (data.length % 2 != 0) {
+      throw new IllegalArgumentException("Packed points must be latitude and longitude pairs");
+    }
+    final List<LatLng> points = new ArrayList<>(data.length / 2);
+    for (int i = 0; i < data.length; i += 2) {
+      points.add(new LatLng(data[i], data[i + 1]));
+    }
+    return points;
+  }
+
+  /**
+   * Converts weighted points packed as [latitude, longitude, weight] triples to a list of
+   * WeightedLatLng.
+   *
+   * @throws IllegalArgumentException if the array does not hold whole triples.
+   */
+  static List<WeightedLatLng> weightedDataFromPacked(@NonNull double[] data) {
+    if (data.length % 3 != 0) {
+      throw new IllegalArgumentException(
+          "Packed weighted points must be latitude, longitude and weight triples");
+    }
+    final List<WeightedLatLng> weightedData = new ArrayList<>(data.length / 3);
+    for (int i = 0; i < data.length; i += 3) {
+      weightedData.add(new WeightedLatLng(new LatLng(data[i], data[i + 1]), data[i + 2]));
+    }
+    return weightedData;
+  }
+
   static List<LatLng> pointsFromPigeon(List<Messages.PlatformLatLng> data) {
     final List<LatLng> points = new ArrayList<>(data.size());
 
@@ -11,8 +11,8 @@ import android.annotation.SuppressLint;
 import android.content.Context;
 import android.content.pm.PackageManager;
 import android.content.res.AssetManager;
-import android.graphics.Bitmap;
 import android.graphics.Point;
+import android.graphics.Rect;
 import android.graphics.SurfaceTexture;
 import android.os.Bundle;
 import android.util.Log;
@@ -30,6 +30,7 @@ import com.google.android.gms.maps.GoogleMap;
 import com.google.android.gms.maps.GoogleMapOptions;
 import com.google.android.gms.maps.MapView;
 import com.google.android.gms.maps.OnMapReadyCallback;
+import com.google.android.gms.maps.model.CameraPosition;
 import com.google.android.gms.maps.model.Circle;
 import com.google.android.gms.maps.model.LatLng;
 import com.google.android.gms.maps.model.LatLngBounds;
@@ -48,7 +49,7 @@ import io.flutter.plugins.googlemaps.Messages.FlutterError;
 import io.flutter.plugins.googlemaps.Messages.MapsApi;
 import io.flutter.plugins.googlemaps.Messages.MapsCallbackApi;
 import io.flutter.plugins.googlemaps.Messages.MapsInspectorApi;
-import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -68,6 +69,8 @@ class GoogleMapController
         PlatformView {
 
   private static final String TAG = "GoogleMapController";
+  // Directory, within the app cache directory, holding the on-disk tile cache.
+  private static final String TILE_CACHE_DIRECTORY_NAME = "google_maps_flutter_tiles";
   private final int id;
   private final MapsCallbackApi flutterApi;
   private final BinaryMessenger binaryMessenger;
@@ -93,6 +96,9 @@ class GoogleMapController
   private final CirclesController circlesController;
   private final HeatmapsController heatmapsController;
   private final TileOverlaysController tileOverlaysController;
+  private final SnapshotEncoder snapshotEncoder = new SnapshotEncoder();
+  // Null unless camera move throttling is configured.
+  private @Nullable CameraMoveThrottler cameraMoveThrottler;
   private MarkerManager markerManager;
   private MarkerManager.Collection markerCollection;
   private @Nullable List<Messages.PlatformMarker> initialMarkers;
@@ -131,12 +137,15 @@ class GoogleMapController
             clusterManagersController,
             assetManager,
             density,
-            new Convert.BitmapDescriptorFactoryWrapper());
+            new Convert.BitmapDescriptorFactoryWrapper(),
+            BitmapDescriptorCache.getSharedInstance());
     this.polygonsController = new PolygonsController(flutterApi, density);
     this.polylinesController = new PolylinesController(flutterApi, assetManager, density);
     this.circlesController = new CirclesController(flutterApi, density);
     this.heatmapsController = new HeatmapsController();
-    this.tileOverlaysController = new TileOverlaysController(flutterApi);
+    this.tileOverlaysController =
+        new TileOverlaysController(
+            flutterApi, new File(context.getCacheDir(), TILE_CACHE_DIRECTORY_NAME));
   }
 
   // Constructor for testing purposes only
@@ -324,13 +333,29 @@ class GoogleMapController
     if (!trackCameraPosition) {
       return;
     }
-    flutterApi.onCameraMove(
-        Convert.cameraPositionToPigeon(googleMap.getCameraPosition()), new NoOpVoidResult());
+    final CameraPosition position = googleMap.getCameraPosition();
+    if (cameraMoveThrottler != null) {
+      cameraMoveThrottler.onCameraMove(position);
+    } else {
+      sendCameraMove(position);
+    }
+  }
+
+  private void sendCameraMove(@NonNull CameraPosition position) {
+    if (!trackCameraPosition || disposed) {
+      return;
+    }
+    flutterApi.onCameraMove(Convert.cameraPositionToPigeon(position), new NoOpVoidResult());
   }
 
   @Override
   public void onCameraIdle() {
+    if (cameraMoveThrottler != null) {
+      cameraMoveThrottler.flush();
+    }
     clusterManagersController.onCameraIdle();
+    tileOverlaysController.onCameraIdle();
+    polylinesController.onCameraIdle();
     flutterApi.onCameraIdle(new NoOpVoidResult());
   }
 
@@ -856,9 +881,7 @@ class GoogleMapController
       @NonNull List<Messages.PlatformMarker> toAdd,
       @NonNull List<Messages.PlatformMarker> toChange,
       @NonNull List<String> idsToRemove) {
-    markersController.addMarkers(toAdd);
-    markersController.changeMarkers(toChange);
-    markersController.removeMarkers(idsToRemove);
+    markersController.updateMarkers(toAdd, toChange, idsToRemove);
   }
 
   @Override
@@ -985,24 +1008,141 @@ class GoogleMapController
     tileOverlaysController.clearTileCache(tileOverlayId);
   }
 
+  @Override
+  public void configureTileCache(
+      @NonNull Long memoryCacheSizeBytes,
+      @NonNull Long diskCacheSizeBytes,
+      @NonNull Long tileRequestTimeoutMilliseconds,
+      @NonNull Boolean prefetchNeighborTiles) {
+    tileOverlaysController.configureTileCache(
+        (int) Math.min(memoryCacheSizeBytes, Integer.MAX_VALUE),
+        diskCacheSizeBytes,
+        tileRequestTimeoutMilliseconds,
+        prefetchNeighborTiles);
+  }
+
+  @Override
+  public void configureClustering(
+      @NonNull Boolean useGridAlgorithm, @NonNull Long maxDistanceBetweenClusteredItems) {
+    clusterManagersController.configureClustering(
+        useGridAlgorithm, (int) Math.min(maxDistanceBetweenClusteredItems, Integer.MAX_VALUE));
+  }
+
+  @Override
+  public void configurePolylineLevelOfDetail(
+      @NonNull Double toleranceDp,
+      @NonNull Long minPointCount,
+      @NonNull Long memoryCacheSizeBytes) {
+    polylinesController.configureLevelOfDetail(
+        toleranceDp,
+        (int) Math.min(minPointCount, Integer.MAX_VALUE),
+        (int) Math.min(memoryCacheSizeBytes, Integer.MAX_VALUE));
+  }
+
+  @Override
+  public void configureCameraMoveThrottling(
+      @NonNull Long maxEventsPerSecond,
+      @NonNull Double minZoomDelta,
+      @NonNull Double minLatLngDelta) {
+    cameraMoveThrottler =
+        new CameraMoveThrottler(
+            this::sendCameraMove,
+            (int) Math.min(maxEventsPerSecond, Integer.MAX_VALUE),
+            minZoomDelta,
+            minLatLngDelta);
+  }
+
+  @Override
+  public @NonNull Long getSuppressedCameraMoveEventCount() {
+    return cameraMoveThrottler == null ? 0L : cameraMoveThrottler.getSuppressedEventCount();
+  }
+
   @Override
   public void takeSnapshot(@NonNull Messages.Result<byte[]> result) {
+    takeSnapshot(
+        SnapshotEncoder.Options.DEFAULT,
+        null,
+        new SnapshotEncoder.Callback() {
+          @Override
+          public void onEncoded(@Nullable byte[] bytes) {
+            result.success(bytes);
+          }
+
+          @Override
+          public void onError(@NonNull Exception exception) {
+            result.error(exception);
+          }
+        });
+  }
+
+  @Override
+  public void takeSnapshotWithOptions(
+      @NonNull Long format,
+      @NonNull Long quality,
+      @NonNull Double scale,
+      @Nullable double[] region,
+      @Nullable String filePath,
+      @NonNull Messages.NullableResult<byte[]> result) {
+    final SnapshotEncoder.Options options;
+    try {
+      options =
+          new SnapshotEncoder.Options(
+              format.intValue(), quality.intValue(), scale, regionToPixels(region));
+    } catch (IllegalArgumentException e) {
+      result.error(new FlutterError("Invalid snapshot options", e.getMessage(), null));
+      return;
+    }
+    takeSnapshot(
+        options,
+        filePath == null ? null : new File(filePath),
+        new SnapshotEncoder.Callback() {
+          @Override
+          public void onEncoded(@Nullable byte[] bytes) {
+            result.success(bytes);
+          }
+
+          @Override
+          public void onError(@NonNull Exception exception) {
+            result.error(exception);
+          }
+        });
+  }
+
+  /** Converts a region in logical pixels, as left, top, width and height, to a Rect in pixels. */
+  @Nullable
+  private Rect regionToPixels(@Nullable double[] region) {
+    if (region == null) {
+      return null;
+    }
+    if (region.length != 4) {
+      throw new IllegalArgumentException("The snapshot region must have 4 values.");
+    }
+    final int left = (int) Math.round(region[0] * density);
+    final int top = (int) Math.round(region[1] * density);
+    return new Rect(
+        left,
+        top,
+        left + (int) Math.round(region[2] * density),
+        top + (int) Math.round(region[3] * density));
+  }
+
+  private void takeSnapshot(
+      @NonNull SnapshotEncoder.Options options,
+      @Nullable File file,
+      @NonNull SnapshotEncoder.Callback callback) {
     if (googleMap == null) {
-      result.error(new FlutterError("GoogleMap uninitialized", "takeSnapshot", null));
-    } else {
-      googleMap.snapshot(
-          bitmap -> {
-            if (bitmap == null) {
-              result.error(new FlutterError("Snapshot failure", "Unable to take snapshot", null));
-            } else {
-              ByteArrayOutputStream stream = new ByteArrayOutputStream();
-              bitmap.compress(Bitmap.CompressFormat.PNG, 100, stream);
-              byte[] byteArray = stream.toByteArray();
-              bitmap.recycle();
-              result.success(byteArray);
-            }
-          });
+      callback.onError(new FlutterError("GoogleMap uninitialized", "takeSnapshot", null));
+      return;
     }
+    googleMap.snapshot(
+        bitmap -> {
+          if (bitmap == null) {
+            callback.onError(
+                new FlutterError("Snapshot failure", "Unable to take snapshot", null));
+          } else {
+            snapshotEncoder.encode(bitmap, options, file, callback);
+          }
+        });
   }
 
   /** MapsInspectorApi implementation */
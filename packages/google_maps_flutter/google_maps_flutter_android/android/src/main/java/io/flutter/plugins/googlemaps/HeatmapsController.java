@@ -36,14 +36,14 @@ public class HeatmapsController {
   /** Adds heatmaps to the map. */
   void addHeatmaps(@NonNull List<Messages.PlatformHeatmap> heatmapsToAdd) {
     for (Messages.PlatformHeatmap heatmapToAdd : heatmapsToAdd) {
-      addJsonHeatmap(heatmapToAdd.getJson());
+      addPlatformHeatmap(heatmapToAdd);
     }
   }
 
   /** Updates the given heatmaps on the map. */
   void changeHeatmaps(@NonNull List<Messages.PlatformHeatmap> heatmapsToChange) {
     for (Messages.PlatformHeatmap heatmapToChange : heatmapsToChange) {
-      changeJsonHeatmap(heatmapToChange.getJson());
+      changePlatformHeatmap(heatmapToChange);
     }
   }
 
@@ -64,11 +64,8 @@ public class HeatmapsController {
     return builder.build();
   }
 
-  /** Adds a heatmap to the map from json data. */
-  private void addJsonHeatmap(Map<String, ?> heatmap) {
-    if (heatmap == null) {
-      return;
-    }
+  /** Adds a heatmap to the map from its Pigeon representation. */
+  private void addPlatformHeatmap(Messages.PlatformHeatmap heatmap) {
     HeatmapBuilder heatmapBuilder = new HeatmapBuilder();
     String heatmapId = Convert.interpretHeatmapOptions(heatmap, heatmapBuilder);
     HeatmapTileProvider options = buildHeatmap(heatmapBuilder);
@@ -84,11 +81,8 @@ public class HeatmapsController {
   }
 
   /** Updates the given heatmap on the map. */
-  private void changeJsonHeatmap(Map<String, ?> heatmap) {
-    if (heatmap == null) {
-      return;
-    }
-    String heatmapId = getHeatmapId(heatmap);
+  private void changePlatformHeatmap(Messages.PlatformHeatmap heatmap) {
+    String heatmapId = getHeatmapId(heatmap.getJson());
     HeatmapController heatmapController = heatmapIdToController.get(heatmapId);
     if (heatmapController != null) {
       Convert.interpretHeatmapOptions(heatmap, heatmapController);
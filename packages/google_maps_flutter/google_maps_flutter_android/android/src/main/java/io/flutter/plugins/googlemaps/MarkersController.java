@@ -6,40 +6,55 @@ package io.flutter.plugins.googlemaps;
 
 import android.content.res.AssetManager;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import com.google.android.gms.maps.model.LatLng;
 import com.google.android.gms.maps.model.Marker;
 import com.google.android.gms.maps.model.MarkerOptions;
 import com.google.maps.android.collections.MarkerManager;
 import io.flutter.plugins.googlemaps.Messages.MapsCallbackApi;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 class MarkersController {
   private final HashMap<String, MarkerBuilder> markerIdToMarkerBuilder;
   private final HashMap<String, MarkerController> markerIdToController;
   private final HashMap<String, String> googleMapsMarkerIdToDartMarkerId;
+  // The last options received for each marker, used to apply only the fields that changed.
+  private final HashMap<String, Messages.PlatformMarker> markerIdToPlatformMarker;
   private final @NonNull MapsCallbackApi flutterApi;
   private MarkerManager.Collection markerCollection;
   private final ClusterManagersController clusterManagersController;
   private final AssetManager assetManager;
   private final float density;
   private final Convert.BitmapDescriptorFactoryWrapper bitmapDescriptorFactoryWrapper;
+  private final BitmapDescriptorCache bitmapDescriptorCache;
+  // Cluster items added and removed by the update in progress. They are passed to the
+  // ClusterManagers at the end of the update, so that each of them re-clusters only once.
+  private final Set<MarkerBuilder> clusterItemsToAdd = new LinkedHashSet<>();
+  private final Set<MarkerBuilder> clusterItemsToRemove = new LinkedHashSet<>();
 
   MarkersController(
       @NonNull MapsCallbackApi flutterApi,
       ClusterManagersController clusterManagersController,
       AssetManager assetManager,
       float density,
-      Convert.BitmapDescriptorFactoryWrapper bitmapDescriptorFactoryWrapper) {
+      Convert.BitmapDescriptorFactoryWrapper bitmapDescriptorFactoryWrapper,
+      BitmapDescriptorCache bitmapDescriptorCache) {
     this.markerIdToMarkerBuilder = new HashMap<>();
     this.markerIdToController = new HashMap<>();
     this.googleMapsMarkerIdToDartMarkerId = new HashMap<>();
+    this.markerIdToPlatformMarker = new HashMap<>();
     this.flutterApi = flutterApi;
     this.clusterManagersController = clusterManagersController;
     this.assetManager = assetManager;
     this.density = density;
     this.bitmapDescriptorFactoryWrapper = bitmapDescriptorFactoryWrapper;
+    this.bitmapDescriptorCache = bitmapDescriptorCache;
   }
 
   void setCollection(MarkerManager.Collection markerCollection) {
@@ -47,33 +62,63 @@ class MarkersController {
   }
 
   void addMarkers(@NonNull List<Messages.PlatformMarker> markersToAdd) {
-    for (Messages.PlatformMarker markerToAdd : markersToAdd) {
-      addMarker(markerToAdd);
-    }
+    updateMarkers(markersToAdd, Collections.emptyList(), Collections.emptyList());
   }
 
   void changeMarkers(@NonNull List<Messages.PlatformMarker> markersToChange) {
-    for (Messages.PlatformMarker markerToChange : markersToChange) {
-      changeMarker(markerToChange);
-    }
+    updateMarkers(Collections.emptyList(), markersToChange, Collections.emptyList());
   }
 
   void removeMarkers(@NonNull List<String> markerIdsToRemove) {
-    for (String markerId : markerIdsToRemove) {
-      removeMarker(markerId);
+    updateMarkers(Collections.emptyList(), Collections.emptyList(), markerIdsToRemove);
+  }
+
+  /**
+   * Adds, changes and removes markers, then updates the clusters of the clustered markers at once.
+   */
+  void updateMarkers(
+      @NonNull List<Messages.PlatformMarker> markersToAdd,
+      @NonNull List<Messages.PlatformMarker> markersToChange,
+      @NonNull List<String> markerIdsToRemove) {
+    try {
+      for (Messages.PlatformMarker markerToAdd : markersToAdd) {
+        addMarker(markerToAdd);
+      }
+      for (Messages.PlatformMarker markerToChange : markersToChange) {
+        changeMarker(markerToChange);
+      }
+      for (String markerId : markerIdsToRemove) {
+        removeMarker(markerId);
+      }
+    } finally {
+      flushClusterItems();
     }
   }
 
+  private void flushClusterItems() {
+    if (clusterItemsToAdd.isEmpty() && clusterItemsToRemove.isEmpty()) {
+      return;
+    }
+    final List<MarkerBuilder> itemsToAdd = new ArrayList<>(clusterItemsToAdd);
+    final List<MarkerBuilder> itemsToRemove = new ArrayList<>(clusterItemsToRemove);
+    clusterItemsToAdd.clear();
+    clusterItemsToRemove.clear();
+    clusterManagersController.updateItems(itemsToAdd, itemsToRemove);
+  }
+
   private void removeMarker(String markerId) {
     final MarkerBuilder markerBuilder = markerIdToMarkerBuilder.remove(markerId);
     if (markerBuilder == null) {
       return;
     }
+    markerIdToPlatformMarker.remove(markerId);
     final MarkerController markerController = markerIdToController.remove(markerId);
     final String clusterManagerId = markerBuilder.clusterManagerId();
     if (clusterManagerId != null) {
-      // Remove marker from clusterManager.
-      clusterManagersController.removeItem(markerBuilder);
+      // Remove marker from clusterManager, unless it was only added by the current update.
+      if (!clusterItemsToAdd.remove(markerBuilder)) {
+        clusterItemsToRemove.add(markerBuilder);
+      }
     } else if (markerController != null && this.markerCollection != null) {
       // Remove marker from map and markerCollection
       markerController.removeFromCollection(markerCollection);
@@ -176,7 +221,13 @@ class MarkersController {
     String clusterManagerId = marker.getClusterManagerId();
     MarkerBuilder markerBuilder = new MarkerBuilder(markerId, clusterManagerId);
     Convert.interpretMarkerOptions(
-        marker, markerBuilder, assetManager, density, bitmapDescriptorFactoryWrapper);
+        marker,
+        markerBuilder,
+        assetManager,
+        density,
+        bitmapDescriptorFactoryWrapper,
+        bitmapDescriptorCache);
+    markerIdToPlatformMarker.put(markerId, marker);
     addMarker(markerBuilder);
   }
 
@@ -203,7 +254,7 @@ class MarkersController {
   }
 
   private void addMarkerBuilderForCluster(MarkerBuilder markerBuilder) {
-    clusterManagersController.addItem(markerBuilder);
+    clusterItemsToAdd.add(markerBuilder);
   }
 
   private void createControllerForMarker(String markerId, Marker marker, boolean consumeTapEvents) {
@@ -231,15 +282,39 @@ class MarkersController {
       return;
     }
 
+    final Messages.PlatformMarker previousMarker = markerIdToPlatformMarker.put(markerId, marker);
+
     // Update marker builder.
-    Convert.interpretMarkerOptions(
-        marker, markerBuilder, assetManager, density, bitmapDescriptorFactoryWrapper);
+    interpretMarkerChanges(previousMarker, marker, markerBuilder);
 
     // Update existing marker on map.
     MarkerController markerController = markerIdToController.get(markerId);
     if (markerController != null) {
+      interpretMarkerChanges(previousMarker, marker, markerController);
+    }
+  }
+
+  private void interpretMarkerChanges(
+      @Nullable Messages.PlatformMarker previousMarker,
+      @NonNull Messages.PlatformMarker marker,
+      MarkerOptionsSink sink) {
+    if (previousMarker == null) {
       Convert.interpretMarkerOptions(
-          marker, markerController, assetManager, density, bitmapDescriptorFactoryWrapper);
+          marker,
+          sink,
+          assetManager,
+          density,
+          bitmapDescriptorFactoryWrapper,
+          bitmapDescriptorCache);
+    } else {
+      Convert.interpretMarkerOptionsChanges(
+          previousMarker,
+          marker,
+          sink,
+          assetManager,
+          density,
+          bitmapDescriptorFactoryWrapper,
+          bitmapDescriptorCache);
     }
   }
 }
@@ -1336,6 +1336,20 @@ public class Messages {
       this.json = setterArg;
     }
 
+    /**
+     * The weighted points of the heatmap, packed as latitude, longitude and weight triples. When
+     * set, [json] has no data.
+     */
+    private @Nullable double[] packedWeightedData;
+
+    public @Nullable double[] getPackedWeightedData() {
+      return packedWeightedData;
+    }
+
+    public void setPackedWeightedData(@Nullable double[] setterArg) {
+      this.packedWeightedData = setterArg;
+    }
+
     /** Constructor is non-public to enforce null safety; use Builder. */
     PlatformHeatmap() {}
 
@@ -1348,12 +1362,15 @@ public class Messages {
         return false;
       }
       PlatformHeatmap that = (PlatformHeatmap) o;
-      return json.equals(that.json);
+      return json.equals(that.json)
+          && Arrays.equals(packedWeightedData, that.packedWeightedData);
     }
 
     @Override
     public int hashCode() {
-      return Objects.hash(json);
+      int pigeonVar_result = Objects.hash(json);
+      pigeonVar_result = 31 * pigeonVar_result + Arrays.hashCode(packedWeightedData);
+      return pigeonVar_result;
     }
 
     public static final class Builder {
@@ -1366,17 +1383,27 @@ public class Messages {
         return this;
       }
 
+      private @Nullable double[] packedWeightedData;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setPackedWeightedData(@Nullable double[] setterArg) {
+        this.packedWeightedData = setterArg;
+        return this;
+      }
+
       public @NonNull PlatformHeatmap build() {
         PlatformHeatmap pigeonReturn = new PlatformHeatmap();
         pigeonReturn.setJson(json);
+        pigeonReturn.setPackedWeightedData(packedWeightedData);
         return pigeonReturn;
       }
     }
 
     @NonNull
     ArrayList<Object> toList() {
-      ArrayList<Object> toListResult = new ArrayList<>(1);
+      ArrayList<Object> toListResult = new ArrayList<>(2);
       toListResult.add(json);
+      toListResult.add(packedWeightedData);
       return toListResult;
     }
 
@@ -1384,6 +1411,8 @@ public class Messages {
       PlatformHeatmap pigeonResult = new PlatformHeatmap();
       Object json = pigeonVar_list.get(0);
       pigeonResult.setJson((Map<String, Object>) json);
+      Object packedWeightedData = pigeonVar_list.get(1);
+      pigeonResult.setPackedWeightedData((double[]) packedWeightedData);
       return pigeonResult;
     }
   }
@@ -2202,6 +2231,20 @@ public class Messages {
       this.zIndex = setterArg;
     }
 
+    /**
+     * The points of the polygon, packed as latitude and longitude pairs. When set, [points] is
+     * empty.
+     */
+    private @Nullable double[] packedPoints;
+
+    public @Nullable double[] getPackedPoints() {
+      return packedPoints;
+    }
+
+    public void setPackedPoints(@Nullable double[] setterArg) {
+      this.packedPoints = setterArg;
+    }
+
     /** Constructor is non-public to enforce null safety; use Builder. */
     PlatformPolygon() {}
 
@@ -2223,22 +2266,26 @@ public class Messages {
           && visible.equals(that.visible)
           && strokeColor.equals(that.strokeColor)
           && strokeWidth.equals(that.strokeWidth)
-          && zIndex.equals(that.zIndex);
+          && zIndex.equals(that.zIndex)
+          && Arrays.equals(packedPoints, that.packedPoints);
     }
 
     @Override
     public int hashCode() {
-      return Objects.hash(
-          polygonId,
-          consumesTapEvents,
-          fillColor,
-          geodesic,
-          points,
-          holes,
-          visible,
-          strokeColor,
-          strokeWidth,
-          zIndex);
+      int pigeonVar_result =
+          Objects.hash(
+              polygonId,
+              consumesTapEvents,
+              fillColor,
+              geodesic,
+              points,
+              holes,
+              visible,
+              strokeColor,
+              strokeWidth,
+              zIndex);
+      pigeonVar_result = 31 * pigeonVar_result + Arrays.hashCode(packedPoints);
+      return pigeonVar_result;
     }
 
     public static final class Builder {
@@ -2323,6 +2370,14 @@ public class Messages {
         return this;
       }
 
+      private @Nullable double[] packedPoints;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setPackedPoints(@Nullable double[] setterArg) {
+        this.packedPoints = setterArg;
+        return this;
+      }
+
       public @NonNull PlatformPolygon build() {
         PlatformPolygon pigeonReturn = new PlatformPolygon();
         pigeonReturn.setPolygonId(polygonId);
@@ -2335,13 +2390,14 @@ public class Messages {
         pigeonReturn.setStrokeColor(strokeColor);
         pigeonReturn.setStrokeWidth(strokeWidth);
         pigeonReturn.setZIndex(zIndex);
+        pigeonReturn.setPackedPoints(packedPoints);
         return pigeonReturn;
       }
     }
 
     @NonNull
     ArrayList<Object> toList() {
-      ArrayList<Object> toListResult = new ArrayList<>(10);
+      ArrayList<Object> toListResult = new ArrayList<>(11);
       toListResult.add(polygonId);
       toListResult.add(consumesTapEvents);
       toListResult.add(fillColor);
@@ -2352,6 +2408,7 @@ public class Messages {
       toListResult.add(strokeColor);
       toListResult.add(strokeWidth);
       toListResult.add(zIndex);
+      toListResult.add(packedPoints);
       return toListResult;
     }
 
@@ -2377,6 +2434,8 @@ public class Messages {
       pigeonResult.setStrokeWidth((Long) strokeWidth);
       Object zIndex = pigeonVar_list.get(9);
       pigeonResult.setZIndex((Long) zIndex);
+      Object packedPoints = pigeonVar_list.get(10);
+      pigeonResult.setPackedPoints((double[]) packedPoints);
       return pigeonResult;
     }
   }
@@ -2549,6 +2608,20 @@ public class Messages {
       this.zIndex = setterArg;
     }
 
+    /**
+     * The points of the polyline, packed as latitude and longitude pairs. When set, [points] is
+     * empty.
+     */
+    private @Nullable double[] packedPoints;
+
+    public @Nullable double[] getPackedPoints() {
+      return packedPoints;
+    }
+
+    public void setPackedPoints(@Nullable double[] setterArg) {
+      this.packedPoints = setterArg;
+    }
+
     /** Constructor is non-public to enforce null safety; use Builder. */
     PlatformPolyline() {}
 
@@ -2572,24 +2645,28 @@ public class Messages {
           && endCap.equals(that.endCap)
           && visible.equals(that.visible)
           && width.equals(that.width)
-          && zIndex.equals(that.zIndex);
+          && zIndex.equals(that.zIndex)
+          && Arrays.equals(packedPoints, that.packedPoints);
     }
 
     @Override
     public int hashCode() {
-      return Objects.hash(
-          polylineId,
-          consumesTapEvents,
-          color,
-          geodesic,
-          jointType,
-          patterns,
-          points,
-          startCap,
-          endCap,
-          visible,
-          width,
-          zIndex);
+      int pigeonVar_result =
+          Objects.hash(
+              polylineId,
+              consumesTapEvents,
+              color,
+              geodesic,
+              jointType,
+              patterns,
+              points,
+              startCap,
+              endCap,
+              visible,
+              width,
+              zIndex);
+      pigeonVar_result = 31 * pigeonVar_result + Arrays.hashCode(packedPoints);
+      return pigeonVar_result;
     }
 
     public static final class Builder {
@@ -2690,6 +2767,14 @@ public class Messages {
         return this;
       }
 
+      private @Nullable double[] packedPoints;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setPackedPoints(@Nullable double[] setterArg) {
+        this.packedPoints = setterArg;
+        return this;
+      }
+
       public @NonNull PlatformPolyline build() {
         PlatformPolyline pigeonReturn = new PlatformPolyline();
         pigeonReturn.setPolylineId(polylineId);
@@ -2704,13 +2789,14 @@ public class Messages {
         pigeonReturn.setVisible(visible);
         pigeonReturn.setWidth(width);
         pigeonReturn.setZIndex(zIndex);
+        pigeonReturn.setPackedPoints(packedPoints);
         return pigeonReturn;
       }
     }
 
     @NonNull
     ArrayList<Object> toList() {
-      ArrayList<Object> toListResult = new ArrayList<>(12);
+      ArrayList<Object> toListResult = new ArrayList<>(13);
       toListResult.add(polylineId);
       toListResult.add(consumesTapEvents);
       toListResult.add(color);
@@ -2723,6 +2809,7 @@ public class Messages {
       toListResult.add(visible);
       toListResult.add(width);
       toListResult.add(zIndex);
+      toListResult.add(packedPoints);
       return toListResult;
     }
 
@@ -2752,6 +2839,8 @@ public class Messages {
       pigeonResult.setWidth((Long) width);
       Object zIndex = pigeonVar_list.get(11);
       pigeonResult.setZIndex((Long) zIndex);
+      Object packedPoints = pigeonVar_list.get(12);
+      pigeonResult.setPackedPoints((double[]) packedPoints);
       return pigeonResult;
     }
   }
@@ -5203,8 +5292,44 @@ public class Messages {
     Boolean didLastStyleSucceed();
     /** Clears the cache of tiles previously requseted from the tile provider. */
     void clearTileCache(@NonNull String tileOverlayId);
+    /** Configures the native cache in front of the map's tile providers. */
+    void configureTileCache(
+        @NonNull Long memoryCacheSizeBytes,
+        @NonNull Long diskCacheSizeBytes,
+        @NonNull Long tileRequestTimeoutMilliseconds,
+        @NonNull Boolean prefetchNeighborTiles);
+    /** Configures the algorithm used by the map's cluster managers. */
+    void configureClustering(
+        @NonNull Boolean useGridAlgorithm, @NonNull Long maxDistanceBetweenClusteredItems);
+    /** Configures the simplification of polylines with many points. */
+    void configurePolylineLevelOfDetail(
+        @NonNull Double toleranceDp,
+        @NonNull Long minPointCount,
+        @NonNull Long memoryCacheSizeBytes);
+    /** Configures the throttling of camera move events. */
+    void configureCameraMoveThrottling(
+        @NonNull Long maxEventsPerSecond,
+        @NonNull Double minZoomDelta,
+        @NonNull Double minLatLngDelta);
+    /** Returns the number of camera moves that were not sent because of throttling. */
+    @NonNull
+    Long getSuppressedCameraMoveEventCount();
     /** Takes a snapshot of the map and returns its image data. */
     void takeSnapshot(@NonNull Result<byte[]> result);
+    /**
+     * Takes a snapshot of the map and encodes it with the given options.
+     *
+     * <p>[format] is 0 for PNG, 1 for JPEG and 2 for WebP. [region] is the left, top, width and
+     * height of the part of the map to capture, in logical pixels. If [filePath] is set, the image
+     * is written to that file and null is returned, otherwise the image data is returned.
+     */
+    void takeSnapshotWithOptions(
+        @NonNull Long format,
+        @NonNull Long quality,
+        @NonNull Double scale,
+        @Nullable double[] region,
+        @Nullable String filePath,
+        @NonNull NullableResult<byte[]> result);
 
     /** The codec used by MapsApi. */
     static @NonNull MessageCodec<Object> getCodec() {
@@ -5757,6 +5882,143 @@ public class Messages {
           channel.setMessageHandler(null);
         }
       }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.google_maps_flutter_android.MapsApi.configureTileCache"
+                    + messageChannelSuffix,
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Long memoryCacheSizeBytesArg = (Long) args.get(0);
+                Long diskCacheSizeBytesArg = (Long) args.get(1);
+                Long tileRequestTimeoutMillisecondsArg = (Long) args.get(2);
+                Boolean prefetchNeighborTilesArg = (Boolean) args.get(3);
+                try {
+                  api.configureTileCache(
+                      memoryCacheSizeBytesArg,
+                      diskCacheSizeBytesArg,
+                      tileRequestTimeoutMillisecondsArg,
+                      prefetchNeighborTilesArg);
+                  wrapped.add(0, null);
+                } catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.google_maps_flutter_android.MapsApi.configureClustering"
+                    + messageChannelSuffix,
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Boolean useGridAlgorithmArg = (Boolean) args.get(0);
+                Long maxDistanceBetweenClusteredItemsArg = (Long) args.get(1);
+                try {
+                  api.configureClustering(useGridAlgorithmArg, maxDistanceBetweenClusteredItemsArg);
+                  wrapped.add(0, null);
+                } catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.google_maps_flutter_android.MapsApi.configurePolylineLevelOfDetail"
+                    + messageChannelSuffix,
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Double toleranceDpArg = (Double) args.get(0);
+                Long minPointCountArg = (Long) args.get(1);
+                Long memoryCacheSizeBytesArg = (Long) args.get(2);
+                try {
+                  api.configurePolylineLevelOfDetail(
+                      toleranceDpArg, minPointCountArg, memoryCacheSizeBytesArg);
+                  wrapped.add(0, null);
+                } catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.google_maps_flutter_android.MapsApi.configureCameraMoveThrottling"
+                    + messageChannelSuffix,
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Long maxEventsPerSecondArg = (Long) args.get(0);
+                Double minZoomDeltaArg = (Double) args.get(1);
+                Double minLatLngDeltaArg = (Double) args.get(2);
+                try {
+                  api.configureCameraMoveThrottling(
+                      maxEventsPerSecondArg, minZoomDeltaArg, minLatLngDeltaArg);
+                  wrapped.add(0, null);
+                } catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.google_maps_flutter_android.MapsApi.getSuppressedCameraMoveEventCount"
+                    + messageChannelSuffix,
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                try {
+                  Long output = api.getSuppressedCameraMoveEventCount();
+                  wrapped.add(0, output);
+                } catch (Throwable exception) {
+                  wrapped = wrapError(exception);
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
@@ -5787,6 +6049,43 @@ public class Messages {
           channel.setMessageHandler(null);
         }
       }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.google_maps_flutter_android.MapsApi.takeSnapshotWithOptions"
+                    + messageChannelSuffix,
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Long formatArg = (Long) args.get(0);
+                Long qualityArg = (Long) args.get(1);
+                Double scaleArg = (Double) args.get(2);
+                double[] regionArg = (double[]) args.get(3);
+                String filePathArg = (String) args.get(4);
+                NullableResult<byte[]> resultCallback =
+                    new NullableResult<byte[]>() {
+                      public void success(byte[] result) {
+                        wrapped.add(0, result);
+                        reply.reply(wrapped);
+                      }
+
+                      public void error(Throwable error) {
+                        ArrayList<Object> wrappedError = wrapError(error);
+                        reply.reply(wrappedError);
+                      }
+                    };
+
+                api.takeSnapshotWithOptions(
+                    formatArg, qualityArg, scaleArg, regionArg, filePathArg, resultCallback);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
     }
   }
   /** Generated class from Pigeon that represents Flutter messages that can be called from Java. */
@@ -8,6 +8,7 @@ import com.google.android.gms.maps.model.Cap;
 import com.google.android.gms.maps.model.LatLng;
 import com.google.android.gms.maps.model.PatternItem;
 import com.google.android.gms.maps.model.Polyline;
+import java.util.Collections;
 import java.util.List;
 
 /** Controller of a single Polyline on the map. */
@@ -16,6 +17,8 @@ class PolylineController implements PolylineOptionsSink {
   private final String googleMapsPolylineId;
   private boolean consumeTapEvents;
   private final float density;
+  // The points set from Dart, which may be shown simplified, see PolylinesController.
+  private List<LatLng> points = Collections.emptyList();
 
   PolylineController(Polyline polyline, boolean consumeTapEvents, float density) {
     this.polyline = polyline;
@@ -61,6 +64,22 @@ class PolylineController implements PolylineOptionsSink {
 
   @Override
   public void setPoints(List<LatLng> points) {
+    this.points = points;
+    polyline.setPoints(points);
+  }
+
+  /** Records the points the polyline was created with. */
+  void initPoints(List<LatLng> points) {
+    this.points = points;
+  }
+
+  /** Returns the points set from Dart. */
+  List<LatLng> getPoints() {
+    return points;
+  }
+
+  /** Shows a simplification of the points set from Dart, or the points themselves. */
+  void showPoints(List<LatLng> points) {
     polyline.setPoints(points);
   }
 
@@ -0,0 +1,153 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import androidx.annotation.NonNull;
+import com.google.android.gms.maps.model.LatLng;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Simplifies polylines with the Douglas-Peucker algorithm.
+ *
+ * <p>Rather than simplifying a polyline once per tolerance, {@link #computeTolerances} runs the
+ * algorithm once and records, for each point, the largest tolerance at which the point is kept.
+ * The simplification for any tolerance is then a single pass over the points, see {@link
+ * #simplify}. Distances are measured in Web Mercator world coordinates, where the world is a unit
+ * square, so that they scale with the zoom level like on the map.
+ */
+final class PolylineSimplifier {
+  // The world is 256 dp wide at zoom level 0, and twice as wide at each following level.
+  private static final double WORLD_SIZE_DP = 256;
+  // Keeps the Mercator projection finite near the poles.
+  private static final double MAX_SIN_LATITUDE = 0.9999;
+
+  private PolylineSimplifier() {}
+
+  /** Returns the tolerance, in world coordinates, of a distance in dp at the given zoom level. */
+  static double toleranceAtZoom(double toleranceDp, double zoom) {
+    return toleranceDp / (WORLD_SIZE_DP * Math.pow(2, zoom));
+  }
+
+  /**
+   * Returns, for each point, the largest tolerance at which the Douglas-Peucker algorithm keeps it.
+   * The first and last points are always kept.
+   */
+  @NonNull
+  static float[] computeTolerances(@NonNull List<LatLng> points) {
+    final int count = points.size();
+    final float[] tolerances = new float[count];
+    if (count == 0) {
+      return tolerances;
+    }
+    final double[] x = new double[count];
+    final double[] y = new double[count];
+    for (int i = 0; i < count; i++) {
+      final LatLng point = points.get(i);
+      x[i] = (point.longitude + 180) / 360;
+      final double sinLatitude =
+          Math.max(
+              -MAX_SIN_LATITUDE,
+              Math.min(MAX_SIN_LATITUDE, Math.sin(Math.toRadians(point.latitude))));
+      y[i] = 0.5 - Math.log((1 + sinLatitude) / (1 - sinLatitude)) / (4 * Math.PI);
+    }
+    tolerances[0] = Float.POSITIVE_INFINITY;
+    tolerances[count - 1] = Float.POSITIVE_INFINITY;
+
+    // Segments still to split, as (first, last) index pairs and the tolerance of the point that
+    // created them. An explicit stack, as polylines with millions of points would overflow the
+    // call stack when recursing.
+    int[] segments = new int[64];
+    float[] segmentTolerances = new float[32];
+    segments[0] = 0;
+    segments[1] = count - 1;
+    segmentTolerances[0] = Float.POSITIVE_INFINITY;
+    int size = 1;
+    while (size > 0) {
+      size--;
+      final int first = segments[size * 2];
+      final int last = segments[size * 2 + 1];
+      final float parentTolerance = segmentTolerances[size];
+      if (last - first < 2) {
+        continue;
+      }
+
+      int farthest = -1;
+      double farthestDistanceSquared = -1;
+      for (int i = first + 1; i < last; i++) {
+        final double distanceSquared =
+            distanceToSegmentSquared(x[i], y[i], x[first], y[first], x[last], y[last]);
+        if (distanceSquared > farthestDistanceSquared) {
+          farthest = i;
+          farthestDistanceSquared = distanceSquared;
+        }
+      }
+      // A point is never kept at a tolerance at which the point that created its segment is
+      // dropped, so that each tolerance gives the same points as running the algorithm with it.
+      final float tolerance =
+          Math.min((float) Math.sqrt(farthestDistanceSquared), parentTolerance);
+      tolerances[farthest] = tolerance;
+
+      if (size + 2 > segmentTolerances.length) {
+        segments = Arrays.copyOf(segments, segments.length * 2);
+        segmentTolerances = Arrays.copyOf(segmentTolerances, segmentTolerances.length * 2);
+      }
+      segments[size * 2] = first;
+      segments[size * 2 + 1] = farthest;
+      segmentTolerances[size] = tolerance;
+      size++;
+      segments[size * 2] = farthest;
+      segments[size * 2 + 1] = last;
+      segmentTolerances[size] = tolerance;
+      size++;
+    }
+    return tolerances;
+  }
+
+  /**
+   * Returns the points kept by the Douglas-Peucker algorithm for the given tolerance.
+   *
+   * @param points the points of the polyline.
+   * @param tolerances the result of {@link #computeTolerances} for the points.
+   * @param tolerance the maximum distance, in world coordinates, between the polyline and its
+   *     simplification.
+   */
+  @NonNull
+  static List<LatLng> simplify(
+      @NonNull List<LatLng> points, @NonNull float[] tolerances, double tolerance) {
+    int keptCount = 0;
+    for (float pointTolerance : tolerances) {
+      if (pointTolerance > tolerance) {
+        keptCount++;
+      }
+    }
+    if (keptCount == points.size()) {
+      return points;
+    }
+    final List<LatLng> simplified = new ArrayList<>(keptCount);
+    for (int i = 0; i < tolerances.length; i++) {
+      if (tolerances[i] > tolerance) {
+        simplified.add(points.get(i));
+      }
+    }
+    return simplified;
+  }
+
+  private static double distanceToSegmentSquared(
+      double x, double y, double startX, double startY, double endX, double endY) {
+    final double segmentX = endX - startX;
+    final double segmentY = endY - startY;
+    final double lengthSquared = segmentX * segmentX + segmentY * segmentY;
+    double t = 0;
+    if (lengthSquared > 0) {
+      t = ((x - startX) * segmentX + (y - startY) * segmentY) / lengthSquared;
+      t = Math.max(0, Math.min(1, t));
+    }
+    final double dx = x - (startX + t * segmentX);
+    final double dy = y - (startY + t * segmentY);
+    return dx * dx + dy * dy;
+  }
+}
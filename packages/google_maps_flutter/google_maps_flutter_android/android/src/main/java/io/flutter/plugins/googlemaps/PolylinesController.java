@@ -5,16 +5,39 @@
 package io.flutter.plugins.googlemaps;
 
 import android.content.res.AssetManager;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.LruCache;
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
 import com.google.android.gms.maps.GoogleMap;
+import com.google.android.gms.maps.model.LatLng;
 import com.google.android.gms.maps.model.Polyline;
 import com.google.android.gms.maps.model.PolylineOptions;
 import io.flutter.plugins.googlemaps.Messages.MapsCallbackApi;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 
+/**
+ * Manages the polylines of a map.
+ *
+ * <p>When level of detail is configured, polylines with many points are shown simplified with the
+ * Douglas-Peucker algorithm, see {@link PolylineSimplifier}. The simplification is computed on a
+ * background thread for each zoom level, cached, and swapped in when the camera stops moving.
+ */
 class PolylinesController {
+  // The highest zoom level supported by the Maps SDK.
+  @VisibleForTesting static final int MAX_ZOOM_BAND = 22;
+  // Simplified lists share the LatLng instances of the full list, so each cached point costs
+  // about a reference.
+  private static final int ESTIMATED_BYTES_PER_CACHED_POINT = 8;
+  // Shared by all maps, so that simplifying polylines never competes with more than one thread.
+  private static final Executor SIMPLIFICATION_EXECUTOR = Executors.newSingleThreadExecutor();
 
   private final Map<String, PolylineController> polylineIdToController;
   private final Map<String, String> googleMapsPolylineIdToDartPolylineId;
@@ -22,14 +45,40 @@ class PolylinesController {
   private GoogleMap googleMap;
   private final float density;
   private final AssetManager assetManager;
+  private final Executor backgroundExecutor;
+  private final Executor mainExecutor;
+
+  // Level of detail state, only accessed on the main thread.
+  private double levelOfDetailToleranceDp;
+  private int levelOfDetailMinPointCount;
+  private final Map<String, LevelOfDetail> polylineIdToLevelOfDetail = new HashMap<>();
+  @Nullable private LruCache<String, List<LatLng>> simplifiedPointsCache;
+  private int nextLevelOfDetailId;
 
   PolylinesController(
       @NonNull MapsCallbackApi flutterApi, AssetManager assetManager, float density) {
+    this(
+        flutterApi,
+        assetManager,
+        density,
+        SIMPLIFICATION_EXECUTOR,
+        new Handler(Looper.getMainLooper())::post);
+  }
+
+  @VisibleForTesting
+  PolylinesController(
+      @NonNull MapsCallbackApi flutterApi,
+      AssetManager assetManager,
+      float density,
+      @NonNull Executor backgroundExecutor,
+      @NonNull Executor mainExecutor) {
     this.assetManager = assetManager;
     this.polylineIdToController = new HashMap<>();
     this.googleMapsPolylineIdToDartPolylineId = new HashMap<>();
     this.flutterApi = flutterApi;
     this.density = density;
+    this.backgroundExecutor = backgroundExecutor;
+    this.mainExecutor = mainExecutor;
   }
 
   void setGoogleMap(GoogleMap googleMap) {
@@ -52,6 +101,7 @@ class PolylinesController {
     for (String polylineId : polylineIdsToRemove) {
       final PolylineController polylineController = polylineIdToController.remove(polylineId);
       if (polylineController != null) {
+        clearLevelOfDetail(polylineId);
         polylineController.remove();
         googleMapsPolylineIdToDartPolylineId.remove(polylineController.getGoogleMapsPolylineId());
       }
@@ -83,8 +133,10 @@ class PolylinesController {
       String polylineId, PolylineOptions polylineOptions, boolean consumeTapEvents) {
     final Polyline polyline = googleMap.addPolyline(polylineOptions);
     PolylineController controller = new PolylineController(polyline, consumeTapEvents, density);
+    controller.initPoints(polylineOptions.getPoints());
     polylineIdToController.put(polylineId, controller);
     googleMapsPolylineIdToDartPolylineId.put(polyline.getId(), polylineId);
+    updateLevelOfDetail(polylineId, controller);
   }
 
   private void changePolyline(@NonNull Messages.PlatformPolyline polyline) {
@@ -92,10 +144,207 @@ class PolylinesController {
     PolylineController polylineController = polylineIdToController.get(polylineId);
     if (polylineController != null) {
       Convert.interpretPolylineOptions(polyline, polylineController, assetManager, density);
+      updateLevelOfDetail(polylineId, polylineController);
+    }
+  }
+
+  /**
+   * Configures the level of detail of the polylines.
+   *
+   * @param toleranceDp is the maximum distance, in dp, between a polyline and its simplification;
+   *     0 disables level of detail.
+   * @param minPointCount is the number of points from which polylines are simplified.
+   * @param memoryCacheSizeBytes is the budget of the cache of simplified points.
+   */
+  void configureLevelOfDetail(double toleranceDp, int minPointCount, int memoryCacheSizeBytes) {
+    for (String polylineId : new ArrayList<>(polylineIdToLevelOfDetail.keySet())) {
+      final PolylineController controller = polylineIdToController.get(polylineId);
+      final LevelOfDetail levelOfDetail = clearLevelOfDetail(polylineId);
+      if (controller != null && levelOfDetail != null && levelOfDetail.shownZoomBand >= 0) {
+        controller.showPoints(controller.getPoints());
+      }
+    }
+    levelOfDetailToleranceDp = Math.max(0, toleranceDp);
+    levelOfDetailMinPointCount = Math.max(2, minPointCount);
+    simplifiedPointsCache = null;
+    if (levelOfDetailToleranceDp == 0) {
+      return;
+    }
+    simplifiedPointsCache =
+        new LruCache<String, List<LatLng>>(Math.max(1, memoryCacheSizeBytes)) {
+          @Override
+          protected int sizeOf(@NonNull String key, @NonNull List<LatLng> points) {
+            return Math.max(1, points.size() * ESTIMATED_BYTES_PER_CACHED_POINT);
+          }
+        };
+    for (Map.Entry<String, PolylineController> entry : polylineIdToController.entrySet()) {
+      updateLevelOfDetail(entry.getKey(), entry.getValue());
+    }
+  }
+
+  /** Shows the simplification of each polyline for the current zoom level. */
+  void onCameraIdle() {
+    if (googleMap == null || polylineIdToLevelOfDetail.isEmpty()) {
+      return;
+    }
+    final int zoomBand = currentZoomBand();
+    for (Map.Entry<String, LevelOfDetail> entry : polylineIdToLevelOfDetail.entrySet()) {
+      showZoomBand(entry.getKey(), entry.getValue(), zoomBand);
+    }
+  }
+
+  private int currentZoomBand() {
+    final int zoom = (int) Math.floor(googleMap.getCameraPosition().zoom);
+    return Math.max(0, Math.min(MAX_ZOOM_BAND, zoom));
+  }
+
+  /** Starts simplifying the polyline if its points changed. */
+  private void updateLevelOfDetail(String polylineId, PolylineController controller) {
+    if (simplifiedPointsCache == null) {
+      return;
+    }
+    final List<LatLng> points = controller.getPoints();
+    final LevelOfDetail current = polylineIdToLevelOfDetail.get(polylineId);
+    if (current != null && current.points.equals(points)) {
+      // Only other options changed, but the full points were set again with them.
+      current.shownZoomBand = -1;
+      if (googleMap != null) {
+        showZoomBand(polylineId, current, currentZoomBand());
+      }
+      return;
     }
+    clearLevelOfDetail(polylineId);
+    if (points.size() < levelOfDetailMinPointCount) {
+      return;
+    }
+    final LevelOfDetail levelOfDetail =
+        new LevelOfDetail(polylineId + "#" + nextLevelOfDetailId++, points);
+    polylineIdToLevelOfDetail.put(polylineId, levelOfDetail);
+
+    final double toleranceDp = levelOfDetailToleranceDp;
+    backgroundExecutor.execute(
+        () -> {
+          final float[] tolerances = PolylineSimplifier.computeTolerances(points);
+          // Precomputes every zoom level up to the first that keeps all the points, as the
+          // following ones keep them too.
+          final List<List<LatLng>> simplifiedPoints = new ArrayList<>();
+          for (int zoomBand = 0; zoomBand <= MAX_ZOOM_BAND; zoomBand++) {
+            final List<LatLng> simplified =
+                PolylineSimplifier.simplify(
+                    points, tolerances, toleranceAtZoomBand(toleranceDp, zoomBand));
+            simplifiedPoints.add(simplified);
+            if (simplified == points) {
+              break;
+            }
+          }
+          mainExecutor.execute(
+              () -> {
+                if (polylineIdToLevelOfDetail.get(polylineId) != levelOfDetail
+                    || simplifiedPointsCache == null) {
+                  // The polyline changed or was removed meanwhile.
+                  return;
+                }
+                levelOfDetail.tolerances = tolerances;
+                final int currentZoomBand = googleMap == null ? -1 : currentZoomBand();
+                for (int zoomBand = 0; zoomBand < simplifiedPoints.size(); zoomBand++) {
+                  // The current zoom level is cached last, so that it is evicted last.
+                  if (zoomBand != currentZoomBand) {
+                    cacheSimplifiedPoints(levelOfDetail, zoomBand, simplifiedPoints.get(zoomBand));
+                  }
+                }
+                if (currentZoomBand >= 0) {
+                  final int index = Math.min(currentZoomBand, simplifiedPoints.size() - 1);
+                  cacheSimplifiedPoints(
+                      levelOfDetail, currentZoomBand, simplifiedPoints.get(index));
+                  showZoomBand(polylineId, levelOfDetail, currentZoomBand);
+                }
+              });
+        });
+  }
+
+  /** Shows the simplification for the zoom level, computing it if it was evicted from the cache. */
+  private void showZoomBand(String polylineId, LevelOfDetail levelOfDetail, int zoomBand) {
+    final PolylineController controller = polylineIdToController.get(polylineId);
+    final float[] tolerances = levelOfDetail.tolerances;
+    if (controller == null
+        || tolerances == null
+        || simplifiedPointsCache == null
+        || levelOfDetail.shownZoomBand == zoomBand) {
+      return;
+    }
+    final List<LatLng> cached = simplifiedPointsCache.get(levelOfDetail.cacheKey(zoomBand));
+    if (cached != null) {
+      controller.showPoints(cached);
+      levelOfDetail.shownZoomBand = zoomBand;
+      return;
+    }
+    final double tolerance = toleranceAtZoomBand(levelOfDetailToleranceDp, zoomBand);
+    backgroundExecutor.execute(
+        () -> {
+          final List<LatLng> simplified =
+              PolylineSimplifier.simplify(levelOfDetail.points, tolerances, tolerance);
+          mainExecutor.execute(
+              () -> {
+                if (polylineIdToLevelOfDetail.get(polylineId) != levelOfDetail
+                    || simplifiedPointsCache == null) {
+                  return;
+                }
+                cacheSimplifiedPoints(levelOfDetail, zoomBand, simplified);
+                // The camera may have moved on while simplifying.
+                if (googleMap != null && currentZoomBand() == zoomBand) {
+                  controller.showPoints(simplified);
+                  levelOfDetail.shownZoomBand = zoomBand;
+                }
+              });
+        });
+  }
+
+  private void cacheSimplifiedPoints(
+      LevelOfDetail levelOfDetail, int zoomBand, List<LatLng> simplifiedPoints) {
+    if (simplifiedPointsCache != null) {
+      simplifiedPointsCache.put(levelOfDetail.cacheKey(zoomBand), simplifiedPoints);
+    }
+  }
+
+  /** Forgets the level of detail state of the polyline, and returns it. */
+  @Nullable
+  private LevelOfDetail clearLevelOfDetail(String polylineId) {
+    final LevelOfDetail levelOfDetail = polylineIdToLevelOfDetail.remove(polylineId);
+    if (levelOfDetail != null && simplifiedPointsCache != null) {
+      for (int zoomBand = 0; zoomBand <= MAX_ZOOM_BAND; zoomBand++) {
+        simplifiedPointsCache.remove(levelOfDetail.cacheKey(zoomBand));
+      }
+    }
+    return levelOfDetail;
+  }
+
+  // Uses the tolerance of the next zoom level, so that the simplification of a zoom band is never
+  // off by more than the tolerance anywhere in the band.
+  private static double toleranceAtZoomBand(double toleranceDp, int zoomBand) {
+    return PolylineSimplifier.toleranceAtZoom(toleranceDp, zoomBand + 1);
   }
 
   private static String getPolylineId(Map<String, ?> polyline) {
     return (String) polyline.get("polylineId");
   }
+
+  /** The points of a polyline shown with level of detail, and their simplifications. */
+  private static final class LevelOfDetail {
+    // Unique for each set of points, so that stale cache entries are never reused.
+    final String id;
+    final List<LatLng> points;
+    // Null until computed in the background.
+    @Nullable float[] tolerances;
+    // The zoom level whose simplification is shown, or -1 if the points are shown in full.
+    int shownZoomBand = -1;
+
+    LevelOfDetail(String id, List<LatLng> points) {
+      this.id = id;
+      this.points = points;
+    }
+
+    String cacheKey(int zoomBand) {
+      return id + "@" + zoomBand;
+    }
+  }
 }
@@ -0,0 +1,178 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import android.graphics.Bitmap;
+import android.graphics.Rect;
+import android.os.Build;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Crops, scales and compresses map snapshots.
+ *
+ * <p>Compressing a full-screen snapshot takes long enough to drop frames, so it is done on a
+ * background executor rather than in the snapshot callback on the main thread.
+ */
+class SnapshotEncoder {
+  static final int FORMAT_PNG = 0;
+  static final int FORMAT_JPEG = 1;
+  static final int FORMAT_WEBP = 2;
+
+  // Shared by all maps, snapshots are rare enough for a single thread.
+  private static final Executor ENCODING_EXECUTOR = Executors.newSingleThreadExecutor();
+
+  /** Receives the result of encoding a snapshot, on the encoding thread. */
+  interface Callback {
+    /** Called with the encoded image, or null if it was written to a file. */
+    void onEncoded(@Nullable byte[] bytes);
+
+    void onError(@NonNull Exception exception);
+  }
+
+  /** How a snapshot is encoded. */
+  static final class Options {
+    /** Encodes the whole snapshot as a lossless PNG. */
+    static final Options DEFAULT = new Options(FORMAT_PNG, 100, 1, null);
+
+    final int format;
+    final int quality;
+    final double scale;
+    // In pixels of the snapshot, or null for the whole snapshot.
+    @Nullable final Rect region;
+
+    /**
+     * Creates encoding options.
+     *
+     * @param format is one of the {@code FORMAT_} constants.
+     * @param quality is the compression quality from 0 to 100, ignored for PNG.
+     * @param scale is the factor applied to the size of the image, from 0 exclusive to 1.
+     * @param region is the part of the snapshot to encode, in pixels, or null for all of it.
+     */
+    Options(int format, int quality, double scale, @Nullable Rect region) {
+      if (format < FORMAT_PNG || format > FORMAT_WEBP) {
+        throw new IllegalArgumentException("Unknown snapshot format: " + format);
+      }
+      if (!(scale > 0 && scale <= 1)) {
+        throw new IllegalArgumentException("The snapshot scale must be in (0, 1]: " + scale);
+      }
+      this.format = format;
+      this.quality = Math.max(0, Math.min(100, quality));
+      this.scale = scale;
+      this.region = region;
+    }
+  }
+
+  private final Executor executor;
+
+  SnapshotEncoder() {
+    this(ENCODING_EXECUTOR);
+  }
+
+  SnapshotEncoder(@NonNull Executor executor) {
+    this.executor = executor;
+  }
+
+  /**
+   * Encodes the snapshot in the background, then recycles it.
+   *
+   * @param bitmap is the snapshot, which must not be used afterwards.
+   * @param options are the encoding options.
+   * @param file is the file to write the image to, or null to return its bytes.
+   * @param callback receives the result.
+   */
+  void encode(
+      @NonNull Bitmap bitmap,
+      @NonNull Options options,
+      @Nullable File file,
+      @NonNull Callback callback) {
+    executor.execute(
+        () -> {
+          try {
+            final Bitmap transformed = transform(bitmap, options);
+            try {
+              if (file == null) {
+                final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+                compress(transformed, options, stream);
+                callback.onEncoded(stream.toByteArray());
+              } else {
+                try (OutputStream stream = new BufferedOutputStream(new FileOutputStream(file))) {
+                  compress(transformed, options, stream);
+                }
+                callback.onEncoded(null);
+              }
+            } finally {
+              if (transformed != bitmap) {
+                transformed.recycle();
+              }
+            }
+          } catch (IOException | RuntimeException e) {
+            callback.onError(e);
+          } finally {
+            bitmap.recycle();
+          }
+        });
+  }
+
+  /** Returns the region of the bitmap scaled by the options, or the bitmap itself if unchanged. */
+  @NonNull
+  static Bitmap transform(@NonNull Bitmap bitmap, @NonNull Options options) {
+    final Rect bounds = new Rect(0, 0, bitmap.getWidth(), bitmap.getHeight());
+    if (options.region != null && !bounds.intersect(options.region)) {
+      throw new IllegalArgumentException("The snapshot region is outside of the map.");
+    }
+    final int width = Math.max(1, (int) Math.round(bounds.width() * options.scale));
+    final int height = Math.max(1, (int) Math.round(bounds.height() * options.scale));
+    if (bounds.left == 0
+        && bounds.top == 0
+        && width == bitmap.getWidth()
+        && height == bitmap.getHeight()) {
+      return bitmap;
+    }
+    Bitmap result = bitmap;
+    if (bounds.width() != bitmap.getWidth() || bounds.height() != bitmap.getHeight()) {
+      result =
+          Bitmap.createBitmap(bitmap, bounds.left, bounds.top, bounds.width(), bounds.height());
+    }
+    if (width != result.getWidth() || height != result.getHeight()) {
+      final Bitmap cropped = result;
+      result = Bitmap.createScaledBitmap(cropped, width, height, true);
+      if (cropped != bitmap && cropped != result) {
+        cropped.recycle();
+      }
+    }
+    return result;
+  }
+
+  private static void compress(
+      @NonNull Bitmap bitmap, @NonNull Options options, @NonNull OutputStream stream)
+      throws IOException {
+    if (!bitmap.compress(compressFormat(options.format), options.quality, stream)) {
+      throw new IOException("Unable to compress the snapshot.");
+    }
+  }
+
+  @SuppressWarnings("deprecation") // WEBP is replaced by WEBP_LOSSY from API 30.
+  private static Bitmap.CompressFormat compressFormat(int format) {
+    switch (format) {
+      case FORMAT_JPEG:
+        return Bitmap.CompressFormat.JPEG;
+      case FORMAT_WEBP:
+        return Build.VERSION.SDK_INT >= Build.VERSION_CODES.R
+            ? Bitmap.CompressFormat.WEBP_LOSSY
+            : Bitmap.CompressFormat.WEBP;
+      default:
+        return Bitmap.CompressFormat.PNG;
+    }
+  }
+}
@@ -0,0 +1,448 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import android.util.Log;
+import android.util.LruCache;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import com.google.android.gms.maps.model.Tile;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Caches tiles returned by the Dart tile providers of a map.
+ *
+ * <p>Tiles are kept in a byte-budgeted in-memory LRU cache and, when a disk budget is set, written
+ * to {@code <cacheDirectory>/<tileOverlayId>/<zoom>_<x>_<y>} so they survive the map being
+ * recreated. The disk cache is also evicted least recently used first once it exceeds its budget.
+ *
+ * <p>Each map has its own memory cache, but the disk cache of a directory is shared by all the maps
+ * of the process, so they keep a single account of its files and a single budget, the one set
+ * last. A tile overlay ID therefore identifies the same tiles in every map.
+ *
+ * <p>All methods are thread safe. Memory operations never wait for disk I/O, so they can be called
+ * from the main thread; disk operations are meant for the Maps SDK tile worker threads. Evicting
+ * files when the budgets change or an overlay is cleared is done on a background executor.
+ *
+ * <p>Tiles requested before an overlay was cleared must not be cached afterwards, so callers read
+ * the {@link #getGeneration generation} of the overlay when requesting a tile and pass it along
+ * with the tile.
+ */
+class TileCache {
+  private static final String TAG = "TileCache";
+
+  /** The default in-memory budget, in bytes. */
+  static final int DEFAULT_MEMORY_CACHE_SIZE_BYTES = 4 * 1024 * 1024;
+
+  // Shared by all maps, evictions are rare enough for a single thread.
+  private static final Executor EVICTION_EXECUTOR = Executors.newSingleThreadExecutor();
+
+  // Guarded by itself. The disk caches of the directories in use, by absolute directory.
+  private static final Map<File, DiskCache> DISK_CACHES = new HashMap<>();
+
+  /**
+   * The disk cache of a directory, and the state of the overlays whose tiles it holds.
+   *
+   * <p>Files and their accounting are guarded by the monitor of the disk cache. The overlay state
+   * is guarded by {@link #overlayLock}, which may be acquired while holding the monitor.
+   */
+  private static final class DiskCache {
+    @Nullable final File directory;
+    volatile long sizeBytes;
+    // Files of the disk cache in access order, with their sizes. Loaded lazily on first use.
+    @Nullable LinkedHashMap<File, Long> entries;
+    long usageBytes;
+
+    final Object overlayLock = new Object();
+    // Guarded by overlayLock. Incremented each time an overlay is cleared.
+    final Map<String, Integer> generations = new HashMap<>();
+    // Guarded by overlayLock. The number of clears of an overlay whose files are still being
+    // deleted.
+    final Map<String, Integer> pendingClears = new HashMap<>();
+
+    DiskCache(@Nullable File directory) {
+      this.directory = directory;
+    }
+  }
+
+  private final DiskCache disk;
+  private final Executor evictionExecutor;
+  // LruCache is synchronized internally.
+  @NonNull private volatile LruCache<String, Tile> memoryCache;
+
+  /**
+   * Creates a new instance of the {@link TileCache}.
+   *
+   * @param cacheDirectory is the directory for the disk cache, or null to disable it.
+   */
+  TileCache(@Nullable File cacheDirectory) {
+    this(cacheDirectory, EVICTION_EXECUTOR);
+  }
+
+  @VisibleForTesting
+  TileCache(@Nullable File cacheDirectory, @NonNull Executor evictionExecutor) {
+    this.disk = cacheDirectory == null ? new DiskCache(null) : sharedDiskCache(cacheDirectory);
+    this.evictionExecutor = evictionExecutor;
+    this.memoryCache = createMemoryCache(DEFAULT_MEMORY_CACHE_SIZE_BYTES);
+  }
+
+  private static DiskCache sharedDiskCache(@NonNull File cacheDirectory) {
+    final File directory = cacheDirectory.getAbsoluteFile();
+    synchronized (DISK_CACHES) {
+      DiskCache disk = DISK_CACHES.get(directory);
+      if (disk == null) {
+        disk = new DiskCache(directory);
+        DISK_CACHES.put(directory, disk);
+      }
+      return disk;
+    }
+  }
+
+  /**
+   * Sets the cache budgets. Entries exceeding the new budgets are evicted.
+   *
+   * <p>The disk budget applies to the disk cache shared by all maps.
+   *
+   * @param memoryCacheSizeBytes is the in-memory budget; 0 disables the memory cache.
+   * @param diskCacheSizeBytes is the disk budget; 0 disables the disk cache and deletes its files.
+   */
+  void setBudgets(int memoryCacheSizeBytes, long diskCacheSizeBytes) {
+    synchronized (this) {
+      if (memoryCacheSizeBytes != memoryCache.maxSize()) {
+        memoryCache.evictAll();
+        // LruCache requires a positive size; a 1 byte cache holds nothing since tiles are larger.
+        memoryCache = createMemoryCache(Math.max(1, memoryCacheSizeBytes));
+      }
+    }
+    if (disk.directory == null) {
+      return;
+    }
+    disk.sizeBytes = Math.max(0, diskCacheSizeBytes);
+    evictionExecutor.execute(
+        () -> {
+          synchronized (disk) {
+            trimDiskCache();
+          }
+        });
+  }
+
+  /**
+   * Returns the generation of a tile overlay, which changes each time the overlay is {@link #clear
+   * cleared}.
+   */
+  int getGeneration(@NonNull String tileOverlayId) {
+    synchronized (disk.overlayLock) {
+      final Integer generation = disk.generations.get(tileOverlayId);
+      return generation == null ? 0 : generation;
+    }
+  }
+
+  /** Returns the tile if it is in the memory cache, otherwise null. */
+  @Nullable
+  Tile getFromMemory(@NonNull String tileOverlayId, int x, int y, int zoom) {
+    return memoryCache.get(memoryKey(tileOverlayId, x, y, zoom));
+  }
+
+  /**
+   * Returns the cached tile, reading it from disk if it is not in memory, or null if it is not
+   * cached.
+   */
+  @Nullable
+  Tile get(@NonNull String tileOverlayId, int x, int y, int zoom) {
+    Tile tile = getFromMemory(tileOverlayId, x, y, zoom);
+    if (tile != null || disk.sizeBytes == 0) {
+      return tile;
+    }
+
+    final File file = tileFile(tileOverlayId, x, y, zoom);
+    final int generation;
+    synchronized (disk) {
+      synchronized (disk.overlayLock) {
+        // The files of a cleared overlay may not have been deleted yet.
+        if (disk.pendingClears.containsKey(tileOverlayId)) {
+          return null;
+        }
+        generation = getGeneration(tileOverlayId);
+      }
+      // Looking up the entry also marks it as most recently used.
+      if (loadDiskEntries().get(file) == null) {
+        return null;
+      }
+      tile = readTile(file);
+      if (tile == null) {
+        removeDiskEntry(file);
+        return null;
+      }
+      // Keep the access order across sessions, see loadDiskEntries.
+      //noinspection ResultOfMethodCallIgnored
+      file.setLastModified(System.currentTimeMillis());
+    }
+    putInMemory(tileOverlayId, x, y, zoom, tile, generation);
+    return tile;
+  }
+
+  /** Adds a tile to the memory cache. */
+  void putInMemory(@NonNull String tileOverlayId, int x, int y, int zoom, @NonNull Tile tile) {
+    putInMemory(tileOverlayId, x, y, zoom, tile, getGeneration(tileOverlayId));
+  }
+
+  /**
+   * Adds a tile to the memory cache, unless the overlay was cleared since {@code generation}.
+   *
+   * @param generation is the {@link #getGeneration generation} of the overlay when the tile was
+   *     requested.
+   */
+  synchronized void putInMemory(
+      @NonNull String tileOverlayId, int x, int y, int zoom, @NonNull Tile tile, int generation) {
+    if (generation == getGeneration(tileOverlayId)) {
+      memoryCache.put(memoryKey(tileOverlayId, x, y, zoom), tile);
+    }
+  }
+
+  /** Writes a tile to the disk cache, if it is enabled. */
+  void putOnDisk(@NonNull String tileOverlayId, int x, int y, int zoom, @NonNull Tile tile) {
+    putOnDisk(tileOverlayId, x, y, zoom, tile, getGeneration(tileOverlayId));
+  }
+
+  /**
+   * Writes a tile to the disk cache, if it is enabled and the overlay was not cleared since {@code
+   * generation}.
+   *
+   * @param generation is the {@link #getGeneration generation} of the overlay when the tile was
+   *     requested.
+   */
+  void putOnDisk(
+      @NonNull String tileOverlayId, int x, int y, int zoom, @NonNull Tile tile, int generation) {
+    if (disk.sizeBytes == 0 || tile.data == null) {
+      return;
+    }
+
+    final File file = tileFile(tileOverlayId, x, y, zoom);
+    synchronized (disk) {
+      // Clears delete files while holding the disk cache, so a tile written here is deleted by any
+      // clear that starts after this check.
+      if (generation != getGeneration(tileOverlayId)) {
+        return;
+      }
+      final long size = writeTile(file, tile);
+      if (size < 0) {
+        return;
+      }
+      final Long previousSize = loadDiskEntries().put(file, size);
+      disk.usageBytes += size - (previousSize == null ? 0 : previousSize);
+      trimDiskCache();
+    }
+  }
+
+  /** Removes the in-memory tiles of a tile overlay. */
+  void evictFromMemory(@NonNull String tileOverlayId) {
+    final String prefix = tileOverlayId + '/';
+    final LruCache<String, Tile> cache = memoryCache;
+    for (String key : cache.snapshot().keySet()) {
+      if (key.startsWith(prefix)) {
+        cache.remove(key);
+      }
+    }
+  }
+
+  /**
+   * Removes all tiles of a tile overlay, both from the memory cache of this map and from disk.
+   *
+   * <p>The files are deleted in the background; until then the overlay is not read from disk.
+   * Tiles requested before the clear are not cached afterwards.
+   */
+  void clear(@NonNull String tileOverlayId) {
+    synchronized (this) {
+      synchronized (disk.overlayLock) {
+        disk.generations.put(tileOverlayId, getGeneration(tileOverlayId) + 1);
+        if (disk.directory != null) {
+          final Integer pendingCount = disk.pendingClears.get(tileOverlayId);
+          disk.pendingClears.put(tileOverlayId, pendingCount == null ? 1 : pendingCount + 1);
+        }
+      }
+      evictFromMemory(tileOverlayId);
+    }
+    if (disk.directory != null) {
+      evictionExecutor.execute(() -> deleteDiskEntries(tileOverlayId));
+    }
+  }
+
+  private void deleteDiskEntries(@NonNull String tileOverlayId) {
+    final File overlayDirectory = overlayDirectory(tileOverlayId);
+    synchronized (disk) {
+      final Iterator<Map.Entry<File, Long>> iterator = loadDiskEntries().entrySet().iterator();
+      while (iterator.hasNext()) {
+        final Map.Entry<File, Long> entry = iterator.next();
+        if (overlayDirectory.equals(entry.getKey().getParentFile())) {
+          deleteFile(entry.getKey());
+          disk.usageBytes -= entry.getValue();
+          iterator.remove();
+        }
+      }
+      synchronized (disk.overlayLock) {
+        final int pendingCount = disk.pendingClears.get(tileOverlayId);
+        if (pendingCount == 1) {
+          disk.pendingClears.remove(tileOverlayId);
+        } else {
+          disk.pendingClears.put(tileOverlayId, pendingCount - 1);
+        }
+      }
+    }
+  }
+
+  @VisibleForTesting
+  long getDiskUsageBytes() {
+    synchronized (disk) {
+      loadDiskEntries();
+      return disk.usageBytes;
+    }
+  }
+
+  private static LruCache<String, Tile> createMemoryCache(int maxSizeBytes) {
+    return new LruCache<String, Tile>(maxSizeBytes) {
+      @Override
+      protected int sizeOf(@NonNull String key, @NonNull Tile tile) {
+        return tile.data == null ? 1 : Math.max(1, tile.data.length);
+      }
+    };
+  }
+
+  private static String memoryKey(String tileOverlayId, int x, int y, int zoom) {
+    return tileOverlayId + '/' + x + '/' + y + '/' + zoom;
+  }
+
+  private File overlayDirectory(String tileOverlayId) {
+    try {
+      return new File(disk.directory, URLEncoder.encode(tileOverlayId, "UTF-8"));
+    } catch (UnsupportedEncodingException e) {
+      // UTF-8 is always supported.
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private File tileFile(String tileOverlayId, int x, int y, int zoom) {
+    return new File(overlayDirectory(tileOverlayId), zoom + "_" + x + "_" + y);
+  }
+
+  private LinkedHashMap<File, Long> loadDiskEntries() {
+    if (disk.entries != null) {
+      return disk.entries;
+    }
+    final LinkedHashMap<File, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    disk.entries = entries;
+    disk.usageBytes = 0;
+    final File[] overlayDirectories = disk.directory == null ? null : disk.directory.listFiles();
+    if (overlayDirectories == null) {
+      return entries;
+    }
+
+    final List<File> files = new ArrayList<>();
+    for (File overlayDirectory : overlayDirectories) {
+      final File[] tileFiles = overlayDirectory.listFiles();
+      if (tileFiles != null) {
+        files.addAll(Arrays.asList(tileFiles));
+      }
+    }
+    // Restore the access order of a previous session from the modification times.
+    Collections.sort(
+        files,
+        new Comparator<File>() {
+          @Override
+          public int compare(File a, File b) {
+            return Long.compare(a.lastModified(), b.lastModified());
+          }
+        });
+    for (File file : files) {
+      final long size = file.length();
+      entries.put(file, size);
+      disk.usageBytes += size;
+    }
+    return entries;
+  }
+
+  private void trimDiskCache() {
+    if (disk.directory == null) {
+      return;
+    }
+    final Iterator<Map.Entry<File, Long>> iterator = loadDiskEntries().entrySet().iterator();
+    while (disk.usageBytes > disk.sizeBytes && iterator.hasNext()) {
+      final Map.Entry<File, Long> entry = iterator.next();
+      deleteFile(entry.getKey());
+      disk.usageBytes -= entry.getValue();
+      iterator.remove();
+    }
+  }
+
+  private void removeDiskEntry(File file) {
+    final Long size = loadDiskEntries().remove(file);
+    if (size != null) {
+      disk.usageBytes -= size;
+    }
+    deleteFile(file);
+  }
+
+  @Nullable
+  private static Tile readTile(File file) {
+    try (DataInputStream input =
+        new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+      final int width = input.readInt();
+      final int height = input.readInt();
+      final byte[] data = new byte[input.readInt()];
+      input.readFully(data);
+      return new Tile(width, height, data);
+    } catch (IOException e) {
+      Log.w(TAG, "Can't read cached tile " + file, e);
+      return null;
+    }
+  }
+
+  /** Writes a tile and returns the size of the file, or -1 if it could not be written. */
+  private static long writeTile(File file, Tile tile) {
+    final File directory = file.getParentFile();
+    if (directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+      Log.w(TAG, "Can't create tile cache directory " + directory);
+      return -1;
+    }
+    try (DataOutputStream output =
+        new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+      output.writeInt(tile.width);
+      output.writeInt(tile.height);
+      output.writeInt(tile.data.length);
+      output.write(tile.data);
+    } catch (IOException e) {
+      Log.w(TAG, "Can't write cached tile " + file, e);
+      deleteFile(file);
+      return -1;
+    }
+    return file.length();
+  }
+
+  private static void deleteFile(File file) {
+    if (file.exists() && !file.delete()) {
+      Log.w(TAG, "Can't delete cached tile " + file);
+    }
+  }
+}
@@ -6,29 +6,118 @@ package io.flutter.plugins.googlemaps;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
 import com.google.android.gms.maps.GoogleMap;
+import com.google.android.gms.maps.model.LatLngBounds;
 import com.google.android.gms.maps.model.TileOverlay;
 import com.google.android.gms.maps.model.TileOverlayOptions;
 import io.flutter.plugins.googlemaps.Messages.MapsCallbackApi;
+import java.io.File;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 class TileOverlaysController {
 
+  // Upper bound on the tiles requested per tile overlay each time the camera becomes idle.
+  private static final int MAX_PREFETCH_TILES_PER_OVERLAY = 64;
+
   private final Map<String, TileOverlayController> tileOverlayIdToController;
+  private final Map<String, TileProviderController> tileOverlayIdToProviderController;
   private final MapsCallbackApi flutterApi;
+  private final TileCache tileCache;
   private GoogleMap googleMap;
+  private long tileRequestTimeoutMillis =
+      TileProviderController.DEFAULT_TILE_REQUEST_TIMEOUT_MILLIS;
+  private boolean prefetchNeighborTiles = false;
 
-  TileOverlaysController(MapsCallbackApi flutterApi) {
+  /**
+   * Creates a new instance of the {@link TileOverlaysController}.
+   *
+   * @param flutterApi is used to request tiles from Dart.
+   * @param tileCacheDirectory is the directory for the on-disk tile cache, or null to only cache
+   *     tiles in memory.
+   */
+  TileOverlaysController(MapsCallbackApi flutterApi, @Nullable File tileCacheDirectory) {
     this.tileOverlayIdToController = new HashMap<>();
+    this.tileOverlayIdToProviderController = new HashMap<>();
     this.flutterApi = flutterApi;
+    this.tileCache = new TileCache(tileCacheDirectory);
   }
 
   void setGoogleMap(GoogleMap googleMap) {
     this.googleMap = googleMap;
   }
 
+  /**
+   * Configures the native tile cache shared by the tile overlays of the map.
+   *
+   * @param memoryCacheSizeBytes is the in-memory budget; 0 disables the memory cache.
+   * @param diskCacheSizeBytes is the on-disk budget; 0 disables the disk cache.
+   * @param tileRequestTimeoutMillis is how long a tile request waits for Dart; 0 waits forever.
+   * @param prefetchNeighborTiles is whether tiles around the visible region are requested when the
+   *     camera becomes idle.
+   */
+  void configureTileCache(
+      int memoryCacheSizeBytes,
+      long diskCacheSizeBytes,
+      long tileRequestTimeoutMillis,
+      boolean prefetchNeighborTiles) {
+    tileCache.setBudgets(memoryCacheSizeBytes, diskCacheSizeBytes);
+    this.tileRequestTimeoutMillis = tileRequestTimeoutMillis;
+    this.prefetchNeighborTiles = prefetchNeighborTiles;
+    for (TileProviderController tileProviderController :
+        tileOverlayIdToProviderController.values()) {
+      tileProviderController.setTileRequestTimeoutMillis(tileRequestTimeoutMillis);
+    }
+  }
+
+  /** Requests the tiles surrounding the visible region, if prefetching is enabled. */
+  void onCameraIdle() {
+    if (!prefetchNeighborTiles || googleMap == null || tileOverlayIdToController.isEmpty()) {
+      return;
+    }
+    prefetchNeighborTiles(
+        googleMap.getProjection().getVisibleRegion().latLngBounds,
+        (int) Math.floor(googleMap.getCameraPosition().zoom));
+  }
+
+  @VisibleForTesting
+  void prefetchNeighborTiles(@NonNull LatLngBounds bounds, int zoom) {
+    final int tileCount = 1 << zoom;
+    final int minX = tileX(bounds.southwest.longitude, tileCount);
+    int maxX = tileX(bounds.northeast.longitude, tileCount);
+    if (maxX < minX) {
+      // The visible region crosses the antimeridian.
+      maxX += tileCount;
+    }
+    final int minY = tileY(bounds.northeast.latitude, tileCount);
+    final int maxY = tileY(bounds.southwest.latitude, tileCount);
+
+    for (Map.Entry<String, TileProviderController> entry :
+        tileOverlayIdToProviderController.entrySet()) {
+      final TileOverlayController tileOverlayController =
+          tileOverlayIdToController.get(entry.getKey());
+      if (tileOverlayController == null || !tileOverlayController.getTileOverlay().isVisible()) {
+        continue;
+      }
+      int requested = 0;
+      // Only the ring of tiles just outside the visible range is prefetched.
+      for (int y = minY - 1; y <= maxY + 1 && requested < MAX_PREFETCH_TILES_PER_OVERLAY; y++) {
+        if (y < 0 || y >= tileCount) {
+          continue;
+        }
+        for (int x = minX - 1; x <= maxX + 1 && requested < MAX_PREFETCH_TILES_PER_OVERLAY; x++) {
+          if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+            continue;
+          }
+          entry.getValue().prefetchTile(((x % tileCount) + tileCount) % tileCount, y, zoom);
+          requested++;
+        }
+      }
+    }
+  }
+
   void addTileOverlays(@NonNull List<Messages.PlatformTileOverlay> tileOverlaysToAdd) {
     for (Messages.PlatformTileOverlay tileOverlayToAdd : tileOverlaysToAdd) {
       addTileOverlay(tileOverlayToAdd);
@@ -59,6 +148,7 @@ class TileOverlaysController {
     }
     TileOverlayController tileOverlayController = tileOverlayIdToController.get(tileOverlayId);
     if (tileOverlayController != null) {
+      tileCache.clear(tileOverlayId);
       tileOverlayController.clearTileCache();
     }
   }
@@ -80,12 +170,14 @@ class TileOverlaysController {
     String tileOverlayId =
         Convert.interpretTileOverlayOptions(platformTileOverlay, tileOverlayOptionsBuilder);
     TileProviderController tileProviderController =
-        new TileProviderController(flutterApi, tileOverlayId);
+        new TileProviderController(flutterApi, tileOverlayId, tileCache);
+    tileProviderController.setTileRequestTimeoutMillis(tileRequestTimeoutMillis);
     tileOverlayOptionsBuilder.setTileProvider(tileProviderController);
     TileOverlayOptions options = tileOverlayOptionsBuilder.build();
     TileOverlay tileOverlay = googleMap.addTileOverlay(options);
     TileOverlayController tileOverlayController = new TileOverlayController(tileOverlay);
     tileOverlayIdToController.put(tileOverlayId, tileOverlayController);
+    tileOverlayIdToProviderController.put(tileOverlayId, tileProviderController);
   }
 
   private void changeTileOverlay(@NonNull Messages.PlatformTileOverlay platformTileOverlay) {
@@ -101,9 +193,26 @@ class TileOverlaysController {
     if (tileOverlayController != null) {
       tileOverlayController.remove();
       tileOverlayIdToController.remove(tileOverlayId);
+      tileOverlayIdToProviderController.remove(tileOverlayId);
+      // Tiles on disk are kept so they can be reused if the overlay is added again.
+      tileCache.evictFromMemory(tileOverlayId);
     }
   }
 
+  private static int tileX(double longitude, int tileCount) {
+    final int x = (int) Math.floor((longitude + 180.0) / 360.0 * tileCount);
+    return Math.min(Math.max(x, 0), tileCount - 1);
+  }
+
+  private static int tileY(double latitude, int tileCount) {
+    final double latitudeRadians = Math.toRadians(latitude);
+    final double mercatorY =
+        (1.0 - Math.log(Math.tan(latitudeRadians) + 1.0 / Math.cos(latitudeRadians)) / Math.PI)
+            / 2.0;
+    final int y = (int) Math.floor(mercatorY * tileCount);
+    return Math.min(Math.max(y, 0), tileCount - 1);
+  }
+
   @SuppressWarnings("unchecked")
   private static String getTileOverlayId(Map<String, ?> tileOverlay) {
     return (String) tileOverlay.get("tileOverlayId");
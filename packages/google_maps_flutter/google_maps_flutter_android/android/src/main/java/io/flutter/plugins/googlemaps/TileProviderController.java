@@ -13,49 +13,115 @@ import com.google.android.gms.maps.model.Tile;
 import com.google.android.gms.maps.model.TileProvider;
 import io.flutter.plugins.googlemaps.Messages.FlutterError;
 import io.flutter.plugins.googlemaps.Messages.MapsCallbackApi;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 class TileProviderController implements TileProvider {
 
   private static final String TAG = "TileProviderController";
 
+  /** The default time to wait for Dart to return a tile before giving up. */
+  static final long DEFAULT_TILE_REQUEST_TIMEOUT_MILLIS = 10000;
+
   protected final String tileOverlayId;
   protected final @NonNull MapsCallbackApi flutterApi;
   protected final Handler handler = new Handler(Looper.getMainLooper());
+  private final @NonNull TileCache tileCache;
+  // Requests sent to Dart that have not completed yet, keyed by "x/y/zoom".
+  private final ConcurrentHashMap<String, Worker> inFlightRequests = new ConcurrentHashMap<>();
+  private volatile long tileRequestTimeoutMillis = DEFAULT_TILE_REQUEST_TIMEOUT_MILLIS;
 
-  TileProviderController(@NonNull MapsCallbackApi flutterApi, String tileOverlayId) {
+  TileProviderController(
+      @NonNull MapsCallbackApi flutterApi, String tileOverlayId, @NonNull TileCache tileCache) {
     this.tileOverlayId = tileOverlayId;
     this.flutterApi = flutterApi;
+    this.tileCache = tileCache;
+  }
+
+  /**
+   * Sets how long {@link #getTile} waits for Dart before returning null, which makes the Maps SDK
+   * request the tile again later. A value of 0 or less waits indefinitely.
+   */
+  void setTileRequestTimeoutMillis(long tileRequestTimeoutMillis) {
+    this.tileRequestTimeoutMillis = tileRequestTimeoutMillis;
   }
 
   @Override
   public Tile getTile(final int x, final int y, final int zoom) {
-    Worker worker = new Worker(x, y, zoom);
-    return worker.getTile();
+    final Tile cachedTile = tileCache.get(tileOverlayId, x, y, zoom);
+    if (cachedTile != null) {
+      return cachedTile;
+    }
+    return requestTile(x, y, zoom).getTile();
+  }
+
+  /**
+   * Requests a tile from Dart into the memory cache without waiting for it.
+   *
+   * <p>Does nothing if the tile is already cached in memory or being requested.
+   */
+  void prefetchTile(int x, int y, int zoom) {
+    if (tileCache.getFromMemory(tileOverlayId, x, y, zoom) == null) {
+      requestTile(x, y, zoom);
+    }
+  }
+
+  /** Returns the in-flight request for a tile, sending a new one to Dart if there is none. */
+  private Worker requestTile(int x, int y, int zoom) {
+    final String key = x + "/" + y + "/" + zoom;
+    final Worker worker = new Worker(key, x, y, zoom);
+    final Worker inFlightWorker = inFlightRequests.putIfAbsent(key, worker);
+    if (inFlightWorker != null) {
+      return inFlightWorker;
+    }
+    worker.send();
+    return worker;
   }
 
   private final class Worker implements Messages.Result<Messages.PlatformTile> {
 
     private final CountDownLatch countDownLatch = new CountDownLatch(1);
+    private final AtomicBoolean writtenToDisk = new AtomicBoolean(false);
+    private final String key;
     private final int x;
     private final int y;
     private final int zoom;
-    private @Nullable Messages.PlatformTile result;
+    // Tiles of a request sent before the cache of the overlay was cleared are not cached.
+    private final int cacheGeneration;
+    private volatile @Nullable Tile result;
 
-    Worker(int x, int y, int zoom) {
+    Worker(String key, int x, int y, int zoom) {
+      this.key = key;
       this.x = x;
       this.y = y;
       this.zoom = zoom;
+      this.cacheGeneration = tileCache.getGeneration(tileOverlayId);
     }
 
-    @NonNull
-    Tile getTile() {
+    void send() {
       final Messages.PlatformPoint location =
           new Messages.PlatformPoint.Builder().setX((long) x).setY((long) y).build();
       handler.post(() -> flutterApi.getTileOverlayTile(tileOverlayId, location, (long) zoom, this));
+    }
+
+    @Nullable
+    Tile getTile() {
       try {
         // `flutterApi.getTileOverlayTile` is async, so use a `countDownLatch` to make it synchronized.
-        countDownLatch.await();
+        final long timeoutMillis = tileRequestTimeoutMillis;
+        if (timeoutMillis <= 0) {
+          countDownLatch.await();
+        } else if (!countDownLatch.await(timeoutMillis, TimeUnit.MILLISECONDS)) {
+          Log.w(
+              TAG,
+              String.format("Timed out waiting for tile: x = %d, y= %d, zoom = %d", x, y, zoom));
+          // The next request for the tile asks Dart again instead of waiting on this one.
+          inFlightRequests.remove(key, this);
+          // Returning null lets the Maps SDK request the tile again later.
+          return null;
+        }
       } catch (InterruptedException e) {
         Log.e(
             TAG,
@@ -63,25 +129,32 @@ class TileProviderController implements TileProvider {
             e);
         return TileProvider.NO_TILE;
       }
-      try {
-        if (result == null) {
-          Log.e(
-              TAG,
-              String.format(
-                  "Did not receive tile data for tile: x = %d, y= %d, zoom = %d", x, y, zoom));
-          return TileProvider.NO_TILE;
-        }
-        return Convert.tileFromPigeon(result);
-      } catch (Exception e) {
-        Log.e(TAG, "Can't parse tile data", e);
+      final Tile tile = result;
+      if (tile == null) {
+        Log.e(
+            TAG,
+            String.format(
+                "Did not receive tile data for tile: x = %d, y= %d, zoom = %d", x, y, zoom));
         return TileProvider.NO_TILE;
       }
+      // Results arrive on the main thread, so the disk write is left to a waiting worker thread.
+      if (writtenToDisk.compareAndSet(false, true)) {
+        tileCache.putOnDisk(tileOverlayId, x, y, zoom, tile, cacheGeneration);
+      }
+      return tile;
     }
 
     @Override
     public void success(@NonNull Messages.PlatformTile result) {
-      this.result = result;
-      countDownLatch.countDown();
+      try {
+        final Tile tile = Convert.tileFromPigeon(result);
+        this.result = tile;
+        tileCache.putInMemory(tileOverlayId, x, y, zoom, tile, cacheGeneration);
+      } catch (Exception e) {
+        Log.e(TAG, "Can't parse tile data", e);
+        this.result = null;
+      }
+      complete();
     }
 
     @Override
@@ -100,6 +173,12 @@ class TileProviderController implements TileProvider {
         Log.e(TAG, "Can't get tile: " + error);
       }
       result = null;
+      complete();
+    }
+
+    private void complete() {
+      // A request that timed out may have been replaced by a newer one, which is kept.
+      inFlightRequests.remove(key, this);
       countDownLatch.countDown();
     }
   }
@@ -0,0 +1,119 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import static org.junit.Assert.assertEquals;
+
+import android.os.Build;
+import android.view.Choreographer;
+import com.google.android.gms.maps.model.CameraPosition;
+import com.google.android.gms.maps.model.LatLng;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = Build.VERSION_CODES.P)
+public class CameraMoveThrottlerTest {
+  private static final long FRAME_NANOS = 16666667;
+
+  private final List<CameraPosition> sent = new ArrayList<>();
+  private final List<Choreographer.FrameCallback> frameCallbacks = new ArrayList<>();
+  private long frameTimeNanos;
+
+  private CameraMoveThrottler createThrottler(
+      int maxEventsPerSecond, double minZoomDelta, double minLatLngDelta) {
+    return new CameraMoveThrottler(
+        sent::add, maxEventsPerSecond, minZoomDelta, minLatLngDelta, frameCallbacks::add);
+  }
+
+  private void drawFrame() {
+    frameTimeNanos += FRAME_NANOS;
+    final List<Choreographer.FrameCallback> callbacks = new ArrayList<>(frameCallbacks);
+    frameCallbacks.clear();
+    for (Choreographer.FrameCallback callback : callbacks) {
+      callback.doFrame(frameTimeNanos);
+    }
+  }
+
+  private static CameraPosition position(double latitude, float zoom) {
+    return CameraPosition.builder().target(new LatLng(latitude, 0)).zoom(zoom).build();
+  }
+
+  @Test
+  public void sendsLatestPositionPerFrame() {
+    final CameraMoveThrottler throttler = createThrottler(0, 0, 0);
+
+    throttler.onCameraMove(position(1, 10));
+    throttler.onCameraMove(position(2, 10));
+    throttler.onCameraMove(position(3, 10));
+    drawFrame();
+
+    assertEquals(Arrays.asList(position(3, 10)), sent);
+    assertEquals(2, throttler.getSuppressedEventCount());
+  }
+
+  @Test
+  public void limitsEventsPerSecond() {
+    final CameraMoveThrottler throttler = createThrottler(10, 0, 0);
+
+    // One second of camera moves, one per frame.
+    for (int i = 0; i < 60; i++) {
+      throttler.onCameraMove(position(i, 10));
+      drawFrame();
+    }
+
+    assertEquals(10, sent.size());
+    assertEquals(50, throttler.getSuppressedEventCount());
+  }
+
+  @Test
+  public void skipsPositionsBelowMinimumDelta() {
+    final CameraMoveThrottler throttler = createThrottler(0, 0.5, 1);
+
+    throttler.onCameraMove(position(0, 10));
+    drawFrame();
+    throttler.onCameraMove(position(0.5, 10.1f));
+    drawFrame();
+    throttler.onCameraMove(position(0.5, 10.6f));
+    drawFrame();
+    throttler.onCameraMove(position(1.5, 10.6f));
+    drawFrame();
+
+    assertEquals(
+        Arrays.asList(position(0, 10), position(0.5, 10.6f), position(1.5, 10.6f)), sent);
+    assertEquals(1, throttler.getSuppressedEventCount());
+  }
+
+  @Test
+  public void flushSendsFinalPosition() {
+    final CameraMoveThrottler throttler = createThrottler(1, 0, 0);
+
+    throttler.onCameraMove(position(0, 10));
+    drawFrame();
+    throttler.onCameraMove(position(1, 10));
+    drawFrame();
+    throttler.flush();
+    drawFrame();
+
+    assertEquals(Arrays.asList(position(0, 10), position(1, 10)), sent);
+    assertEquals(0, throttler.getSuppressedEventCount());
+  }
+
+  @Test
+  public void flushDoesNotResendLastPosition() {
+    final CameraMoveThrottler throttler = createThrottler(0, 0, 0);
+
+    throttler.onCameraMove(position(0, 10));
+    drawFrame();
+    throttler.flush();
+
+    assertEquals(Arrays.asList(position(0, 10)), sent);
+  }
+}
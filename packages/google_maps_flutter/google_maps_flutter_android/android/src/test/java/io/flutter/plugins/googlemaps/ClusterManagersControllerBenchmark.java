@@ -0,0 +1,142 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import android.content.Context;
+import android.os.Build;
+import androidx.test.core.app.ApplicationProvider;
+import com.google.android.gms.maps.GoogleMap;
+import com.google.android.gms.maps.model.CameraPosition;
+import com.google.android.gms.maps.model.LatLng;
+import com.google.maps.android.collections.MarkerManager;
+import io.flutter.plugin.common.BinaryMessenger;
+import io.flutter.plugins.googlemaps.Messages.MapsCallbackApi;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/**
+ * Measures adding clustered markers to a cluster manager and computing their clusters.
+ *
+ * <p>Compares adding the markers one at a time, which re-clusters after each of them, with adding
+ * them in a single update, for each of the clustering algorithms. Skipped unless the {@code
+ * runBenchmarks} Gradle property is set, e.g.:
+ *
+ * <pre>
+ * ./gradlew testDebugUnitTest -PrunBenchmarks --tests '*ClusterManagersControllerBenchmark'
+ * </pre>
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = Build.VERSION_CODES.P)
+public class ClusterManagersControllerBenchmark {
+  private static final String CLUSTER_MANAGER_ID = "cm_1";
+  private static final int WARMUP_ITERATIONS = 1;
+  private static final int MEASURED_ITERATIONS = 3;
+  private static final int[] POINT_COUNTS = {1000, 10000, 100000};
+  // Adding markers one at a time is quadratic, so it is only measured up to this count.
+  private static final int MAX_ONE_BY_ONE_POINT_COUNT = 10000;
+
+  private ClusterManagersController controller;
+
+  @Before
+  public void setUp() {
+    Assume.assumeTrue(Boolean.getBoolean("runBenchmarks"));
+    Context context = ApplicationProvider.getApplicationContext();
+    MapsCallbackApi flutterApi = new MapsCallbackApi(mock(BinaryMessenger.class));
+    GoogleMap googleMap = mock(GoogleMap.class);
+    when(googleMap.getCameraPosition())
+        .thenReturn(CameraPosition.builder().target(new LatLng(40.5, -73.5)).zoom(10).build());
+    controller = new ClusterManagersController(flutterApi, context);
+    controller.init(googleMap, new MarkerManager(googleMap));
+  }
+
+  /** Creates markers spread over a city-sized area, like a typical dataset. */
+  private static List<MarkerBuilder> createMarkers(int count) {
+    Random random = new Random(0);
+    List<MarkerBuilder> markers = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      MarkerBuilder marker = new MarkerBuilder("marker_" + i, CLUSTER_MANAGER_ID);
+      marker.setPosition(new LatLng(40 + random.nextDouble(), -74 + random.nextDouble()));
+      markers.add(marker);
+    }
+    return markers;
+  }
+
+  private interface Update {
+    void run(List<MarkerBuilder> markers);
+  }
+
+  private void addOneByOne(List<MarkerBuilder> markers) {
+    for (MarkerBuilder marker : markers) {
+      controller.addItem(marker);
+    }
+  }
+
+  private void addInOneUpdate(List<MarkerBuilder> markers) {
+    controller.updateItems(markers, Collections.emptyList());
+  }
+
+  /** Adds the markers to a new cluster manager and computes the clusters at the camera zoom. */
+  private int addAndCluster(List<MarkerBuilder> markers, Update update) {
+    controller.addClusterManager(CLUSTER_MANAGER_ID);
+    update.run(markers);
+    int clusterCount = controller.getClustersWithClusterManagerId(CLUSTER_MANAGER_ID).size();
+    controller.removeClusterManagers(Collections.singletonList(CLUSTER_MANAGER_ID));
+    return clusterCount;
+  }
+
+  private void measure(String name, List<MarkerBuilder> markers, Update update) {
+    int clusterCount = 0;
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      clusterCount = addAndCluster(markers, update);
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+      addAndCluster(markers, update);
+    }
+    long msPerUpdate = (System.nanoTime() - start) / MEASURED_ITERATIONS / 1000000;
+    System.out.println(
+        String.format(
+            Locale.ROOT,
+            "%-24s %,8d points %,6d clusters %,8d ms/update",
+            name,
+            markers.size(),
+            clusterCount,
+            msPerUpdate));
+  }
+
+  @Test
+  public void benchmarkAddingMarkers() {
+    for (int pointCount : POINT_COUNTS) {
+      List<MarkerBuilder> markers = createMarkers(pointCount);
+      if (pointCount <= MAX_ONE_BY_ONE_POINT_COUNT) {
+        measure("one by one", markers, this::addOneByOne);
+      }
+      measure("one update", markers, this::addInOneUpdate);
+    }
+  }
+
+  @Test
+  public void benchmarkAlgorithms() {
+    for (int pointCount : POINT_COUNTS) {
+      List<MarkerBuilder> markers = createMarkers(pointCount);
+      controller.configureClustering(false, 100);
+      measure("distance-based", markers, this::addInOneUpdate);
+      controller.configureClustering(true, 100);
+      measure("grid", markers, this::addInOneUpdate);
+    }
+  }
+}
@@ -134,6 +134,43 @@ public class ClusterManagersControllerTest {
     assertEquals("Cluster should contain exactly 2 markers", 2, cluster.getSize());
   }
 
+  @Test
+  public void UpdateItemsAddsAndRemovesItemsOfEachClusterManager() {
+    when(googleMap.getCameraPosition())
+        .thenReturn(CameraPosition.builder().target(new LatLng(0, 0)).build());
+    controller.addClusterManager("cm_1");
+    controller.addClusterManager("cm_2");
+    List<MarkerBuilder> markerBuilders = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      MarkerBuilder markerBuilder = new MarkerBuilder("mid_" + i, i % 2 == 0 ? "cm_1" : "cm_2");
+      markerBuilder.setPosition(new LatLng(1.1, 2.2));
+      markerBuilders.add(markerBuilder);
+    }
+
+    controller.updateItems(markerBuilders, Collections.emptyList());
+    controller.updateItems(
+        Collections.emptyList(), Arrays.asList(markerBuilders.get(0), markerBuilders.get(1)));
+
+    assertEquals(Collections.singletonList("mid_2"), getClusteredMarkerIds(controller, "cm_1"));
+    assertEquals(Collections.singletonList("mid_3"), getClusteredMarkerIds(controller, "cm_2"));
+  }
+
+  @Test
+  public void ConfigureClusteringKeepsItems() {
+    when(googleMap.getCameraPosition())
+        .thenReturn(CameraPosition.builder().target(new LatLng(0, 0)).build());
+    controller.addClusterManager("cm_1");
+    MarkerBuilder markerBuilder = new MarkerBuilder("mid_1", "cm_1");
+    markerBuilder.setPosition(new LatLng(1.1, 2.2));
+    controller.addItem(markerBuilder);
+
+    controller.configureClustering(true, 50);
+    controller.addClusterManager("cm_2");
+
+    assertEquals(Collections.singletonList("mid_1"), getClusteredMarkerIds(controller, "cm_1"));
+    assertTrue(getClusteredMarkerIds(controller, "cm_2").isEmpty());
+  }
+
   @Test
   public void OnClusterClickCallsMethodChannel() {
     String clusterManagerId = "cm_1";
@@ -179,6 +216,19 @@ public class ClusterManagersControllerTest {
         () -> controller.getClustersWithClusterManagerId(clusterManagerId));
   }
 
+  private static List<String> getClusteredMarkerIds(
+      ClusterManagersController controller, String clusterManagerId) {
+    List<String> markerIds = new ArrayList<>();
+    for (Cluster<MarkerBuilder> cluster :
+        controller.getClustersWithClusterManagerId(clusterManagerId)) {
+      for (MarkerBuilder marker : cluster.getItems()) {
+        markerIds.add(marker.markerId());
+      }
+    }
+    Collections.sort(markerIds);
+    return markerIds;
+  }
+
   private Messages.PlatformMarker createPlatformMarker(
       String markerId, List<Double> location, String clusterManagerId) {
     Bitmap fakeBitmap = Bitmap.createBitmap(1, 1, Bitmap.Config.ARGB_8888);
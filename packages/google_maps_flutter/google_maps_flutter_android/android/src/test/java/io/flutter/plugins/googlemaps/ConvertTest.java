@@ -97,6 +97,32 @@ public class ConvertTest {
     Assert.assertEquals(longitude, latLng.longitude, 1e-15);
   }
 
+  @Test
+  public void ConvertPointsFromPackedConvertsThePointsWithFullPrecision() {
+    double latitude = 43.03725568057;
+    double longitude = -87.90466904649;
+    List<LatLng> latLngs = Convert.pointsFromPacked(new double[] {latitude, longitude, 1.5, 2.5});
+    Assert.assertEquals(2, latLngs.size());
+    Assert.assertEquals(latitude, latLngs.get(0).latitude, 1e-15);
+    Assert.assertEquals(longitude, latLngs.get(0).longitude, 1e-15);
+    Assert.assertEquals(1.5, latLngs.get(1).latitude, 1e-15);
+    Assert.assertEquals(2.5, latLngs.get(1).longitude, 1e-15);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void ConvertPointsFromPackedThrowsIfAPointIsIncomplete() {
+    Convert.pointsFromPacked(new double[] {1.1, 2.2, 3.3});
+  }
+
+  @Test
+  public void ConvertPointsFromPigeonPrefersPackedPoints() {
+    Messages.PlatformLatLng platLng =
+        new Messages.PlatformLatLng.Builder().setLatitude(1.0).setLongitude(2.0).build();
+    List<LatLng> latLngs =
+        Convert.pointsFromPigeon(Collections.singletonList(platLng), new double[] {3.0, 4.0});
+    Assert.assertEquals(Collections.singletonList(new LatLng(3.0, 4.0)), latLngs);
+  }
+
   @Test
   public void ConvertClusterToPigeonReturnsCorrectData() {
     String clusterManagerId = "cm_1";
@@ -578,6 +604,82 @@ public class ConvertTest {
     Assert.assertEquals(intensity, result.get(0).getIntensity(), 0);
   }
 
+  @Test
+  public void BitmapDescriptorDataEqualsComparesBytesByContent() {
+    final Map<String, Object> byteData = new HashMap<>();
+    byteData.put("byteData", new byte[] {1, 2, 3});
+    byteData.put("bitmapScaling", "auto");
+    final Map<String, Object> sameByteData = new HashMap<>(byteData);
+    sameByteData.put("byteData", new byte[] {1, 2, 3});
+    final Map<String, Object> otherByteData = new HashMap<>(byteData);
+    otherByteData.put("byteData", new byte[] {1, 2, 4});
+
+    Assert.assertTrue(
+        Convert.bitmapDescriptorDataEquals(
+            List.of("bytes", byteData), List.of("bytes", sameByteData)));
+    Assert.assertFalse(
+        Convert.bitmapDescriptorDataEquals(
+            List.of("bytes", byteData), List.of("bytes", otherByteData)));
+    Assert.assertFalse(
+        Convert.bitmapDescriptorDataEquals(List.of("defaultMarker"), List.of("bytes", byteData)));
+  }
+
+  @Test
+  public void BitmapDescriptorCacheKeyDependsOnContentAndScaling() {
+    final Map<String, Object> byteData = new HashMap<>();
+    byteData.put("byteData", new byte[] {1, 2, 3});
+    byteData.put("bitmapScaling", "auto");
+    byteData.put("imagePixelRatio", 2.0);
+    final Map<String, Object> sameByteData = new HashMap<>(byteData);
+    sameByteData.put("byteData", new byte[] {1, 2, 3});
+    final Map<String, Object> otherWidth = new HashMap<>(byteData);
+    otherWidth.put("width", 20.0);
+
+    final String key = BitmapDescriptorCache.keyFor(List.of("bytes", byteData), 1);
+    Assert.assertNotNull(key);
+    Assert.assertEquals(key, BitmapDescriptorCache.keyFor(List.of("bytes", sameByteData), 1));
+    Assert.assertNotEquals(key, BitmapDescriptorCache.keyFor(List.of("bytes", byteData), 2));
+    Assert.assertNotEquals(key, BitmapDescriptorCache.keyFor(List.of("bytes", otherWidth), 1));
+    Assert.assertNull(BitmapDescriptorCache.keyFor(List.of("defaultMarker"), 1));
+  }
+
+  @Test()
+  public void ConvertWeightedDataFromPackedReturnsCorrectData() {
+    final Point point1 = sProjection.toPoint(new LatLng(1.1, 2.2));
+    final Point point2 = sProjection.toPoint(new LatLng(4.4, 5.5));
+
+    final List<WeightedLatLng> result =
+        Convert.weightedDataFromPacked(new double[] {1.1, 2.2, 3.3, 4.4, 5.5, 6.6});
+
+    Assert.assertEquals(2, result.size());
+    Assert.assertEquals(point1.x, result.get(0).getPoint().x, 0);
+    Assert.assertEquals(point1.y, result.get(0).getPoint().y, 0);
+    Assert.assertEquals(3.3, result.get(0).getIntensity(), 0);
+    Assert.assertEquals(point2.x, result.get(1).getPoint().x, 0);
+    Assert.assertEquals(point2.y, result.get(1).getPoint().y, 0);
+    Assert.assertEquals(6.6, result.get(1).getIntensity(), 0);
+  }
+
+  @Test()
+  public void ConvertInterpretPlatformHeatmapReadsPackedData() {
+    final Point point = sProjection.toPoint(new LatLng(1.1, 2.2));
+    final Messages.PlatformHeatmap heatmap =
+        new Messages.PlatformHeatmap.Builder()
+            .setJson(Map.of(HEATMAP_ID_KEY, "heatmap_1", HEATMAP_RADIUS_KEY, 6))
+            .setPackedWeightedData(new double[] {1.1, 2.2, 3.3})
+            .build();
+
+    final MockHeatmapBuilder builder = new MockHeatmapBuilder();
+    final String id = Convert.interpretHeatmapOptions(heatmap, builder);
+
+    Assert.assertEquals("heatmap_1", id);
+    Assert.assertEquals(6, builder.getRadius());
+    Assert.assertEquals(1, builder.getWeightedData().size());
+    Assert.assertEquals(point.x, builder.getWeightedData().get(0).getPoint().x, 0);
+    Assert.assertEquals(point.y, builder.getWeightedData().get(0).getPoint().y, 0);
+    Assert.assertEquals(3.3, builder.getWeightedData().get(0).getIntensity(), 0);
+  }
+
   @Test()
   public void ConvertToGradientReturnsCorrectData() {
     final int color1 = 0;
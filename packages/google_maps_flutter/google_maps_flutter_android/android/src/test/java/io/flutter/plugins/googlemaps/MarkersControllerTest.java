@@ -6,8 +6,10 @@ package io.flutter.plugins.googlemaps;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyFloat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
@@ -18,6 +20,7 @@ import android.graphics.Bitmap;
 import android.os.Build;
 import androidx.test.core.app.ApplicationProvider;
 import com.google.android.gms.maps.GoogleMap;
+import com.google.android.gms.maps.model.BitmapDescriptor;
 import com.google.android.gms.maps.model.LatLng;
 import com.google.android.gms.maps.model.Marker;
 import com.google.android.gms.maps.model.MarkerOptions;
@@ -25,7 +28,9 @@ import com.google.maps.android.collections.MarkerManager;
 import io.flutter.plugin.common.BinaryMessenger;
 import io.flutter.plugins.googlemaps.Messages.MapsCallbackApi;
 import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -98,7 +103,8 @@ public class MarkersControllerTest {
             clusterManagersController,
             assetManager,
             density,
-            bitmapDescriptorFactoryWrapper);
+            bitmapDescriptorFactoryWrapper,
+            new BitmapDescriptorCache(BitmapDescriptorCache.DEFAULT_MAX_ENTRIES));
     googleMap = mock(GoogleMap.class);
     markerManager = new MarkerManager(googleMap);
     markerCollection = markerManager.newCollection();
@@ -202,9 +208,12 @@ public class MarkersControllerTest {
 
     // Add marker and capture the markerBuilder
     controller.addMarkers(Collections.singletonList(builder.build()));
-    ArgumentCaptor<MarkerBuilder> captor = ArgumentCaptor.forClass(MarkerBuilder.class);
-    Mockito.verify(clusterManagersController, times(1)).addItem(captor.capture());
-    MarkerBuilder capturedMarkerBuilder = captor.getValue();
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Collection<MarkerBuilder>> captor = ArgumentCaptor.forClass(Collection.class);
+    Mockito.verify(clusterManagersController, times(1))
+        .updateItems(captor.capture(), eq(Collections.emptyList()));
+    assertEquals(1, captor.getValue().size());
+    MarkerBuilder capturedMarkerBuilder = captor.getValue().iterator().next();
     assertEquals(clusterManagerId, capturedMarkerBuilder.clusterManagerId());
 
     // clusterManagersController calls onClusterItemRendered with created marker.
@@ -227,9 +236,41 @@ public class MarkersControllerTest {
     controller.removeMarkers(Collections.singletonList(googleMarkerId));
 
     Mockito.verify(clusterManagersController, times(1))
-        .removeItem(
+        .updateItems(
+            eq(Collections.emptyList()),
             Mockito.argThat(
-                markerBuilder -> markerBuilder.clusterManagerId().equals(clusterManagerId)));
+                markerBuilders ->
+                    markerBuilders.size() == 1
+                        && markerBuilders
+                            .iterator()
+                            .next()
+                            .clusterManagerId()
+                            .equals(clusterManagerId)));
+  }
+
+  @Test
+  public void controller_UpdateMarkersUpdatesClusterItemsOnce() {
+    final String clusterManagerId = "cm123";
+    final List<Messages.PlatformMarker> markersToAdd = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      markersToAdd.add(
+          defaultMarkerBuilder()
+              .setMarkerId("marker" + i)
+              .setClusterManagerId(clusterManagerId)
+              .build());
+    }
+    controller.addMarkers(markersToAdd.subList(0, 2));
+    Mockito.clearInvocations(clusterManagersController);
+
+    controller.updateMarkers(
+        markersToAdd.subList(2, 3),
+        Collections.emptyList(),
+        Arrays.asList("marker0", "marker1"));
+
+    Mockito.verify(clusterManagersController, times(1))
+        .updateItems(
+            Mockito.argThat(markerBuilders -> markerBuilders.size() == 1),
+            Mockito.argThat(markerBuilders -> markerBuilders.size() == 2));
   }
 
   @Test
@@ -249,7 +290,7 @@ public class MarkersControllerTest {
     controller.addMarkers(Collections.singletonList(builder.build()));
 
     // clusterManagersController should not be called when adding the marker
-    Mockito.verify(clusterManagersController, times(0)).addItem(any());
+    Mockito.verify(clusterManagersController, times(0)).updateItems(any(), any());
 
     Mockito.verify(spyMarkerCollection, times(1)).addMarker(any(MarkerOptions.class));
 
@@ -263,8 +304,49 @@ public class MarkersControllerTest {
     controller.removeMarkers(Collections.singletonList(googleMarkerId));
 
     // clusterManagersController should not be called when removing the marker
-    Mockito.verify(clusterManagersController, times(0)).removeItem(any());
+    Mockito.verify(clusterManagersController, times(0)).updateItems(any(), any());
 
     Mockito.verify(spyMarkerCollection, times(1)).remove(marker);
   }
+
+  @Test
+  public void controller_ChangeMarkerPositionOnlyUpdatesPosition() {
+    final Marker marker = mock(Marker.class);
+    final String googleMarkerId = "abc123";
+    when(marker.getId()).thenReturn(googleMarkerId);
+    when(googleMap.addMarker(any(MarkerOptions.class))).thenReturn(marker);
+
+    final Messages.PlatformMarker.Builder builder = defaultMarkerBuilder();
+    builder.setMarkerId(googleMarkerId);
+    controller.addMarkers(Collections.singletonList(builder.build()));
+
+    // Send the same icon bytes in a new array, as a new message from Dart would.
+    builder.setIcon(defaultMarkerBuilder().build().getIcon());
+    builder.setPosition(
+        new Messages.PlatformLatLng.Builder().setLatitude(3.3).setLongitude(4.4).build());
+    controller.changeMarkers(Collections.singletonList(builder.build()));
+
+    Mockito.verify(marker, times(1)).setPosition(new LatLng(3.3, 4.4));
+    Mockito.verify(marker, never()).setIcon(any());
+    Mockito.verify(marker, never()).setAlpha(anyFloat());
+    Mockito.verify(marker, never()).setAnchor(anyFloat(), anyFloat());
+    Mockito.verify(marker, never()).setTitle(any());
+    Mockito.verify(bitmapDescriptorFactoryWrapper, times(1)).fromBitmap(any());
+  }
+
+  @Test
+  public void controller_MarkersWithSameIconShareBitmapDescriptor() {
+    when(bitmapDescriptorFactoryWrapper.fromBitmap(any())).thenReturn(mock(BitmapDescriptor.class));
+    final Marker marker = mock(Marker.class);
+    when(marker.getId()).thenReturn("abc123");
+    when(googleMap.addMarker(any(MarkerOptions.class))).thenReturn(marker);
+
+    controller.addMarkers(
+        Arrays.asList(
+            defaultMarkerBuilder().setMarkerId("marker1").build(),
+            defaultMarkerBuilder().setMarkerId("marker2").build()));
+
+    // The icon bytes of both markers are identical, so they are decoded only once.
+    Mockito.verify(bitmapDescriptorFactoryWrapper, times(1)).fromBitmap(any());
+  }
 }
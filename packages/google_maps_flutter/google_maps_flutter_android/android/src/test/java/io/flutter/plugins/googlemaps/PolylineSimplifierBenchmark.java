@@ -0,0 +1,108 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import android.os.Build;
+import com.google.android.gms.maps.model.LatLng;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/**
+ * Measures simplifying polylines for level of detail.
+ *
+ * <p>Reports the throughput of computing the Douglas-Peucker tolerances of the points, which is
+ * done once per polyline, and of simplifying them for every zoom level, which is done once per
+ * zoom level. Skipped unless the {@code runBenchmarks} Gradle property is set, e.g.:
+ *
+ * <pre>
+ * ./gradlew testDebugUnitTest -PrunBenchmarks --tests '*PolylineSimplifierBenchmark'
+ * </pre>
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = Build.VERSION_CODES.P)
+public class PolylineSimplifierBenchmark {
+  private static final int WARMUP_ITERATIONS = 1;
+  private static final int MEASURED_ITERATIONS = 3;
+  private static final int[] POINT_COUNTS = {10000, 100000, 1000000};
+  private static final double TOLERANCE_DP = 1;
+
+  @Before
+  public void setUp() {
+    Assume.assumeTrue(Boolean.getBoolean("runBenchmarks"));
+  }
+
+  /** Creates a random walk, like a recorded GPS track. */
+  private static List<LatLng> createTrack(int count) {
+    Random random = new Random(0);
+    List<LatLng> points = new ArrayList<>(count);
+    double latitude = 40;
+    double longitude = -74;
+    for (int i = 0; i < count; i++) {
+      latitude += (random.nextDouble() - 0.5) * 0.0002;
+      longitude += random.nextDouble() * 0.0002;
+      points.add(new LatLng(latitude, longitude));
+    }
+    return points;
+  }
+
+  private interface Operation {
+    int run(List<LatLng> points);
+  }
+
+  private static int computeTolerances(List<LatLng> points) {
+    return PolylineSimplifier.computeTolerances(points).length;
+  }
+
+  /** Simplifies the points for every zoom level, and returns the total number of points kept. */
+  private static int simplifyAllZoomLevels(List<LatLng> points, float[] tolerances) {
+    int keptCount = 0;
+    for (int zoom = 0; zoom <= PolylinesController.MAX_ZOOM_BAND; zoom++) {
+      keptCount +=
+          PolylineSimplifier.simplify(
+                  points, tolerances, PolylineSimplifier.toleranceAtZoom(TOLERANCE_DP, zoom + 1))
+              .size();
+    }
+    return keptCount;
+  }
+
+  private static void measure(String name, List<LatLng> points, Operation operation) {
+    int result = 0;
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      result = operation.run(points);
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+      operation.run(points);
+    }
+    long nanosPerRun = Math.max(1, (System.nanoTime() - start) / MEASURED_ITERATIONS);
+    System.out.println(
+        String.format(
+            Locale.ROOT,
+            "%-24s %,10d points %,12d result %,8d ms %,14d points/s",
+            name,
+            points.size(),
+            result,
+            nanosPerRun / 1000000,
+            points.size() * 1000000000L / nanosPerRun));
+  }
+
+  @Test
+  public void benchmarkSimplification() {
+    for (int pointCount : POINT_COUNTS) {
+      List<LatLng> points = createTrack(pointCount);
+      float[] tolerances = PolylineSimplifier.computeTolerances(points);
+      measure("compute tolerances", points, PolylineSimplifierBenchmark::computeTolerances);
+      measure("simplify all zoom levels", points, p -> simplifyAllZoomLevels(p, tolerances));
+    }
+  }
+}
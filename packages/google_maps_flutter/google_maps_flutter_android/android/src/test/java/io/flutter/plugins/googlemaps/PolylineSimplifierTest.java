@@ -0,0 +1,86 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import android.os.Build;
+import com.google.android.gms.maps.model.LatLng;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = Build.VERSION_CODES.P)
+public class PolylineSimplifierTest {
+
+  @Test
+  public void computeTolerances_AlwaysKeepsEndpoints() {
+    final List<LatLng> points =
+        Arrays.asList(new LatLng(0, 0), new LatLng(0, 1), new LatLng(0, 2), new LatLng(0, 3));
+
+    final float[] tolerances = PolylineSimplifier.computeTolerances(points);
+
+    assertEquals(Float.POSITIVE_INFINITY, tolerances[0], 0);
+    assertEquals(Float.POSITIVE_INFINITY, tolerances[3], 0);
+    assertEquals(
+        Arrays.asList(points.get(0), points.get(3)),
+        PolylineSimplifier.simplify(points, tolerances, 1));
+  }
+
+  @Test
+  public void simplify_DropsCollinearPoints() {
+    final List<LatLng> points = new ArrayList<>();
+    for (int i = 0; i <= 100; i++) {
+      points.add(new LatLng(0, i * 0.1));
+    }
+
+    final float[] tolerances = PolylineSimplifier.computeTolerances(points);
+
+    assertEquals(
+        Arrays.asList(points.get(0), points.get(100)),
+        PolylineSimplifier.simplify(points, tolerances, PolylineSimplifier.toleranceAtZoom(1, 20)));
+  }
+
+  @Test
+  public void simplify_KeepsPointsFartherThanTolerance() {
+    final List<LatLng> points =
+        Arrays.asList(new LatLng(0, 0), new LatLng(1, 5), new LatLng(0, 10));
+    final float[] tolerances = PolylineSimplifier.computeTolerances(points);
+
+    // The middle point is about 1/360 of the world away from the other points' segment.
+    assertSame(points, PolylineSimplifier.simplify(points, tolerances, 0.001));
+    assertEquals(
+        Arrays.asList(points.get(0), points.get(2)),
+        PolylineSimplifier.simplify(points, tolerances, 0.01));
+  }
+
+  @Test
+  public void simplify_KeepsMorePointsAtLowerTolerances() {
+    final Random random = new Random(0);
+    final List<LatLng> points = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      points.add(new LatLng(random.nextDouble(), i * 0.01));
+    }
+    final float[] tolerances = PolylineSimplifier.computeTolerances(points);
+
+    List<LatLng> previous = PolylineSimplifier.simplify(points, tolerances, 1);
+    for (int zoom = 0; zoom <= 22; zoom++) {
+      final List<LatLng> simplified =
+          PolylineSimplifier.simplify(
+              points, tolerances, PolylineSimplifier.toleranceAtZoom(1, zoom));
+      assertTrue(simplified.containsAll(previous));
+      previous = simplified;
+    }
+    assertEquals(points, previous);
+  }
+}
@@ -0,0 +1,132 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import android.os.Build;
+import com.google.android.gms.maps.GoogleMap;
+import com.google.android.gms.maps.model.CameraPosition;
+import com.google.android.gms.maps.model.LatLng;
+import com.google.android.gms.maps.model.Polyline;
+import com.google.android.gms.maps.model.PolylineOptions;
+import io.flutter.plugins.googlemaps.Messages.MapsCallbackApi;
+import java.util.Collections;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = Build.VERSION_CODES.P)
+public class PolylinesControllerTest {
+  private static final int POINT_COUNT = 1000;
+
+  private PolylinesController controller;
+  private GoogleMap googleMap;
+  private Polyline polyline;
+
+  @Before
+  public void setUp() {
+    // Runs the background work synchronously.
+    controller =
+        new PolylinesController(
+            mock(MapsCallbackApi.class), null, 1, Runnable::run, Runnable::run);
+    googleMap = mock(GoogleMap.class);
+    polyline = mock(Polyline.class);
+    when(polyline.getId()).thenReturn("google_polyline_1");
+    when(googleMap.addPolyline(any(PolylineOptions.class))).thenReturn(polyline);
+    setZoom(3);
+    controller.setGoogleMap(googleMap);
+  }
+
+  private void setZoom(float zoom) {
+    when(googleMap.getCameraPosition())
+        .thenReturn(CameraPosition.builder().target(new LatLng(0, 0)).zoom(zoom).build());
+  }
+
+  /** Returns a polyline that zigzags by about 100 m along the equator. */
+  private static Messages.PlatformPolyline createZigzagPolyline(int pointCount) {
+    final double[] packedPoints = new double[pointCount * 2];
+    for (int i = 0; i < pointCount; i++) {
+      packedPoints[i * 2] = (i % 2) * 0.001;
+      packedPoints[i * 2 + 1] = i * 0.01;
+    }
+    return new Messages.PlatformPolyline.Builder()
+        .setPolylineId("polyline_1")
+        .setConsumesTapEvents(false)
+        .setColor(0L)
+        .setGeodesic(false)
+        .setJointType(Messages.PlatformJointType.MITERED)
+        .setPatterns(Collections.emptyList())
+        .setPoints(Collections.emptyList())
+        .setPackedPoints(packedPoints)
+        .setStartCap(Collections.singletonList("buttCap"))
+        .setEndCap(Collections.singletonList("buttCap"))
+        .setVisible(true)
+        .setWidth(1L)
+        .setZIndex(0L)
+        .build();
+  }
+
+  @Test
+  public void controller_DoesNotSimplifyPolylinesByDefault() {
+    controller.addPolylines(Collections.singletonList(createZigzagPolyline(POINT_COUNT)));
+    controller.onCameraIdle();
+
+    verify(polyline, never()).setPoints(anyList());
+  }
+
+  @Test
+  public void controller_DoesNotSimplifyPolylinesWithFewPoints() {
+    controller.configureLevelOfDetail(1, POINT_COUNT + 1, 1024 * 1024);
+
+    controller.addPolylines(Collections.singletonList(createZigzagPolyline(POINT_COUNT)));
+    controller.onCameraIdle();
+
+    verify(polyline, never()).setPoints(anyList());
+  }
+
+  @Test
+  public void controller_ShowsSimplificationForCurrentZoom() {
+    controller.configureLevelOfDetail(1, 2, 1024 * 1024);
+
+    controller.addPolylines(Collections.singletonList(createZigzagPolyline(POINT_COUNT)));
+
+    // The zigzag is far below a pixel at zoom 3.
+    verify(polyline).setPoints(argThat(points -> points.size() == 2));
+
+    Mockito.clearInvocations(polyline);
+    setZoom(20);
+    controller.onCameraIdle();
+
+    verify(polyline).setPoints(argThat(points -> points.size() == POINT_COUNT));
+
+    Mockito.clearInvocations(polyline);
+    setZoom(3.5f);
+    controller.onCameraIdle();
+
+    verify(polyline).setPoints(argThat(points -> points.size() == 2));
+  }
+
+  @Test
+  public void controller_RestoresFullPointsWhenLevelOfDetailIsDisabled() {
+    controller.configureLevelOfDetail(1, 2, 1024 * 1024);
+    controller.addPolylines(Collections.singletonList(createZigzagPolyline(POINT_COUNT)));
+    Mockito.clearInvocations(polyline);
+
+    controller.configureLevelOfDetail(0, 2, 1024 * 1024);
+
+    verify(polyline).setPoints(argThat(points -> points.size() == POINT_COUNT));
+  }
+}
@@ -0,0 +1,140 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import android.graphics.Bitmap;
+import android.graphics.Rect;
+import android.os.Build;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import java.io.File;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = Build.VERSION_CODES.P)
+public class SnapshotEncoderTest {
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  // Runs the encoding synchronously.
+  private final SnapshotEncoder encoder = new SnapshotEncoder(Runnable::run);
+
+  /** Records the result of an encoding. */
+  private static final class RecordingCallback implements SnapshotEncoder.Callback {
+    boolean encoded;
+    @Nullable byte[] bytes;
+    @Nullable Exception exception;
+
+    @Override
+    public void onEncoded(@Nullable byte[] bytes) {
+      this.encoded = true;
+      this.bytes = bytes;
+    }
+
+    @Override
+    public void onError(@NonNull Exception exception) {
+      this.exception = exception;
+    }
+  }
+
+  private static Bitmap createSnapshot() {
+    return Bitmap.createBitmap(100, 200, Bitmap.Config.ARGB_8888);
+  }
+
+  @Test
+  public void transform_ReturnsSnapshotWithDefaultOptions() {
+    final Bitmap snapshot = createSnapshot();
+
+    assertSame(snapshot, SnapshotEncoder.transform(snapshot, SnapshotEncoder.Options.DEFAULT));
+  }
+
+  @Test
+  public void transform_CropsAndScalesRegion() {
+    final SnapshotEncoder.Options options =
+        new SnapshotEncoder.Options(
+            SnapshotEncoder.FORMAT_JPEG, 80, 0.5, new Rect(10, 20, 60, 120));
+
+    final Bitmap result = SnapshotEncoder.transform(createSnapshot(), options);
+
+    assertEquals(25, result.getWidth());
+    assertEquals(50, result.getHeight());
+  }
+
+  @Test
+  public void transform_ClampsRegionToSnapshot() {
+    final SnapshotEncoder.Options options =
+        new SnapshotEncoder.Options(
+            SnapshotEncoder.FORMAT_PNG, 100, 1, new Rect(50, 150, 500, 500));
+
+    final Bitmap result = SnapshotEncoder.transform(createSnapshot(), options);
+
+    assertEquals(50, result.getWidth());
+    assertEquals(50, result.getHeight());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void transform_ThrowsIfRegionIsOutsideSnapshot() {
+    final SnapshotEncoder.Options options =
+        new SnapshotEncoder.Options(
+            SnapshotEncoder.FORMAT_PNG, 100, 1, new Rect(200, 300, 400, 500));
+
+    SnapshotEncoder.transform(createSnapshot(), options);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void options_RejectsUpscaling() {
+    new SnapshotEncoder.Options(SnapshotEncoder.FORMAT_PNG, 100, 2, null);
+  }
+
+  @Test
+  public void encode_ReturnsBytes() {
+    final RecordingCallback callback = new RecordingCallback();
+    final Bitmap snapshot = createSnapshot();
+
+    encoder.encode(snapshot, SnapshotEncoder.Options.DEFAULT, null, callback);
+
+    assertNull(callback.exception);
+    assertNotNull(callback.bytes);
+    assertTrue(callback.bytes.length > 0);
+    assertTrue(snapshot.isRecycled());
+  }
+
+  @Test
+  public void encode_WritesFile() throws Exception {
+    final RecordingCallback callback = new RecordingCallback();
+    final File file = new File(temporaryFolder.getRoot(), "snapshot.webp");
+    final SnapshotEncoder.Options options =
+        new SnapshotEncoder.Options(SnapshotEncoder.FORMAT_WEBP, 75, 0.25, null);
+
+    encoder.encode(createSnapshot(), options, file, callback);
+
+    assertNull(callback.exception);
+    assertTrue(callback.encoded);
+    assertNull(callback.bytes);
+    assertTrue(file.length() > 0);
+  }
+
+  @Test
+  public void encode_ReportsErrors() {
+    final RecordingCallback callback = new RecordingCallback();
+    final File file = new File(temporaryFolder.getRoot(), "missing/snapshot.png");
+
+    encoder.encode(createSnapshot(), SnapshotEncoder.Options.DEFAULT, file, callback);
+
+    assertNotNull(callback.exception);
+    assertFalse(callback.encoded);
+  }
+}
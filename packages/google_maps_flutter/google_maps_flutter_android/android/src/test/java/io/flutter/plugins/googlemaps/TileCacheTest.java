@@ -0,0 +1,191 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import android.os.Build;
+import com.google.android.gms.maps.model.Tile;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = Build.VERSION_CODES.P)
+public class TileCacheTest {
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private static Tile tile(int size) {
+    return new Tile(256, 256, new byte[size]);
+  }
+
+  @Test
+  public void memoryCacheReturnsTilesByOverlayAndCoordinates() {
+    final TileCache cache = new TileCache(null);
+    final Tile tile = tile(10);
+
+    cache.putInMemory("overlay", 1, 2, 3, tile);
+
+    assertEquals(tile, cache.get("overlay", 1, 2, 3));
+    assertNull(cache.get("overlay", 2, 1, 3));
+    assertNull(cache.get("other", 1, 2, 3));
+  }
+
+  @Test
+  public void memoryCacheEvictsLeastRecentlyUsedTilesOverBudget() {
+    final TileCache cache = new TileCache(null);
+    cache.setBudgets(25, 0);
+
+    cache.putInMemory("overlay", 0, 0, 1, tile(10));
+    cache.putInMemory("overlay", 1, 0, 1, tile(10));
+    // Touch the first tile so the second one is evicted.
+    cache.get("overlay", 0, 0, 1);
+    cache.putInMemory("overlay", 0, 1, 1, tile(10));
+
+    assertNotNull(cache.get("overlay", 0, 0, 1));
+    assertNull(cache.get("overlay", 1, 0, 1));
+    assertNotNull(cache.get("overlay", 0, 1, 1));
+  }
+
+  @Test
+  public void evictFromMemoryOnlyRemovesTilesOfOverlay() {
+    final TileCache cache = new TileCache(null);
+    cache.putInMemory("a", 0, 0, 0, tile(1));
+    cache.putInMemory("b", 0, 0, 0, tile(1));
+
+    cache.evictFromMemory("a");
+
+    assertNull(cache.get("a", 0, 0, 0));
+    assertNotNull(cache.get("b", 0, 0, 0));
+  }
+
+  @Test
+  public void diskCachePersistsTilesAcrossInstances() throws IOException {
+    final File directory = temporaryFolder.newFolder();
+    final TileCache cache = new TileCache(directory, Runnable::run);
+    cache.setBudgets(TileCache.DEFAULT_MEMORY_CACHE_SIZE_BYTES, 1024);
+    final Tile tile = new Tile(256, 128, new byte[] {1, 2, 3});
+
+    cache.putOnDisk("overlay/1", 4, 5, 6, tile);
+
+    final TileCache newCache = new TileCache(directory, Runnable::run);
+    newCache.setBudgets(TileCache.DEFAULT_MEMORY_CACHE_SIZE_BYTES, 1024);
+    final Tile cachedTile = newCache.get("overlay/1", 4, 5, 6);
+    assertNotNull(cachedTile);
+    assertEquals(256, cachedTile.width);
+    assertEquals(128, cachedTile.height);
+    assertArrayEquals(new byte[] {1, 2, 3}, cachedTile.data);
+  }
+
+  @Test
+  public void diskCacheStaysWithinBudget() throws IOException {
+    final TileCache cache = new TileCache(temporaryFolder.newFolder(), Runnable::run);
+    // Each entry is 12 header bytes plus the tile data.
+    cache.setBudgets(0, 250);
+
+    for (int x = 0; x < 5; x++) {
+      cache.putOnDisk("overlay", x, 0, 1, tile(100));
+    }
+
+    assertEquals(224, cache.getDiskUsageBytes());
+    assertNull(cache.get("overlay", 0, 0, 1));
+    assertNotNull(cache.get("overlay", 4, 0, 1));
+  }
+
+  @Test
+  public void clearRemovesTilesFromMemoryAndDisk() throws IOException {
+    final TileCache cache = new TileCache(temporaryFolder.newFolder(), Runnable::run);
+    cache.setBudgets(TileCache.DEFAULT_MEMORY_CACHE_SIZE_BYTES, 1024);
+    cache.putInMemory("overlay", 0, 0, 0, tile(4));
+    cache.putOnDisk("overlay", 0, 0, 0, tile(4));
+    cache.putOnDisk("other", 0, 0, 0, tile(4));
+
+    cache.clear("overlay");
+
+    assertNull(cache.get("overlay", 0, 0, 0));
+    assertNotNull(cache.get("other", 0, 0, 0));
+    assertEquals(16, cache.getDiskUsageBytes());
+  }
+
+  @Test
+  public void clearDeletesFilesInTheBackground() throws IOException {
+    final List<Runnable> evictions = new ArrayList<>();
+    final File directory = temporaryFolder.newFolder();
+    final TileCache cache = new TileCache(directory, evictions::add);
+    cache.setBudgets(TileCache.DEFAULT_MEMORY_CACHE_SIZE_BYTES, 1024);
+    evictions.remove(0).run();
+    cache.putOnDisk("overlay", 0, 0, 0, tile(4));
+    final File file = new File(new File(directory, "overlay"), "0_0_0");
+
+    cache.clear("overlay");
+
+    assertTrue(file.exists());
+    // The overlay is not read from disk while its files are being deleted.
+    assertNull(cache.get("overlay", 0, 0, 0));
+    evictions.remove(0).run();
+    assertFalse(file.exists());
+    assertEquals(0, cache.getDiskUsageBytes());
+  }
+
+  @Test
+  public void tilesRequestedBeforeClearAreNotCached() throws IOException {
+    final TileCache cache = new TileCache(temporaryFolder.newFolder(), Runnable::run);
+    cache.setBudgets(TileCache.DEFAULT_MEMORY_CACHE_SIZE_BYTES, 1024);
+    final int generation = cache.getGeneration("overlay");
+
+    cache.clear("overlay");
+    cache.putInMemory("overlay", 0, 0, 0, tile(4), generation);
+    cache.putOnDisk("overlay", 0, 0, 0, tile(4), generation);
+
+    assertNull(cache.get("overlay", 0, 0, 0));
+    assertEquals(0, cache.getDiskUsageBytes());
+    cache.putOnDisk("overlay", 0, 0, 0, tile(4), cache.getGeneration("overlay"));
+    assertNotNull(cache.get("overlay", 0, 0, 0));
+  }
+
+  @Test
+  public void mapsShareTheDiskCacheAndItsBudget() throws IOException {
+    final File directory = temporaryFolder.newFolder();
+    final TileCache firstMap = new TileCache(directory, Runnable::run);
+    final TileCache secondMap = new TileCache(directory, Runnable::run);
+    firstMap.setBudgets(TileCache.DEFAULT_MEMORY_CACHE_SIZE_BYTES, 250);
+    secondMap.setBudgets(TileCache.DEFAULT_MEMORY_CACHE_SIZE_BYTES, 250);
+
+    firstMap.putOnDisk("overlay", 0, 0, 1, tile(100));
+    firstMap.putOnDisk("overlay", 1, 0, 1, tile(100));
+    secondMap.putOnDisk("overlay", 2, 0, 1, tile(100));
+
+    // Each entry is 12 header bytes plus the tile data, so only two fit in the shared budget.
+    assertEquals(224, firstMap.getDiskUsageBytes());
+    assertEquals(224, secondMap.getDiskUsageBytes());
+    assertNull(secondMap.get("overlay", 0, 0, 1));
+    assertNotNull(secondMap.get("overlay", 1, 0, 1));
+    assertNotNull(firstMap.get("overlay", 2, 0, 1));
+  }
+
+  @Test
+  public void mapsHaveTheirOwnMemoryCache() throws IOException {
+    final File directory = temporaryFolder.newFolder();
+    final TileCache firstMap = new TileCache(directory, Runnable::run);
+    final TileCache secondMap = new TileCache(directory, Runnable::run);
+
+    firstMap.putInMemory("overlay", 0, 0, 0, tile(4));
+
+    assertNotNull(firstMap.getFromMemory("overlay", 0, 0, 0));
+    assertNull(secondMap.getFromMemory("overlay", 0, 0, 0));
+  }
+}
@@ -0,0 +1,130 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.googlemaps;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.os.Build;
+import android.os.Looper;
+import com.google.android.gms.maps.model.Tile;
+import com.google.android.gms.maps.model.TileProvider;
+import io.flutter.plugins.googlemaps.Messages.MapsCallbackApi;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = Build.VERSION_CODES.P)
+public class TileProviderControllerTest {
+  private MapsCallbackApi flutterApi;
+  private TileCache tileCache;
+  private TileProviderController controller;
+
+  @Before
+  public void setUp() {
+    flutterApi = mock(MapsCallbackApi.class);
+    tileCache = new TileCache(null);
+    controller = new TileProviderController(flutterApi, "overlay", tileCache);
+  }
+
+  @SuppressWarnings("unchecked")
+  private Messages.Result<Messages.PlatformTile> captureTileRequest() {
+    final ArgumentCaptor<Messages.Result<Messages.PlatformTile>> resultCaptor =
+        ArgumentCaptor.forClass(Messages.Result.class);
+    verify(flutterApi)
+        .getTileOverlayTile(eq("overlay"), any(), anyLong(), resultCaptor.capture());
+    return resultCaptor.getValue();
+  }
+
+  private static Messages.PlatformTile platformTile(byte[] data) {
+    return new Messages.PlatformTile.Builder().setWidth(1L).setHeight(1L).setData(data).build();
+  }
+
+  @Test
+  public void getTileReturnsCachedTileWithoutCallingDart() {
+    final Tile tile = new Tile(1, 1, new byte[] {7});
+    tileCache.putInMemory("overlay", 1, 2, 3, tile);
+
+    assertEquals(tile, controller.getTile(1, 2, 3));
+    shadowOf(Looper.getMainLooper()).idle();
+    verify(flutterApi, never()).getTileOverlayTile(any(), any(), anyLong(), any());
+  }
+
+  @Test
+  public void getTileCoalescesRequestsForTheSameTile() throws InterruptedException {
+    controller.prefetchTile(1, 2, 3);
+    final AtomicReference<Tile> waitingResult = new AtomicReference<>();
+    final Thread waitingThread = new Thread(() -> waitingResult.set(controller.getTile(1, 2, 3)));
+    waitingThread.start();
+
+    shadowOf(Looper.getMainLooper()).idle();
+    captureTileRequest().success(platformTile(new byte[] {1, 2}));
+    waitingThread.join();
+
+    assertNotNull(waitingResult.get());
+    assertArrayEquals(new byte[] {1, 2}, waitingResult.get().data);
+    // Later requests are served from the cache.
+    assertArrayEquals(new byte[] {1, 2}, controller.getTile(1, 2, 3).data);
+    shadowOf(Looper.getMainLooper()).idle();
+    verify(flutterApi, times(1)).getTileOverlayTile(any(), any(), anyLong(), any());
+  }
+
+  @Test
+  public void getTileReturnsNullWhenDartTimesOut() {
+    controller.setTileRequestTimeoutMillis(10);
+
+    // The request is never answered because the main looper is not run.
+    assertNull(controller.getTile(1, 2, 3));
+  }
+
+  @Test
+  public void getTileAsksDartAgainAfterATimeout() {
+    controller.setTileRequestTimeoutMillis(10);
+    assertNull(controller.getTile(1, 2, 3));
+
+    assertNull(controller.getTile(1, 2, 3));
+
+    shadowOf(Looper.getMainLooper()).idle();
+    verify(flutterApi, times(2)).getTileOverlayTile(any(), any(), anyLong(), any());
+  }
+
+  @Test
+  public void getTileReturnsNoTileOnError() throws InterruptedException {
+    doAnswer(
+            invocation -> {
+              final Messages.Result<Messages.PlatformTile> result = invocation.getArgument(3);
+              result.error(new Messages.FlutterError("code", "message", null));
+              return null;
+            })
+        .when(flutterApi)
+        .getTileOverlayTile(any(), any(), anyLong(), any());
+    final AtomicReference<Tile> waitingResult = new AtomicReference<>();
+    final Thread waitingThread = new Thread(() -> waitingResult.set(controller.getTile(0, 0, 0)));
+    waitingThread.start();
+
+    while (waitingThread.isAlive()) {
+      shadowOf(Looper.getMainLooper()).idle();
+      waitingThread.join(1);
+    }
+
+    assertEquals(TileProvider.NO_TILE, waitingResult.get());
+  }
+}
@@ -24,6 +24,172 @@ MapsApi _productionApiProvider(int mapId) {
   return MapsApi(messageChannelSuffix: mapId.toString());
 }
 
+/// Configuration of the native cache in front of the [TileProvider]s of a map.
+///
+/// Tiles returned by a [TileProvider] are cached by the tile overlay ID and the
+/// tile coordinates, so overlays whose content changes must call
+/// `clearTileCache`. When [diskCacheSizeBytes] is set, tiles persist across
+/// map instances and app launches, and the on-disk cache is shared by all the
+/// maps of the app. The tile overlay ID must then identify the tile content,
+/// including across maps shown at the same time.
+@immutable
+class AndroidTileCacheConfiguration {
+  /// Creates a tile cache configuration.
+  const AndroidTileCacheConfiguration({
+    this.memoryCacheSizeBytes = 4 * 1024 * 1024,
+    this.diskCacheSizeBytes = 0,
+    this.tileRequestTimeout = const Duration(seconds: 10),
+    this.prefetchNeighborTiles = false,
+  });
+
+  /// The maximum size of the in-memory cache shared by a map's tile
+  /// overlays, or 0 to disable it.
+  final int memoryCacheSizeBytes;
+
+  /// The maximum size of the on-disk cache shared by all maps, or 0 to disable
+  /// it.
+  ///
+  /// The budget configured last applies to all maps. Setting it to 0 deletes
+  /// previously cached tiles.
+  final int diskCacheSizeBytes;
+
+  /// How long the map waits for a [TileProvider] before giving up on a tile
+  /// and requesting it again later.
+  ///
+  /// [Duration.zero] waits indefinitely.
+  final Duration tileRequestTimeout;
+
+  /// Whether to request the tiles surrounding the visible region each time the
+  /// camera becomes idle, so they are cached before the map is panned.
+  final bool prefetchNeighborTiles;
+}
+
+/// The algorithm used to group the markers of a [ClusterManager] into
+/// clusters.
+enum AndroidClusterAlgorithm {
+  /// Groups markers that are close to each other on screen.
+  ///
+  /// This is the algorithm used by default.
+  distanceBased,
+
+  /// Groups markers by the cell of a square grid they fall into.
+  ///
+  /// It is cheaper to compute than [distanceBased] for large numbers of
+  /// markers, but clusters follow the cell boundaries.
+  grid,
+}
+
+/// Configuration of the clustering of the markers of a map's
+/// [ClusterManager]s.
+@immutable
+class AndroidClusteringConfiguration {
+  /// Creates a clustering configuration.
+  const AndroidClusteringConfiguration({
+    this.algorithm = AndroidClusterAlgorithm.distanceBased,
+    this.maxDistanceBetweenClusteredItems = 100,
+  });
+
+  /// The algorithm used to compute the clusters.
+  final AndroidClusterAlgorithm algorithm;
+
+  /// The maximum distance between the markers of a cluster in logical pixels,
+  /// or the size of a grid cell for [AndroidClusterAlgorithm.grid].
+  final int maxDistanceBetweenClusteredItems;
+}
+
+/// Configuration of the level of detail of a map's [Polyline]s.
+///
+/// Polylines with at least [minPointCount] points are drawn simplified to
+/// the current zoom level, which keeps panning and zooming smooth with
+/// polylines of hundreds of thousands of points. The simplifications are
+/// computed in the background and swapped in each time the camera becomes
+/// idle, so the full polyline is drawn until they are ready.
+@immutable
+class AndroidPolylineLevelOfDetailConfiguration {
+  /// Creates a polyline level of detail configuration.
+  const AndroidPolylineLevelOfDetailConfiguration({
+    this.tolerance = 1.0,
+    this.minPointCount = 1000,
+    this.memoryCacheSizeBytes = 4 * 1024 * 1024,
+  });
+
+  /// The maximum distance, in logical pixels, between a polyline and its
+  /// simplification.
+  final double tolerance;
+
+  /// The number of points from which polylines are simplified.
+  final int minPointCount;
+
+  /// The maximum size of the in-memory cache of simplified polylines.
+  final int memoryCacheSizeBytes;
+}
+
+/// Configuration of the camera move events of a map.
+///
+/// Applies when camera moves are tracked. Only the latest camera position is
+/// sent per frame, and positions that moved less than the minimum deltas
+/// since the last sent one are skipped. The final position is always sent
+/// before the camera becomes idle.
+@immutable
+class AndroidCameraMoveThrottlingConfiguration {
+  /// Creates a camera move throttling configuration.
+  const AndroidCameraMoveThrottlingConfiguration({
+    this.maxEventsPerSecond = 30,
+    this.minZoomDelta = 0,
+    this.minLatLngDelta = 0,
+  });
+
+  /// The maximum number of camera move events per second, or 0 to send one
+  /// per frame.
+  final int maxEventsPerSecond;
+
+  /// The zoom change from which a camera move is sent.
+  final double minZoomDelta;
+
+  /// The latitude or longitude change, in degrees, from which a camera move
+  /// is sent.
+  final double minLatLngDelta;
+}
+
+/// The image format of a map snapshot.
+enum AndroidSnapshotFormat {
+  /// Lossless PNG, the format of [GoogleMapsFlutterAndroid.takeSnapshot].
+  png,
+
+  /// Lossy JPEG.
+  jpeg,
+
+  /// Lossy WebP.
+  webp,
+}
+
+/// Options for encoding a map snapshot.
+@immutable
+class AndroidSnapshotOptions {
+  /// Creates snapshot options.
+  const AndroidSnapshotOptions({
+    this.format = AndroidSnapshotFormat.png,
+    this.quality = 100,
+    this.scale = 1.0,
+    this.region,
+  })  : assert(quality >= 0 && quality <= 100),
+        assert(scale > 0 && scale <= 1);
+
+  /// The image format.
+  final AndroidSnapshotFormat format;
+
+  /// The compression quality from 0 to 100, ignored for
+  /// [AndroidSnapshotFormat.png].
+  final int quality;
+
+  /// The factor applied to the size of the image, to downscale it.
+  final double scale;
+
+  /// The part of the map to capture, in logical pixels relative to the map,
+  /// or null to capture the whole map.
+  final Rect? region;
+}
+
 /// Error thrown when an unknown map ID is provided to a method channel API.
 class UnknownMapIDError extends Error {
   /// Creates an assertion error with the provided [mapId] and optional
@@ -125,9 +291,47 @@ class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
   }
 
   @override
-  Future<void> init(int mapId) {
+  Future<void> init(int mapId) async {
     ensureHandlerInitialized(mapId);
     final MapsApi hostApi = ensureApiInitialized(mapId);
+    final AndroidTileCacheConfiguration? tileCacheConfiguration =
+        this.tileCacheConfiguration;
+    if (tileCacheConfiguration != null) {
+      await hostApi.configureTileCache(
+        tileCacheConfiguration.memoryCacheSizeBytes,
+        tileCacheConfiguration.diskCacheSizeBytes,
+        tileCacheConfiguration.tileRequestTimeout.inMilliseconds,
+        tileCacheConfiguration.prefetchNeighborTiles,
+      );
+    }
+    final AndroidClusteringConfiguration? clusteringConfiguration =
+        this.clusteringConfiguration;
+    if (clusteringConfiguration != null) {
+      await hostApi.configureClustering(
+        clusteringConfiguration.algorithm == AndroidClusterAlgorithm.grid,
+        clusteringConfiguration.maxDistanceBetweenClusteredItems,
+      );
+    }
+    final AndroidPolylineLevelOfDetailConfiguration?
+        polylineLevelOfDetailConfiguration =
+        this.polylineLevelOfDetailConfiguration;
+    if (polylineLevelOfDetailConfiguration != null) {
+      await hostApi.configurePolylineLevelOfDetail(
+        polylineLevelOfDetailConfiguration.tolerance,
+        polylineLevelOfDetailConfiguration.minPointCount,
+        polylineLevelOfDetailConfiguration.memoryCacheSizeBytes,
+      );
+    }
+    final AndroidCameraMoveThrottlingConfiguration?
+        cameraMoveThrottlingConfiguration =
+        this.cameraMoveThrottlingConfiguration;
+    if (cameraMoveThrottlingConfiguration != null) {
+      await hostApi.configureCameraMoveThrottling(
+        cameraMoveThrottlingConfiguration.maxEventsPerSecond,
+        cameraMoveThrottlingConfiguration.minZoomDelta,
+        cameraMoveThrottlingConfiguration.minLatLngDelta,
+      );
+    }
     return hostApi.waitForMap();
   }
 
@@ -449,6 +653,54 @@ class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
     return _hostApi(mapId).takeSnapshot();
   }
 
+  /// Returns the number of camera moves of the map that were not sent because
+  /// of [cameraMoveThrottlingConfiguration], to help tune it.
+  Future<int> getSuppressedCameraMoveEventCount({required int mapId}) {
+    return _hostApi(mapId).getSuppressedCameraMoveEventCount();
+  }
+
+  /// Takes a snapshot of the map and returns it encoded with [options].
+  ///
+  /// Unlike [takeSnapshot], the image can be cropped, downscaled and
+  /// compressed with a lossy format, which makes it smaller to transfer.
+  Future<Uint8List?> takeSnapshotWithOptions({
+    required int mapId,
+    AndroidSnapshotOptions options = const AndroidSnapshotOptions(),
+  }) {
+    return _takeSnapshotWithOptions(mapId, options, null);
+  }
+
+  /// Takes a snapshot of the map and writes it, encoded with [options], to
+  /// the file at [path].
+  ///
+  /// The image data is not sent back to Dart, which avoids copying large
+  /// snapshots that are only meant to be saved or shared.
+  Future<void> takeSnapshotToFile({
+    required int mapId,
+    required String path,
+    AndroidSnapshotOptions options = const AndroidSnapshotOptions(),
+  }) async {
+    await _takeSnapshotWithOptions(mapId, options, path);
+  }
+
+  Future<Uint8List?> _takeSnapshotWithOptions(
+    int mapId,
+    AndroidSnapshotOptions options,
+    String? filePath,
+  ) {
+    final Rect? region = options.region;
+    return _hostApi(mapId).takeSnapshotWithOptions(
+      options.format.index,
+      options.quality,
+      options.scale,
+      region == null
+          ? null
+          : Float64List.fromList(
+              <double>[region.left, region.top, region.width, region.height]),
+      filePath,
+    );
+  }
+
   @override
   Future<String?> getStyleError({required int mapId}) async {
     return (await _hostApi(mapId).didLastStyleSucceed())
@@ -465,6 +717,30 @@ class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
   /// Currently defaults to false, but the default is subject to change.
   bool useAndroidViewSurface = false;
 
+  /// Configures the native cache that sits in front of [TileProvider]s.
+  ///
+  /// Applies to maps initialized after it is set. If null, tiles are cached
+  /// in memory with the default budget of [AndroidTileCacheConfiguration].
+  AndroidTileCacheConfiguration? tileCacheConfiguration;
+
+  /// Configures how the markers of [ClusterManager]s are grouped into clusters.
+  ///
+  /// Applies to maps initialized after it is set. If null, the default of
+  /// [AndroidClusteringConfiguration] is used.
+  AndroidClusteringConfiguration? clusteringConfiguration;
+
+  /// Configures the simplification of [Polyline]s with many points.
+  ///
+  /// Applies to maps initialized after it is set. If null, polylines are
+  /// always drawn with all their points.
+  AndroidPolylineLevelOfDetailConfiguration? polylineLevelOfDetailConfiguration;
+
+  /// Configures the throttling of camera move events.
+  ///
+  /// Applies to maps initialized after it is set. If null, an event is sent
+  /// for every camera move reported by the map.
+  AndroidCameraMoveThrottlingConfiguration? cameraMoveThrottlingConfiguration;
+
   /// Requests Google Map Renderer with [AndroidMapRenderer] type.
   ///
   /// See https://pub.dev/packages/google_maps_flutter_android#map-renderer
@@ -710,7 +986,33 @@ class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
   }
 
   static PlatformHeatmap _platformHeatmapFromHeatmap(Heatmap heatmap) {
-    return PlatformHeatmap(json: serializeHeatmap(heatmap));
+    return PlatformHeatmap(
+      json: serializeHeatmap(heatmap, includeData: false),
+      packedWeightedData: _packedWeightedDataFromHeatmap(heatmap),
+    );
+  }
+
+  /// Packs [points] as latitude and longitude pairs, which are sent to the
+  /// platform as a single typed array instead of an object per point.
+  static Float64List _packedPointsFromLatLngs(List<LatLng> points) {
+    final Float64List packedPoints = Float64List(points.length * 2);
+    for (int i = 0; i < points.length; i++) {
+      packedPoints[i * 2] = points[i].latitude;
+      packedPoints[i * 2 + 1] = points[i].longitude;
+    }
+    return packedPoints;
+  }
+
+  /// Packs the data of [heatmap] as latitude, longitude and weight triples.
+  static Float64List _packedWeightedDataFromHeatmap(Heatmap heatmap) {
+    final List<WeightedLatLng> data = heatmap.data;
+    final Float64List packedData = Float64List(data.length * 3);
+    for (int i = 0; i < data.length; i++) {
+      packedData[i * 3] = data[i].point.latitude;
+      packedData[i * 3 + 1] = data[i].point.longitude;
+      packedData[i * 3 + 2] = data[i].weight;
+    }
+    return packedData;
   }
 
   static PlatformClusterManager _platformClusterManagerFromClusterManager(
@@ -746,8 +1048,6 @@ class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
   }
 
   static PlatformPolygon _platformPolygonFromPolygon(Polygon polygon) {
-    final List<PlatformLatLng?> points =
-        polygon.points.map(_platformLatLngFromLatLng).toList();
     final List<List<PlatformLatLng?>?> holes =
         polygon.holes.map((List<LatLng> hole) {
       return hole.map(_platformLatLngFromLatLng).toList();
@@ -757,7 +1057,8 @@ class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
       fillColor: polygon.fillColor.value,
       geodesic: polygon.geodesic,
       consumesTapEvents: polygon.consumeTapEvents,
-      points: points,
+      points: <PlatformLatLng?>[],
+      packedPoints: _packedPointsFromLatLngs(polygon.points),
       holes: holes,
       strokeColor: polygon.strokeColor.value,
       strokeWidth: polygon.strokeWidth,
@@ -767,8 +1068,6 @@ class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
   }
 
   static PlatformPolyline _platformPolylineFromPolyline(Polyline polyline) {
-    final List<PlatformLatLng?> points =
-        polyline.points.map(_platformLatLngFromLatLng).toList();
     final List<PlatformPatternItem?> pattern =
         polyline.patterns.map(platformPatternItemFromPatternItem).toList();
     return PlatformPolyline(
@@ -781,7 +1080,8 @@ class GoogleMapsFlutterAndroid extends GoogleMapsFlutterPlatform {
       visible: polyline.visible,
       width: polyline.width,
       zIndex: polyline.zIndex,
-      points: points,
+      points: <PlatformLatLng?>[],
+      packedPoints: _packedPointsFromLatLngs(polyline.points),
       jointType: platformJointTypeFromJointType(polyline.jointType),
       patterns: pattern,
     );
@@ -384,6 +384,7 @@ class PlatformCircle {
 class PlatformHeatmap {
   PlatformHeatmap({
     required this.json,
+    this.packedWeightedData,
   });
 
   /// The heatmap data, as JSON. This should only be set from
@@ -391,9 +392,14 @@ class PlatformHeatmap {
   /// internal implementation details of that method.
   Map<String?, Object?> json;
 
+  /// The weighted points of the heatmap, packed as latitude, longitude and
+  /// weight triples. When set, [json] has no data.
+  Float64List? packedWeightedData;
+
   Object encode() {
     return <Object?>[
       json,
+      packedWeightedData,
     ];
   }
 
@@ -401,6 +407,7 @@ class PlatformHeatmap {
     result as List<Object?>;
     return PlatformHeatmap(
       json: (result[0] as Map<Object?, Object?>?)!.cast<String?, Object?>(),
+      packedWeightedData: result[1] as Float64List?,
     );
   }
 }
@@ -582,6 +589,7 @@ class PlatformPolygon {
     required this.strokeColor,
     required this.strokeWidth,
     required this.zIndex,
+    this.packedPoints,
   });
 
   String polygonId;
@@ -604,6 +612,10 @@ class PlatformPolygon {
 
   int zIndex;
 
+  /// The points of the polygon, packed as latitude and longitude pairs. When
+  /// set, [points] is empty.
+  Float64List? packedPoints;
+
   Object encode() {
     return <Object?>[
       polygonId,
@@ -616,6 +628,7 @@ class PlatformPolygon {
       strokeColor,
       strokeWidth,
       zIndex,
+      packedPoints,
     ];
   }
 
@@ -632,6 +645,7 @@ class PlatformPolygon {
       strokeColor: result[7]! as int,
       strokeWidth: result[8]! as int,
       zIndex: result[9]! as int,
+      packedPoints: result[10] as Float64List?,
     );
   }
 }
@@ -651,6 +665,7 @@ class PlatformPolyline {
     required this.visible,
     required this.width,
     required this.zIndex,
+    this.packedPoints,
   });
 
   String polylineId;
@@ -680,6 +695,10 @@ class PlatformPolyline {
 
   int zIndex;
 
+  /// The points of the polyline, packed as latitude and longitude pairs. When
+  /// set, [points] is empty.
+  Float64List? packedPoints;
+
   Object encode() {
     return <Object?>[
       polylineId,
@@ -694,6 +713,7 @@ class PlatformPolyline {
       visible,
       width,
       zIndex,
+      packedPoints,
     ];
   }
 
@@ -712,6 +732,7 @@ class PlatformPolyline {
       visible: result[9]! as bool,
       width: result[10]! as int,
       zIndex: result[11]! as int,
+      packedPoints: result[12] as Float64List?,
     );
   }
 }
@@ -2046,6 +2067,152 @@ class MapsApi {
     }
   }
 
+  /// Configures the native cache in front of the map's tile providers.
+  Future<void> configureTileCache(
+      int memoryCacheSizeBytes,
+      int diskCacheSizeBytes,
+      int tileRequestTimeoutMilliseconds,
+      bool prefetchNeighborTiles) async {
+    final String pigeonVar_channelName =
+        'dev.flutter.pigeon.google_maps_flutter_android.MapsApi.configureTileCache$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel =
+        BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(<Object?>[
+      memoryCacheSizeBytes,
+      diskCacheSizeBytes,
+      tileRequestTimeoutMilliseconds,
+      prefetchNeighborTiles
+    ]) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  /// Configures the algorithm used by the map's cluster managers.
+  Future<void> configureClustering(
+      bool useGridAlgorithm, int maxDistanceBetweenClusteredItems) async {
+    final String pigeonVar_channelName =
+        'dev.flutter.pigeon.google_maps_flutter_android.MapsApi.configureClustering$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel =
+        BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList = await pigeonVar_channel
+            .send(<Object?>[useGridAlgorithm, maxDistanceBetweenClusteredItems])
+        as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  /// Configures the simplification of polylines with many points.
+  Future<void> configurePolylineLevelOfDetail(
+      double toleranceDp, int minPointCount, int memoryCacheSizeBytes) async {
+    final String pigeonVar_channelName =
+        'dev.flutter.pigeon.google_maps_flutter_android.MapsApi.configurePolylineLevelOfDetail$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel =
+        BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList = await pigeonVar_channel.send(
+            <Object?>[toleranceDp, minPointCount, memoryCacheSizeBytes])
+        as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  /// Configures the throttling of camera move events.
+  Future<void> configureCameraMoveThrottling(
+      int maxEventsPerSecond, double minZoomDelta, double minLatLngDelta) async {
+    final String pigeonVar_channelName =
+        'dev.flutter.pigeon.google_maps_flutter_android.MapsApi.configureCameraMoveThrottling$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel =
+        BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList = await pigeonVar_channel.send(
+            <Object?>[maxEventsPerSecond, minZoomDelta, minLatLngDelta])
+        as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  /// Returns the number of camera moves that were not sent because of
+  /// throttling.
+  Future<int> getSuppressedCameraMoveEventCount() async {
+    final String pigeonVar_channelName =
+        'dev.flutter.pigeon.google_maps_flutter_android.MapsApi.getSuppressedCameraMoveEventCount$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel =
+        BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList =
+        await pigeonVar_channel.send(null) as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else if (pigeonVar_replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (pigeonVar_replyList[0] as int?)!;
+    }
+  }
+
   /// Takes a snapshot of the map and returns its image data.
   Future<Uint8List> takeSnapshot() async {
     final String pigeonVar_channelName =
@@ -2075,6 +2242,38 @@ class MapsApi {
       return (pigeonVar_replyList[0] as Uint8List?)!;
     }
   }
+
+  /// Takes a snapshot of the map and encodes it with the given options.
+  ///
+  /// [format] is 0 for PNG, 1 for JPEG and 2 for WebP. [region] is the left,
+  /// top, width and height of the part of the map to capture, in logical
+  /// pixels. If [filePath] is set, the image is written to that file and null
+  /// is returned, otherwise the image data is returned.
+  Future<Uint8List?> takeSnapshotWithOptions(int format, int quality,
+      double scale, Float64List? region, String? filePath) async {
+    final String pigeonVar_channelName =
+        'dev.flutter.pigeon.google_maps_flutter_android.MapsApi.takeSnapshotWithOptions$pigeonVar_messageChannelSuffix';
+    final BasicMessageChannel<Object?> pigeonVar_channel =
+        BasicMessageChannel<Object?>(
+      pigeonVar_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: pigeonVar_binaryMessenger,
+    );
+    final List<Object?>? pigeonVar_replyList = await pigeonVar_channel.send(
+            <Object?>[format, quality, scale, region, filePath])
+        as List<Object?>?;
+    if (pigeonVar_replyList == null) {
+      throw _createConnectionError(pigeonVar_channelName);
+    } else if (pigeonVar_replyList.length > 1) {
+      throw PlatformException(
+        code: pigeonVar_replyList[0]! as String,
+        message: pigeonVar_replyList[1] as String?,
+        details: pigeonVar_replyList[2],
+      );
+    } else {
+      return (pigeonVar_replyList[0] as Uint8List?);
+    }
+  }
 }
 
 abstract class MapsCallbackApi {
@@ -130,7 +130,7 @@ class PlatformCircle {
 
 /// Pigeon equivalent of the Heatmap class.
 class PlatformHeatmap {
-  PlatformHeatmap(this.json);
+  PlatformHeatmap(this.json, {this.packedWeightedData});
 
   /// The heatmap data, as JSON. This should only be set from
   /// Heatmap.toJson, and the native code must interpret it according to the
@@ -138,6 +138,10 @@ class PlatformHeatmap {
   // TODO(stuartmorgan): Replace this with structured data. This exists only to
   //  allow incremental migration to Pigeon.
   final Map<String?, Object?> json;
+
+  /// The weighted points of the heatmap, packed as latitude, longitude and
+  /// weight triples. When set, [json] has no data.
+  final Float64List? packedWeightedData;
 }
 
 /// Pigeon equivalent of the ClusterManager class.
@@ -217,6 +221,7 @@ class PlatformPolygon {
     required this.strokeColor,
     required this.strokeWidth,
     required this.zIndex,
+    this.packedPoints,
   });
 
   final String polygonId;
@@ -229,6 +234,10 @@ class PlatformPolygon {
   final int strokeColor;
   final int strokeWidth;
   final int zIndex;
+
+  /// The points of the polygon, packed as latitude and longitude pairs. When
+  /// set, [points] is empty.
+  final Float64List? packedPoints;
 }
 
 /// Join types for polyline joints.
@@ -253,6 +262,7 @@ class PlatformPolyline {
     required this.visible,
     required this.width,
     required this.zIndex,
+    this.packedPoints,
   });
 
   final String polylineId;
@@ -274,6 +284,10 @@ class PlatformPolyline {
   final bool visible;
   final int width;
   final int zIndex;
+
+  /// The points of the polyline, packed as latitude and longitude pairs. When
+  /// set, [points] is empty.
+  final Float64List? packedPoints;
 }
 
 /// Enumeration of possible types for PatternItem.
@@ -594,9 +608,56 @@ abstract class MapsApi {
   /// Clears the cache of tiles previously requseted from the tile provider.
   void clearTileCache(String tileOverlayId);
 
+  /// Configures the native cache in front of the map's tile providers.
+  void configureTileCache(
+    int memoryCacheSizeBytes,
+    int diskCacheSizeBytes,
+    int tileRequestTimeoutMilliseconds,
+    bool prefetchNeighborTiles,
+  );
+
+  /// Configures the algorithm used by the map's cluster managers.
+  void configureClustering(
+    bool useGridAlgorithm,
+    int maxDistanceBetweenClusteredItems,
+  );
+
+  /// Configures the simplification of polylines with many points.
+  void configurePolylineLevelOfDetail(
+    double toleranceDp,
+    int minPointCount,
+    int memoryCacheSizeBytes,
+  );
+
+  /// Configures the throttling of camera move events.
+  void configureCameraMoveThrottling(
+    int maxEventsPerSecond,
+    double minZoomDelta,
+    double minLatLngDelta,
+  );
+
+  /// Returns the number of camera moves that were not sent because of
+  /// throttling.
+  int getSuppressedCameraMoveEventCount();
+
   /// Takes a snapshot of the map and returns its image data.
   @async
   Uint8List takeSnapshot();
+
+  /// Takes a snapshot of the map and encodes it with the given options.
+  ///
+  /// [format] is 0 for PNG, 1 for JPEG and 2 for WebP. [region] is the left,
+  /// top, width and height of the part of the map to capture, in logical
+  /// pixels. If [filePath] is set, the image is written to that file and null
+  /// is returned, otherwise the image data is returned.
+  @async
+  Uint8List? takeSnapshotWithOptions(
+    int format,
+    int quality,
+    double scale,
+    Float64List? region,
+    String? filePath,
+  );
 }
 
 @FlutterApi()
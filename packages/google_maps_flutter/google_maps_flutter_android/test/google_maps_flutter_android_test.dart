@@ -42,6 +42,122 @@ void main() {
     verify(api.waitForMap());
   });
 
+  test('init does not configure tile cache by default', () async {
+    final MockMapsApi api = MockMapsApi();
+    final GoogleMapsFlutterAndroid maps =
+        GoogleMapsFlutterAndroid(apiProvider: (_) => api);
+
+    await maps.init(1);
+
+    verifyNever(api.configureTileCache(any, any, any, any));
+  });
+
+  test('init configures tile cache before waiting for map', () async {
+    final MockMapsApi api = MockMapsApi();
+    final GoogleMapsFlutterAndroid maps =
+        GoogleMapsFlutterAndroid(apiProvider: (_) => api);
+    maps.tileCacheConfiguration = const AndroidTileCacheConfiguration(
+      memoryCacheSizeBytes: 1024,
+      diskCacheSizeBytes: 2048,
+      tileRequestTimeout: Duration(seconds: 3),
+      prefetchNeighborTiles: true,
+    );
+
+    await maps.init(1);
+
+    verifyInOrder(<Object>[
+      api.configureTileCache(1024, 2048, 3000, true),
+      api.waitForMap(),
+    ]);
+  });
+
+  test('init does not configure clustering by default', () async {
+    final MockMapsApi api = MockMapsApi();
+    final GoogleMapsFlutterAndroid maps =
+        GoogleMapsFlutterAndroid(apiProvider: (_) => api);
+
+    await maps.init(1);
+
+    verifyNever(api.configureClustering(any, any));
+  });
+
+  test('init configures clustering before waiting for map', () async {
+    final MockMapsApi api = MockMapsApi();
+    final GoogleMapsFlutterAndroid maps =
+        GoogleMapsFlutterAndroid(apiProvider: (_) => api);
+    maps.clusteringConfiguration = const AndroidClusteringConfiguration(
+      algorithm: AndroidClusterAlgorithm.grid,
+      maxDistanceBetweenClusteredItems: 50,
+    );
+
+    await maps.init(1);
+
+    verifyInOrder(<Object>[
+      api.configureClustering(true, 50),
+      api.waitForMap(),
+    ]);
+  });
+
+  test('init does not configure polyline level of detail by default', () async {
+    final MockMapsApi api = MockMapsApi();
+    final GoogleMapsFlutterAndroid maps =
+        GoogleMapsFlutterAndroid(apiProvider: (_) => api);
+
+    await maps.init(1);
+
+    verifyNever(api.configurePolylineLevelOfDetail(any, any, any));
+  });
+
+  test('init configures polyline level of detail before waiting for map',
+      () async {
+    final MockMapsApi api = MockMapsApi();
+    final GoogleMapsFlutterAndroid maps =
+        GoogleMapsFlutterAndroid(apiProvider: (_) => api);
+    maps.polylineLevelOfDetailConfiguration =
+        const AndroidPolylineLevelOfDetailConfiguration(
+      tolerance: 2.0,
+      minPointCount: 500,
+      memoryCacheSizeBytes: 1024,
+    );
+
+    await maps.init(1);
+
+    verifyInOrder(<Object>[
+      api.configurePolylineLevelOfDetail(2.0, 500, 1024),
+      api.waitForMap(),
+    ]);
+  });
+
+  test('init does not configure camera move throttling by default', () async {
+    final MockMapsApi api = MockMapsApi();
+    final GoogleMapsFlutterAndroid maps =
+        GoogleMapsFlutterAndroid(apiProvider: (_) => api);
+
+    await maps.init(1);
+
+    verifyNever(api.configureCameraMoveThrottling(any, any, any));
+  });
+
+  test('init configures camera move throttling before waiting for map',
+      () async {
+    final MockMapsApi api = MockMapsApi();
+    final GoogleMapsFlutterAndroid maps =
+        GoogleMapsFlutterAndroid(apiProvider: (_) => api);
+    maps.cameraMoveThrottlingConfiguration =
+        const AndroidCameraMoveThrottlingConfiguration(
+      maxEventsPerSecond: 10,
+      minZoomDelta: 0.1,
+      minLatLngDelta: 0.001,
+    );
+
+    await maps.init(1);
+
+    verifyInOrder(<Object>[
+      api.configureCameraMoveThrottling(10, 0.1, 0.001),
+      api.waitForMap(),
+    ]);
+  });
+
   test('getScreenCoordinate converts and passes values correctly', () async {
     const int mapId = 1;
     final (GoogleMapsFlutterAndroid maps, MockMapsApi api) =
@@ -200,6 +316,52 @@ void main() {
     expect(await maps.takeSnapshot(mapId: mapId), fakeSnapshot);
   });
 
+  test('getSuppressedCameraMoveEventCount calls through', () async {
+    const int mapId = 1;
+    final (GoogleMapsFlutterAndroid maps, MockMapsApi api) =
+        setUpMockMap(mapId: mapId);
+
+    when(api.getSuppressedCameraMoveEventCount()).thenAnswer((_) async => 42);
+
+    expect(await maps.getSuppressedCameraMoveEventCount(mapId: mapId), 42);
+  });
+
+  test('takeSnapshotWithOptions passes options', () async {
+    const int mapId = 1;
+    final (GoogleMapsFlutterAndroid maps, MockMapsApi api) =
+        setUpMockMap(mapId: mapId);
+
+    final Uint8List fakeSnapshot = Uint8List(10);
+    when(api.takeSnapshotWithOptions(any, any, any, any, any))
+        .thenAnswer((_) async => fakeSnapshot);
+
+    expect(
+        await maps.takeSnapshotWithOptions(
+          mapId: mapId,
+          options: const AndroidSnapshotOptions(
+            format: AndroidSnapshotFormat.jpeg,
+            quality: 80,
+            scale: 0.5,
+            region: Rect.fromLTWH(10, 20, 100, 200),
+          ),
+        ),
+        fakeSnapshot);
+    final VerificationResult verification = verify(
+        api.takeSnapshotWithOptions(1, 80, 0.5, captureAny, null));
+    expect(verification.captured[0],
+        Float64List.fromList(<double>[10, 20, 100, 200]));
+  });
+
+  test('takeSnapshotToFile passes path', () async {
+    const int mapId = 1;
+    final (GoogleMapsFlutterAndroid maps, MockMapsApi api) =
+        setUpMockMap(mapId: mapId);
+
+    await maps.takeSnapshotToFile(mapId: mapId, path: '/tmp/snapshot.png');
+
+    verify(api.takeSnapshotWithOptions(0, 100, 1.0, null, '/tmp/snapshot.png'));
+  });
+
   test('clearTileCache calls through', () async {
     const int mapId = 1;
     final (GoogleMapsFlutterAndroid maps, MockMapsApi api) =
@@ -473,7 +635,9 @@ void main() {
     const Polygon object1 = Polygon(polygonId: PolygonId('1'));
     const Polygon object2old = Polygon(polygonId: PolygonId('2'));
     final Polygon object2new = object2old.copyWith(strokeWidthParam: 42);
-    const Polygon object3 = Polygon(polygonId: PolygonId('3'));
+    const Polygon object3 = Polygon(
+        polygonId: PolygonId('3'),
+        points: <LatLng>[LatLng(10, 20), LatLng(30, 40), LatLng(50, 60)]);
     await maps.updatePolygons(
         PolygonUpdates.from(
             <Polygon>{object1, object2old}, <Polygon>{object2new, object3}),
@@ -497,11 +661,13 @@ void main() {
         expected.fillColor.value,
         expected.geodesic,
       ]);
-      expect(actual.points.length, expected.points.length);
-      for (final (int i, PlatformLatLng? point) in actual.points.indexed) {
-        expect(point?.latitude, actual.points[i]?.latitude);
-        expect(point?.longitude, actual.points[i]?.longitude);
-      }
+      expect(actual.points, isEmpty);
+      expect(actual.packedPoints, <double>[
+        for (final LatLng point in expected.points) ...<double>[
+          point.latitude,
+          point.longitude,
+        ],
+      ]);
       expect(actual.holes.length, expected.holes.length);
       for (final (int i, List<PlatformLatLng?>? hole) in actual.holes.indexed) {
         final List<LatLng> expectedHole = expected.holes[i];
@@ -510,7 +676,7 @@ void main() {
           expect(point?.longitude, expectedHole[j].longitude);
         }
       }
-      expect(encoded.sublist(6), <Object>[
+      expect(encoded.sublist(6, 10), <Object>[
         expected.visible,
         expected.strokeColor.value,
         expected.strokeWidth,
@@ -534,7 +700,9 @@ void main() {
     const Polyline object1 = Polyline(polylineId: PolylineId('1'));
     const Polyline object2old = Polyline(polylineId: PolylineId('2'));
     final Polyline object2new = object2old.copyWith(widthParam: 42);
-    const Polyline object3 = Polyline(polylineId: PolylineId('3'));
+    const Polyline object3 = Polyline(
+        polylineId: PolylineId('3'),
+        points: <LatLng>[LatLng(10, 20), LatLng(30, 40)]);
     await maps.updatePolylines(
         PolylineUpdates.from(
             <Polyline>{object1, object2old}, <Polyline>{object2new, object3}),
@@ -556,16 +724,18 @@ void main() {
         expected.geodesic,
         platformJointTypeFromJointType(expected.jointType),
       ]);
-      expect(encoded.sublist(9), <Object?>[
+      expect(encoded.sublist(9, 12), <Object?>[
         expected.visible,
         expected.width,
         expected.zIndex,
       ]);
-      expect(actual.points.length, expected.points.length);
-      for (final (int i, PlatformLatLng? point) in actual.points.indexed) {
-        expect(point?.latitude, actual.points[i]?.latitude);
-        expect(point?.longitude, actual.points[i]?.longitude);
-      }
+      expect(actual.points, isEmpty);
+      expect(actual.packedPoints, <double>[
+        for (final LatLng point in expected.points) ...<double>[
+          point.latitude,
+          point.longitude,
+        ],
+      ]);
       expect(actual.patterns.length, expected.patterns.length);
       for (final (int i, PlatformPatternItem? pattern)
           in actual.patterns.indexed) {
@@ -585,6 +755,33 @@ void main() {
     expectPolyline(toAdd.first!, object3);
   });
 
+  test('updateHeatmaps packs weighted data', () async {
+    const int mapId = 1;
+    final (GoogleMapsFlutterAndroid maps, MockMapsApi api) =
+        setUpMockMap(mapId: mapId);
+
+    const Heatmap object1 = Heatmap(
+      heatmapId: HeatmapId('1'),
+      data: <WeightedLatLng>[
+        WeightedLatLng(LatLng(10, 20), weight: 2),
+        WeightedLatLng(LatLng(30, 40)),
+      ],
+      radius: HeatmapRadius.fromPixels(20),
+    );
+    await maps.updateHeatmaps(
+        HeatmapUpdates.from(const <Heatmap>{}, const <Heatmap>{object1}),
+        mapId: mapId);
+
+    final VerificationResult verification =
+        verify(api.updateHeatmaps(captureAny, captureAny, captureAny));
+    final List<PlatformHeatmap?> toAdd =
+        verification.captured[0] as List<PlatformHeatmap?>;
+    expect(toAdd.length, 1);
+    expect(toAdd.first!.packedWeightedData, <double>[10, 20, 2, 30, 40, 1]);
+    expect(toAdd.first!.json.containsKey('data'), isFalse);
+    expect(toAdd.first!.json['heatmapId'], '1');
+  });
+
   test('updateTileOverlays passes expected arguments', () async {
     const int mapId = 1;
     final (GoogleMapsFlutterAndroid maps, MockMapsApi api) =
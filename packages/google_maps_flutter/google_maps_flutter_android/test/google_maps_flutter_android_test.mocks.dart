@@ -378,6 +378,92 @@ class MockMapsApi extends _i1.Mock implements _i2.MapsApi {
         returnValueForMissingStub: _i3.Future<void>.value(),
       ) as _i3.Future<void>);
 
+  @override
+  _i3.Future<void> configureTileCache(
+    int? memoryCacheSizeBytes,
+    int? diskCacheSizeBytes,
+    int? tileRequestTimeoutMilliseconds,
+    bool? prefetchNeighborTiles,
+  ) =>
+      (super.noSuchMethod(
+        Invocation.method(
+          #configureTileCache,
+          [
+            memoryCacheSizeBytes,
+            diskCacheSizeBytes,
+            tileRequestTimeoutMilliseconds,
+            prefetchNeighborTiles,
+          ],
+        ),
+        returnValue: _i3.Future<void>.value(),
+        returnValueForMissingStub: _i3.Future<void>.value(),
+      ) as _i3.Future<void>);
+
+  @override
+  _i3.Future<void> configureClustering(
+    bool? useGridAlgorithm,
+    int? maxDistanceBetweenClusteredItems,
+  ) =>
+      (super.noSuchMethod(
+        Invocation.method(
+          #configureClustering,
+          [
+            useGridAlgorithm,
+            maxDistanceBetweenClusteredItems,
+          ],
+        ),
+        returnValue: _i3.Future<void>.value(),
+        returnValueForMissingStub: _i3.Future<void>.value(),
+      ) as _i3.Future<void>);
+
+  @override
+  _i3.Future<void> configurePolylineLevelOfDetail(
+    double? toleranceDp,
+    int? minPointCount,
+    int? memoryCacheSizeBytes,
+  ) =>
+      (super.noSuchMethod(
+        Invocation.method(
+          #configurePolylineLevelOfDetail,
+          [
+            toleranceDp,
+            minPointCount,
+            memoryCacheSizeBytes,
+          ],
+        ),
+        returnValue: _i3.Future<void>.value(),
+        returnValueForMissingStub: _i3.Future<void>.value(),
+      ) as _i3.Future<void>);
+
+  @override
+  _i3.Future<void> configureCameraMoveThrottling(
+    int? maxEventsPerSecond,
+    double? minZoomDelta,
+    double? minLatLngDelta,
+  ) =>
+      (super.noSuchMethod(
+        Invocation.method(
+          #configureCameraMoveThrottling,
+          [
+            maxEventsPerSecond,
+            minZoomDelta,
+            minLatLngDelta,
+          ],
+        ),
+        returnValue: _i3.Future<void>.value(),
+        returnValueForMissingStub: _i3.Future<void>.value(),
+      ) as _i3.Future<void>);
+
+  @override
+  _i3.Future<int> getSuppressedCameraMoveEventCount() => (super.noSuchMethod(
+        Invocation.method(
+          #getSuppressedCameraMoveEventCount,
+          [],
+        ),
+        returnValue: _i3.Future<int>.value(0),
+        returnValueForMissingStub: _i3.Future<int>.value(0),
+      ) as _i3.Future<int>);
+
   @override
   _i3.Future<_i4.Uint8List> takeSnapshot() => (super.noSuchMethod(
         Invocation.method(
@@ -388,4 +474,27 @@ class MockMapsApi extends _i1.Mock implements _i2.MapsApi {
         returnValueForMissingStub:
             _i3.Future<_i4.Uint8List>.value(_i4.Uint8List(0)),
       ) as _i3.Future<_i4.Uint8List>);
+
+  @override
+  _i3.Future<_i4.Uint8List?> takeSnapshotWithOptions(
+    int? format,
+    int? quality,
+    double? scale,
+    _i4.Float64List? region,
+    String? filePath,
+  ) =>
+      (super.noSuchMethod(
+        Invocation.method(
+          #takeSnapshotWithOptions,
+          [
+            format,
+            quality,
+            scale,
+            region,
+            filePath,
+          ],
+        ),
+        returnValue: _i3.Future<_i4.Uint8List?>.value(),
+        returnValueForMissingStub: _i3.Future<_i4.Uint8List?>.value(),
+      ) as _i3.Future<_i4.Uint8List?>);
 }
@@ -25,25 +25,36 @@ package io.flutter.plugins.imagepicker;
 
 import android.content.ContentResolver;
 import android.content.Context;
+import android.content.res.AssetFileDescriptor;
 import android.database.Cursor;
 import android.net.Uri;
 import android.provider.MediaStore;
 import android.webkit.MimeTypeMap;
 import io.flutter.Log;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStream;
+import java.nio.channels.FileChannel;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 class FileUtils {
+  /** The name of the cache subdirectory that holds the copies of picked files. */
+  static final String COPIES_DIRECTORY_NAME = "image_picker_copies";
+
+  /** How long copies of picked files are kept before {@link #deleteStaleCopies} removes them. */
+  static final long STALE_COPY_MAX_AGE_MILLIS = TimeUnit.HOURS.toMillis(24);
+
+  private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
   /**
    * Copies the file from the given content URI to a temporary directory, retaining the original
    * file name if possible.
    *
    * <p>Each file is placed in its own directory to avoid conflicts according to the following
-   * scheme: {cacheDir}/{randomUuid}/{fileName}
+   * scheme: {cacheDir}/image_picker_copies/{randomUuid}/{fileName}
    *
    * <p>File extension is changed to match MIME type of the file, if known. Otherwise, the extension
    * is left unchanged.
@@ -54,11 +65,8 @@ class FileUtils {
   String getPathFromUri(final Context context, final Uri uri) {
     try (InputStream inputStream = context.getContentResolver().openInputStream(uri)) {
       String uuid = UUID.randomUUID().toString();
-      File targetDirectory = new File(context.getCacheDir(), uuid);
-      targetDirectory.mkdir();
-      // TODO(SynSzakala) according to the docs, `deleteOnExit` does not work reliably on Android; we should preferably
-      //  just clear the picked files after the app startup.
-      targetDirectory.deleteOnExit();
+      File targetDirectory = new File(getCopiesDirectory(context), uuid);
+      targetDirectory.mkdirs();
       String fileName = getImageName(context, uri);
       String extension = getImageExtension(context, uri);
 
@@ -70,7 +78,7 @@ class FileUtils {
         fileName = getBaseName(fileName) + extension;
       }
       File file = new File(targetDirectory, fileName);
-      try (OutputStream outputStream = new FileOutputStream(file)) {
+      try (FileOutputStream outputStream = new FileOutputStream(file)) {
         copy(inputStream, outputStream);
         return file.getPath();
       }
@@ -89,6 +97,42 @@ class FileUtils {
     }
   }
 
+  /**
+   * Deletes the copies made by {@link #getPathFromUri} that are older than {@code maxAgeMillis}.
+   *
+   * <p>This replaces {@link File#deleteOnExit()}, which does not work reliably on Android since
+   * apps are usually killed rather than exited. Copies are kept for a while so that results
+   * retrieved after the activity was destroyed still point to existing files.
+   */
+  void deleteStaleCopies(final Context context, long maxAgeMillis) {
+    File[] directories = getCopiesDirectory(context).listFiles();
+    if (directories == null) {
+      return;
+    }
+    long cutoff = System.currentTimeMillis() - maxAgeMillis;
+    for (File directory : directories) {
+      if (directory.lastModified() < cutoff) {
+        deleteRecursively(directory);
+      }
+    }
+  }
+
+  private static File getCopiesDirectory(Context context) {
+    return new File(context.getCacheDir(), COPIES_DIRECTORY_NAME);
+  }
+
+  private static void deleteRecursively(File file) {
+    File[] children = file.listFiles();
+    if (children != null) {
+      for (File child : children) {
+        deleteRecursively(child);
+      }
+    }
+    if (!file.delete()) {
+      Log.w("FileUtils", "Cannot delete " + file);
+    }
+  }
+
   /** @return extension of image with dot, or null if it's empty. */
   private static String getImageExtension(Context context, Uri uriImage) {
     String extension;
@@ -127,8 +171,33 @@ class FileUtils {
         .query(uriImage, new String[] {MediaStore.MediaColumns.DISPLAY_NAME}, null, null, null);
   }
 
-  private static void copy(InputStream in, OutputStream out) throws IOException {
-    final byte[] buffer = new byte[4 * 1024];
+  private static void copy(InputStream in, FileOutputStream out) throws IOException {
+    // Streams backed by a plain file descriptor are copied by the kernel. Asset file descriptors
+    // are excluded since they may only cover a part of their file.
+    if (in instanceof FileInputStream
+        && !(in instanceof AssetFileDescriptor.AutoCloseInputStream)) {
+      FileChannel inChannel = ((FileInputStream) in).getChannel();
+      FileChannel outChannel = out.getChannel();
+      long size;
+      try {
+        size = inChannel.size() - inChannel.position();
+      } catch (IOException e) {
+        // Pipes and sockets have no size.
+        size = 0;
+      }
+      long position = 0;
+      while (position < size) {
+        long transferred = outChannel.transferFrom(inChannel, position, size - position);
+        if (transferred <= 0) {
+          break;
+        }
+        position += transferred;
+      }
+      // Copy whatever could not be transferred, e.g. if the file grew, with the stream below.
+      outChannel.position(position);
+    }
+
+    final byte[] buffer = new byte[COPY_BUFFER_SIZE];
     int bytesRead;
     while ((bytesRead = in.read(buffer)) != -1) {
       out.write(buffer, 0, bytesRead);
@@ -33,8 +33,11 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A delegate class doing the heavy lifting for the plugin.
@@ -86,6 +89,9 @@ public class ImagePickerDelegate
   @VisibleForTesting static final int REQUEST_CODE_TAKE_VIDEO_WITH_CAMERA = 2353;
   @VisibleForTesting static final int REQUEST_CAMERA_VIDEO_PERMISSION = 2355;
 
+  /** The default number of selected files that are copied to the cache directory concurrently. */
+  static final int DEFAULT_MAX_CONCURRENT_COPIES = 4;
+
   public enum CameraDevice {
     REAR,
     FRONT
@@ -117,6 +123,8 @@ public class ImagePickerDelegate
   private final FileUtils fileUtils;
   private final ExecutorService executor;
   private CameraDevice cameraDevice;
+  private volatile int maxConcurrentCopies = DEFAULT_MAX_CONCURRENT_COPIES;
+  private volatile @Nullable CopyProgressListener copyProgressListener;
 
   interface PermissionManager {
     boolean isPermissionGranted(String permissionName);
@@ -136,6 +144,17 @@ public class ImagePickerDelegate
     void onPathReady(String path);
   }
 
+  /** Receives progress updates while selected files are copied to the cache directory. */
+  interface CopyProgressListener {
+    /**
+     * Called on a background thread each time a selected file has been copied.
+     *
+     * @param copiedItems the number of files copied so far.
+     * @param totalItems the number of selected files.
+     */
+    void onItemCopied(int copiedItems, int totalItems);
+  }
+
   private Uri pendingCameraMediaUri;
   private @Nullable PendingCallState pendingCallState;
   private final Object pendingCallStateLock = new Object();
@@ -185,6 +204,8 @@ public class ImagePickerDelegate
         },
         new FileUtils(),
         Executors.newSingleThreadExecutor());
+    executor.execute(
+        () -> fileUtils.deleteStaleCopies(activity, FileUtils.STALE_COPY_MAX_AGE_MILLIS));
   }
 
   /**
@@ -221,6 +242,19 @@ public class ImagePickerDelegate
     cameraDevice = device;
   }
 
+  /**
+   * Sets the maximum number of selected files that are copied to the cache directory concurrently.
+   * Values lower than 1 restore the default.
+   */
+  void setMaxConcurrentCopies(int maxConcurrentCopies) {
+    this.maxConcurrentCopies =
+        maxConcurrentCopies < 1 ? DEFAULT_MAX_CONCURRENT_COPIES : maxConcurrentCopies;
+  }
+
+  void setCopyProgressListener(@Nullable CopyProgressListener copyProgressListener) {
+    this.copyProgressListener = copyProgressListener;
+  }
+
   // Save the state of the image picker so it can be retrieved with `retrieveLostImage`.
   void saveStateBeforeResult() {
     ImageSelectionOptions localImageOptions;
@@ -655,30 +689,102 @@ public class ImagePickerDelegate
         return null;
       }
 
-      for (int i = 0; i < data.getClipData().getItemCount(); i++) {
-        uri = data.getClipData().getItemAt(i).getUri();
+      ArrayList<Uri> uris = new ArrayList<>(clipData.getItemCount());
+      for (int i = 0; i < clipData.getItemCount(); i++) {
+        uri = clipData.getItemAt(i).getUri();
         // Same error state as above.
         if (uri == null) {
           return null;
         }
-        String path = fileUtils.getPathFromUri(activity, uri);
-        // Again, same error state as above.
-        if (path == null) {
-          return null;
-        }
-        String mimeType = includeMimeType ? activity.getContentResolver().getType(uri) : null;
-        paths.add(new MediaPath(path, mimeType));
+        uris.add(uri);
+      }
+      List<String> copiedPaths = copyToCache(uris);
+      // Again, same error state as above.
+      if (copiedPaths == null) {
+        return null;
+      }
+      for (int i = 0; i < uris.size(); i++) {
+        String mimeType =
+            includeMimeType ? activity.getContentResolver().getType(uris.get(i)) : null;
+        paths.add(new MediaPath(copiedPaths.get(i), mimeType));
       }
     } else {
       String path = fileUtils.getPathFromUri(activity, uri);
       if (path == null) {
         return null;
       }
+      reportItemCopied(copyProgressListener, 1, 1);
       paths.add(new MediaPath(path, null));
     }
     return paths;
   }
 
+  /**
+   * Copies the files of the given URIs to the cache directory, up to {@link #maxConcurrentCopies}
+   * at a time.
+   *
+   * @return the paths of the copies in the order of {@code uris}, or null if any copy failed.
+   */
+  @Nullable
+  private List<String> copyToCache(@NonNull List<Uri> uris) {
+    final int totalItems = uris.size();
+    final CopyProgressListener listener = copyProgressListener;
+    final int threadCount = Math.min(maxConcurrentCopies, totalItems);
+    if (threadCount <= 1) {
+      List<String> paths = new ArrayList<>(totalItems);
+      for (Uri uri : uris) {
+        String path = fileUtils.getPathFromUri(activity, uri);
+        if (path == null) {
+          return null;
+        }
+        paths.add(path);
+        reportItemCopied(listener, paths.size(), totalItems);
+      }
+      return paths;
+    }
+
+    final ExecutorService copyExecutor = Executors.newFixedThreadPool(threadCount);
+    final AtomicInteger copiedItems = new AtomicInteger();
+    try {
+      List<Future<String>> futures = new ArrayList<>(totalItems);
+      for (final Uri uri : uris) {
+        futures.add(
+            copyExecutor.submit(
+                () -> {
+                  String path = fileUtils.getPathFromUri(activity, uri);
+                  if (path != null) {
+                    reportItemCopied(listener, copiedItems.incrementAndGet(), totalItems);
+                  }
+                  return path;
+                }));
+      }
+      List<String> paths = new ArrayList<>(totalItems);
+      for (Future<String> future : futures) {
+        String path = future.get();
+        if (path == null) {
+          return null;
+        }
+        paths.add(path);
+      }
+      return paths;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    } catch (ExecutionException e) {
+      return null;
+    } finally {
+      // Stops the remaining copies if one failed; their files are removed by deleteStaleCopies.
+      copyExecutor.shutdownNow();
+    }
+  }
+
+  private static void reportItemCopied(
+      @Nullable CopyProgressListener listener, int copiedItems, int totalItems) {
+    if (listener != null) {
+      listener.onItemCopied(copiedItems, totalItems);
+    }
+  }
+
   private void handleChooseImageResult(int resultCode, Intent data) {
     if (resultCode == Activity.RESULT_OK && data != null) {
       ArrayList<MediaPath> paths = getPathsFromIntent(data, false);
@@ -7,6 +7,8 @@ package io.flutter.plugins.imagepicker;
 import android.app.Activity;
 import android.app.Application;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
@@ -22,12 +24,14 @@ import io.flutter.plugins.imagepicker.Messages.CacheRetrievalResult;
 import io.flutter.plugins.imagepicker.Messages.FlutterError;
 import io.flutter.plugins.imagepicker.Messages.GeneralOptions;
 import io.flutter.plugins.imagepicker.Messages.ImagePickerApi;
+import io.flutter.plugins.imagepicker.Messages.ImagePickerProgressApi;
 import io.flutter.plugins.imagepicker.Messages.ImageSelectionOptions;
 import io.flutter.plugins.imagepicker.Messages.MediaSelectionOptions;
 import io.flutter.plugins.imagepicker.Messages.Result;
 import io.flutter.plugins.imagepicker.Messages.SourceCamera;
 import io.flutter.plugins.imagepicker.Messages.SourceSpecification;
 import io.flutter.plugins.imagepicker.Messages.VideoSelectionOptions;
+import io.flutter.plugins.imagepicker.Messages.VoidResult;
 import java.util.List;
 
 @SuppressWarnings("deprecation")
@@ -123,6 +127,7 @@ public class ImagePickerPlugin implements FlutterPlugin, ActivityAware, ImagePic
       this.messenger = messenger;
 
       delegate = constructDelegate(activity);
+      delegate.setCopyProgressListener(createCopyProgressListener(messenger));
       ImagePickerApi.setUp(messenger, handler);
       observer = new LifeCycleObserver(activity);
 
@@ -167,6 +172,26 @@ public class ImagePickerPlugin implements FlutterPlugin, ActivityAware, ImagePic
       return activity;
     }
 
+    private ImagePickerDelegate.CopyProgressListener createCopyProgressListener(
+        final BinaryMessenger messenger) {
+      final ImagePickerProgressApi progressApi = new ImagePickerProgressApi(messenger);
+      final Handler mainHandler = new Handler(Looper.getMainLooper());
+      // Progress is optional for Dart, so a missing listener is not an error.
+      final VoidResult ignoreResult =
+          new VoidResult() {
+            @Override
+            public void success() {}
+
+            @Override
+            public void error(@NonNull Throwable error) {}
+          };
+      return (copiedItems, totalItems) ->
+          mainHandler.post(
+              () ->
+                  progressApi.onItemCopied(
+                      (long) copiedItems, (long) totalItems, ignoreResult));
+    }
+
     ImagePickerDelegate getDelegate() {
       return delegate;
     }
@@ -276,6 +301,13 @@ public class ImagePickerPlugin implements FlutterPlugin, ActivityAware, ImagePic
     }
   }
 
+  private void setMaxConcurrentCopies(
+      @NonNull ImagePickerDelegate delegate, @NonNull GeneralOptions generalOptions) {
+    Long maxConcurrentCopies = generalOptions.getMaxConcurrentCopies();
+    delegate.setMaxConcurrentCopies(
+        maxConcurrentCopies == null ? 0 : maxConcurrentCopies.intValue());
+  }
+
   @Override
   public void pickImages(
       @NonNull SourceSpecification source,
@@ -291,6 +323,7 @@ public class ImagePickerPlugin implements FlutterPlugin, ActivityAware, ImagePic
     }
 
     setCameraDevice(delegate, source);
+    setMaxConcurrentCopies(delegate, generalOptions);
     if (generalOptions.getAllowMultiple()) {
       int limit = ImagePickerUtils.getLimitFromOption(generalOptions);
 
@@ -320,6 +353,7 @@ public class ImagePickerPlugin implements FlutterPlugin, ActivityAware, ImagePic
               "no_activity", "image_picker plugin requires a foreground activity.", null));
       return;
     }
+    setMaxConcurrentCopies(delegate, generalOptions);
     delegate.chooseMediaFromGallery(mediaSelectionOptions, generalOptions, result);
   }
 
@@ -338,6 +372,7 @@ public class ImagePickerPlugin implements FlutterPlugin, ActivityAware, ImagePic
     }
 
     setCameraDevice(delegate, source);
+    setMaxConcurrentCopies(delegate, generalOptions);
     if (generalOptions.getAllowMultiple()) {
       result.error(new RuntimeException("Multi-video selection is not implemented"));
     } else {
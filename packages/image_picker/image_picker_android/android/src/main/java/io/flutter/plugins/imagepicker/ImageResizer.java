@@ -7,26 +7,46 @@ package io.flutter.plugins.imagepicker;
 import android.content.Context;
 import android.graphics.Bitmap;
 import android.graphics.BitmapFactory;
+import android.graphics.BitmapRegionDecoder;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
 import android.util.Log;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 import androidx.core.util.SizeFCompat;
 import androidx.exifinterface.media.ExifInterface;
-import java.io.ByteArrayOutputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 
 class ImageResizer {
+  private static final String TAG = "ImageResizer";
+  // ARGB_8888, the default decoding configuration.
+  private static final int BYTES_PER_PIXEL = 4;
+
   private final Context context;
   private final ExifDataCopier exifDataCopier;
+  private long memoryBudgetBytes = Runtime.getRuntime().maxMemory() / 4;
 
   ImageResizer(final @NonNull Context context, final @NonNull ExifDataCopier exifDataCopier) {
     this.context = context;
     this.exifDataCopier = exifDataCopier;
   }
 
+  /**
+   * Sets how many bytes of bitmap memory a resize may use at once. Defaults to a quarter of the
+   * maximum heap size.
+   */
+  @VisibleForTesting
+  void setMemoryBudgetBytes(long memoryBudgetBytes) {
+    this.memoryBudgetBytes = memoryBudgetBytes;
+  }
+
   /**
    * If necessary, resizes the image located in imagePath and then returns the path for the scaled
    * image.
@@ -52,20 +72,68 @@ class ImageResizer {
               (double) originalSize.getHeight(),
               maxWidth,
               maxHeight);
-      BitmapFactory.Options options = new BitmapFactory.Options();
-      options.inSampleSize =
-          calculateSampleSize(options, (int) targetSize.getWidth(), (int) targetSize.getHeight());
-      Bitmap bmp = decodeFile(imagePath, options);
-      if (bmp == null) {
-        return imagePath;
+      int originalWidth = (int) originalSize.getWidth();
+      int originalHeight = (int) originalSize.getHeight();
+      int targetWidth = Math.max(1, (int) targetSize.getWidth());
+      int targetHeight = Math.max(1, (int) targetSize.getHeight());
+
+      // The output bitmap has to fit, so shrink it further if it does not.
+      long outputBudget = memoryBudgetBytes / 2;
+      long outputBytes = bitmapByteCount(targetWidth, targetHeight);
+      if (outputBytes > outputBudget) {
+        double shrinkFactor = Math.sqrt((double) outputBudget / outputBytes);
+        targetWidth = Math.max(1, (int) (targetWidth * shrinkFactor));
+        targetHeight = Math.max(1, (int) (targetHeight * shrinkFactor));
+        outputBytes = bitmapByteCount(targetWidth, targetHeight);
+        Log.w(
+            TAG,
+            "image_picker: the requested size does not fit in memory, resizing to "
+                + targetWidth
+                + "x"
+                + targetHeight);
+      }
+
+      int sampleSize =
+          calculateSampleSize(originalWidth, originalHeight, targetWidth, targetHeight);
+      long sampledBytes =
+          bitmapByteCount(
+              sampledDimension(originalWidth, sampleSize),
+              sampledDimension(originalHeight, sampleSize));
+      Bitmap scaledBmp = null;
+      if (sampledBytes + outputBytes > memoryBudgetBytes) {
+        // Too large to decode in one piece even when subsampled, e.g. a panorama.
+        scaledBmp =
+            decodeRegionsScaled(
+                imagePath,
+                originalWidth,
+                originalHeight,
+                sampleSize,
+                targetWidth,
+                targetHeight,
+                memoryBudgetBytes - outputBytes);
+        if (scaledBmp == null) {
+          // Not supported by the region decoder; subsample further instead.
+          while (sampledBytes + outputBytes > memoryBudgetBytes
+              && sampleSize < Math.max(originalWidth, originalHeight)) {
+            sampleSize *= 2;
+            sampledBytes =
+                bitmapByteCount(
+                    sampledDimension(originalWidth, sampleSize),
+                    sampledDimension(originalHeight, sampleSize));
+          }
+        }
+      }
+      if (scaledBmp == null) {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inSampleSize = sampleSize;
+        Bitmap bmp = decodeFile(imagePath, options);
+        if (bmp == null) {
+          return imagePath;
+        }
+        scaledBmp = scaleBitmap(bmp, targetWidth, targetHeight);
       }
-      File file =
-          resizedImage(
-              bmp,
-              (double) targetSize.getWidth(),
-              (double) targetSize.getHeight(),
-              imageQuality,
-              imageName);
+      File file = createImageOnExternalDirectory("/scaled_" + imageName, scaledBmp, imageQuality);
+      scaledBmp.recycle();
       copyExif(imagePath, file.getPath());
       return file.getPath();
     } catch (IOException e) {
@@ -73,13 +141,87 @@ class ImageResizer {
     }
   }
 
-  private File resizedImage(
-      Bitmap bmp, Double width, Double height, int imageQuality, String outputImageName)
-      throws IOException {
-    Bitmap scaledBmp = createScaledBitmap(bmp, width.intValue(), height.intValue(), false);
-    File file =
-        createImageOnExternalDirectory("/scaled_" + outputImageName, scaledBmp, imageQuality);
-    return file;
+  /** Scales {@code bmp} to the target size, recycling it if a new bitmap is created. */
+  private Bitmap scaleBitmap(Bitmap bmp, int width, int height) {
+    if (bmp.getWidth() == width && bmp.getHeight() == height) {
+      return bmp;
+    }
+    Bitmap scaledBmp = createScaledBitmap(bmp, width, height, false);
+    if (scaledBmp != bmp) {
+      bmp.recycle();
+    }
+    return scaledBmp;
+  }
+
+  /**
+   * Decodes the image in horizontal strips that each fit in {@code stripBudgetBytes} and draws
+   * them scaled into a bitmap of the target size, so the full image is never held in memory.
+   *
+   * @return the scaled bitmap, or null if the image cannot be decoded by region.
+   */
+  @Nullable
+  private Bitmap decodeRegionsScaled(
+      String imagePath,
+      int originalWidth,
+      int originalHeight,
+      int sampleSize,
+      int targetWidth,
+      int targetHeight,
+      long stripBudgetBytes) {
+    BitmapRegionDecoder decoder;
+    try {
+      decoder = newRegionDecoder(imagePath);
+    } catch (IOException e) {
+      Log.d(TAG, "image_picker: region decoding is not supported for " + imagePath);
+      return null;
+    }
+    if (decoder == null) {
+      return null;
+    }
+    try {
+      long sampledRowBytes = bitmapByteCount(sampledDimension(originalWidth, sampleSize), 1);
+      // Strips are a multiple of the sample size tall, so they are sampled like the full image.
+      int stripHeight = (int) Math.max(1, stripBudgetBytes / sampledRowBytes) * sampleSize;
+
+      Bitmap output = Bitmap.createBitmap(targetWidth, targetHeight, Bitmap.Config.ARGB_8888);
+      Canvas canvas = new Canvas(output);
+      Paint paint = new Paint(Paint.FILTER_BITMAP_FLAG);
+      float scaleY = (float) targetHeight / originalHeight;
+      BitmapFactory.Options options = new BitmapFactory.Options();
+      options.inSampleSize = sampleSize;
+      boolean hasAlpha = false;
+      for (int top = 0; top < originalHeight; top += stripHeight) {
+        int bottom = Math.min(originalHeight, top + stripHeight);
+        Bitmap strip = decoder.decodeRegion(new Rect(0, top, originalWidth, bottom), options);
+        if (strip == null) {
+          output.recycle();
+          return null;
+        }
+        hasAlpha |= strip.hasAlpha();
+        canvas.drawBitmap(
+            strip, null, new RectF(0, top * scaleY, targetWidth, bottom * scaleY), paint);
+        strip.recycle();
+      }
+      // The output decides between JPEG and PNG encoding, so it must match the source.
+      output.setHasAlpha(hasAlpha);
+      return output;
+    } finally {
+      decoder.recycle();
+    }
+  }
+
+  @SuppressWarnings("deprecation")
+  @Nullable
+  private BitmapRegionDecoder newRegionDecoder(String path) throws IOException {
+    return BitmapRegionDecoder.newInstance(path, false);
+  }
+
+  private static int sampledDimension(int dimension, int sampleSize) {
+    return Math.max(1, (dimension + sampleSize - 1) / sampleSize);
+  }
+
+  private static long bitmapByteCount(int width, int height) {
+    return (long) width * height * BYTES_PER_PIXEL;
   }
 
   private SizeFCompat calculateTargetSize(
@@ -121,15 +263,15 @@ class ImageResizer {
     return image;
   }
 
-  private FileOutputStream createOutputStream(File imageFile) throws IOException {
-    return new FileOutputStream(imageFile);
+  private OutputStream createOutputStream(File imageFile) throws IOException {
+    return new BufferedOutputStream(new FileOutputStream(imageFile));
   }
 
   private void copyExif(String filePathOri, String filePathDest) {
     try {
       exifDataCopier.copyExif(new ExifInterface(filePathOri), new ExifInterface(filePathDest));
     } catch (Exception ex) {
-      Log.e("ImageResizer", "Error preserving Exif data on selected image: " + ex);
+      Log.e(TAG, "Error preserving Exif data on selected image: " + ex);
     }
   }
 
@@ -160,10 +302,8 @@ class ImageResizer {
    *     href="https://developer.android.com/topic/performance/graphics/load-bitmap#load-bitmap">
    *     Loading Large Bitmaps Efficiently</a>
    */
-  private int calculateSampleSize(
-      BitmapFactory.Options options, int targetWidth, int targetHeight) {
-    final int height = options.outHeight;
-    final int width = options.outWidth;
+  @VisibleForTesting
+  static int calculateSampleSize(int width, int height, int targetWidth, int targetHeight) {
     int sampleSize = 1;
     if (height > targetHeight || width > targetWidth) {
       final int halfHeight = height / 2;
@@ -177,23 +317,22 @@ class ImageResizer {
 
   private File createImageOnExternalDirectory(String name, Bitmap bitmap, int imageQuality)
       throws IOException {
-    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
     boolean saveAsPNG = bitmap.hasAlpha();
     if (saveAsPNG) {
       Log.d(
-          "ImageResizer",
+          TAG,
           "image_picker: compressing is not supported for type PNG. Returning the image with original quality");
     }
-    bitmap.compress(
-        saveAsPNG ? Bitmap.CompressFormat.PNG : Bitmap.CompressFormat.JPEG,
-        imageQuality,
-        outputStream);
 
     File cacheDirectory = context.getCacheDir();
     File imageFile = createFile(cacheDirectory, name);
-    FileOutputStream fileOutput = createOutputStream(imageFile);
-    fileOutput.write(outputStream.toByteArray());
-    fileOutput.close();
+    // Compress straight into the file rather than through an in-memory copy of the encoded image.
+    try (OutputStream fileOutput = createOutputStream(imageFile)) {
+      bitmap.compress(
+          saveAsPNG ? Bitmap.CompressFormat.PNG : Bitmap.CompressFormat.JPEG,
+          imageQuality,
+          fileOutput);
+    }
     return imageFile;
   }
 }
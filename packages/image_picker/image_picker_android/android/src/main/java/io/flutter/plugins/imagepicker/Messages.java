@@ -21,6 +21,7 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /** Generated class from Pigeon. */
@@ -60,6 +61,12 @@ public class Messages {
     return errorList;
   }
 
+  @NonNull
+  protected static FlutterError createConnectionError(@NonNull String channelName) {
+    return new FlutterError(
+        "channel-error", "Unable to establish connection on channel: " + channelName + ".", "");
+  }
+
   @Target(METHOD)
   @Retention(CLASS)
   @interface CanIgnoreReturnValue {}
@@ -135,6 +142,20 @@ public class Messages {
       this.limit = setterArg;
     }
 
+    /**
+     * If set, the maximum number of selected files that are copied to the cache directory
+     * concurrently.
+     */
+    private @Nullable Long maxConcurrentCopies;
+
+    public @Nullable Long getMaxConcurrentCopies() {
+      return maxConcurrentCopies;
+    }
+
+    public void setMaxConcurrentCopies(@Nullable Long setterArg) {
+      this.maxConcurrentCopies = setterArg;
+    }
+
     /** Constructor is non-public to enforce null safety; use Builder. */
     GeneralOptions() {}
 
@@ -164,21 +185,31 @@ public class Messages {
         return this;
       }
 
+      private @Nullable Long maxConcurrentCopies;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setMaxConcurrentCopies(@Nullable Long setterArg) {
+        this.maxConcurrentCopies = setterArg;
+        return this;
+      }
+
       public @NonNull GeneralOptions build() {
         GeneralOptions pigeonReturn = new GeneralOptions();
         pigeonReturn.setAllowMultiple(allowMultiple);
         pigeonReturn.setUsePhotoPicker(usePhotoPicker);
         pigeonReturn.setLimit(limit);
+        pigeonReturn.setMaxConcurrentCopies(maxConcurrentCopies);
         return pigeonReturn;
       }
     }
 
     @NonNull
     ArrayList<Object> toList() {
-      ArrayList<Object> toListResult = new ArrayList<Object>(3);
+      ArrayList<Object> toListResult = new ArrayList<Object>(4);
       toListResult.add(allowMultiple);
       toListResult.add(usePhotoPicker);
       toListResult.add(limit);
+      toListResult.add(maxConcurrentCopies);
       return toListResult;
     }
 
@@ -191,6 +222,13 @@ public class Messages {
       Object limit = list.get(2);
       pigeonResult.setLimit(
           (limit == null) ? null : ((limit instanceof Integer) ? (Integer) limit : (Long) limit));
+      Object maxConcurrentCopies = list.get(3);
+      pigeonResult.setMaxConcurrentCopies(
+          (maxConcurrentCopies == null)
+              ? null
+              : ((maxConcurrentCopies instanceof Integer)
+                  ? (Integer) maxConcurrentCopies
+                  : (Long) maxConcurrentCopies));
       return pigeonResult;
     }
   }
@@ -929,4 +967,49 @@ public class Messages {
       }
     }
   }
+
+  /**
+   * Reports progress of copying the selected files to the cache directory.
+   *
+   * <p>Generated class from Pigeon that represents Flutter messages that can be called from Java.
+   */
+  public static class ImagePickerProgressApi {
+    private final @NonNull BinaryMessenger binaryMessenger;
+
+    public ImagePickerProgressApi(@NonNull BinaryMessenger argBinaryMessenger) {
+      this.binaryMessenger = argBinaryMessenger;
+    }
+
+    /** Public interface for sending reply. */
+    /** The codec used by ImagePickerProgressApi. */
+    static @NonNull MessageCodec<Object> getCodec() {
+      return new StandardMessageCodec();
+    }
+    /** Called each time a selected file has been copied. */
+    public void onItemCopied(
+        @NonNull Long copiedItemsArg, @NonNull Long totalItemsArg, @NonNull VoidResult result) {
+      final String channelName =
+          "dev.flutter.pigeon.image_picker_android.ImagePickerProgressApi.onItemCopied";
+      BasicMessageChannel<Object> channel =
+          new BasicMessageChannel<>(binaryMessenger, channelName, getCodec());
+      channel.send(
+          new ArrayList<Object>(Arrays.asList(copiedItemsArg, totalItemsArg)),
+          channelReply -> {
+            if (channelReply instanceof List) {
+              List<Object> listReply = (List<Object>) channelReply;
+              if (listReply.size() > 1) {
+                result.error(
+                    new FlutterError(
+                        (String) listReply.get(0),
+                        (String) listReply.get(1),
+                        (String) listReply.get(2)));
+              } else {
+                result.success();
+              }
+            } else {
+              result.error(createConnectionError(channelName));
+            }
+          });
+    }
+  }
 }
@@ -5,7 +5,9 @@
 package io.flutter.plugins.imagepicker;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
@@ -27,8 +29,10 @@ import androidx.annotation.Nullable;
 import androidx.test.core.app.ApplicationProvider;
 import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import org.junit.Before;
 import org.junit.Test;
@@ -139,6 +143,50 @@ public class FileUtilTest {
     assertTrue(path.endsWith("e.f.g"));
   }
 
+  @Test
+  public void FileUtil_getPathFromUri_copiesLargeFileBackedStream() throws IOException {
+    byte[] content = new byte[300 * 1024 + 17];
+    for (int i = 0; i < content.length; i++) {
+      content[i] = (byte) i;
+    }
+    File source = File.createTempFile("source", ".png", context.getCacheDir());
+    try (FileOutputStream outputStream = new FileOutputStream(source)) {
+      outputStream.write(content);
+    }
+    Uri uri = Uri.parse("content://dummy/large.png");
+    shadowContentResolver.registerInputStream(uri, new FileInputStream(source));
+
+    String path = fileUtils.getPathFromUri(context, uri);
+
+    File copy = new File(path);
+    assertEquals(
+        FileUtils.COPIES_DIRECTORY_NAME, copy.getParentFile().getParentFile().getName());
+    byte[] copiedContent = new byte[(int) copy.length()];
+    try (DataInputStream inputStream = new DataInputStream(new FileInputStream(copy))) {
+      inputStream.readFully(copiedContent);
+    }
+    assertArrayEquals(content, copiedContent);
+  }
+
+  @Test
+  public void FileUtil_deleteStaleCopies_deletesOnlyOldCopies() throws IOException {
+    File copiesDirectory = new File(context.getCacheDir(), FileUtils.COPIES_DIRECTORY_NAME);
+    File staleDirectory = new File(copiesDirectory, "stale");
+    File freshDirectory = new File(copiesDirectory, "fresh");
+    assertTrue(staleDirectory.mkdirs());
+    assertTrue(freshDirectory.mkdirs());
+    assertTrue(new File(staleDirectory, "a.jpg").createNewFile());
+    assertTrue(new File(freshDirectory, "b.jpg").createNewFile());
+    assertTrue(
+        staleDirectory.setLastModified(
+            System.currentTimeMillis() - FileUtils.STALE_COPY_MAX_AGE_MILLIS - 1000));
+
+    fileUtils.deleteStaleCopies(context, FileUtils.STALE_COPY_MAX_AGE_MILLIS);
+
+    assertFalse(staleDirectory.exists());
+    assertTrue(new File(freshDirectory, "b.jpg").exists());
+  }
+
   private static class MockContentProvider extends ContentProvider {
     public static final Uri PNG_URI = Uri.parse("content://dummy/a.b.png");
     public static final Uri WEBP_URI = Uri.parse("content://dummy/c.d.png");
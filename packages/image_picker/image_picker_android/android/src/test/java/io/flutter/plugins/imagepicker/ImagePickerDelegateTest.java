@@ -863,6 +863,73 @@ public class ImagePickerDelegateTest {
     assertEquals("Cannot find the selected media.", errorCaptor.getValue().getMessage());
   }
 
+  @Test
+  public void onActivityResult_whenMultipleImagesPicked_copiesInParallelAndKeepsOrder() {
+    List<Uri> uris = setupMockClipDataWithItems(5);
+    for (int i = 0; i < uris.size(); i++) {
+      when(mockFileUtils.getPathFromUri(any(Context.class), eq(uris.get(i))))
+          .thenReturn("path" + i);
+    }
+    when(mockIntent.getData()).thenReturn(null);
+    Mockito.doAnswer(
+            invocation -> {
+              ((Runnable) invocation.getArgument(0)).run();
+              return null;
+            })
+        .when(mockExecutor)
+        .execute(any(Runnable.class));
+    ImagePickerDelegate.CopyProgressListener mockListener =
+        mock(ImagePickerDelegate.CopyProgressListener.class);
+    ImagePickerDelegate delegate =
+        createDelegateWithPendingResultAndOptions(null, DEFAULT_VIDEO_OPTIONS);
+    delegate.setMaxConcurrentCopies(3);
+    delegate.setCopyProgressListener(mockListener);
+
+    delegate.onActivityResult(
+        ImagePickerDelegate.REQUEST_CODE_CHOOSE_MULTI_IMAGE_FROM_GALLERY,
+        Activity.RESULT_OK,
+        mockIntent);
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<String>> pathListCapture = ArgumentCaptor.forClass(List.class);
+    verify(mockResult).success(pathListCapture.capture());
+    List<String> paths = pathListCapture.getValue();
+    assertEquals(5, paths.size());
+    for (int i = 0; i < paths.size(); i++) {
+      assertEquals("path" + i, paths.get(i));
+    }
+    for (int copiedItems = 1; copiedItems <= 5; copiedItems++) {
+      verify(mockListener).onItemCopied(copiedItems, 5);
+    }
+    verifyNoMoreInteractions(mockResult);
+  }
+
+  @Test
+  public void onActivityResult_whenOneOfMultipleImagesFailsToCopy_finishesWithError() {
+    List<Uri> uris = setupMockClipDataWithItems(4);
+    when(mockFileUtils.getPathFromUri(any(Context.class), eq(uris.get(2)))).thenReturn(null);
+    when(mockIntent.getData()).thenReturn(null);
+    Mockito.doAnswer(
+            invocation -> {
+              ((Runnable) invocation.getArgument(0)).run();
+              return null;
+            })
+        .when(mockExecutor)
+        .execute(any(Runnable.class));
+    ImagePickerDelegate delegate =
+        createDelegateWithPendingResultAndOptions(null, DEFAULT_VIDEO_OPTIONS);
+
+    delegate.onActivityResult(
+        ImagePickerDelegate.REQUEST_CODE_CHOOSE_MULTI_IMAGE_FROM_GALLERY,
+        Activity.RESULT_OK,
+        mockIntent);
+
+    ArgumentCaptor<FlutterError> errorCaptor = ArgumentCaptor.forClass(FlutterError.class);
+    verify(mockResult).error(errorCaptor.capture());
+    assertEquals("missing_valid_image_uri", errorCaptor.getValue().code);
+    verifyNoMoreInteractions(mockResult);
+  }
+
   private ImagePickerDelegate createDelegate() {
     return new ImagePickerDelegate(
         mockActivity,
@@ -909,6 +976,21 @@ public class ImagePickerDelegateTest {
     when(mockIntent.getClipData()).thenReturn(mockClipData);
   }
 
+  private List<Uri> setupMockClipDataWithItems(int itemCount) {
+    ClipData mockClipData = mock(ClipData.class);
+    List<Uri> uris = new ArrayList<>();
+    for (int i = 0; i < itemCount; i++) {
+      ClipData.Item mockItem = mock(ClipData.Item.class);
+      Uri mockUri = mock(Uri.class);
+      when(mockItem.getUri()).thenReturn(mockUri);
+      when(mockClipData.getItemAt(i)).thenReturn(mockItem);
+      uris.add(mockUri);
+    }
+    when(mockClipData.getItemCount()).thenReturn(itemCount);
+    when(mockIntent.getClipData()).thenReturn(mockClipData);
+    return uris;
+  }
+
   private void setupMockClipDataNullUri() {
     ClipData mockClipData = mock(ClipData.class);
     ClipData.Item mockItem = mock(ClipData.Item.class);
@@ -184,6 +184,21 @@ public class ImagePickerPluginTest {
     verifyNoInteractions(mockResult);
   }
 
+  @Test
+  public void pickImages_passesMaxConcurrentCopiesToDelegate() {
+    plugin.pickImages(
+        SOURCE_GALLERY,
+        DEFAULT_IMAGE_OPTIONS,
+        new GeneralOptions.Builder()
+            .setUsePhotoPicker(false)
+            .setAllowMultiple(true)
+            .setMaxConcurrentCopies((long) 8)
+            .build(),
+        mockResult);
+    verify(mockImagePickerDelegate).setMaxConcurrentCopies(8);
+    verifyNoInteractions(mockResult);
+  }
+
   @Test
   public void pickImages_usingPhotoPicker_invokesChooseMultiImageFromGallery() {
     plugin.pickImages(
@@ -0,0 +1,161 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.imagepicker;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.LinearGradient;
+import android.graphics.Paint;
+import android.graphics.Shader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.Random;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.GraphicsMode;
+
+/**
+ * Measures resizing a corpus of large JPEGs to a typical display size.
+ *
+ * <p>Uses Robolectric's native graphics so images are really decoded and encoded. Each image is
+ * resized with {@link ImageResizer} and with the previous full-resolution decode for comparison.
+ * Skipped unless the {@code runBenchmarks} Gradle property is set, e.g.:
+ *
+ * <pre>
+ * ./gradlew testDebugUnitTest -PrunBenchmarks --tests '*ImageResizerBenchmark'
+ * </pre>
+ */
+@RunWith(RobolectricTestRunner.class)
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+@Config(sdk = 33)
+public class ImageResizerBenchmark {
+  private static final int WARMUP_ITERATIONS = 1;
+  private static final int MEASURED_ITERATIONS = 3;
+  private static final double MAX_DIMENSION = 1920;
+  private static final int QUALITY = 85;
+
+  // Width and height of the corpus, from a 12 MP phone photo to a 50 MP one.
+  private static final int[][] CORPUS = {{4000, 3000}, {6000, 4000}, {8160, 6120}};
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private ImageResizer resizer;
+  private File outputDirectory;
+
+  @Before
+  public void setUp() throws IOException {
+    Assume.assumeTrue(Boolean.getBoolean("runBenchmarks"));
+    outputDirectory = temporaryFolder.newFolder("output");
+    Context context = mock(Context.class);
+    when(context.getCacheDir()).thenReturn(outputDirectory);
+    resizer = new ImageResizer(context, new ExifDataCopier());
+  }
+
+  /** Writes a JPEG with gradients and shapes, so it compresses like a photo, not a flat fill. */
+  private File createJpeg(int width, int height) throws IOException {
+    Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+    Canvas canvas = new Canvas(bitmap);
+    Paint paint = new Paint();
+    paint.setShader(
+        new LinearGradient(0, 0, width, height, Color.BLUE, Color.YELLOW, Shader.TileMode.CLAMP));
+    canvas.drawRect(0, 0, width, height, paint);
+    paint.setShader(null);
+    Random random = new Random(0);
+    for (int i = 0; i < 2000; i++) {
+      paint.setColor(random.nextInt() | 0xff000000);
+      float x = random.nextFloat() * width;
+      float y = random.nextFloat() * height;
+      canvas.drawCircle(x, y, random.nextFloat() * width / 40, paint);
+    }
+
+    File file = temporaryFolder.newFile(width + "x" + height + ".jpg");
+    try (OutputStream output = new FileOutputStream(file)) {
+      bitmap.compress(Bitmap.CompressFormat.JPEG, 95, output);
+    }
+    bitmap.recycle();
+    return file;
+  }
+
+  private void resizeWithResizer(File image) {
+    resizer.resizeImageIfNeeded(image.getPath(), MAX_DIMENSION, MAX_DIMENSION, QUALITY);
+  }
+
+  /** The pipeline before subsampled decoding, kept as the baseline. */
+  private void resizeFullDecode(File image) throws IOException {
+    Bitmap full = BitmapFactory.decodeFile(image.getPath());
+    double scale = MAX_DIMENSION / Math.max(full.getWidth(), full.getHeight());
+    Bitmap scaled =
+        Bitmap.createScaledBitmap(
+            full,
+            (int) Math.round(full.getWidth() * scale),
+            (int) Math.round(full.getHeight() * scale),
+            false);
+    ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+    scaled.compress(Bitmap.CompressFormat.JPEG, QUALITY, encoded);
+    try (OutputStream output = new FileOutputStream(new File(outputDirectory, "baseline.jpg"))) {
+      output.write(encoded.toByteArray());
+    }
+    full.recycle();
+    scaled.recycle();
+  }
+
+  private interface Resize {
+    void run(File image) throws IOException;
+  }
+
+  private static void measure(String name, File image, int width, int height, Resize resize)
+      throws IOException {
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      resize.run(image);
+    }
+    long start = System.nanoTime();
+    for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+      resize.run(image);
+    }
+    long msPerImage = (System.nanoTime() - start) / MEASURED_ITERATIONS / 1000000;
+    System.out.println(
+        String.format(
+            Locale.ROOT, "%-16s %5dx%-5d %,8d ms/image", name, width, height, msPerImage));
+  }
+
+  @Test
+  public void benchmarkCorpus() throws IOException {
+    for (int[] size : CORPUS) {
+      int width = size[0];
+      int height = size[1];
+      File image = createJpeg(width, height);
+      measure("subsampled", image, width, height, this::resizeWithResizer);
+      measure("full decode", image, width, height, this::resizeFullDecode);
+    }
+  }
+
+  @Test
+  public void benchmarkCorpusWithSmallMemoryBudget() throws IOException {
+    // Forces region decoding of the larger images, as on devices with a small heap.
+    resizer.setMemoryBudgetBytes(32L * 1024 * 1024);
+    for (int[] size : CORPUS) {
+      int width = size[0];
+      int height = size[1];
+      File image = createJpeg(width, height);
+      measure("region decode", image, width, height, this::resizeWithResizer);
+    }
+  }
+}
@@ -219,4 +219,22 @@ public class ImageResizerTest {
     assertThat(width, equalTo(12.0F));
     assertThat(height, equalTo(7.0F));
   }
+
+  @Test
+  public void onResizeImageIfNeeded_whenImageExceedsMemoryBudget_shouldResizeCorrectly() {
+    // Enough for the 10x6 output, but not for decoding the 12x7 original alongside it.
+    resizer.setMemoryBudgetBytes(10 * 6 * 4 * 2);
+    String outputFile = resizer.resizeImageIfNeeded(wideJPG.getPath(), 10.0, 10.0, 100);
+    SizeFCompat outputSize = resizer.readFileDimensions(outputFile);
+
+    assertThat(outputSize.getWidth(), equalTo(10.0F));
+    assertThat(outputSize.getHeight(), equalTo(6.0F));
+  }
+
+  @Test
+  public void calculateSampleSize_isBasedOnOriginalDimensions() {
+    assertThat(ImageResizer.calculateSampleSize(8000, 6000, 1000, 750), equalTo(8));
+    assertThat(ImageResizer.calculateSampleSize(8000, 6000, 1080, 810), equalTo(4));
+    assertThat(ImageResizer.calculateSampleSize(12, 7, 10, 6), equalTo(1));
+  }
 }
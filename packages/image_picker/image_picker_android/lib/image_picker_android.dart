@@ -2,6 +2,8 @@
 // Use of this source code is governed by a BSD-style license that can be
 // found in the LICENSE file.
 
+import 'dart:async';
+
 import 'package:flutter/foundation.dart';
 import 'package:flutter/services.dart';
 
@@ -22,6 +24,29 @@ class ImagePickerAndroid extends ImagePickerPlatform {
   /// Currently defaults to false, but the default is subject to change.
   bool useAndroidPhotoPicker = false;
 
+  /// The maximum number of selected files that are copied to the app's cache
+  /// directory concurrently when multiple files are picked.
+  ///
+  /// Defaults to 4 when null. Higher values can speed up selections from
+  /// cloud-backed providers at the cost of more parallel I/O.
+  int? maxConcurrentCopies;
+
+  StreamController<ImagePickerCopyProgress>? _copyProgressController;
+
+  /// Progress of copying the selected files to the app's cache directory.
+  ///
+  /// An event is emitted each time a selected file has been copied, before the
+  /// pick call completes.
+  Stream<ImagePickerCopyProgress> get copyProgress {
+    _copyProgressController ??=
+        StreamController<ImagePickerCopyProgress>.broadcast(
+      onListen: () => ImagePickerProgressApi.setup(
+          _CopyProgressHandler(_copyProgressController!)),
+      onCancel: () => ImagePickerProgressApi.setup(null),
+    );
+    return _copyProgressController!.stream;
+  }
+
   /// Registers this class as the default platform implementation.
   static void registerWith() {
     ImagePickerPlatform.instance = ImagePickerAndroid();
@@ -96,6 +121,7 @@ class ImagePickerAndroid extends ImagePickerPlatform {
         allowMultiple: true,
         usePhotoPicker: useAndroidPhotoPicker,
         limit: limit,
+        maxConcurrentCopies: maxConcurrentCopies,
       ),
     );
   }
@@ -130,6 +156,7 @@ class ImagePickerAndroid extends ImagePickerPlatform {
       GeneralOptions(
         allowMultiple: false,
         usePhotoPicker: useAndroidPhotoPicker,
+        maxConcurrentCopies: maxConcurrentCopies,
       ),
     );
     return paths.isEmpty ? null : paths.first;
@@ -160,6 +187,7 @@ class ImagePickerAndroid extends ImagePickerPlatform {
       GeneralOptions(
         allowMultiple: false,
         usePhotoPicker: useAndroidPhotoPicker,
+        maxConcurrentCopies: maxConcurrentCopies,
       ),
     );
     return paths.isEmpty ? null : paths.first;
@@ -314,6 +342,7 @@ class ImagePickerAndroid extends ImagePickerPlatform {
       allowMultiple: allowMultiple,
       usePhotoPicker: useAndroidPhotoPicker,
       limit: limit,
+      maxConcurrentCopies: maxConcurrentCopies,
     );
   }
 
@@ -416,3 +445,31 @@ class ImagePickerAndroid extends ImagePickerPlatform {
     return RetrieveType.image;
   }
 }
+
+/// Progress of copying the selected files to the app's cache directory.
+@immutable
+class ImagePickerCopyProgress {
+  /// Creates a progress event.
+  const ImagePickerCopyProgress({
+    required this.copiedItems,
+    required this.totalItems,
+  });
+
+  /// The number of files copied so far.
+  final int copiedItems;
+
+  /// The number of selected files.
+  final int totalItems;
+}
+
+class _CopyProgressHandler implements ImagePickerProgressApi {
+  _CopyProgressHandler(this._controller);
+
+  final StreamController<ImagePickerCopyProgress> _controller;
+
+  @override
+  void onItemCopied(int copiedItems, int totalItems) {
+    _controller.add(ImagePickerCopyProgress(
+        copiedItems: copiedItems, totalItems: totalItems));
+  }
+}
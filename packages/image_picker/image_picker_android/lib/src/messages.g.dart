@@ -49,6 +49,7 @@ class GeneralOptions {
     required this.allowMultiple,
     required this.usePhotoPicker,
     this.limit,
+    this.maxConcurrentCopies,
   });
 
   bool allowMultiple;
@@ -57,11 +58,16 @@ class GeneralOptions {
 
   int? limit;
 
+  /// If set, the maximum number of selected files that are copied to the
+  /// cache directory concurrently.
+  int? maxConcurrentCopies;
+
   Object encode() {
     return <Object?>[
       allowMultiple,
       usePhotoPicker,
       limit,
+      maxConcurrentCopies,
     ];
   }
 
@@ -71,6 +77,7 @@ class GeneralOptions {
       allowMultiple: result[0]! as bool,
       usePhotoPicker: result[1]! as bool,
       limit: result[2] as int?,
+      maxConcurrentCopies: result[3] as int?,
     );
   }
 }
@@ -445,3 +452,47 @@ class ImagePickerApi {
     }
   }
 }
+
+/// Reports progress of copying the selected files to the cache directory.
+abstract class ImagePickerProgressApi {
+  static const MessageCodec<Object?> pigeonChannelCodec =
+      StandardMessageCodec();
+
+  /// Called each time a selected file has been copied.
+  void onItemCopied(int copiedItems, int totalItems);
+
+  static void setup(ImagePickerProgressApi? api,
+      {BinaryMessenger? binaryMessenger}) {
+    {
+      final BasicMessageChannel<Object?> __pigeon_channel = BasicMessageChannel<
+              Object?>(
+          'dev.flutter.pigeon.image_picker_android.ImagePickerProgressApi.onItemCopied',
+          pigeonChannelCodec,
+          binaryMessenger: binaryMessenger);
+      if (api == null) {
+        __pigeon_channel.setMessageHandler(null);
+      } else {
+        __pigeon_channel.setMessageHandler((Object? message) async {
+          assert(message != null,
+              'Argument for dev.flutter.pigeon.image_picker_android.ImagePickerProgressApi.onItemCopied was null.');
+          final List<Object?> args = (message as List<Object?>?)!;
+          final int? arg_copiedItems = (args[0] as int?);
+          assert(arg_copiedItems != null,
+              'Argument for dev.flutter.pigeon.image_picker_android.ImagePickerProgressApi.onItemCopied was null, expected non-null int.');
+          final int? arg_totalItems = (args[1] as int?);
+          assert(arg_totalItems != null,
+              'Argument for dev.flutter.pigeon.image_picker_android.ImagePickerProgressApi.onItemCopied was null, expected non-null int.');
+          try {
+            api.onItemCopied(arg_copiedItems!, arg_totalItems!);
+            return wrapResponse(empty: true);
+          } on PlatformException catch (e) {
+            return wrapResponse(error: e);
+          } catch (e) {
+            return wrapResponse(
+                error: PlatformException(code: 'error', message: e.toString()));
+          }
+        });
+      }
+    }
+  }
+}
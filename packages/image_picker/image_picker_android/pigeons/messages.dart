@@ -14,10 +14,15 @@ import 'package:pigeon/pigeon.dart';
   copyrightHeader: 'pigeons/copyright.txt',
 ))
 class GeneralOptions {
-  GeneralOptions(this.allowMultiple, this.usePhotoPicker, this.limit);
+  GeneralOptions(this.allowMultiple, this.usePhotoPicker, this.limit,
+      this.maxConcurrentCopies);
   bool allowMultiple;
   bool usePhotoPicker;
   int? limit;
+
+  /// If set, the maximum number of selected files that are copied to the
+  /// cache directory concurrently.
+  int? maxConcurrentCopies;
 }
 
 /// Options for image selection and output.
@@ -135,3 +140,10 @@ abstract class ImagePickerApi {
   @TaskQueue(type: TaskQueueType.serialBackgroundThread)
   CacheRetrievalResult? retrieveLostResults();
 }
+
+/// Reports progress of copying the selected files to the cache directory.
+@FlutterApi()
+abstract class ImagePickerProgressApi {
+  /// Called each time a selected file has been copied.
+  void onItemCopied(int copiedItems, int totalItems);
+}
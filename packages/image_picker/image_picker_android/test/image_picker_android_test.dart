@@ -2,6 +2,9 @@
 // Use of this source code is governed by a BSD-style license that can be
 // found in the LICENSE file.
 
+import 'dart:async';
+
+import 'package:flutter/services.dart';
 import 'package:flutter_test/flutter_test.dart';
 
 import 'package:image_picker_android/image_picker_android.dart';
@@ -948,6 +951,43 @@ void main() {
       expect(api.passedPhotoPickerFlag, true);
     });
   });
+
+  group('#copyProgress', () {
+    test('passes maxConcurrentCopies', () async {
+      picker.maxConcurrentCopies = 8;
+      await picker.getMultiImageWithOptions();
+
+      expect(api.passedMaxConcurrentCopies, 8);
+    });
+
+    test('defaults maxConcurrentCopies to null', () async {
+      await picker.getMedia(options: const MediaOptions(allowMultiple: true));
+
+      expect(api.passedMaxConcurrentCopies, null);
+    });
+
+    test('emits progress events from the platform', () async {
+      TestWidgetsFlutterBinding.ensureInitialized();
+      final List<ImagePickerCopyProgress> events = <ImagePickerCopyProgress>[];
+      final StreamSubscription<ImagePickerCopyProgress> subscription =
+          picker.copyProgress.listen(events.add);
+
+      const String channelName =
+          'dev.flutter.pigeon.image_picker_android.ImagePickerProgressApi.onItemCopied';
+      await TestDefaultBinaryMessengerBinding.instance.defaultBinaryMessenger
+          .handlePlatformMessage(
+        channelName,
+        ImagePickerProgressApi.pigeonChannelCodec
+            .encodeMessage(<Object?>[2, 5]),
+        (ByteData? data) {},
+      );
+      await subscription.cancel();
+
+      expect(events, hasLength(1));
+      expect(events.single.copiedItems, 2);
+      expect(events.single.totalItems, 5);
+    });
+  });
 }
 
 enum _LastPickType { image, video }
@@ -963,6 +1003,7 @@ class _FakeImagePickerApi implements ImagePickerApi {
   bool? passedAllowMultiple;
   bool? passedPhotoPickerFlag;
   int? limit;
+  int? passedMaxConcurrentCopies;
   _LastPickType? lastCall;
 
   @override
@@ -977,6 +1018,7 @@ class _FakeImagePickerApi implements ImagePickerApi {
     passedAllowMultiple = generalOptions.allowMultiple;
     passedPhotoPickerFlag = generalOptions.usePhotoPicker;
     limit = generalOptions.limit;
+    passedMaxConcurrentCopies = generalOptions.maxConcurrentCopies;
     return returnValue as List<String?>? ?? <String>[];
   }
 
@@ -990,6 +1032,7 @@ class _FakeImagePickerApi implements ImagePickerApi {
     passedPhotoPickerFlag = generalOptions.usePhotoPicker;
     passedAllowMultiple = generalOptions.allowMultiple;
     limit = generalOptions.limit;
+    passedMaxConcurrentCopies = generalOptions.maxConcurrentCopies;
     return returnValue as List<String?>? ?? <String>[];
   }
 
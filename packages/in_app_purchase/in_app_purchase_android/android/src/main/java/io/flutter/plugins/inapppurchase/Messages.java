@@ -761,6 +761,288 @@ public class Messages {
     }
   }
 
+  /**
+   * Counters and timings of queryProductDetailsAsync calls since the plugin was attached.
+   *
+   * <p>Generated class from Pigeon that represents data sent in messages.
+   */
+  public static final class PlatformProductDetailsQueryMetrics {
+
+    /** The number of queries made from Dart. */
+    private @NonNull Long queryCount;
+
+    public @NonNull Long getQueryCount() {
+      return queryCount;
+    }
+
+    public void setQueryCount(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"queryCount\" is null.");
+      }
+      this.queryCount = setterArg;
+    }
+
+    /** The number of queries answered from the cache, including stale answers. */
+    private @NonNull Long cacheHitCount;
+
+    public @NonNull Long getCacheHitCount() {
+      return cacheHitCount;
+    }
+
+    public void setCacheHitCount(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"cacheHitCount\" is null.");
+      }
+      this.cacheHitCount = setterArg;
+    }
+
+    /** The number of queries answered with stale cached details. */
+    private @NonNull Long staleCacheHitCount;
+
+    public @NonNull Long getStaleCacheHitCount() {
+      return staleCacheHitCount;
+    }
+
+    public void setStaleCacheHitCount(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"staleCacheHitCount\" is null.");
+      }
+      this.staleCacheHitCount = setterArg;
+    }
+
+    /** The number of queries that joined an identical query already in flight. */
+    private @NonNull Long coalescedQueryCount;
+
+    public @NonNull Long getCoalescedQueryCount() {
+      return coalescedQueryCount;
+    }
+
+    public void setCoalescedQueryCount(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"coalescedQueryCount\" is null.");
+      }
+      this.coalescedQueryCount = setterArg;
+    }
+
+    /** The number of queries sent to Play Billing. */
+    private @NonNull Long billingRoundTripCount;
+
+    public @NonNull Long getBillingRoundTripCount() {
+      return billingRoundTripCount;
+    }
+
+    public void setBillingRoundTripCount(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"billingRoundTripCount\" is null.");
+      }
+      this.billingRoundTripCount = setterArg;
+    }
+
+    private @NonNull Long lastBillingRoundTripMillis;
+
+    public @NonNull Long getLastBillingRoundTripMillis() {
+      return lastBillingRoundTripMillis;
+    }
+
+    public void setLastBillingRoundTripMillis(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"lastBillingRoundTripMillis\" is null.");
+      }
+      this.lastBillingRoundTripMillis = setterArg;
+    }
+
+    private @NonNull Long maxBillingRoundTripMillis;
+
+    public @NonNull Long getMaxBillingRoundTripMillis() {
+      return maxBillingRoundTripMillis;
+    }
+
+    public void setMaxBillingRoundTripMillis(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"maxBillingRoundTripMillis\" is null.");
+      }
+      this.maxBillingRoundTripMillis = setterArg;
+    }
+
+    private @NonNull Long totalBillingRoundTripMillis;
+
+    public @NonNull Long getTotalBillingRoundTripMillis() {
+      return totalBillingRoundTripMillis;
+    }
+
+    public void setTotalBillingRoundTripMillis(@NonNull Long setterArg) {
+      if (setterArg == null) {
+        throw new IllegalStateException("Nonnull field \"totalBillingRoundTripMillis\" is null.");
+      }
+      this.totalBillingRoundTripMillis = setterArg;
+    }
+
+    /** Constructor is non-public to enforce null safety; use Builder. */
+    PlatformProductDetailsQueryMetrics() {}
+
+    public static final class Builder {
+
+      private @Nullable Long queryCount;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setQueryCount(@NonNull Long setterArg) {
+        this.queryCount = setterArg;
+        return this;
+      }
+
+      private @Nullable Long cacheHitCount;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setCacheHitCount(@NonNull Long setterArg) {
+        this.cacheHitCount = setterArg;
+        return this;
+      }
+
+      private @Nullable Long staleCacheHitCount;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setStaleCacheHitCount(@NonNull Long setterArg) {
+        this.staleCacheHitCount = setterArg;
+        return this;
+      }
+
+      private @Nullable Long coalescedQueryCount;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setCoalescedQueryCount(@NonNull Long setterArg) {
+        this.coalescedQueryCount = setterArg;
+        return this;
+      }
+
+      private @Nullable Long billingRoundTripCount;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setBillingRoundTripCount(@NonNull Long setterArg) {
+        this.billingRoundTripCount = setterArg;
+        return this;
+      }
+
+      private @Nullable Long lastBillingRoundTripMillis;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setLastBillingRoundTripMillis(@NonNull Long setterArg) {
+        this.lastBillingRoundTripMillis = setterArg;
+        return this;
+      }
+
+      private @Nullable Long maxBillingRoundTripMillis;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setMaxBillingRoundTripMillis(@NonNull Long setterArg) {
+        this.maxBillingRoundTripMillis = setterArg;
+        return this;
+      }
+
+      private @Nullable Long totalBillingRoundTripMillis;
+
+      @CanIgnoreReturnValue
+      public @NonNull Builder setTotalBillingRoundTripMillis(@NonNull Long setterArg) {
+        this.totalBillingRoundTripMillis = setterArg;
+        return this;
+      }
+
+      public @NonNull PlatformProductDetailsQueryMetrics build() {
+        PlatformProductDetailsQueryMetrics pigeonReturn = new PlatformProductDetailsQueryMetrics();
+        pigeonReturn.setQueryCount(queryCount);
+        pigeonReturn.setCacheHitCount(cacheHitCount);
+        pigeonReturn.setStaleCacheHitCount(staleCacheHitCount);
+        pigeonReturn.setCoalescedQueryCount(coalescedQueryCount);
+        pigeonReturn.setBillingRoundTripCount(billingRoundTripCount);
+        pigeonReturn.setLastBillingRoundTripMillis(lastBillingRoundTripMillis);
+        pigeonReturn.setMaxBillingRoundTripMillis(maxBillingRoundTripMillis);
+        pigeonReturn.setTotalBillingRoundTripMillis(totalBillingRoundTripMillis);
+        return pigeonReturn;
+      }
+    }
+
+    @NonNull
+    ArrayList<Object> toList() {
+      ArrayList<Object> toListResult = new ArrayList<Object>(8);
+      toListResult.add(queryCount);
+      toListResult.add(cacheHitCount);
+      toListResult.add(staleCacheHitCount);
+      toListResult.add(coalescedQueryCount);
+      toListResult.add(billingRoundTripCount);
+      toListResult.add(lastBillingRoundTripMillis);
+      toListResult.add(maxBillingRoundTripMillis);
+      toListResult.add(totalBillingRoundTripMillis);
+      return toListResult;
+    }
+
+    static @NonNull PlatformProductDetailsQueryMetrics fromList(@NonNull ArrayList<Object> list) {
+      PlatformProductDetailsQueryMetrics pigeonResult = new PlatformProductDetailsQueryMetrics();
+
+      Object queryCount = list.get(0);
+      pigeonResult.setQueryCount(
+          (queryCount == null)
+              ? null
+              : ((queryCount instanceof Integer) ? (Integer) queryCount : (Long) queryCount));
+
+      Object cacheHitCount = list.get(1);
+      pigeonResult.setCacheHitCount(
+          (cacheHitCount == null)
+              ? null
+              : ((cacheHitCount instanceof Integer)
+                  ? (Integer) cacheHitCount
+                  : (Long) cacheHitCount));
+
+      Object staleCacheHitCount = list.get(2);
+      pigeonResult.setStaleCacheHitCount(
+          (staleCacheHitCount == null)
+              ? null
+              : ((staleCacheHitCount instanceof Integer)
+                  ? (Integer) staleCacheHitCount
+                  : (Long) staleCacheHitCount));
+
+      Object coalescedQueryCount = list.get(3);
+      pigeonResult.setCoalescedQueryCount(
+          (coalescedQueryCount == null)
+              ? null
+              : ((coalescedQueryCount instanceof Integer)
+                  ? (Integer) coalescedQueryCount
+                  : (Long) coalescedQueryCount));
+
+      Object billingRoundTripCount = list.get(4);
+      pigeonResult.setBillingRoundTripCount(
+          (billingRoundTripCount == null)
+              ? null
+              : ((billingRoundTripCount instanceof Integer)
+                  ? (Integer) billingRoundTripCount
+                  : (Long) billingRoundTripCount));
+
+      Object lastBillingRoundTripMillis = list.get(5);
+      pigeonResult.setLastBillingRoundTripMillis(
+          (lastBillingRoundTripMillis == null)
+              ? null
+              : ((lastBillingRoundTripMillis instanceof Integer)
+                  ? (Integer) lastBillingRoundTripMillis
+                  : (Long) lastBillingRoundTripMillis));
+
+      Object maxBillingRoundTripMillis = list.get(6);
+      pigeonResult.setMaxBillingRoundTripMillis(
+          (maxBillingRoundTripMillis == null)
+              ? null
+              : ((maxBillingRoundTripMillis instanceof Integer)
+                  ? (Integer) maxBillingRoundTripMillis
+                  : (Long) maxBillingRoundTripMillis));
+
+      Object totalBillingRoundTripMillis = list.get(7);
+      pigeonResult.setTotalBillingRoundTripMillis(
+          (totalBillingRoundTripMillis == null)
+              ? null
+              : ((totalBillingRoundTripMillis instanceof Integer)
+                  ? (Integer) totalBillingRoundTripMillis
+                  : (Long) totalBillingRoundTripMillis));
+
+      return pigeonResult;
+    }
+  }
+
   /**
    * Pigeon version of AlternativeBillingOnlyReportingDetailsWrapper, which contains the components
    * of the Java AlternativeBillingOnlyReportingDetailsListener callback.
@@ -2483,18 +2765,21 @@ public class Messages {
         case (byte) 135:
           return PlatformProductDetails.fromList((ArrayList<Object>) readValue(buffer));
         case (byte) 136:
-          return PlatformProductDetailsResponse.fromList((ArrayList<Object>) readValue(buffer));
+          return PlatformProductDetailsQueryMetrics.fromList(
+              (ArrayList<Object>) readValue(buffer));
         case (byte) 137:
-          return PlatformPurchase.fromList((ArrayList<Object>) readValue(buffer));
+          return PlatformProductDetailsResponse.fromList((ArrayList<Object>) readValue(buffer));
         case (byte) 138:
-          return PlatformPurchaseHistoryRecord.fromList((ArrayList<Object>) readValue(buffer));
+          return PlatformPurchase.fromList((ArrayList<Object>) readValue(buffer));
         case (byte) 139:
-          return PlatformPurchaseHistoryResponse.fromList((ArrayList<Object>) readValue(buffer));
+          return PlatformPurchaseHistoryRecord.fromList((ArrayList<Object>) readValue(buffer));
         case (byte) 140:
-          return PlatformPurchasesResponse.fromList((ArrayList<Object>) readValue(buffer));
+          return PlatformPurchaseHistoryResponse.fromList((ArrayList<Object>) readValue(buffer));
         case (byte) 141:
-          return PlatformQueryProduct.fromList((ArrayList<Object>) readValue(buffer));
+          return PlatformPurchasesResponse.fromList((ArrayList<Object>) readValue(buffer));
         case (byte) 142:
+          return PlatformQueryProduct.fromList((ArrayList<Object>) readValue(buffer));
+        case (byte) 143:
           return PlatformSubscriptionOfferDetails.fromList((ArrayList<Object>) readValue(buffer));
         default:
           return super.readValueOfType(type, buffer);
@@ -2528,26 +2813,29 @@ public class Messages {
       } else if (value instanceof PlatformProductDetails) {
         stream.write(135);
         writeValue(stream, ((PlatformProductDetails) value).toList());
-      } else if (value instanceof PlatformProductDetailsResponse) {
+      } else if (value instanceof PlatformProductDetailsQueryMetrics) {
         stream.write(136);
+        writeValue(stream, ((PlatformProductDetailsQueryMetrics) value).toList());
+      } else if (value instanceof PlatformProductDetailsResponse) {
+        stream.write(137);
         writeValue(stream, ((PlatformProductDetailsResponse) value).toList());
       } else if (value instanceof PlatformPurchase) {
-        stream.write(137);
+        stream.write(138);
         writeValue(stream, ((PlatformPurchase) value).toList());
       } else if (value instanceof PlatformPurchaseHistoryRecord) {
-        stream.write(138);
+        stream.write(139);
         writeValue(stream, ((PlatformPurchaseHistoryRecord) value).toList());
       } else if (value instanceof PlatformPurchaseHistoryResponse) {
-        stream.write(139);
+        stream.write(140);
         writeValue(stream, ((PlatformPurchaseHistoryResponse) value).toList());
       } else if (value instanceof PlatformPurchasesResponse) {
-        stream.write(140);
+        stream.write(141);
         writeValue(stream, ((PlatformPurchasesResponse) value).toList());
       } else if (value instanceof PlatformQueryProduct) {
-        stream.write(141);
+        stream.write(142);
         writeValue(stream, ((PlatformQueryProduct) value).toList());
       } else if (value instanceof PlatformSubscriptionOfferDetails) {
-        stream.write(142);
+        stream.write(143);
         writeValue(stream, ((PlatformSubscriptionOfferDetails) value).toList());
       } else {
         super.writeValue(stream, value);
@@ -2601,6 +2889,22 @@ public class Messages {
     void queryProductDetailsAsync(
         @NonNull List<PlatformQueryProduct> products,
         @NonNull Result<PlatformProductDetailsResponse> result);
+    /**
+     * Enables the persistent cache of queryProductDetailsAsync responses.
+     *
+     * <p>Responses younger than [maxAgeMillis] are returned without querying Play Billing. Older
+     * responses are still returned for another [maxStaleMillis], while they are refreshed in the
+     * background. Passing 0 for both disables the cache, which is the default.
+     *
+     * <p>Responses are only used for the [accountId] they were cached for.
+     *
+     * <p>Loads the cache from disk before it returns.
+     */
+    void setProductDetailsCacheOptions(
+        @NonNull Long maxAgeMillis, @NonNull Long maxStaleMillis, @Nullable String accountId);
+    /** Returns the metrics of queryProductDetailsAsync calls. */
+    @NonNull
+    PlatformProductDetailsQueryMetrics getProductDetailsQueryMetrics();
     /** Wraps BillingClient#isFeatureSupported(String). */
     @NonNull
     Boolean isFeatureSupported(@NonNull String feature);
@@ -2916,6 +3220,61 @@ public class Messages {
           channel.setMessageHandler(null);
         }
       }
+      {
+        BinaryMessenger.TaskQueue taskQueue = binaryMessenger.makeBackgroundTaskQueue();
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.in_app_purchase_android.InAppPurchaseApi.setProductDetailsCacheOptions",
+                getCodec(),
+                taskQueue);
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                ArrayList<Object> args = (ArrayList<Object>) message;
+                Number maxAgeMillisArg = (Number) args.get(0);
+                Number maxStaleMillisArg = (Number) args.get(1);
+                String accountIdArg = (String) args.get(2);
+                try {
+                  api.setProductDetailsCacheOptions(
+                      (maxAgeMillisArg == null) ? null : maxAgeMillisArg.longValue(),
+                      (maxStaleMillisArg == null) ? null : maxStaleMillisArg.longValue(),
+                      accountIdArg);
+                  wrapped.add(0, null);
+                } catch (Throwable exception) {
+                  ArrayList<Object> wrappedError = wrapError(exception);
+                  wrapped = wrappedError;
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
+      {
+        BasicMessageChannel<Object> channel =
+            new BasicMessageChannel<>(
+                binaryMessenger,
+                "dev.flutter.pigeon.in_app_purchase_android.InAppPurchaseApi.getProductDetailsQueryMetrics",
+                getCodec());
+        if (api != null) {
+          channel.setMessageHandler(
+              (message, reply) -> {
+                ArrayList<Object> wrapped = new ArrayList<Object>();
+                try {
+                  PlatformProductDetailsQueryMetrics output = api.getProductDetailsQueryMetrics();
+                  wrapped.add(0, output);
+                } catch (Throwable exception) {
+                  ArrayList<Object> wrappedError = wrapError(exception);
+                  wrapped = wrappedError;
+                }
+                reply.reply(wrapped);
+              });
+        } else {
+          channel.setMessageHandler(null);
+        }
+      }
       {
         BasicMessageChannel<Object> channel =
             new BasicMessageChannel<>(
@@ -17,6 +17,7 @@ import android.app.Activity;
 import android.app.Application;
 import android.content.Context;
 import android.os.Bundle;
+import android.os.SystemClock;
 import android.util.Log;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -39,15 +40,18 @@ import io.flutter.plugins.inapppurchase.Messages.InAppPurchaseCallbackApi;
 import io.flutter.plugins.inapppurchase.Messages.PlatformBillingChoiceMode;
 import io.flutter.plugins.inapppurchase.Messages.PlatformBillingFlowParams;
 import io.flutter.plugins.inapppurchase.Messages.PlatformBillingResult;
+import io.flutter.plugins.inapppurchase.Messages.PlatformProductDetailsQueryMetrics;
 import io.flutter.plugins.inapppurchase.Messages.PlatformProductDetailsResponse;
 import io.flutter.plugins.inapppurchase.Messages.PlatformProductType;
 import io.flutter.plugins.inapppurchase.Messages.PlatformPurchaseHistoryResponse;
 import io.flutter.plugins.inapppurchase.Messages.PlatformPurchasesResponse;
 import io.flutter.plugins.inapppurchase.Messages.PlatformQueryProduct;
 import io.flutter.plugins.inapppurchase.Messages.Result;
+import java.io.File;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.Executors;
 
 /** Handles method channel for the plugin. */
 class MethodCallHandlerImpl implements Application.ActivityLifecycleCallbacks, InAppPurchaseApi {
@@ -66,6 +70,8 @@ class MethodCallHandlerImpl implements Application.ActivityLifecycleCallbacks, I
           .UNKNOWN_REPLACEMENT_MODE;
 
   private static final String TAG = "InAppPurchasePlugin";
+  private static final String PRODUCT_DETAILS_CACHE_FILE_NAME =
+      "in_app_purchase_product_details_cache";
   private static final String LOAD_PRODUCT_DOC_URL =
       "https://github.com/flutter/packages/blob/main/packages/in_app_purchase/in_app_purchase/README.md#loading-products-for-sale";
   @VisibleForTesting static final String ACTIVITY_UNAVAILABLE = "ACTIVITY_UNAVAILABLE";
@@ -79,16 +85,46 @@ class MethodCallHandlerImpl implements Application.ActivityLifecycleCallbacks, I
 
   private final HashMap<String, ProductDetails> cachedProducts = new HashMap<>();
 
+  private final ProductDetailsCache productDetailsCache;
+  private final ProductDetailsQueryMetrics productDetailsQueryMetrics =
+      new ProductDetailsQueryMetrics();
+  // Results waiting for a product details query that is in flight, by ProductDetailsCache#keyFor.
+  // Guarded by itself.
+  private final HashMap<String, List<Result<PlatformProductDetailsResponse>>>
+      pendingProductDetailsQueries = new HashMap<>();
+
   /** Constructs the MethodCallHandlerImpl */
   MethodCallHandlerImpl(
       @Nullable Activity activity,
       @NonNull Context applicationContext,
       @NonNull InAppPurchaseCallbackApi callbackApi,
       @NonNull BillingClientFactory billingClientFactory) {
+    this(
+        activity,
+        applicationContext,
+        callbackApi,
+        billingClientFactory,
+        new ProductDetailsCache(
+            getProductDetailsCacheFile(applicationContext), Executors.newSingleThreadExecutor()));
+  }
+
+  @VisibleForTesting
+  MethodCallHandlerImpl(
+      @Nullable Activity activity,
+      @NonNull Context applicationContext,
+      @NonNull InAppPurchaseCallbackApi callbackApi,
+      @NonNull BillingClientFactory billingClientFactory,
+      @NonNull ProductDetailsCache productDetailsCache) {
     this.billingClientFactory = billingClientFactory;
     this.applicationContext = applicationContext;
     this.activity = activity;
     this.callbackApi = callbackApi;
+    this.productDetailsCache = productDetailsCache;
+  }
+
+  private static @Nullable File getProductDetailsCacheFile(@NonNull Context context) {
+    File cacheDir = context.getCacheDir();
+    return cacheDir == null ? null : new File(cacheDir, PRODUCT_DETAILS_CACHE_FILE_NAME);
   }
 
   /**
@@ -227,25 +263,114 @@ class MethodCallHandlerImpl implements Application.ActivityLifecycleCallbacks, I
       result.error(getNullBillingClientError());
       return;
     }
+    productDetailsQueryMetrics.recordQuery();
+
+    final String key = ProductDetailsCache.keyFor(products);
+    ProductDetailsCache.Entry cachedEntry =
+        productDetailsCache.get(key, System.currentTimeMillis());
+    if (cachedEntry == null) {
+      queryProductDetailsFromBilling(billingClient, products, key, result);
+      return;
+    }
+    productDetailsQueryMetrics.recordCacheHit(!cachedEntry.fresh);
+    result.success(cachedEntry.response);
+    // Purchases need the ProductDetails returned by Play Billing, which are not cached on disk.
+    if (!cachedEntry.fresh || !hasCachedProducts(products)) {
+      queryProductDetailsFromBilling(billingClient, products, key, null);
+    }
+  }
+
+  /**
+   * Queries Play Billing for {@code products} and sends the response to {@code result}, or to
+   * nothing if {@code result} is null and the query only refreshes the caches.
+   *
+   * <p>Joins an identical query that is already in flight instead of starting a new one.
+   */
+  private void queryProductDetailsFromBilling(
+      @NonNull BillingClient billingClient,
+      @NonNull List<PlatformQueryProduct> products,
+      @NonNull String key,
+      @Nullable Result<PlatformProductDetailsResponse> result) {
+    synchronized (pendingProductDetailsQueries) {
+      List<Result<PlatformProductDetailsResponse>> pendingResults =
+          pendingProductDetailsQueries.get(key);
+      if (pendingResults != null) {
+        if (result != null) {
+          pendingResults.add(result);
+          productDetailsQueryMetrics.recordCoalescedQuery();
+        }
+        return;
+      }
+      pendingResults = new ArrayList<>();
+      if (result != null) {
+        pendingResults.add(result);
+      }
+      pendingProductDetailsQueries.put(key, pendingResults);
+    }
 
+    final long startMillis = SystemClock.elapsedRealtime();
     try {
       QueryProductDetailsParams params =
           QueryProductDetailsParams.newBuilder().setProductList(toProductList(products)).build();
       billingClient.queryProductDetailsAsync(
           params,
           (billingResult, productDetailsList) -> {
+            productDetailsQueryMetrics.recordBillingRoundTrip(
+                SystemClock.elapsedRealtime() - startMillis);
             updateCachedProducts(productDetailsList);
             final PlatformProductDetailsResponse.Builder responseBuilder =
                 new PlatformProductDetailsResponse.Builder()
                     .setBillingResult(fromBillingResult(billingResult))
                     .setProductDetails(fromProductDetailsList(productDetailsList));
-            result.success(responseBuilder.build());
+            final PlatformProductDetailsResponse response = responseBuilder.build();
+            if (billingResult.getResponseCode() == BillingClient.BillingResponseCode.OK
+                && productDetailsList != null
+                && !productDetailsList.isEmpty()) {
+              productDetailsCache.put(key, response, System.currentTimeMillis());
+            }
+            for (Result<PlatformProductDetailsResponse> pendingResult :
+                removePendingProductDetailsQuery(key)) {
+              pendingResult.success(response);
+            }
           });
     } catch (RuntimeException e) {
-      result.error(new FlutterError("error", e.getMessage(), Log.getStackTraceString(e)));
+      FlutterError error = new FlutterError("error", e.getMessage(), Log.getStackTraceString(e));
+      for (Result<PlatformProductDetailsResponse> pendingResult :
+          removePendingProductDetailsQuery(key)) {
+        pendingResult.error(error);
+      }
+    }
+  }
+
+  private @NonNull List<Result<PlatformProductDetailsResponse>> removePendingProductDetailsQuery(
+      @NonNull String key) {
+    synchronized (pendingProductDetailsQueries) {
+      List<Result<PlatformProductDetailsResponse>> pendingResults =
+          pendingProductDetailsQueries.remove(key);
+      return pendingResults == null ? new ArrayList<>() : pendingResults;
     }
   }
 
+  private boolean hasCachedProducts(@NonNull List<PlatformQueryProduct> products) {
+    for (PlatformQueryProduct product : products) {
+      if (!cachedProducts.containsKey(product.getProductId())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public void setProductDetailsCacheOptions(
+      @NonNull Long maxAgeMillis, @NonNull Long maxStaleMillis, @Nullable String accountId) {
+    productDetailsCache.setPolicy(maxAgeMillis, maxStaleMillis, accountId);
+  }
+
+  @Override
+  public @NonNull PlatformProductDetailsQueryMetrics getProductDetailsQueryMetrics() {
+    return productDetailsQueryMetrics.toPlatform();
+  }
+
   @Override
   public @NonNull PlatformBillingResult launchBillingFlow(
       @NonNull PlatformBillingFlowParams params) {
@@ -0,0 +1,303 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.inapppurchase;
+
+import android.util.Log;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+import io.flutter.plugin.common.MessageCodec;
+import io.flutter.plugins.inapppurchase.Messages.InAppPurchaseApi;
+import io.flutter.plugins.inapppurchase.Messages.PlatformProductDetailsResponse;
+import io.flutter.plugins.inapppurchase.Messages.PlatformQueryProduct;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Caches product details responses in memory and on disk, so that they are available right after
+ * a cold start.
+ *
+ * <p>Only the responses sent to Dart are cached. The {@link
+ * com.android.billingclient.api.ProductDetails} needed to launch a billing flow cannot be created
+ * from them, so callers still need to query Play Billing to be able to make purchases.
+ *
+ * <p>Play Billing answers queries for the signed in account, so responses are only used for the
+ * account they were cached for. Changing the account passed to {@link #setPolicy} discards them.
+ *
+ * <p>The cache is disabled until {@link #setPolicy} is called with a positive age. All methods are
+ * thread safe.
+ */
+class ProductDetailsCache {
+  private static final String TAG = "InAppPurchasePlugin";
+  @VisibleForTesting static final int MAX_ENTRIES = 32;
+  private static final int FORMAT_VERSION = 2;
+
+  /** A cached response, and whether it is younger than the maximum age. */
+  static final class Entry {
+    final @NonNull PlatformProductDetailsResponse response;
+    final long timestampMillis;
+    final boolean fresh;
+
+    Entry(@NonNull PlatformProductDetailsResponse response, long timestampMillis, boolean fresh) {
+      this.response = response;
+      this.timestampMillis = timestampMillis;
+      this.fresh = fresh;
+    }
+  }
+
+  @Nullable private final File file;
+  private final Executor diskExecutor;
+  private final MessageCodec<Object> codec = InAppPurchaseApi.getCodec();
+
+  // Guarded by this.
+  private final HashMap<String, Entry> entries = new HashMap<>();
+  private long maxAgeMillis;
+  private long maxStaleMillis;
+  private @NonNull String accountId = "";
+  private boolean loaded;
+
+  /**
+   * Creates a cache stored in {@code file}, or only in memory if {@code file} is null. Writes to
+   * {@code file} are run on {@code diskExecutor}, which should run tasks one at a time.
+   */
+  ProductDetailsCache(@Nullable File file, @NonNull Executor diskExecutor) {
+    this.file = file;
+    this.diskExecutor = diskExecutor;
+  }
+
+  /**
+   * Returns the key of the responses for a query of {@code products}, which does not depend on the
+   * order of the products.
+   */
+  static @NonNull String keyFor(@NonNull List<PlatformQueryProduct> products) {
+    List<String> ids = new ArrayList<>(products.size());
+    for (PlatformQueryProduct product : products) {
+      ids.add(product.getProductType().name() + ":" + product.getProductId());
+    }
+    Collections.sort(ids);
+    StringBuilder key = new StringBuilder();
+    for (String id : ids) {
+      key.append(id).append('\n');
+    }
+    return key.toString();
+  }
+
+  /**
+   * Sets how long responses are used for.
+   *
+   * <p>Responses younger than {@code maxAgeMillis} are fresh. Older responses are stale, and are
+   * still returned until they are {@code maxAgeMillis + maxStaleMillis} old. Passing 0 for both
+   * disables the cache and deletes the responses stored on disk.
+   *
+   * <p>Responses are only used while {@code accountId} stays the same. Responses cached for a
+   * different account, including those stored on disk, are discarded.
+   *
+   * <p>Enabling the cache reads it from disk, so this should not be called on the main thread.
+   */
+  void setPolicy(long maxAgeMillis, long maxStaleMillis, @Nullable String accountId) {
+    if (maxAgeMillis < 0 || maxStaleMillis < 0) {
+      throw new IllegalArgumentException("Cache durations must not be negative");
+    }
+    boolean enabled = maxAgeMillis > 0 || maxStaleMillis > 0;
+    String newAccountId = accountId == null ? "" : accountId;
+    boolean accountChanged;
+    synchronized (this) {
+      this.maxAgeMillis = maxAgeMillis;
+      this.maxStaleMillis = maxStaleMillis;
+      accountChanged = !this.accountId.equals(newAccountId);
+      this.accountId = newAccountId;
+      if (!enabled || accountChanged) {
+        entries.clear();
+      }
+      if (!enabled) {
+        loaded = false;
+      }
+    }
+    if (enabled) {
+      load();
+      if (accountChanged && file != null) {
+        // Replaces the responses of the previous account stored on disk.
+        diskExecutor.execute(this::writeToDisk);
+      }
+    } else if (file != null) {
+      diskExecutor.execute(this::deleteFromDisk);
+    }
+  }
+
+  synchronized boolean isEnabled() {
+    return maxAgeMillis > 0 || maxStaleMillis > 0;
+  }
+
+  /** Returns the response cached for {@code key}, or null if there is none that can be used. */
+  synchronized @Nullable Entry get(@NonNull String key, long nowMillis) {
+    if (!isEnabled()) {
+      return null;
+    }
+    Entry entry = entries.get(key);
+    if (entry == null) {
+      return null;
+    }
+    long age = nowMillis - entry.timestampMillis;
+    if (age > maxAgeMillis + maxStaleMillis) {
+      return null;
+    }
+    boolean fresh = age >= 0 && age < maxAgeMillis;
+    return new Entry(entry.response, entry.timestampMillis, fresh);
+  }
+
+  /** Caches {@code response} for {@code key}, evicting the oldest response if the cache is full. */
+  void put(@NonNull String key, @NonNull PlatformProductDetailsResponse response, long nowMillis) {
+    synchronized (this) {
+      if (!isEnabled()) {
+        return;
+      }
+      entries.put(key, new Entry(response, nowMillis, true));
+      evictOldest();
+    }
+    if (file != null) {
+      diskExecutor.execute(this::writeToDisk);
+    }
+  }
+
+  // Must be called with the lock held.
+  private void evictOldest() {
+    while (entries.size() > MAX_ENTRIES) {
+      String oldestKey = null;
+      long oldestTimestamp = Long.MAX_VALUE;
+      for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+        if (entry.getValue().timestampMillis < oldestTimestamp) {
+          oldestKey = entry.getKey();
+          oldestTimestamp = entry.getValue().timestampMillis;
+        }
+      }
+      entries.remove(oldestKey);
+    }
+  }
+
+  /** Reads the responses stored on disk, unless they have already been read. */
+  private void load() {
+    synchronized (this) {
+      if (loaded) {
+        return;
+      }
+      loaded = true;
+    }
+    if (file == null || !file.exists()) {
+      return;
+    }
+    String expectedAccountId;
+    synchronized (this) {
+      expectedAccountId = accountId;
+    }
+    HashMap<String, Entry> stored;
+    try {
+      stored = decode(readFile(file), expectedAccountId);
+    } catch (IOException | RuntimeException e) {
+      // A missing or corrupted cache only costs a query, so start over.
+      Log.w(TAG, "Discarding product details cache: " + e.getMessage());
+      return;
+    }
+    synchronized (this) {
+      if (!accountId.equals(expectedAccountId)) {
+        return;
+      }
+      for (Map.Entry<String, Entry> entry : stored.entrySet()) {
+        Entry current = entries.get(entry.getKey());
+        if (current == null || current.timestampMillis < entry.getValue().timestampMillis) {
+          entries.put(entry.getKey(), entry.getValue());
+        }
+      }
+      evictOldest();
+    }
+  }
+
+  private void writeToDisk() {
+    ArrayList<Object> encoded = new ArrayList<>();
+    encoded.add(FORMAT_VERSION);
+    synchronized (this) {
+      if (!isEnabled()) {
+        return;
+      }
+      encoded.add(accountId);
+      for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+        encoded.add(entry.getKey());
+        encoded.add(entry.getValue().timestampMillis);
+        encoded.add(entry.getValue().response);
+      }
+    }
+    ByteBuffer buffer = codec.encodeMessage(encoded);
+    buffer.flip();
+    byte[] bytes = new byte[buffer.remaining()];
+    buffer.get(bytes);
+
+    // Write to a temporary file first, so a crash never leaves a partially written cache.
+    File temporaryFile = new File(file.getPath() + ".tmp");
+    try (OutputStream output = new FileOutputStream(temporaryFile)) {
+      output.write(bytes);
+    } catch (IOException e) {
+      Log.w(TAG, "Failed to write product details cache: " + e.getMessage());
+      return;
+    }
+    if (!temporaryFile.renameTo(file)) {
+      Log.w(TAG, "Failed to replace product details cache");
+      temporaryFile.delete();
+    }
+  }
+
+  private void deleteFromDisk() {
+    synchronized (this) {
+      if (isEnabled()) {
+        return;
+      }
+    }
+    file.delete();
+  }
+
+  /** Decodes the responses in {@code bytes}, or none if they were cached for another account. */
+  private @NonNull HashMap<String, Entry> decode(
+      @NonNull byte[] bytes, @NonNull String expectedAccountId) {
+    ArrayList<?> encoded = (ArrayList<?>) codec.decodeMessage(ByteBuffer.wrap(bytes));
+    if (encoded == null || ((Number) encoded.get(0)).intValue() != FORMAT_VERSION) {
+      throw new IllegalArgumentException("Unsupported format");
+    }
+    HashMap<String, Entry> decoded = new HashMap<>();
+    if (!expectedAccountId.equals(encoded.get(1))) {
+      return decoded;
+    }
+    for (int i = 2; i + 2 < encoded.size(); i += 3) {
+      String key = (String) encoded.get(i);
+      long timestampMillis = ((Number) encoded.get(i + 1)).longValue();
+      PlatformProductDetailsResponse response = (PlatformProductDetailsResponse) encoded.get(i + 2);
+      decoded.put(key, new Entry(response, timestampMillis, false));
+    }
+    return decoded;
+  }
+
+  private static @NonNull byte[] readFile(@NonNull File file) throws IOException {
+    byte[] bytes = new byte[(int) file.length()];
+    try (InputStream input = new FileInputStream(file)) {
+      int offset = 0;
+      while (offset < bytes.length) {
+        int read = input.read(bytes, offset, bytes.length - offset);
+        if (read < 0) {
+          throw new IOException("Unexpected end of file");
+        }
+        offset += read;
+      }
+    }
+    return bytes;
+  }
+}
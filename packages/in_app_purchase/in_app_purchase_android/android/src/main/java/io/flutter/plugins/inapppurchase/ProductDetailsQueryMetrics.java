@@ -0,0 +1,59 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.inapppurchase;
+
+import androidx.annotation.NonNull;
+import io.flutter.plugins.inapppurchase.Messages.PlatformProductDetailsQueryMetrics;
+
+/** Counts product details queries and how they were answered. All methods are thread safe. */
+class ProductDetailsQueryMetrics {
+  private long queryCount;
+  private long cacheHitCount;
+  private long staleCacheHitCount;
+  private long coalescedQueryCount;
+  private long billingRoundTripCount;
+  private long lastBillingRoundTripMillis;
+  private long maxBillingRoundTripMillis;
+  private long totalBillingRoundTripMillis;
+
+  /** Records a query made from Dart. */
+  synchronized void recordQuery() {
+    queryCount++;
+  }
+
+  /** Records a query answered from the cache. */
+  synchronized void recordCacheHit(boolean stale) {
+    cacheHitCount++;
+    if (stale) {
+      staleCacheHitCount++;
+    }
+  }
+
+  /** Records a query answered by an identical query that was already in flight. */
+  synchronized void recordCoalescedQuery() {
+    coalescedQueryCount++;
+  }
+
+  /** Records a completed query to Play Billing that took {@code durationMillis}. */
+  synchronized void recordBillingRoundTrip(long durationMillis) {
+    billingRoundTripCount++;
+    lastBillingRoundTripMillis = durationMillis;
+    maxBillingRoundTripMillis = Math.max(maxBillingRoundTripMillis, durationMillis);
+    totalBillingRoundTripMillis += durationMillis;
+  }
+
+  synchronized @NonNull PlatformProductDetailsQueryMetrics toPlatform() {
+    return new PlatformProductDetailsQueryMetrics.Builder()
+        .setQueryCount(queryCount)
+        .setCacheHitCount(cacheHitCount)
+        .setStaleCacheHitCount(staleCacheHitCount)
+        .setCoalescedQueryCount(coalescedQueryCount)
+        .setBillingRoundTripCount(billingRoundTripCount)
+        .setLastBillingRoundTripMillis(lastBillingRoundTripMillis)
+        .setMaxBillingRoundTripMillis(maxBillingRoundTripMillis)
+        .setTotalBillingRoundTripMillis(totalBillingRoundTripMillis)
+        .build();
+  }
+}
@@ -545,6 +545,114 @@ public class MethodCallHandlerTest {
         Objects.requireNonNull(errorCaptor.getValue().getMessage()).contains("BillingClient"));
   }
 
+  @Test
+  public void queryProductDetailsAsync_coalescesIdenticalQueries() {
+    establishConnectedBillingClient();
+    @SuppressWarnings("unchecked")
+    Messages.Result<PlatformProductDetailsResponse> secondResult = mock(Messages.Result.class);
+
+    methodChannelHandler.queryProductDetailsAsync(
+        buildProductList(asList("id1", "id2"), PlatformProductType.INAPP),
+        platformProductDetailsResult);
+    // The same products in a different order.
+    methodChannelHandler.queryProductDetailsAsync(
+        buildProductList(asList("id2", "id1"), PlatformProductType.INAPP), secondResult);
+
+    ArgumentCaptor<ProductDetailsResponseListener> listenerCaptor =
+        ArgumentCaptor.forClass(ProductDetailsResponseListener.class);
+    verify(mockBillingClient, times(1)).queryProductDetailsAsync(any(), listenerCaptor.capture());
+    listenerCaptor
+        .getValue()
+        .onProductDetailsResponse(
+            buildBillingResult(BillingResponseCode.OK),
+            asList(buildProductDetails("id1"), buildProductDetails("id2")));
+
+    verify(platformProductDetailsResult, times(1)).success(any());
+    verify(secondResult, times(1)).success(any());
+    Messages.PlatformProductDetailsQueryMetrics metrics =
+        methodChannelHandler.getProductDetailsQueryMetrics();
+    assertEquals(2L, metrics.getQueryCount().longValue());
+    assertEquals(1L, metrics.getCoalescedQueryCount().longValue());
+    assertEquals(1L, metrics.getBillingRoundTripCount().longValue());
+    assertEquals(0L, metrics.getCacheHitCount().longValue());
+  }
+
+  @Test
+  public void queryProductDetailsAsync_returnsFreshCachedResponse() {
+    methodChannelHandler =
+        new MethodCallHandlerImpl(
+            activity,
+            context,
+            mockCallbackApi,
+            factory,
+            new ProductDetailsCache(null, Runnable::run));
+    methodChannelHandler.setProductDetailsCacheOptions(60000L, 0L, null);
+    queryForProducts(asList("id1", "id2"), BillingResponseCode.OK);
+
+    @SuppressWarnings("unchecked")
+    Messages.Result<PlatformProductDetailsResponse> cachedResult = mock(Messages.Result.class);
+    methodChannelHandler.queryProductDetailsAsync(
+        buildProductList(asList("id1", "id2"), PlatformProductType.INAPP), cachedResult);
+
+    // Answered from the cache, without another query to Play Billing.
+    verify(mockBillingClient, times(1)).queryProductDetailsAsync(any(), any());
+    ArgumentCaptor<PlatformProductDetailsResponse> resultCaptor =
+        ArgumentCaptor.forClass(PlatformProductDetailsResponse.class);
+    verify(cachedResult).success(resultCaptor.capture());
+    assertEquals(2, resultCaptor.getValue().getProductDetails().size());
+    Messages.PlatformProductDetailsQueryMetrics metrics =
+        methodChannelHandler.getProductDetailsQueryMetrics();
+    assertEquals(1L, metrics.getCacheHitCount().longValue());
+    assertEquals(0L, metrics.getStaleCacheHitCount().longValue());
+  }
+
+  @Test
+  public void queryProductDetailsAsync_refreshesStaleCachedResponse() {
+    methodChannelHandler =
+        new MethodCallHandlerImpl(
+            activity,
+            context,
+            mockCallbackApi,
+            factory,
+            new ProductDetailsCache(null, Runnable::run));
+    methodChannelHandler.setProductDetailsCacheOptions(0L, 60000L, null);
+    queryForProducts(asList("id1", "id2"), BillingResponseCode.OK);
+
+    @SuppressWarnings("unchecked")
+    Messages.Result<PlatformProductDetailsResponse> cachedResult = mock(Messages.Result.class);
+    methodChannelHandler.queryProductDetailsAsync(
+        buildProductList(asList("id1", "id2"), PlatformProductType.INAPP), cachedResult);
+
+    // Answered from the cache right away, and refreshed from Play Billing.
+    verify(cachedResult, times(1)).success(any());
+    verify(mockBillingClient, times(2)).queryProductDetailsAsync(any(), any());
+    Messages.PlatformProductDetailsQueryMetrics metrics =
+        methodChannelHandler.getProductDetailsQueryMetrics();
+    assertEquals(1L, metrics.getCacheHitCount().longValue());
+    assertEquals(1L, metrics.getStaleCacheHitCount().longValue());
+  }
+
+  @Test
+  public void queryProductDetailsAsync_doesNotCacheErrors() {
+    methodChannelHandler =
+        new MethodCallHandlerImpl(
+            activity,
+            context,
+            mockCallbackApi,
+            factory,
+            new ProductDetailsCache(null, Runnable::run));
+    methodChannelHandler.setProductDetailsCacheOptions(60000L, 0L, null);
+    queryForProducts(asList("id1", "id2"), BillingResponseCode.SERVICE_UNAVAILABLE);
+
+    methodChannelHandler.queryProductDetailsAsync(
+        buildProductList(asList("id1", "id2"), PlatformProductType.INAPP),
+        platformProductDetailsResult);
+
+    verify(mockBillingClient, times(2)).queryProductDetailsAsync(any(), any());
+    assertEquals(
+        0L, methodChannelHandler.getProductDetailsQueryMetrics().getCacheHitCount().longValue());
+  }
+
   // Test launchBillingFlow not crash if `accountId` is `null`
   // Ideally, we should check if the `accountId` is null in the parameter; however,
   // since PBL 3.0, the `accountId` variable is not public.
@@ -1162,6 +1270,10 @@ public class MethodCallHandlerTest {
   }
 
   private void queryForProducts(List<String> productIdList) {
+    queryForProducts(productIdList, 100);
+  }
+
+  private void queryForProducts(List<String> productIdList, int responseCode) {
     // Set up the query method call
     establishConnectedBillingClient();
     List<String> productsIds = asList("id1", "id2");
@@ -1178,7 +1290,7 @@ public class MethodCallHandlerTest {
     List<ProductDetails> productDetailsResponse =
         productIdList.stream().map(this::buildProductDetails).collect(toList());
 
-    BillingResult billingResult = buildBillingResult();
+    BillingResult billingResult = buildBillingResult(responseCode);
     listenerCaptor.getValue().onProductDetailsResponse(billingResult, productDetailsResponse);
   }
 
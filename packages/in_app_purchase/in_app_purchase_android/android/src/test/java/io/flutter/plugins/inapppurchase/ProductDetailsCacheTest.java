@@ -0,0 +1,176 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.inapppurchase;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import io.flutter.plugins.inapppurchase.Messages.PlatformBillingResult;
+import io.flutter.plugins.inapppurchase.Messages.PlatformProductDetailsResponse;
+import io.flutter.plugins.inapppurchase.Messages.PlatformProductType;
+import io.flutter.plugins.inapppurchase.Messages.PlatformQueryProduct;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ProductDetailsCacheTest {
+  private static final long NOW = 1700000000000L;
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private File file;
+
+  @Before
+  public void setUp() {
+    file = new File(temporaryFolder.getRoot(), "cache");
+  }
+
+  private static PlatformProductDetailsResponse buildResponse(String debugMessage) {
+    return new PlatformProductDetailsResponse.Builder()
+        .setBillingResult(
+            new PlatformBillingResult.Builder()
+                .setResponseCode(0L)
+                .setDebugMessage(debugMessage)
+                .build())
+        .setProductDetails(new ArrayList<>())
+        .build();
+  }
+
+  private static List<PlatformQueryProduct> buildProducts(String... productIds) {
+    List<PlatformQueryProduct> products = new ArrayList<>();
+    for (String productId : productIds) {
+      products.add(
+          new PlatformQueryProduct.Builder()
+              .setProductId(productId)
+              .setProductType(PlatformProductType.INAPP)
+              .build());
+    }
+    return products;
+  }
+
+  @Test
+  public void keyFor_doesNotDependOnOrder() {
+    assertEquals(
+        ProductDetailsCache.keyFor(buildProducts("a", "b")),
+        ProductDetailsCache.keyFor(buildProducts("b", "a")));
+    assertFalse(
+        ProductDetailsCache.keyFor(buildProducts("a"))
+            .equals(ProductDetailsCache.keyFor(buildProducts("a", "b"))));
+  }
+
+  @Test
+  public void disabledByDefault() {
+    ProductDetailsCache cache = new ProductDetailsCache(file, Runnable::run);
+
+    cache.put("key", buildResponse("message"), NOW);
+
+    assertNull(cache.get("key", NOW));
+    assertFalse(file.exists());
+  }
+
+  @Test
+  public void get_marksEntriesFreshThenStaleThenExpired() {
+    ProductDetailsCache cache = new ProductDetailsCache(null, Runnable::run);
+    cache.setPolicy(1000, 500, null);
+    cache.put("key", buildResponse("message"), NOW);
+
+    assertTrue(cache.get("key", NOW + 999).fresh);
+    assertFalse(cache.get("key", NOW + 1000).fresh);
+    assertNotNull(cache.get("key", NOW + 1500));
+    assertNull(cache.get("key", NOW + 1501));
+  }
+
+  @Test
+  public void responsesSurviveRestart() {
+    ProductDetailsCache cache = new ProductDetailsCache(file, Runnable::run);
+    cache.setPolicy(1000, 0, null);
+    cache.put("key", buildResponse("message"), NOW);
+
+    ProductDetailsCache restoredCache = new ProductDetailsCache(file, Runnable::run);
+    restoredCache.setPolicy(1000, 0, null);
+    ProductDetailsCache.Entry entry = restoredCache.get("key", NOW + 10);
+
+    assertNotNull(entry);
+    assertTrue(entry.fresh);
+    assertEquals(NOW, entry.timestampMillis);
+    assertEquals("message", entry.response.getBillingResult().getDebugMessage());
+  }
+
+  @Test
+  public void corruptedFileIsIgnored() throws IOException {
+    try (OutputStream output = new FileOutputStream(file)) {
+      output.write(new byte[] {1, 2, 3});
+    }
+    ProductDetailsCache cache = new ProductDetailsCache(file, Runnable::run);
+
+    cache.setPolicy(1000, 0, null);
+
+    assertNull(cache.get("key", NOW));
+  }
+
+  @Test
+  public void disablingDeletesStoredResponses() {
+    ProductDetailsCache cache = new ProductDetailsCache(file, Runnable::run);
+    cache.setPolicy(1000, 0, null);
+    cache.put("key", buildResponse("message"), NOW);
+    assertTrue(file.exists());
+
+    cache.setPolicy(0, 0, null);
+
+    assertFalse(file.exists());
+    assertNull(cache.get("key", NOW));
+  }
+
+  @Test
+  public void changingAccountDiscardsResponses() {
+    ProductDetailsCache cache = new ProductDetailsCache(file, Runnable::run);
+    cache.setPolicy(1000, 0, "first");
+    cache.put("key", buildResponse("message"), NOW);
+
+    cache.setPolicy(1000, 0, "second");
+
+    assertNull(cache.get("key", NOW));
+    ProductDetailsCache restoredCache = new ProductDetailsCache(file, Runnable::run);
+    restoredCache.setPolicy(1000, 0, "first");
+    assertNull(restoredCache.get("key", NOW));
+  }
+
+  @Test
+  public void responsesOfAnotherAccountAreNotRestored() {
+    ProductDetailsCache cache = new ProductDetailsCache(file, Runnable::run);
+    cache.setPolicy(1000, 0, "first");
+    cache.put("key", buildResponse("message"), NOW);
+
+    ProductDetailsCache restoredCache = new ProductDetailsCache(file, Runnable::run);
+    restoredCache.setPolicy(1000, 0, "second");
+
+    assertNull(restoredCache.get("key", NOW));
+  }
+
+  @Test
+  public void put_evictsOldestEntry() {
+    ProductDetailsCache cache = new ProductDetailsCache(null, Runnable::run);
+    cache.setPolicy(1000, 0, null);
+    for (int i = 0; i <= ProductDetailsCache.MAX_ENTRIES; i++) {
+      cache.put("key" + i, buildResponse("message"), NOW + i);
+    }
+
+    assertNull(cache.get("key0", NOW));
+    for (String key : asList("key1", "key" + ProductDetailsCache.MAX_ENTRIES)) {
+      assertNotNull(cache.get(key, NOW));
+    }
+  }
+}
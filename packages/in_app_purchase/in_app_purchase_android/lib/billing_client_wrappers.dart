@@ -7,6 +7,7 @@ export 'src/billing_client_wrappers/billing_client_manager.dart';
 export 'src/billing_client_wrappers/billing_client_wrapper.dart';
 export 'src/billing_client_wrappers/billing_response_wrapper.dart';
 export 'src/billing_client_wrappers/one_time_purchase_offer_details_wrapper.dart';
+export 'src/billing_client_wrappers/product_details_query_metrics_wrapper.dart';
 export 'src/billing_client_wrappers/product_details_wrapper.dart';
 export 'src/billing_client_wrappers/product_wrapper.dart';
 export 'src/billing_client_wrappers/purchase_wrapper.dart';
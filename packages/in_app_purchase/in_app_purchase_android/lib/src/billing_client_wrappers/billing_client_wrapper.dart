@@ -144,10 +144,53 @@ class BillingClient {
             .toList()));
   }
 
+  /// Enables the persistent cache of [queryProductDetails] responses.
+  ///
+  /// Responses younger than [maxAge] are returned without waiting for Play
+  /// Billing, even after the app restarts. Older responses are still returned
+  /// for another [maxStale], while they are refreshed in the background.
+  /// Identical queries made while one is in flight always share its response.
+  ///
+  /// Play Billing returns offers, eligibility and prices for the signed in
+  /// user, so responses are only used for the [accountId] they were cached
+  /// for. Pass an obfuscated identifier of the current user, and call this
+  /// again with the new identifier whenever the user changes. Responses
+  /// cached for a different [accountId] are discarded.
+  ///
+  /// A cached response is returned before Play Billing has been queried, and
+  /// [launchBillingFlow] needs products that Play Billing returned. After
+  /// the app restarts, [launchBillingFlow] throws a `PlatformException` with
+  /// the code `NOT_FOUND` for cached products until the query that runs in
+  /// the background completes. Calling [queryProductDetails] again returns
+  /// once that query completes.
+  ///
+  /// Passing [Duration.zero] for both disables the cache, which is the
+  /// default, and deletes the cached responses.
+  Future<void> setProductDetailsCacheOptions({
+    required Duration maxAge,
+    Duration maxStale = Duration.zero,
+    String? accountId,
+  }) async {
+    if (maxAge.isNegative || maxStale.isNegative) {
+      throw ArgumentError('Cache durations must not be negative');
+    }
+    return _hostApi.setProductDetailsCacheOptions(
+        maxAge.inMilliseconds, maxStale.inMilliseconds, accountId);
+  }
+
+  /// Returns counts of [queryProductDetails] calls and how they were answered.
+  Future<ProductDetailsQueryMetricsWrapper>
+      getProductDetailsQueryMetrics() async {
+    return productDetailsQueryMetricsWrapperFromPlatform(
+        await _hostApi.getProductDetailsQueryMetrics());
+  }
+
   /// Attempt to launch the Play Billing Flow for a given [productDetails].
   ///
   /// The [productDetails] needs to have already been fetched in a [queryProductDetails]
-  /// call. The [accountId] is an optional hashed string associated with the user
+  /// call. Products returned from the cache enabled by
+  /// [setProductDetailsCacheOptions] can only be purchased once the query that
+  /// refreshes them completes. The [accountId] is an optional hashed string associated with the user
   /// that's unique to your app. It's used by Google to detect unusual behavior.
   /// Do not pass in a cleartext [accountId], and do not use this field to store any Personally Identifiable Information (PII)
   /// such as emails in cleartext. Attempting to store PII in this field will result in purchases being blocked.
@@ -0,0 +1,79 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+import 'package:flutter/foundation.dart';
+
+/// Counts of `BillingClient.queryProductDetails` calls since the plugin was
+/// attached, and how they were answered.
+@immutable
+class ProductDetailsQueryMetricsWrapper {
+  /// Creates metrics with the given counts.
+  const ProductDetailsQueryMetricsWrapper({
+    required this.queryCount,
+    required this.cacheHitCount,
+    required this.staleCacheHitCount,
+    required this.coalescedQueryCount,
+    required this.billingRoundTripCount,
+    required this.lastBillingRoundTrip,
+    required this.maxBillingRoundTrip,
+    required this.totalBillingRoundTrip,
+  });
+
+  /// The number of queries made.
+  final int queryCount;
+
+  /// The number of queries answered from the product details cache.
+  final int cacheHitCount;
+
+  /// The number of queries answered with a stale response from the cache,
+  /// which were then refreshed in the background.
+  ///
+  /// Included in [cacheHitCount].
+  final int staleCacheHitCount;
+
+  /// The number of queries that joined an identical query already waiting for
+  /// Play Billing.
+  final int coalescedQueryCount;
+
+  /// The number of queries sent to Play Billing.
+  final int billingRoundTripCount;
+
+  /// How long the last query sent to Play Billing took.
+  final Duration lastBillingRoundTrip;
+
+  /// How long the slowest query sent to Play Billing took.
+  final Duration maxBillingRoundTrip;
+
+  /// How long all queries sent to Play Billing took together.
+  final Duration totalBillingRoundTrip;
+
+  @override
+  bool operator ==(Object other) {
+    if (other.runtimeType != runtimeType) {
+      return false;
+    }
+
+    return other is ProductDetailsQueryMetricsWrapper &&
+        other.queryCount == queryCount &&
+        other.cacheHitCount == cacheHitCount &&
+        other.staleCacheHitCount == staleCacheHitCount &&
+        other.coalescedQueryCount == coalescedQueryCount &&
+        other.billingRoundTripCount == billingRoundTripCount &&
+        other.lastBillingRoundTrip == lastBillingRoundTrip &&
+        other.maxBillingRoundTrip == maxBillingRoundTrip &&
+        other.totalBillingRoundTrip == totalBillingRoundTrip;
+  }
+
+  @override
+  int get hashCode => Object.hash(
+        queryCount,
+        cacheHitCount,
+        staleCacheHitCount,
+        coalescedQueryCount,
+        billingRoundTripCount,
+        lastBillingRoundTrip,
+        maxBillingRoundTrip,
+        totalBillingRoundTrip,
+      );
+}
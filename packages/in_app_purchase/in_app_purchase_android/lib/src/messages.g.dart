@@ -261,6 +261,69 @@ class PlatformProductDetailsResponse {
   }
 }
 
+/// Counters and timings of queryProductDetailsAsync calls since the plugin
+/// was attached.
+class PlatformProductDetailsQueryMetrics {
+  PlatformProductDetailsQueryMetrics({
+    required this.queryCount,
+    required this.cacheHitCount,
+    required this.staleCacheHitCount,
+    required this.coalescedQueryCount,
+    required this.billingRoundTripCount,
+    required this.lastBillingRoundTripMillis,
+    required this.maxBillingRoundTripMillis,
+    required this.totalBillingRoundTripMillis,
+  });
+
+  /// The number of queries made from Dart.
+  int queryCount;
+
+  /// The number of queries answered from the cache, including stale answers.
+  int cacheHitCount;
+
+  /// The number of queries answered with stale cached details.
+  int staleCacheHitCount;
+
+  /// The number of queries that joined an identical query already in flight.
+  int coalescedQueryCount;
+
+  /// The number of queries sent to Play Billing.
+  int billingRoundTripCount;
+
+  int lastBillingRoundTripMillis;
+
+  int maxBillingRoundTripMillis;
+
+  int totalBillingRoundTripMillis;
+
+  Object encode() {
+    return <Object?>[
+      queryCount,
+      cacheHitCount,
+      staleCacheHitCount,
+      coalescedQueryCount,
+      billingRoundTripCount,
+      lastBillingRoundTripMillis,
+      maxBillingRoundTripMillis,
+      totalBillingRoundTripMillis,
+    ];
+  }
+
+  static PlatformProductDetailsQueryMetrics decode(Object result) {
+    result as List<Object?>;
+    return PlatformProductDetailsQueryMetrics(
+      queryCount: result[0]! as int,
+      cacheHitCount: result[1]! as int,
+      staleCacheHitCount: result[2]! as int,
+      coalescedQueryCount: result[3]! as int,
+      billingRoundTripCount: result[4]! as int,
+      lastBillingRoundTripMillis: result[5]! as int,
+      maxBillingRoundTripMillis: result[6]! as int,
+      totalBillingRoundTripMillis: result[7]! as int,
+    );
+  }
+}
+
 /// Pigeon version of AlternativeBillingOnlyReportingDetailsWrapper, which
 /// contains the components of the Java
 /// AlternativeBillingOnlyReportingDetailsListener callback.
@@ -757,27 +820,30 @@ class _InAppPurchaseApiCodec extends StandardMessageCodec {
     } else if (value is PlatformProductDetails) {
       buffer.putUint8(135);
       writeValue(buffer, value.encode());
-    } else if (value is PlatformProductDetailsResponse) {
+    } else if (value is PlatformProductDetailsQueryMetrics) {
       buffer.putUint8(136);
       writeValue(buffer, value.encode());
-    } else if (value is PlatformPurchase) {
+    } else if (value is PlatformProductDetailsResponse) {
       buffer.putUint8(137);
       writeValue(buffer, value.encode());
-    } else if (value is PlatformPurchaseHistoryRecord) {
+    } else if (value is PlatformPurchase) {
       buffer.putUint8(138);
       writeValue(buffer, value.encode());
-    } else if (value is PlatformPurchaseHistoryResponse) {
+    } else if (value is PlatformPurchaseHistoryRecord) {
       buffer.putUint8(139);
       writeValue(buffer, value.encode());
-    } else if (value is PlatformPurchasesResponse) {
+    } else if (value is PlatformPurchaseHistoryResponse) {
       buffer.putUint8(140);
       writeValue(buffer, value.encode());
-    } else if (value is PlatformQueryProduct) {
+    } else if (value is PlatformPurchasesResponse) {
       buffer.putUint8(141);
       writeValue(buffer, value.encode());
-    } else if (value is PlatformSubscriptionOfferDetails) {
+    } else if (value is PlatformQueryProduct) {
       buffer.putUint8(142);
       writeValue(buffer, value.encode());
+    } else if (value is PlatformSubscriptionOfferDetails) {
+      buffer.putUint8(143);
+      writeValue(buffer, value.encode());
     } else {
       super.writeValue(buffer, value);
     }
@@ -804,18 +870,20 @@ class _InAppPurchaseApiCodec extends StandardMessageCodec {
       case 135:
         return PlatformProductDetails.decode(readValue(buffer)!);
       case 136:
-        return PlatformProductDetailsResponse.decode(readValue(buffer)!);
+        return PlatformProductDetailsQueryMetrics.decode(readValue(buffer)!);
       case 137:
-        return PlatformPurchase.decode(readValue(buffer)!);
+        return PlatformProductDetailsResponse.decode(readValue(buffer)!);
       case 138:
-        return PlatformPurchaseHistoryRecord.decode(readValue(buffer)!);
+        return PlatformPurchase.decode(readValue(buffer)!);
       case 139:
-        return PlatformPurchaseHistoryResponse.decode(readValue(buffer)!);
+        return PlatformPurchaseHistoryRecord.decode(readValue(buffer)!);
       case 140:
-        return PlatformPurchasesResponse.decode(readValue(buffer)!);
+        return PlatformPurchaseHistoryResponse.decode(readValue(buffer)!);
       case 141:
-        return PlatformQueryProduct.decode(readValue(buffer)!);
+        return PlatformPurchasesResponse.decode(readValue(buffer)!);
       case 142:
+        return PlatformQueryProduct.decode(readValue(buffer)!);
+      case 143:
         return PlatformSubscriptionOfferDetails.decode(readValue(buffer)!);
       default:
         return super.readValueOfType(type, buffer);
@@ -1135,6 +1203,76 @@ class InAppPurchaseApi {
     }
   }
 
+  /// Enables the persistent cache of queryProductDetailsAsync responses.
+  ///
+  /// Responses younger than [maxAgeMillis] are returned without querying Play
+  /// Billing. Older responses are still returned for another
+  /// [maxStaleMillis], while they are refreshed in the background. Passing 0
+  /// for both disables the cache, which is the default.
+  ///
+  /// Responses are only used for the [accountId] they were cached for.
+  ///
+  /// Loads the cache from disk before it returns.
+  Future<void> setProductDetailsCacheOptions(
+      int maxAgeMillis, int maxStaleMillis, String? accountId) async {
+    const String __pigeon_channelName =
+        'dev.flutter.pigeon.in_app_purchase_android.InAppPurchaseApi.setProductDetailsCacheOptions';
+    final BasicMessageChannel<Object?> __pigeon_channel =
+        BasicMessageChannel<Object?>(
+      __pigeon_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: __pigeon_binaryMessenger,
+    );
+    final List<Object?>? __pigeon_replyList =
+        await __pigeon_channel.send(<Object?>[
+      maxAgeMillis,
+      maxStaleMillis,
+      accountId
+    ]) as List<Object?>?;
+    if (__pigeon_replyList == null) {
+      throw _createConnectionError(__pigeon_channelName);
+    } else if (__pigeon_replyList.length > 1) {
+      throw PlatformException(
+        code: __pigeon_replyList[0]! as String,
+        message: __pigeon_replyList[1] as String?,
+        details: __pigeon_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
+  /// Returns the metrics of queryProductDetailsAsync calls.
+  Future<PlatformProductDetailsQueryMetrics>
+      getProductDetailsQueryMetrics() async {
+    const String __pigeon_channelName =
+        'dev.flutter.pigeon.in_app_purchase_android.InAppPurchaseApi.getProductDetailsQueryMetrics';
+    final BasicMessageChannel<Object?> __pigeon_channel =
+        BasicMessageChannel<Object?>(
+      __pigeon_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: __pigeon_binaryMessenger,
+    );
+    final List<Object?>? __pigeon_replyList =
+        await __pigeon_channel.send(null) as List<Object?>?;
+    if (__pigeon_replyList == null) {
+      throw _createConnectionError(__pigeon_channelName);
+    } else if (__pigeon_replyList.length > 1) {
+      throw PlatformException(
+        code: __pigeon_replyList[0]! as String,
+        message: __pigeon_replyList[1] as String?,
+        details: __pigeon_replyList[2],
+      );
+    } else if (__pigeon_replyList[0] == null) {
+      throw PlatformException(
+        code: 'null-error',
+        message: 'Host platform returned null value for non-null return value.',
+      );
+    } else {
+      return (__pigeon_replyList[0] as PlatformProductDetailsQueryMetrics?)!;
+    }
+  }
+
   /// Wraps BillingClient#isFeatureSupported(String).
   Future<bool> isFeatureSupported(String feature) async {
     const String __pigeon_channelName =
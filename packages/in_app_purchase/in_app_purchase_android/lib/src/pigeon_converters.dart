@@ -140,6 +140,24 @@ BillingConfigWrapper billingConfigWrapperFromPlatform(
   );
 }
 
+/// Creates a [ProductDetailsQueryMetricsWrapper] from the Pigeon equivalent.
+ProductDetailsQueryMetricsWrapper productDetailsQueryMetricsWrapperFromPlatform(
+    PlatformProductDetailsQueryMetrics metrics) {
+  return ProductDetailsQueryMetricsWrapper(
+    queryCount: metrics.queryCount,
+    cacheHitCount: metrics.cacheHitCount,
+    staleCacheHitCount: metrics.staleCacheHitCount,
+    coalescedQueryCount: metrics.coalescedQueryCount,
+    billingRoundTripCount: metrics.billingRoundTripCount,
+    lastBillingRoundTrip:
+        Duration(milliseconds: metrics.lastBillingRoundTripMillis),
+    maxBillingRoundTrip:
+        Duration(milliseconds: metrics.maxBillingRoundTripMillis),
+    totalBillingRoundTrip:
+        Duration(milliseconds: metrics.totalBillingRoundTripMillis),
+  );
+}
+
 /// Creates a Pigeon [PlatformProduct] from a [ProductWrapper].
 PlatformQueryProduct platformQueryProductFromWrapper(ProductWrapper product) {
   return PlatformQueryProduct(
@@ -92,6 +92,40 @@ class PlatformProductDetailsResponse {
   final List<PlatformProductDetails?> productDetails;
 }
 
+/// Counters and timings of queryProductDetailsAsync calls since the plugin
+/// was attached.
+class PlatformProductDetailsQueryMetrics {
+  PlatformProductDetailsQueryMetrics({
+    required this.queryCount,
+    required this.cacheHitCount,
+    required this.staleCacheHitCount,
+    required this.coalescedQueryCount,
+    required this.billingRoundTripCount,
+    required this.lastBillingRoundTripMillis,
+    required this.maxBillingRoundTripMillis,
+    required this.totalBillingRoundTripMillis,
+  });
+
+  /// The number of queries made from Dart.
+  final int queryCount;
+
+  /// The number of queries answered from the cache, including stale answers.
+  final int cacheHitCount;
+
+  /// The number of queries answered with stale cached details.
+  final int staleCacheHitCount;
+
+  /// The number of queries that joined an identical query already in flight.
+  final int coalescedQueryCount;
+
+  /// The number of queries sent to Play Billing.
+  final int billingRoundTripCount;
+
+  final int lastBillingRoundTripMillis;
+  final int maxBillingRoundTripMillis;
+  final int totalBillingRoundTripMillis;
+}
+
 /// Pigeon version of AlternativeBillingOnlyReportingDetailsWrapper, which
 /// contains the components of the Java
 /// AlternativeBillingOnlyReportingDetailsListener callback.
@@ -385,6 +419,23 @@ abstract class InAppPurchaseApi {
   PlatformProductDetailsResponse queryProductDetailsAsync(
       List<PlatformQueryProduct> products);
 
+  /// Enables the persistent cache of queryProductDetailsAsync responses.
+  ///
+  /// Responses younger than [maxAgeMillis] are returned without querying Play
+  /// Billing. Older responses are still returned for another
+  /// [maxStaleMillis], while they are refreshed in the background. Passing 0
+  /// for both disables the cache, which is the default.
+  ///
+  /// Responses are only used for the [accountId] they were cached for.
+  ///
+  /// Loads the cache from disk before it returns.
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
+  void setProductDetailsCacheOptions(
+      int maxAgeMillis, int maxStaleMillis, String? accountId);
+
+  /// Returns the metrics of queryProductDetailsAsync calls.
+  PlatformProductDetailsQueryMetrics getProductDetailsQueryMetrics();
+
   /// Wraps BillingClient#isFeatureSupported(String).
   // TODO(stuartmorgan): Consider making this take a enum, and converting the
   // enum value to string constants on the native side, so that magic strings
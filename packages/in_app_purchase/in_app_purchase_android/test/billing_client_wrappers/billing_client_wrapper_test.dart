@@ -247,6 +247,62 @@ void main() {
     });
   });
 
+  group('productDetailsCache', () {
+    test('setProductDetailsCacheOptions passes milliseconds', () async {
+      await billingClient.setProductDetailsCacheOptions(
+          maxAge: const Duration(hours: 1),
+          maxStale: const Duration(minutes: 5));
+
+      verify(mockApi.setProductDetailsCacheOptions(3600000, 300000, null));
+    });
+
+    test('setProductDetailsCacheOptions passes the account', () async {
+      await billingClient.setProductDetailsCacheOptions(
+          maxAge: const Duration(hours: 1), accountId: 'hashedAccount');
+
+      verify(
+          mockApi.setProductDetailsCacheOptions(3600000, 0, 'hashedAccount'));
+    });
+
+    test('setProductDetailsCacheOptions rejects negative durations', () async {
+      expect(
+          () => billingClient.setProductDetailsCacheOptions(
+              maxAge: const Duration(seconds: -1)),
+          throwsArgumentError);
+      verifyNever(mockApi.setProductDetailsCacheOptions(any, any, any));
+    });
+
+    test('getProductDetailsQueryMetrics converts metrics', () async {
+      when(mockApi.getProductDetailsQueryMetrics()).thenAnswer((_) async =>
+          PlatformProductDetailsQueryMetrics(
+            queryCount: 10,
+            cacheHitCount: 6,
+            staleCacheHitCount: 2,
+            coalescedQueryCount: 1,
+            billingRoundTripCount: 3,
+            lastBillingRoundTripMillis: 120,
+            maxBillingRoundTripMillis: 400,
+            totalBillingRoundTripMillis: 700,
+          ));
+
+      final ProductDetailsQueryMetricsWrapper metrics =
+          await billingClient.getProductDetailsQueryMetrics();
+
+      expect(
+          metrics,
+          const ProductDetailsQueryMetricsWrapper(
+            queryCount: 10,
+            cacheHitCount: 6,
+            staleCacheHitCount: 2,
+            coalescedQueryCount: 1,
+            billingRoundTripCount: 3,
+            lastBillingRoundTrip: Duration(milliseconds: 120),
+            maxBillingRoundTrip: Duration(milliseconds: 400),
+            totalBillingRoundTrip: Duration(milliseconds: 700),
+          ));
+    });
+  });
+
   group('launchBillingFlow', () {
     test('serializes and deserializes data', () async {
       const String debugMessage = 'dummy message';
@@ -76,10 +76,21 @@ class _FakePlatformProductDetailsResponse_4 extends _i1.SmartFake
         );
 }
 
-class _FakePlatformAlternativeBillingOnlyReportingDetailsResponse_5
+class _FakePlatformProductDetailsQueryMetrics_5 extends _i1.SmartFake
+    implements _i2.PlatformProductDetailsQueryMetrics {
+  _FakePlatformProductDetailsQueryMetrics_5(
+    Object parent,
+    Invocation parentInvocation,
+  ) : super(
+          parent,
+          parentInvocation,
+        );
+}
+
+class _FakePlatformAlternativeBillingOnlyReportingDetailsResponse_6
     extends _i1.SmartFake
     implements _i2.PlatformAlternativeBillingOnlyReportingDetailsResponse {
-  _FakePlatformAlternativeBillingOnlyReportingDetailsResponse_5(
+  _FakePlatformAlternativeBillingOnlyReportingDetailsResponse_6(
     Object parent,
     Invocation parentInvocation,
   ) : super(
@@ -333,6 +344,52 @@ class MockInAppPurchaseApi extends _i1.Mock implements _i2.InAppPurchaseApi {
         )),
       ) as _i3.Future<_i2.PlatformProductDetailsResponse>);
 
+  @override
+  _i3.Future<void> setProductDetailsCacheOptions(
+    int? maxAgeMillis,
+    int? maxStaleMillis,
+    String? accountId,
+  ) =>
+      (super.noSuchMethod(
+        Invocation.method(
+          #setProductDetailsCacheOptions,
+          [
+            maxAgeMillis,
+            maxStaleMillis,
+            accountId,
+          ],
+        ),
+        returnValue: _i3.Future<void>.value(),
+        returnValueForMissingStub: _i3.Future<void>.value(),
+      ) as _i3.Future<void>);
+
+  @override
+  _i3.Future<_i2.PlatformProductDetailsQueryMetrics>
+      getProductDetailsQueryMetrics() => (super.noSuchMethod(
+            Invocation.method(
+              #getProductDetailsQueryMetrics,
+              [],
+            ),
+            returnValue:
+                _i3.Future<_i2.PlatformProductDetailsQueryMetrics>.value(
+                    _FakePlatformProductDetailsQueryMetrics_5(
+              this,
+              Invocation.method(
+                #getProductDetailsQueryMetrics,
+                [],
+              ),
+            )),
+            returnValueForMissingStub:
+                _i3.Future<_i2.PlatformProductDetailsQueryMetrics>.value(
+                    _FakePlatformProductDetailsQueryMetrics_5(
+              this,
+              Invocation.method(
+                #getProductDetailsQueryMetrics,
+                [],
+              ),
+            )),
+          ) as _i3.Future<_i2.PlatformProductDetailsQueryMetrics>);
+
   @override
   _i3.Future<bool> isFeatureSupported(String? feature) => (super.noSuchMethod(
         Invocation.method(
@@ -406,7 +463,7 @@ class MockInAppPurchaseApi extends _i1.Mock implements _i2.InAppPurchaseApi {
             returnValue: _i3.Future<
                     _i2
                     .PlatformAlternativeBillingOnlyReportingDetailsResponse>.value(
-                _FakePlatformAlternativeBillingOnlyReportingDetailsResponse_5(
+                _FakePlatformAlternativeBillingOnlyReportingDetailsResponse_6(
               this,
               Invocation.method(
                 #createAlternativeBillingOnlyReportingDetailsAsync,
@@ -416,7 +473,7 @@ class MockInAppPurchaseApi extends _i1.Mock implements _i2.InAppPurchaseApi {
             returnValueForMissingStub: _i3.Future<
                     _i2
                     .PlatformAlternativeBillingOnlyReportingDetailsResponse>.value(
-                _FakePlatformAlternativeBillingOnlyReportingDetailsResponse_5(
+                _FakePlatformAlternativeBillingOnlyReportingDetailsResponse_6(
               this,
               Invocation.method(
                 #createAlternativeBillingOnlyReportingDetailsAsync,
@@ -6,7 +6,6 @@ package io.flutter.plugins.sharedpreferences;
 
 import android.content.Context;
 import android.content.SharedPreferences;
-import android.util.Base64;
 import android.util.Log;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -14,11 +13,6 @@ import androidx.annotation.VisibleForTesting;
 import io.flutter.embedding.engine.plugins.FlutterPlugin;
 import io.flutter.plugin.common.BinaryMessenger;
 import io.flutter.plugins.sharedpreferences.Messages.SharedPreferencesApi;
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -37,6 +31,8 @@ public class LegacySharedPreferencesPlugin implements FlutterPlugin, SharedPrefe
 
   private SharedPreferences preferences;
   private SharedPreferencesListEncoder listEncoder;
+  // Whether writes use apply() rather than commit(). Set from Dart, and read on task queues.
+  private volatile boolean asyncWritesEnabled = false;
 
   public LegacySharedPreferencesPlugin() {
     this(new ListEncoder());
@@ -66,43 +62,129 @@ public class LegacySharedPreferencesPlugin implements FlutterPlugin, SharedPrefe
     SharedPreferencesApi.setUp(binding.getBinaryMessenger(), null);
   }
 
+  /**
+   * Writes the changes in {@code editor} to disk, or only schedules the disk write if async writes
+   * are enabled.
+   */
+  private boolean write(@NonNull SharedPreferences.Editor editor) {
+    if (asyncWritesEnabled) {
+      editor.apply();
+      return true;
+    }
+    return editor.commit();
+  }
+
   @Override
   public @NonNull Boolean setBool(@NonNull String key, @NonNull Boolean value) {
-    return preferences.edit().putBoolean(key, value).commit();
+    return write(preferences.edit().putBoolean(key, value));
   }
 
   @Override
   public @NonNull Boolean setString(@NonNull String key, @NonNull String value) {
+    checkStringValue(value);
+    return write(preferences.edit().putString(key, value));
+  }
+
+  private static void checkStringValue(@NonNull String value) {
     // TODO (tarrinneal): Move this string prefix checking logic to dart code and make it an Argument Error.
     if (value.startsWith(LIST_IDENTIFIER)
+        || StringListEncoding.isCompact(value)
         || value.startsWith(BIG_INTEGER_PREFIX)
         || value.startsWith(DOUBLE_PREFIX)) {
       throw new RuntimeException(
           "StorageError: This string cannot be stored as it clashes with special identifier prefixes");
     }
-    return preferences.edit().putString(key, value).commit();
   }
 
   @Override
   public @NonNull Boolean setInt(@NonNull String key, @NonNull Long value) {
-    return preferences.edit().putLong(key, value).commit();
+    return write(preferences.edit().putLong(key, value));
   }
 
   @Override
   public @NonNull Boolean setDouble(@NonNull String key, @NonNull Double value) {
     String doubleValueStr = Double.toString(value);
-    return preferences.edit().putString(key, DOUBLE_PREFIX + doubleValueStr).commit();
+    return write(preferences.edit().putString(key, DOUBLE_PREFIX + doubleValueStr));
   }
 
   @Override
   public @NonNull Boolean remove(@NonNull String key) {
-    return preferences.edit().remove(key).commit();
+    return write(preferences.edit().remove(key));
   }
 
   @Override
   public @NonNull Boolean setStringList(@NonNull String key, @NonNull List<String> value)
       throws RuntimeException {
-    return preferences.edit().putString(key, LIST_IDENTIFIER + listEncoder.encode(value)).commit();
+    return write(preferences.edit().putString(key, encodeList(value)));
+  }
+
+  /** Encodes {@code list} compactly if possible, and with {@link #listEncoder} otherwise. */
+  private @NonNull String encodeList(@NonNull List<String> list) throws RuntimeException {
+    return StringListEncoding.canEncodeCompact(list)
+        ? StringListEncoding.encodeCompact(list)
+        : LIST_IDENTIFIER + listEncoder.encode(list);
+  }
+
+  @Override
+  public @NonNull Boolean setMany(@NonNull Map<String, Object> values) throws RuntimeException {
+    // Everything is validated before the editor is touched, so an invalid value writes nothing.
+    Map<String, Object> storedValues = new HashMap<>();
+    for (Map.Entry<String, Object> entry : values.entrySet()) {
+      storedValues.put(entry.getKey(), toStoredValue(entry.getValue()));
+    }
+    SharedPreferences.Editor editor = preferences.edit();
+    for (Map.Entry<String, Object> entry : storedValues.entrySet()) {
+      Object value = entry.getValue();
+      if (value instanceof Boolean) {
+        editor.putBoolean(entry.getKey(), (Boolean) value);
+      } else if (value instanceof Long) {
+        editor.putLong(entry.getKey(), (Long) value);
+      } else {
+        editor.putString(entry.getKey(), (String) value);
+      }
+    }
+    return write(editor);
+  }
+
+  /** Converts a value sent from Dart to the Boolean, Long or String it is stored as. */
+  @SuppressWarnings("unchecked")
+  private @NonNull Object toStoredValue(@Nullable Object value) throws RuntimeException {
+    if (value instanceof Boolean || value instanceof Long) {
+      return value;
+    } else if (value instanceof Integer) {
+      return ((Integer) value).longValue();
+    } else if (value instanceof Double) {
+      return DOUBLE_PREFIX + value;
+    } else if (value instanceof String) {
+      checkStringValue((String) value);
+      return value;
+    } else if (value instanceof List) {
+      return encodeList((List<String>) value);
+    }
+    throw new RuntimeException(
+        "StorageError: "
+            + (value == null ? "null" : value.getClass().getSimpleName())
+            + " is not a supported type");
+  }
+
+  @Override
+  public @NonNull Boolean removeMany(@NonNull List<String> keys) {
+    SharedPreferences.Editor editor = preferences.edit();
+    for (String key : keys) {
+      editor.remove(key);
+    }
+    return write(editor);
+  }
+
+  @Override
+  public void setAsyncWritesEnabled(@NonNull Boolean enabled) {
+    asyncWritesEnabled = enabled;
+  }
+
+  @Override
+  public @NonNull Boolean flush() {
+    // Disk writes run in order, so committing an empty edit waits for all earlier applies.
+    return preferences.edit().commit();
   }
 
   @Override
@@ -115,18 +197,19 @@ public class LegacySharedPreferencesPlugin implements FlutterPlugin, SharedPrefe
   @Override
   public @NonNull Boolean clear(@NonNull String prefix, @Nullable List<String> allowList)
       throws RuntimeException {
+    final Set<String> allowSet = allowList == null ? null : new HashSet<>(allowList);
     SharedPreferences.Editor clearEditor = preferences.edit();
     Map<String, ?> allPrefs = preferences.getAll();
     ArrayList<String> filteredPrefs = new ArrayList<>();
     for (String key : allPrefs.keySet()) {
-      if (key.startsWith(prefix) && (allowList == null || allowList.contains(key))) {
+      if (key.startsWith(prefix) && (allowSet == null || allowSet.contains(key))) {
         filteredPrefs.add(key);
       }
     }
     for (String key : filteredPrefs) {
       clearEditor.remove(key);
     }
-    return clearEditor.commit();
+    return write(clearEditor);
   }
 
   // Gets all shared preferences, filtered to only those set with the given prefix.
@@ -148,8 +231,16 @@ public class LegacySharedPreferencesPlugin implements FlutterPlugin, SharedPrefe
   private Object transformPref(@NonNull String key, @NonNull Object value) {
     if (value instanceof String) {
       String stringValue = (String) value;
-      if (stringValue.startsWith(LIST_IDENTIFIER)) {
-        return listEncoder.decode(stringValue.substring(LIST_IDENTIFIER.length()));
+      if (StringListEncoding.isCompact(stringValue)) {
+        return StringListEncoding.decodeCompact(stringValue);
+      } else if (stringValue.startsWith(LIST_IDENTIFIER)) {
+        String listString = stringValue.substring(LIST_IDENTIFIER.length());
+        List<String> listValue = listEncoder.decode(listString);
+        // Lists written by older versions are migrated to the compact encoding when read.
+        if (StringListEncoding.canEncodeCompact(listValue)) {
+          preferences.edit().putString(key, StringListEncoding.encodeCompact(listValue)).apply();
+        }
+        return listValue;
       } else if (stringValue.startsWith(BIG_INTEGER_PREFIX)) {
         // TODO (tarrinneal): Remove all BigInt code.
         // https://github.com/flutter/flutter/issues/124420
@@ -170,7 +261,7 @@ public class LegacySharedPreferencesPlugin implements FlutterPlugin, SharedPrefe
       preferences
           .edit()
           .remove(key)
-          .putString(key, LIST_IDENTIFIER + listEncoder.encode(listValue))
+          .putString(key, encodeList(listValue))
           .apply();
 
       return listValue;
@@ -181,27 +272,12 @@ public class LegacySharedPreferencesPlugin implements FlutterPlugin, SharedPrefe
   static class ListEncoder implements SharedPreferencesListEncoder {
     @Override
     public @NonNull String encode(@NonNull List<String> list) throws RuntimeException {
-      try {
-        ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
-        ObjectOutputStream stream = new ObjectOutputStream(byteStream);
-        stream.writeObject(list);
-        stream.flush();
-        return Base64.encodeToString(byteStream.toByteArray(), 0);
-      } catch (IOException e) {
-        throw new RuntimeException(e);
-      }
+      return StringListEncoding.encodeLegacy(list);
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public @NonNull List<String> decode(@NonNull String listString) throws RuntimeException {
-      try {
-        ObjectInputStream stream =
-            new ObjectInputStream(new ByteArrayInputStream(Base64.decode(listString, 0)));
-        return (List<String>) stream.readObject();
-      } catch (IOException | ClassNotFoundException e) {
-        throw new RuntimeException(e);
-      }
+      return StringListEncoding.decodeLegacy(listString);
     }
   }
 }
@@ -0,0 +1,136 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.sharedpreferences;
+
+import android.util.Base64;
+import androidx.annotation.NonNull;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts List<String> values to and from the strings they are stored as.
+ *
+ * <p>Lists are written in a compact encoding: {@link #COMPACT_LIST_PREFIX} followed by each element
+ * as its length in UTF-16 code units, a ':' and the element itself. Elements are stored as they
+ * are, so there is no reflection or Base64 overhead.
+ *
+ * <p>Older versions stored lists as the list prefix followed by Base64 encoded Java serialization,
+ * which can still be read. That encoding is also still written for lists containing strings that
+ * might not survive being stored as text, such as control characters or unpaired surrogates.
+ */
+final class StringListEncoding {
+  /**
+   * Starts every list in the compact encoding.
+   *
+   * <p>This is a prefix of its own rather than an extension of the legacy list prefix, so versions
+   * that predate the compact encoding read these values as plain strings instead of failing to
+   * deserialize them.
+   */
+  static final String COMPACT_LIST_PREFIX = "VGhpcyBpcyB0aGUgcHJlZml4IGZvciBhIGNvbXBhY3QgbGlzdC4";
+
+  private StringListEncoding() {}
+
+  /** Returns whether {@code stored} is a list in the compact encoding. */
+  static boolean isCompact(@NonNull String stored) {
+    return stored.startsWith(COMPACT_LIST_PREFIX);
+  }
+
+  /** Returns whether every element of {@code list} is safe to store as text. */
+  static boolean canEncodeCompact(@NonNull List<String> list) {
+    for (String element : list) {
+      if (element == null || !isSafeText(element)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns whether {@code text} only contains characters that are valid in XML and UTF-8.
+   *
+   * <p>Carriage returns are excluded as well, since XML parsers normalize them to line feeds.
+   */
+  private static boolean isSafeText(@NonNull String text) {
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (Character.isHighSurrogate(c)) {
+        if (i + 1 >= text.length() || !Character.isLowSurrogate(text.charAt(i + 1))) {
+          return false;
+        }
+        i++;
+      } else if (Character.isLowSurrogate(c)
+          || (c < 0x20 && c != '\t' && c != '\n')
+          || c == 0xfffe
+          || c == 0xffff) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Encodes {@code list}, including {@link #COMPACT_LIST_PREFIX}. */
+  static @NonNull String encodeCompact(@NonNull List<String> list) {
+    int length = COMPACT_LIST_PREFIX.length();
+    for (String element : list) {
+      length += element.length() + 8;
+    }
+    StringBuilder builder = new StringBuilder(length);
+    builder.append(COMPACT_LIST_PREFIX);
+    for (String element : list) {
+      builder.append(element.length()).append(':').append(element);
+    }
+    return builder.toString();
+  }
+
+  /** Decodes a list written by {@link #encodeCompact}. */
+  static @NonNull List<String> decodeCompact(@NonNull String encoded) {
+    List<String> list = new ArrayList<>();
+    int index = COMPACT_LIST_PREFIX.length();
+    while (index < encoded.length()) {
+      int separator = encoded.indexOf(':', index);
+      if (separator < 0) {
+        throw new IllegalArgumentException("Missing length separator at " + index);
+      }
+      int start = separator + 1;
+      int length = Integer.parseInt(encoded.substring(index, separator));
+      if (length < 0 || length > encoded.length() - start) {
+        throw new IllegalArgumentException("Invalid element length " + length + " at " + index);
+      }
+      list.add(encoded.substring(start, start + length));
+      index = start + length;
+    }
+    return list;
+  }
+
+  /** Encodes {@code list} in the legacy encoding, without the list prefix. */
+  static @NonNull String encodeLegacy(@NonNull List<String> list) throws RuntimeException {
+    try {
+      ByteArrayOutputStream byteStream = new ByteArrayOutputStream();
+      ObjectOutputStream stream = new ObjectOutputStream(byteStream);
+      stream.writeObject(list);
+      stream.flush();
+      return Base64.encodeToString(byteStream.toByteArray(), 0);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /** Decodes a list in the legacy encoding, without the list prefix. */
+  @SuppressWarnings("unchecked")
+  static @NonNull List<String> decodeLegacy(@NonNull String encoded) throws RuntimeException {
+    try {
+      ObjectInputStream stream =
+          new ObjectInputStream(new ByteArrayInputStream(Base64.decode(encoded, 0)));
+      return (List<String>) stream.readObject();
+    } catch (IOException | ClassNotFoundException e) {
+      throw new RuntimeException(e);
+    }
+  }
+}
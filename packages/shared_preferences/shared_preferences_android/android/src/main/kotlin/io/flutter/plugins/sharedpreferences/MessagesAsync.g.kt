@@ -87,15 +87,50 @@ private object SharedPreferencesAsyncApiCodec : StandardMessageCodec() {
 /** Generated interface from Pigeon that represents a handler of messages from Flutter. */
 interface SharedPreferencesAsyncApi {
   /** Adds property to shared preferences data set of type bool. */
-  fun setBool(key: String, value: Boolean, options: SharedPreferencesPigeonOptions)
+  fun setBool(
+      key: String,
+      value: Boolean,
+      options: SharedPreferencesPigeonOptions,
+      callback: (Result<Unit>) -> Unit
+  )
   /** Adds property to shared preferences data set of type String. */
-  fun setString(key: String, value: String, options: SharedPreferencesPigeonOptions)
+  fun setString(
+      key: String,
+      value: String,
+      options: SharedPreferencesPigeonOptions,
+      callback: (Result<Unit>) -> Unit
+  )
   /** Adds property to shared preferences data set of type int. */
-  fun setInt(key: String, value: Long, options: SharedPreferencesPigeonOptions)
+  fun setInt(
+      key: String,
+      value: Long,
+      options: SharedPreferencesPigeonOptions,
+      callback: (Result<Unit>) -> Unit
+  )
   /** Adds property to shared preferences data set of type double. */
-  fun setDouble(key: String, value: Double, options: SharedPreferencesPigeonOptions)
+  fun setDouble(
+      key: String,
+      value: Double,
+      options: SharedPreferencesPigeonOptions,
+      callback: (Result<Unit>) -> Unit
+  )
   /** Adds property to shared preferences data set of type List<String>. */
-  fun setStringList(key: String, value: List<String>, options: SharedPreferencesPigeonOptions)
+  fun setStringList(
+      key: String,
+      value: List<String>,
+      options: SharedPreferencesPigeonOptions,
+      callback: (Result<Unit>) -> Unit
+  )
+  /**
+   * Adds all properties in [values] to shared preferences data set in a single write.
+   *
+   * Values must be of type bool, int, double, String or List<String>.
+   */
+  fun setAll(
+      values: Map<String, Any>,
+      options: SharedPreferencesPigeonOptions,
+      callback: (Result<Unit>) -> Unit
+  )
   /** Gets individual String value stored with [key], if any. */
   fun getString(key: String, options: SharedPreferencesPigeonOptions): String?
   /** Gets individual void value stored with [key], if any. */
@@ -136,14 +171,14 @@ interface SharedPreferencesAsyncApi {
             val keyArg = args[0] as String
             val valueArg = args[1] as Boolean
             val optionsArg = args[2] as SharedPreferencesPigeonOptions
-            var wrapped: List<Any?>
-            try {
-              api.setBool(keyArg, valueArg, optionsArg)
-              wrapped = listOf<Any?>(null)
-            } catch (exception: Throwable) {
-              wrapped = wrapError(exception)
+            api.setBool(keyArg, valueArg, optionsArg) { result: Result<Unit> ->
+              val error = result.exceptionOrNull()
+              if (error != null) {
+                reply.reply(wrapError(error))
+              } else {
+                reply.reply(wrapResult(null))
+              }
             }
-            reply.reply(wrapped)
           }
         } else {
           channel.setMessageHandler(null)
@@ -163,14 +198,14 @@ interface SharedPreferencesAsyncApi {
             val keyArg = args[0] as String
             val valueArg = args[1] as String
             val optionsArg = args[2] as SharedPreferencesPigeonOptions
-            var wrapped: List<Any?>
-            try {
-              api.setString(keyArg, valueArg, optionsArg)
-              wrapped = listOf<Any?>(null)
-            } catch (exception: Throwable) {
-              wrapped = wrapError(exception)
+            api.setString(keyArg, valueArg, optionsArg) { result: Result<Unit> ->
+              val error = result.exceptionOrNull()
+              if (error != null) {
+                reply.reply(wrapError(error))
+              } else {
+                reply.reply(wrapResult(null))
+              }
             }
-            reply.reply(wrapped)
           }
         } else {
           channel.setMessageHandler(null)
@@ -190,14 +225,14 @@ interface SharedPreferencesAsyncApi {
             val keyArg = args[0] as String
             val valueArg = args[1].let { if (it is Int) it.toLong() else it as Long }
             val optionsArg = args[2] as SharedPreferencesPigeonOptions
-            var wrapped: List<Any?>
-            try {
-              api.setInt(keyArg, valueArg, optionsArg)
-              wrapped = listOf<Any?>(null)
-            } catch (exception: Throwable) {
-              wrapped = wrapError(exception)
+            api.setInt(keyArg, valueArg, optionsArg) { result: Result<Unit> ->
+              val error = result.exceptionOrNull()
+              if (error != null) {
+                reply.reply(wrapError(error))
+              } else {
+                reply.reply(wrapResult(null))
+              }
             }
-            reply.reply(wrapped)
           }
         } else {
           channel.setMessageHandler(null)
@@ -217,14 +252,14 @@ interface SharedPreferencesAsyncApi {
             val keyArg = args[0] as String
             val valueArg = args[1] as Double
             val optionsArg = args[2] as SharedPreferencesPigeonOptions
-            var wrapped: List<Any?>
-            try {
-              api.setDouble(keyArg, valueArg, optionsArg)
-              wrapped = listOf<Any?>(null)
-            } catch (exception: Throwable) {
-              wrapped = wrapError(exception)
+            api.setDouble(keyArg, valueArg, optionsArg) { result: Result<Unit> ->
+              val error = result.exceptionOrNull()
+              if (error != null) {
+                reply.reply(wrapError(error))
+              } else {
+                reply.reply(wrapResult(null))
+              }
             }
-            reply.reply(wrapped)
           }
         } else {
           channel.setMessageHandler(null)
@@ -244,14 +279,40 @@ interface SharedPreferencesAsyncApi {
             val keyArg = args[0] as String
             val valueArg = args[1] as List<String>
             val optionsArg = args[2] as SharedPreferencesPigeonOptions
-            var wrapped: List<Any?>
-            try {
-              api.setStringList(keyArg, valueArg, optionsArg)
-              wrapped = listOf<Any?>(null)
-            } catch (exception: Throwable) {
-              wrapped = wrapError(exception)
+            api.setStringList(keyArg, valueArg, optionsArg) { result: Result<Unit> ->
+              val error = result.exceptionOrNull()
+              if (error != null) {
+                reply.reply(wrapError(error))
+              } else {
+                reply.reply(wrapResult(null))
+              }
+            }
+          }
+        } else {
+          channel.setMessageHandler(null)
+        }
+      }
+      run {
+        val taskQueue = binaryMessenger.makeBackgroundTaskQueue()
+        val channel =
+            BasicMessageChannel<Any?>(
+                binaryMessenger,
+                "dev.flutter.pigeon.shared_preferences_android.SharedPreferencesAsyncApi.setAll",
+                codec,
+                taskQueue)
+        if (api != null) {
+          channel.setMessageHandler { message, reply ->
+            val args = message as List<Any?>
+            val valuesArg = args[0] as Map<String, Any>
+            val optionsArg = args[1] as SharedPreferencesPigeonOptions
+            api.setAll(valuesArg, optionsArg) { result: Result<Unit> ->
+              val error = result.exceptionOrNull()
+              if (error != null) {
+                reply.reply(wrapError(error))
+              } else {
+                reply.reply(wrapResult(null))
+              }
             }
-            reply.reply(wrapped)
           }
         } else {
           channel.setMessageHandler(null)
@@ -0,0 +1,76 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.sharedpreferences
+
+import androidx.datastore.core.DataStore
+import androidx.datastore.preferences.core.Preferences
+import java.util.concurrent.atomic.AtomicReference
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.flow.StateFlow
+import kotlinx.coroutines.flow.first
+import kotlinx.coroutines.flow.stateIn
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+
+/**
+ * Keeps the latest [Preferences] of a [DataStore] in memory.
+ *
+ * The data flow is collected once, on first use, and kept collecting on [scope], so reading the
+ * preferences afterwards does not have to start a new collection of the flow.
+ *
+ * The collected value can lag behind a write that already completed. After a write made through
+ * this plugin, reported with [update], reads therefore ask the data store itself until the
+ * collected value has caught up, so they never return preferences older than the write.
+ */
+internal class PreferencesSnapshot(
+    private val dataStore: () -> DataStore<Preferences>,
+    private val scope: CoroutineScope = CoroutineScope(SupervisorJob() + Dispatchers.IO)
+) {
+  private val mutex = Mutex()
+  // Null until the preferences were first read. Only set while holding mutex.
+  @Volatile private var state: StateFlow<Preferences>? = null
+  // The result of the latest write, until the collected value is known to include it.
+  private val unconfirmedWrite = AtomicReference<Preferences?>(null)
+
+  private suspend fun state(): StateFlow<Preferences> {
+    state?.let {
+      return it
+    }
+    return mutex.withLock {
+      // Suspends until the preferences were read from disk, and throws if they cannot be.
+      state ?: dataStore().data.stateIn(scope).also { state = it }
+    }
+  }
+
+  /** Returns the latest preferences, reading them from disk only the first time. */
+  suspend fun get(): Preferences {
+    val state = state()
+    val written = unconfirmedWrite.get() ?: return state.value
+    val collected = state.value
+    if (collected == written) {
+      unconfirmedWrite.compareAndSet(written, null)
+      return collected
+    }
+    // The data store may also have been written elsewhere since, so the write is not returned as
+    // is; the data store returns its current value, which includes the write.
+    val current = dataStore().data.first()
+    if (state.value == current) {
+      unconfirmedWrite.compareAndSet(written, null)
+    }
+    return current
+  }
+
+  /**
+   * Reports [preferences], the result of a write that completed.
+   *
+   * Reads return preferences at least as new as [preferences] from now on, even if the data flow
+   * skips it because the data store was written again in the meantime.
+   */
+  fun update(preferences: Preferences) {
+    unconfirmedWrite.set(preferences)
+  }
+}
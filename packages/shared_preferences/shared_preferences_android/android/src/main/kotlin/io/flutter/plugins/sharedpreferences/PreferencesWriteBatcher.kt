@@ -0,0 +1,95 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.sharedpreferences
+
+import androidx.datastore.core.DataStore
+import androidx.datastore.preferences.core.MutablePreferences
+import androidx.datastore.preferences.core.Preferences
+import androidx.datastore.preferences.core.edit
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.sync.Mutex
+import kotlinx.coroutines.sync.withLock
+
+/**
+ * Coalesces DataStore mutations that arrive while an edit is in progress into a single [edit] call.
+ *
+ * Each [edit] rewrites the whole preferences file, so a burst of single-key writes costs one file
+ * write per key when applied one by one. A mutation passed to [enqueue] while no edit is in
+ * progress is applied right away on [scope]. Mutations enqueued while an edit is in progress are
+ * collected and applied together as soon as it finishes, after which every callback of the batch is
+ * completed with the result of the shared write. Awaiting each write in turn therefore costs no
+ * more than an edit per write.
+ *
+ * Mutations are applied in the order they were enqueued. Readers should call [flush] first so
+ * they observe all previously enqueued writes. [onWritten] is called with the result of every
+ * successful write before the next write starts and before the callbacks of the batch are called.
+ */
+internal class PreferencesWriteBatcher(
+    private val dataStore: () -> DataStore<Preferences>,
+    private val scope: CoroutineScope = CoroutineScope(SupervisorJob() + Dispatchers.IO),
+    private val onWritten: suspend (Preferences) -> Unit = {}
+) {
+  private class PendingWrite(
+      val mutation: (MutablePreferences) -> Unit,
+      val callback: (Result<Unit>) -> Unit
+  )
+
+  private val lock = Any()
+  // Guarded by lock.
+  private var pendingWrites = mutableListOf<PendingWrite>()
+  // Guarded by lock. Whether a flush that will apply the pending writes has been launched.
+  private var flushLaunched = false
+  // Serializes edits, so a batch is never written before an earlier one.
+  private val writeMutex = Mutex()
+
+  /**
+   * Schedules [mutation] to be applied, right away or after the edit in progress. [callback] is
+   * called on a background thread once the batch has been written.
+   */
+  fun enqueue(mutation: (MutablePreferences) -> Unit, callback: (Result<Unit>) -> Unit) {
+    val launchFlush: Boolean
+    synchronized(lock) {
+      pendingWrites.add(PendingWrite(mutation, callback))
+      launchFlush = !flushLaunched
+      flushLaunched = true
+    }
+    if (launchFlush) {
+      // Waits for the edit in progress, if any, while later mutations join the batch.
+      scope.launch { flush() }
+    }
+  }
+
+  /** Applies [mutation] together with all pending mutations, and returns once it is written. */
+  suspend fun write(mutation: (MutablePreferences) -> Unit) {
+    val result = CompletableDeferred<Result<Unit>>()
+    enqueue(mutation) { result.complete(it) }
+    flush()
+    result.await().getOrThrow()
+  }
+
+  /** Applies all pending mutations now, and waits for any write that is in progress. */
+  suspend fun flush() {
+    writeMutex.withLock {
+      val writes: List<PendingWrite>
+      synchronized(lock) {
+        writes = pendingWrites
+        pendingWrites = mutableListOf()
+        flushLaunched = false
+      }
+      if (writes.isNotEmpty()) {
+        val result = runCatching {
+          val written =
+              dataStore().edit { preferences -> writes.forEach { it.mutation(preferences) } }
+          onWritten(written)
+        }
+        writes.forEach { it.callback(result) }
+      }
+    }
+  }
+}
@@ -5,26 +5,17 @@
 package io.flutter.plugins.sharedpreferences
 
 import android.content.Context
-import android.util.Base64
 import android.util.Log
 import androidx.annotation.VisibleForTesting
 import androidx.datastore.core.DataStore
 import androidx.datastore.preferences.core.Preferences
 import androidx.datastore.preferences.core.booleanPreferencesKey
 import androidx.datastore.preferences.core.doublePreferencesKey
-import androidx.datastore.preferences.core.edit
 import androidx.datastore.preferences.core.longPreferencesKey
 import androidx.datastore.preferences.core.stringPreferencesKey
 import androidx.datastore.preferences.preferencesDataStore
 import io.flutter.embedding.engine.plugins.FlutterPlugin
 import io.flutter.plugin.common.BinaryMessenger
-import java.io.ByteArrayInputStream
-import java.io.ByteArrayOutputStream
-import java.io.ObjectInputStream
-import java.io.ObjectOutputStream
-import kotlinx.coroutines.flow.Flow
-import kotlinx.coroutines.flow.firstOrNull
-import kotlinx.coroutines.flow.map
 import kotlinx.coroutines.runBlocking
 
 const val TAG = "SharedPreferencesPlugin"
@@ -39,6 +30,13 @@ class SharedPreferencesPlugin() : FlutterPlugin, SharedPreferencesAsyncApi {
   private lateinit var context: Context
 
   private var listEncoder = ListEncoder() as SharedPreferencesListEncoder
+  // Reads are served from this snapshot instead of collecting the data flow on every call.
+  private val snapshot = PreferencesSnapshot({ context.sharedPreferencesDataStore })
+  // Single-key writes are coalesced, so a burst of them rewrites the file once. Each write updates
+  // the snapshot, so reads after a write observe it.
+  private val writeBatcher =
+      PreferencesWriteBatcher(
+          { context.sharedPreferencesDataStore }, onWritten = { snapshot.update(it) })
 
   @VisibleForTesting
   constructor(listEncoder: SharedPreferencesListEncoder) : this() {
@@ -64,53 +62,117 @@ class SharedPreferencesPlugin() : FlutterPlugin, SharedPreferencesAsyncApi {
   }
 
   /** Adds property to data store of type bool. */
-  override fun setBool(key: String, value: Boolean, options: SharedPreferencesPigeonOptions) {
-    return runBlocking {
-      val boolKey = booleanPreferencesKey(key)
-      context.sharedPreferencesDataStore.edit { preferences -> preferences[boolKey] = value }
-    }
+  override fun setBool(
+      key: String,
+      value: Boolean,
+      options: SharedPreferencesPigeonOptions,
+      callback: (Result<Unit>) -> Unit
+  ) {
+    val boolKey = booleanPreferencesKey(key)
+    writeBatcher.enqueue({ preferences -> preferences[boolKey] = value }, callback)
   }
 
   /** Adds property to data store of type String. */
-  override fun setString(key: String, value: String, options: SharedPreferencesPigeonOptions) {
-    return runBlocking { dataStoreSetString(key, value) }
-  }
-
-  private suspend fun dataStoreSetString(key: String, value: String) {
+  override fun setString(
+      key: String,
+      value: String,
+      options: SharedPreferencesPigeonOptions,
+      callback: (Result<Unit>) -> Unit
+  ) {
     val stringKey = stringPreferencesKey(key)
-    context.sharedPreferencesDataStore.edit { preferences -> preferences[stringKey] = value }
+    writeBatcher.enqueue({ preferences -> preferences[stringKey] = value }, callback)
   }
 
   /** Adds property to data store of type int. Converted to Long by pigeon, and saved as such. */
-  override fun setInt(key: String, value: Long, options: SharedPreferencesPigeonOptions) {
-    return runBlocking {
-      val intKey = longPreferencesKey(key)
-      context.sharedPreferencesDataStore.edit { preferences -> preferences[intKey] = value }
-    }
+  override fun setInt(
+      key: String,
+      value: Long,
+      options: SharedPreferencesPigeonOptions,
+      callback: (Result<Unit>) -> Unit
+  ) {
+    val intKey = longPreferencesKey(key)
+    writeBatcher.enqueue({ preferences -> preferences[intKey] = value }, callback)
   }
 
   /** Adds property to data store of type double. */
-  override fun setDouble(key: String, value: Double, options: SharedPreferencesPigeonOptions) {
-    return runBlocking {
-      val doubleKey = doublePreferencesKey(key)
-      context.sharedPreferencesDataStore.edit { preferences -> preferences[doubleKey] = value }
-    }
+  override fun setDouble(
+      key: String,
+      value: Double,
+      options: SharedPreferencesPigeonOptions,
+      callback: (Result<Unit>) -> Unit
+  ) {
+    val doubleKey = doublePreferencesKey(key)
+    writeBatcher.enqueue({ preferences -> preferences[doubleKey] = value }, callback)
   }
 
   /** Adds property to data store of type List<String>. */
   override fun setStringList(
       key: String,
       value: List<String>,
-      options: SharedPreferencesPigeonOptions
+      options: SharedPreferencesPigeonOptions,
+      callback: (Result<Unit>) -> Unit
   ) {
-    val valueString = LIST_PREFIX + listEncoder.encode(value)
-    return runBlocking { dataStoreSetString(key, valueString) }
+    val stringKey = stringPreferencesKey(key)
+    val valueString = encodeList(value)
+    writeBatcher.enqueue({ preferences -> preferences[stringKey] = valueString }, callback)
+  }
+
+  /** Adds all properties in [values] to data store in a single write. */
+  override fun setAll(
+      values: Map<String, Any>,
+      options: SharedPreferencesPigeonOptions,
+      callback: (Result<Unit>) -> Unit
+  ) {
+    // Encode up front, so unsupported values fail only this call and not the whole batch.
+    val encodedValues: Map<String, Any>
+    try {
+      encodedValues = values.mapValues { (key, value) -> encodeForStorage(key, value) }
+    } catch (e: IllegalArgumentException) {
+      callback(Result.failure(e))
+      return
+    }
+    writeBatcher.enqueue(
+        { preferences ->
+          encodedValues.forEach { (key, value) ->
+            when (value) {
+              is Boolean -> preferences[booleanPreferencesKey(key)] = value
+              is Long -> preferences[longPreferencesKey(key)] = value
+              is Double -> preferences[doublePreferencesKey(key)] = value
+              is String -> preferences[stringPreferencesKey(key)] = value
+            }
+          }
+        },
+        callback)
+  }
+
+  /** Converts [value] to the type it is stored as, encoding lists as prefixed strings. */
+  private fun encodeForStorage(key: String, value: Any): Any {
+    return when (value) {
+      is Boolean,
+      is Long,
+      is Double,
+      is String -> value
+      is Int -> value.toLong()
+      is List<*> -> encodeList(value.filterIsInstance<String>())
+      else ->
+          throw IllegalArgumentException(
+              "Unsupported type ${value.javaClass.simpleName} for key \"$key\"")
+    }
+  }
+
+  /** Encodes [list] compactly if possible, and with [listEncoder] otherwise. */
+  private fun encodeList(list: List<String>): String {
+    return if (StringListEncoding.canEncodeCompact(list)) {
+      StringListEncoding.encodeCompact(list)
+    } else {
+      LIST_PREFIX + listEncoder.encode(list)
+    }
   }
 
   /** Removes all properties from data store. */
   override fun clear(allowList: List<String>?, options: SharedPreferencesPigeonOptions) {
     runBlocking {
-      context.sharedPreferencesDataStore.edit { preferences ->
+      writeBatcher.write { preferences ->
         allowList?.let { list ->
           list.forEach { key ->
             val preferencesKey = booleanPreferencesKey(key)
@@ -126,65 +188,32 @@ class SharedPreferencesPlugin() : FlutterPlugin, SharedPreferencesAsyncApi {
       allowList: List<String>?,
       options: SharedPreferencesPigeonOptions
   ): Map<String, Any> {
-    return runBlocking { getPrefs(allowList) }
+    return getPrefs(readPreferences(), allowList)
   }
 
   /** Gets int (as long) at [key] from data store. */
   override fun getInt(key: String, options: SharedPreferencesPigeonOptions): Long? {
-    val value: Long?
-    runBlocking {
-      val preferencesKey = longPreferencesKey(key)
-      val preferenceFlow: Flow<Long?> =
-          context.sharedPreferencesDataStore.data.map { preferences -> preferences[preferencesKey] }
-
-      value = preferenceFlow.firstOrNull()
-    }
-    return value
+    return readPreferences()[longPreferencesKey(key)]
   }
 
   /** Gets bool at [key] from data store. */
   override fun getBool(key: String, options: SharedPreferencesPigeonOptions): Boolean? {
-    val value: Boolean?
-    runBlocking {
-      val preferencesKey = booleanPreferencesKey(key)
-      val preferenceFlow: Flow<Boolean?> =
-          context.sharedPreferencesDataStore.data.map { preferences -> preferences[preferencesKey] }
-
-      value = preferenceFlow.firstOrNull()
-    }
-    return value
+    return readPreferences()[booleanPreferencesKey(key)]
   }
   /** Gets double at [key] from data store. */
   override fun getDouble(key: String, options: SharedPreferencesPigeonOptions): Double? {
-    val value: Double?
-    runBlocking {
-      val preferencesKey = stringPreferencesKey(key)
-      val preferenceFlow: Flow<Double?> =
-          context.sharedPreferencesDataStore.data.map { preferences ->
-            transformPref(preferences[preferencesKey] as Any?) as Double?
-          }
-
-      value = preferenceFlow.firstOrNull()
-    }
-    return value
+    return transformPref(key, readPreferences()[stringPreferencesKey(key)] as Any?) as Double?
   }
 
   /** Gets String at [key] from data store. */
   override fun getString(key: String, options: SharedPreferencesPigeonOptions): String? {
-    val value: String?
-    runBlocking {
-      val preferencesKey = stringPreferencesKey(key)
-      val preferenceFlow: Flow<String?> =
-          context.sharedPreferencesDataStore.data.map { preferences -> preferences[preferencesKey] }
-
-      value = preferenceFlow.firstOrNull()
-    }
-    return value
+    return readPreferences()[stringPreferencesKey(key)]
   }
 
   /** Gets StringList at [key] from data store. */
   override fun getStringList(key: String, options: SharedPreferencesPigeonOptions): List<String>? {
-    return (transformPref(getString(key, options) as Any?) as List<*>?)?.filterIsInstance<String>()
+    val value = getString(key, options) ?: return null
+    return (transformPref(key, value) as List<*>?)?.filterIsInstance<String>()
   }
 
   /** Gets all properties from data store. */
@@ -192,37 +221,41 @@ class SharedPreferencesPlugin() : FlutterPlugin, SharedPreferencesAsyncApi {
       allowList: List<String>?,
       options: SharedPreferencesPigeonOptions
   ): List<String> {
-    val prefs = runBlocking { getPrefs(allowList) }
-    return prefs.keys.toList()
+    val preferences = readPreferences()
+    val allowSet = allowList?.toSet()
+    return preferences
+        .asMap()
+        .filter { (key, value) -> preferencesFilter(key.name, value, allowSet) }
+        .map { (key, _) -> key.name }
+  }
+
+  /**
+   * Returns the current preferences, including all writes made so far.
+   *
+   * Pending writes are flushed first. Afterwards this is a lookup of the in-memory snapshot.
+   */
+  private fun readPreferences(): Preferences {
+    return runBlocking {
+      writeBatcher.flush()
+      snapshot.get()
+    }
   }
 
-  private suspend fun getPrefs(allowList: List<String>?): Map<String, Any> {
+  private fun getPrefs(preferences: Preferences, allowList: List<String>?): Map<String, Any> {
     val allowSet = allowList?.toSet()
     val filteredMap = mutableMapOf<String, Any>()
 
-    val keys = readAllKeys()
-    keys?.forEach() { key ->
-      val value = getValueByKey(key)
-      if (preferencesFilter(key.toString(), value, allowSet)) {
-        val transformedValue = transformPref(value)
+    preferences.asMap().forEach { (key, value) ->
+      if (preferencesFilter(key.name, value, allowSet)) {
+        val transformedValue = transformPref(key.name, value)
         if (transformedValue != null) {
-          filteredMap[key.toString()] = transformedValue
+          filteredMap[key.name] = transformedValue
         }
       }
     }
     return filteredMap
   }
 
-  private suspend fun readAllKeys(): Set<Preferences.Key<*>>? {
-    val keys = context.sharedPreferencesDataStore.data.map { it.asMap().keys }
-    return keys.firstOrNull()
-  }
-
-  private suspend fun getValueByKey(key: Preferences.Key<*>): Any? {
-    val value = context.sharedPreferencesDataStore.data.map { it[key] }
-    return value.firstOrNull()
-  }
-
   /**
    * Returns false for any preferences that are not included in [allowList].
    *
@@ -238,37 +271,48 @@ class SharedPreferencesPlugin() : FlutterPlugin, SharedPreferencesAsyncApi {
   }
 
   /** Transforms preferences that are stored as Strings back to original type. */
-  private fun transformPref(value: Any?): Any? {
+  private fun transformPref(key: String, value: Any?): Any? {
     if (value is String) {
-      if (value.startsWith(LIST_PREFIX)) {
-        return listEncoder.decode(value.substring(LIST_PREFIX.length))
+      if (StringListEncoding.isCompact(value)) {
+        return StringListEncoding.decodeCompact(value)
+      } else if (value.startsWith(LIST_PREFIX)) {
+        val list = listEncoder.decode(value.substring(LIST_PREFIX.length))
+        migrateList(key, value, list)
+        return list
       }
     }
     return value
   }
 
+  /**
+   * Rewrites a list that was stored by an older version in the compact encoding.
+   *
+   * The write is batched with other writes and not waited for. It is skipped if the value has
+   * changed in the meantime.
+   */
+  private fun migrateList(key: String, storedValue: String, list: List<String>) {
+    if (!StringListEncoding.canEncodeCompact(list)) {
+      return
+    }
+    val encoded = StringListEncoding.encodeCompact(list)
+    val stringKey = stringPreferencesKey(key)
+    writeBatcher.enqueue(
+        { preferences ->
+          if (preferences[stringKey] == storedValue) {
+            preferences[stringKey] = encoded
+          }
+        },
+        {})
+  }
+
   /** Class that provides tools for encoding and decoding List<String> to String and back. */
   class ListEncoder : SharedPreferencesListEncoder {
     override fun encode(list: List<String>): String {
-      try {
-        val byteStream = ByteArrayOutputStream()
-        val stream = ObjectOutputStream(byteStream)
-        stream.writeObject(list)
-        stream.flush()
-        return Base64.encodeToString(byteStream.toByteArray(), 0)
-      } catch (e: RuntimeException) {
-        throw RuntimeException(e)
-      }
+      return StringListEncoding.encodeLegacy(list)
     }
 
     override fun decode(listString: String): List<String> {
-      try {
-        val byteArray = Base64.decode(listString, 0)
-        val stream = ObjectInputStream(ByteArrayInputStream(byteArray))
-        return (stream.readObject() as List<*>).filterIsInstance<String>()
-      } catch (e: RuntimeException) {
-        throw RuntimeException(e)
-      }
+      return StringListEncoding.decodeLegacy(listString)
     }
   }
 }
@@ -7,6 +7,7 @@ package io.flutter.plugins.sharedpreferences;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
 import static org.mockito.Mockito.anyInt;
 import static org.mockito.Mockito.anyString;
 
@@ -29,6 +30,7 @@ import org.mockito.Mockito;
 public class LegacySharedPreferencesTest {
 
   LegacySharedPreferencesPlugin plugin;
+  FakeSharedPreferences sharedPrefs;
 
   @Mock BinaryMessenger mockMessenger;
   @Mock FlutterPlugin.FlutterPluginBinding flutterPluginBinding;
@@ -36,7 +38,7 @@ public class LegacySharedPreferencesTest {
   @Before
   public void before() {
     Context context = Mockito.mock(Context.class);
-    SharedPreferences sharedPrefs = new FakeSharedPreferences();
+    sharedPrefs = new FakeSharedPreferences();
 
     flutterPluginBinding = Mockito.mock(FlutterPlugin.FlutterPluginBinding.class);
 
@@ -202,6 +204,54 @@ public class LegacySharedPreferencesTest {
     assertFalse(plugin.getAll("", null).containsKey(key));
   }
 
+  @Test
+  public void setManyWritesOnce() {
+    plugin.setMany(data);
+
+    assertEquals(1, sharedPrefs.commitCount);
+    assertEquals(data, plugin.getAll("", null));
+  }
+
+  @Test
+  public void setManyWithUnsupportedValueWritesNothing() {
+    final Map<String, Object> values = new HashMap<>();
+    values.put("Language", "Java");
+    values.put("Unsupported", new Object());
+
+    assertThrows(RuntimeException.class, () -> plugin.setMany(values));
+
+    assertEquals(0, sharedPrefs.commitCount);
+    assertEquals(0, plugin.getAll("", null).size());
+  }
+
+  @Test
+  public void removeManyWritesOnce() {
+    addData();
+    sharedPrefs.commitCount = 0;
+
+    plugin.removeMany(Arrays.asList("Language", "flutter.Language", "prefix.Language"));
+
+    assertEquals(1, sharedPrefs.commitCount);
+    assertEquals(12, plugin.getAll("", null).size());
+    assertFalse(plugin.getAll("", null).containsKey("flutter.Language"));
+  }
+
+  @Test
+  public void asyncWritesApplyAndFlushCommits() {
+    plugin.setAsyncWritesEnabled(true);
+
+    plugin.setString("Language", "Java");
+    plugin.setMany(Collections.singletonMap("Counter", 0L));
+    plugin.remove("Language");
+
+    assertEquals(3, sharedPrefs.applyCount);
+    assertEquals(0, sharedPrefs.commitCount);
+
+    plugin.flush();
+
+    assertEquals(1, sharedPrefs.commitCount);
+  }
+
   private void addData() {
     plugin.setString("Language", "Java");
     plugin.setInt("Counter", 0L);
@@ -223,9 +273,12 @@ public class LegacySharedPreferencesTest {
   /** A dummy implementation for tests for use with FakeSharedPreferences */
   public static class FakeSharedPreferencesEditor implements SharedPreferences.Editor {
     private final Map<String, Object> sharedPrefData;
+    private final FakeSharedPreferences preferences;
 
-    FakeSharedPreferencesEditor(@NonNull Map<String, Object> data) {
+    FakeSharedPreferencesEditor(
+        @NonNull Map<String, Object> data, @NonNull FakeSharedPreferences preferences) {
       sharedPrefData = data;
+      this.preferences = preferences;
     }
 
     @Override
@@ -273,12 +326,13 @@ public class LegacySharedPreferencesTest {
 
     @Override
     public boolean commit() {
+      preferences.commitCount++;
       return true;
     }
 
     @Override
     public void apply() {
-      throw new UnsupportedOperationException("This method is not implemented for testing");
+      preferences.applyCount++;
     }
 
     @Override
@@ -291,6 +345,8 @@ public class LegacySharedPreferencesTest {
   private static class FakeSharedPreferences implements SharedPreferences {
 
     Map<String, Object> sharedPrefData = new HashMap<>();
+    int commitCount = 0;
+    int applyCount = 0;
 
     @Override
     public @NonNull Map<String, ?> getAll() {
@@ -299,7 +355,7 @@ public class LegacySharedPreferencesTest {
 
     @Override
     public @NonNull SharedPreferences.Editor edit() {
-      return new FakeSharedPreferencesEditor(sharedPrefData);
+      return new FakeSharedPreferencesEditor(sharedPrefData, this);
     }
 
     // All methods below are not implemented.
@@ -0,0 +1,104 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.sharedpreferences;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+/**
+ * Compares the compact and the legacy encoding of List<String> values.
+ *
+ * <p>Reports encode and decode time and the size of the stored string in UTF-8, for lists of 10 to
+ * 10,000 strings. Skipped unless the {@code runBenchmarks} Gradle property is set, e.g.:
+ *
+ * <pre>
+ * ./gradlew testDebugUnitTest -PrunBenchmarks --tests '*ListEncodingBenchmark'
+ * </pre>
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ListEncodingBenchmark {
+  private static final int[] SIZES = {10, 100, 1000, 10000};
+  private static final int WARMUP_ITERATIONS = 20;
+  private static final int MEASURED_ITERATIONS = 100;
+  private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+  @Before
+  public void setUp() {
+    Assume.assumeTrue(Boolean.getBoolean("runBenchmarks"));
+  }
+
+  /** Returns strings of 1 to 32 characters, mostly ASCII as preference values usually are. */
+  private static List<String> createList(int size) {
+    Random random = new Random(size);
+    List<String> list = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      StringBuilder builder = new StringBuilder();
+      int length = 1 + random.nextInt(32);
+      for (int j = 0; j < length; j++) {
+        builder.append(random.nextInt(20) == 0 ? '\u00e9' : (char) ('a' + random.nextInt(26)));
+      }
+      list.add(builder.toString());
+    }
+    return list;
+  }
+
+  private interface Encoder {
+    String encode(List<String> list);
+  }
+
+  private interface Decoder {
+    List<String> decode(String encoded);
+  }
+
+  private static void measure(String name, List<String> list, Encoder encoder, Decoder decoder) {
+    String encoded = encoder.encode(list);
+    assertEquals(list, decoder.decode(encoded));
+    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+      decoder.decode(encoder.encode(list));
+    }
+
+    long start = System.nanoTime();
+    for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+      encoder.encode(list);
+    }
+    long encodeMicros = (System.nanoTime() - start) / MEASURED_ITERATIONS / 1000;
+    start = System.nanoTime();
+    for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+      decoder.decode(encoded);
+    }
+    long decodeMicros = (System.nanoTime() - start) / MEASURED_ITERATIONS / 1000;
+
+    System.out.println(
+        String.format(
+            Locale.ROOT,
+            "%-8s %,6d strings %,9d us encode %,9d us decode %,10d bytes",
+            name,
+            list.size(),
+            encodeMicros,
+            decodeMicros,
+            encoded.getBytes(UTF_8).length));
+  }
+
+  @Test
+  public void benchmarkEncodings() {
+    for (int size : SIZES) {
+      List<String> list = createList(size);
+      measure(
+          "compact", list, StringListEncoding::encodeCompact, StringListEncoding::decodeCompact);
+      measure(
+          "legacy", list, StringListEncoding::encodeLegacy, StringListEncoding::decodeLegacy);
+    }
+  }
+}
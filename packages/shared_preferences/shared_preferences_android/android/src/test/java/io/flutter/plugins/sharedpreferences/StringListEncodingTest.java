@@ -0,0 +1,74 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.sharedpreferences;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+@RunWith(RobolectricTestRunner.class)
+public class StringListEncodingTest {
+  private static final List<String> list =
+      Arrays.asList("foo", "", "with:colon", "12:34", "emoji \uD83D\uDE00", "multi\nline");
+
+  @Test
+  public void encodesCompactlyAndRoundTrips() {
+    String encoded = StringListEncoding.encodeCompact(list);
+
+    assertTrue(StringListEncoding.isCompact(encoded));
+    assertEquals(list, StringListEncoding.decodeCompact(encoded));
+  }
+
+  @Test
+  public void encodesEmptyList() {
+    String encoded = StringListEncoding.encodeCompact(Collections.emptyList());
+
+    assertEquals(StringListEncoding.COMPACT_LIST_PREFIX, encoded);
+    assertEquals(Collections.emptyList(), StringListEncoding.decodeCompact(encoded));
+  }
+
+  @Test
+  public void compactPrefixIsDistinctFromTheLegacyListPrefix() {
+    assertFalse(
+        StringListEncoding.COMPACT_LIST_PREFIX.startsWith(SharedPreferencesPluginKt.LIST_PREFIX));
+    assertFalse(StringListEncoding.isCompact(SharedPreferencesPluginKt.LIST_PREFIX + "!1"));
+  }
+
+  @Test
+  public void decodesLegacyEncoding() {
+    String legacy = StringListEncoding.encodeLegacy(list);
+
+    assertFalse(StringListEncoding.isCompact(legacy));
+    assertEquals(list, StringListEncoding.decodeLegacy(legacy));
+  }
+
+  @Test
+  public void rejectsUnsafeTextForTheCompactEncoding() {
+    List<String> unsafe = Arrays.asList("nul\u0000", "carriage\rreturn", "lone \uD83D surrogate");
+
+    assertTrue(StringListEncoding.canEncodeCompact(list));
+    for (String element : unsafe) {
+      assertFalse(StringListEncoding.canEncodeCompact(Collections.singletonList(element)));
+    }
+  }
+
+  @Test
+  public void rejectsMalformedCompactEncoding() {
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> StringListEncoding.decodeCompact(StringListEncoding.COMPACT_LIST_PREFIX + "3:ab"));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> StringListEncoding.decodeCompact(StringListEncoding.COMPACT_LIST_PREFIX + "abc"));
+  }
+}
@@ -0,0 +1,125 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.sharedpreferences
+
+import android.content.Context
+import androidx.datastore.core.DataStore
+import androidx.datastore.preferences.core.PreferenceDataStoreFactory
+import androidx.datastore.preferences.core.Preferences
+import androidx.datastore.preferences.core.edit
+import androidx.datastore.preferences.core.stringPreferencesKey
+import androidx.test.core.app.ApplicationProvider
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import io.flutter.embedding.engine.plugins.FlutterPlugin
+import io.flutter.plugin.common.BinaryMessenger
+import io.mockk.every
+import io.mockk.mockk
+import java.io.File
+import java.util.Locale
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.flow.firstOrNull
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.runBlocking
+import org.junit.After
+import org.junit.Assert
+import org.junit.Assume
+import org.junit.Before
+import org.junit.Rule
+import org.junit.Test
+import org.junit.rules.TemporaryFolder
+import org.junit.runner.RunWith
+
+/**
+ * Measures [SharedPreferencesPlugin.getAll] for data sets of different sizes.
+ *
+ * Compares the plugin, which reads from an in-memory snapshot, with the previous implementation
+ * that collected the data flow once per key. Skipped unless the `runBenchmarks` Gradle property is
+ * set, e.g.:
+ * ```
+ * ./gradlew testDebugUnitTest -PrunBenchmarks --tests '*GetAllBenchmark'
+ * ```
+ */
+@RunWith(AndroidJUnit4::class)
+internal class GetAllBenchmark {
+  private val sizes = listOf(10, 1_000, 10_000)
+  private val warmupIterations = 3
+  private val measuredIterations = 20
+  private val emptyOptions = SharedPreferencesPigeonOptions()
+
+  @get:Rule val temporaryFolder = TemporaryFolder()
+
+  private val scope = CoroutineScope(Job() + Dispatchers.IO)
+  private lateinit var plugin: SharedPreferencesPlugin
+
+  @Before
+  fun setUp() {
+    Assume.assumeTrue(java.lang.Boolean.getBoolean("runBenchmarks"))
+    val testContext: Context = ApplicationProvider.getApplicationContext()
+    plugin = SharedPreferencesPlugin()
+    val binaryMessenger = mockk<BinaryMessenger>()
+    val flutterPluginBinding = mockk<FlutterPlugin.FlutterPluginBinding>()
+    every { flutterPluginBinding.binaryMessenger } returns binaryMessenger
+    every { flutterPluginBinding.applicationContext } returns testContext
+    plugin.onAttachedToEngine(flutterPluginBinding)
+  }
+
+  @After
+  fun tearDown() {
+    scope.cancel()
+  }
+
+  private fun values(size: Int): Map<String, Any> {
+    return (0 until size).associate { "key$it" to "value$it" }
+  }
+
+  /** The implementation before the snapshot, kept as the baseline. */
+  private suspend fun getAllPerKey(dataStore: DataStore<Preferences>): Map<String, Any> {
+    val result = mutableMapOf<String, Any>()
+    val keys = dataStore.data.map { it.asMap().keys }.firstOrNull()
+    keys?.forEach { key ->
+      val value = dataStore.data.map { it[key] }.firstOrNull()
+      if (value != null) {
+        result[key.name] = value
+      }
+    }
+    return result
+  }
+
+  private fun measure(name: String, size: Int, getAll: () -> Map<String, Any>) {
+    repeat(warmupIterations) { Assert.assertEquals(size, getAll().size) }
+    val start = System.nanoTime()
+    repeat(measuredIterations) { getAll() }
+    val microsPerCall = (System.nanoTime() - start) / measuredIterations / 1000
+    println(
+        String.format(
+            Locale.ROOT, "%-10s %,7d keys %,12d us/getAll", name, size, microsPerCall))
+  }
+
+  @Test
+  fun benchmarkGetAll() {
+    for (size in sizes) {
+      val values = values(size)
+      plugin.clear(null, emptyOptions)
+      plugin.setAll(values, emptyOptions) {}
+      measure("snapshot", size) { plugin.getAll(null, emptyOptions) }
+
+      val baselineStore =
+          PreferenceDataStoreFactory.create(scope = scope) {
+            File(temporaryFolder.root, "baseline_$size.preferences_pb")
+          }
+      runBlocking {
+        baselineStore.edit { preferences ->
+          values.forEach { (key, value) ->
+            preferences[stringPreferencesKey(key)] = value as String
+          }
+        }
+      }
+      measure("per key", size) { runBlocking { getAllPerKey(baselineStore) } }
+    }
+  }
+}
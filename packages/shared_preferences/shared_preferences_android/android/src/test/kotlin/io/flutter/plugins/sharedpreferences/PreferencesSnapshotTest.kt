@@ -0,0 +1,111 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.sharedpreferences
+
+import androidx.datastore.core.DataStore
+import androidx.datastore.preferences.core.Preferences
+import androidx.datastore.preferences.core.emptyPreferences
+import androidx.datastore.preferences.core.preferencesOf
+import androidx.datastore.preferences.core.stringPreferencesKey
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableSharedFlow
+import kotlinx.coroutines.flow.emitAll
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.withTimeout
+import org.junit.After
+import org.junit.Assert
+import org.junit.Test
+
+internal class PreferencesSnapshotTest {
+  /**
+   * A data store whose current value and data flow emissions are set separately by the test, like
+   * a data store whose flow lags behind its writes.
+   */
+  private class FakeDataStore : DataStore<Preferences> {
+    @Volatile var current: Preferences = emptyPreferences()
+    val emissions = MutableSharedFlow<Preferences>(extraBufferCapacity = 16)
+
+    override val data: Flow<Preferences> = flow {
+      emit(current)
+      emitAll(emissions)
+    }
+
+    override suspend fun updateData(
+        transform: suspend (t: Preferences) -> Preferences
+    ): Preferences {
+      throw UnsupportedOperationException()
+    }
+  }
+
+  private val key = stringPreferencesKey("key")
+  private val dataStore = FakeDataStore()
+  private val scope = CoroutineScope(Job())
+  private val snapshot = PreferencesSnapshot({ dataStore }, scope)
+
+  @After
+  fun tearDown() {
+    scope.cancel()
+  }
+
+  private fun write(value: String): Preferences {
+    val preferences = preferencesOf(key to value)
+    dataStore.current = preferences
+    return preferences
+  }
+
+  @Test
+  fun getReturnsTheStoredPreferences() {
+    write("stored")
+
+    Assert.assertEquals("stored", runBlocking { snapshot.get()[key] })
+  }
+
+  @Test
+  fun updateIsObservedEvenIfTheDataFlowNeverEmitsIt() {
+    runBlocking { snapshot.get() }
+
+    snapshot.update(write("written"))
+
+    Assert.assertEquals("written", runBlocking { withTimeout(1000) { snapshot.get()[key] } })
+  }
+
+  @Test
+  fun staleEmissionsAfterAnUpdateAreNotObserved() {
+    val old = write("old")
+    runBlocking { snapshot.get() }
+
+    snapshot.update(write("written"))
+    // The data flow only delivers the value from before the write afterwards.
+    dataStore.emissions.tryEmit(old)
+
+    runBlocking {
+      repeat(5) {
+        Assert.assertEquals("written", snapshot.get()[key])
+        delay(10)
+      }
+    }
+  }
+
+  @Test
+  fun laterEmissionsOfTheDataFlowReplaceAnUpdate() {
+    runBlocking { snapshot.get() }
+    snapshot.update(write("written"))
+
+    dataStore.emissions.tryEmit(write("other"))
+
+    runBlocking {
+      withTimeout(1000) {
+        while (snapshot.get()[key] != "other") {
+          delay(10)
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,180 @@
+// Copyright 2013 The Flutter Authors. All rights reserved.
+// Use of this source code is governed by a BSD-style license that can be
+// found in the LICENSE file.
+
+package io.flutter.plugins.sharedpreferences
+
+import androidx.datastore.core.DataStore
+import androidx.datastore.preferences.core.Preferences
+import androidx.datastore.preferences.core.emptyPreferences
+import androidx.datastore.preferences.core.stringPreferencesKey
+import java.io.IOException
+import kotlin.coroutines.CoroutineContext
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.MutableStateFlow
+import kotlinx.coroutines.runBlocking
+import org.junit.After
+import org.junit.Assert
+import org.junit.Test
+
+internal class PreferencesWriteBatcherTest {
+  /** Keeps preferences in memory and counts how often they are rewritten. */
+  private class FakeDataStore : DataStore<Preferences> {
+    val state = MutableStateFlow(emptyPreferences())
+    var updateCount = 0
+    var failure: IOException? = null
+    // When set, edits wait for it to complete, so the test can enqueue writes during an edit.
+    var editGate: CompletableDeferred<Unit>? = null
+
+    override val data: Flow<Preferences> = state
+
+    override suspend fun updateData(
+        transform: suspend (t: Preferences) -> Preferences
+    ): Preferences {
+      updateCount++
+      editGate?.await()
+      failure?.let { throw it }
+      state.value = transform(state.value)
+      return state.value
+    }
+  }
+
+  /** Runs the coroutines launched by the batcher only when the test asks for it. */
+  private class ManualDispatcher : CoroutineDispatcher() {
+    private val tasks = ArrayDeque<Runnable>()
+
+    override fun dispatch(context: CoroutineContext, block: Runnable) {
+      synchronized(tasks) { tasks.addLast(block) }
+    }
+
+    fun runAll() {
+      while (true) {
+        val task = synchronized(tasks) { tasks.removeFirstOrNull() } ?: return
+        task.run()
+      }
+    }
+  }
+
+  private val dataStore = FakeDataStore()
+  private val dispatcher = ManualDispatcher()
+  private val scope = CoroutineScope(Job() + dispatcher)
+  private val batcher = PreferencesWriteBatcher({ dataStore }, scope)
+
+  @After
+  fun tearDown() {
+    scope.cancel()
+  }
+
+  @Test
+  fun flushAppliesAllPendingWritesInOneEdit() {
+    val results = mutableListOf<Result<Unit>>()
+    for (i in 0 until 10) {
+      batcher.enqueue({ it[stringPreferencesKey("key$i")] = "value$i" }) { results.add(it) }
+    }
+
+    runBlocking { batcher.flush() }
+
+    Assert.assertEquals(1, dataStore.updateCount)
+    Assert.assertEquals(10, results.size)
+    Assert.assertTrue(results.all { it.isSuccess })
+    Assert.assertEquals("value9", dataStore.state.value[stringPreferencesKey("key9")])
+  }
+
+  @Test
+  fun laterWritesToTheSameKeyWin() {
+    val key = stringPreferencesKey("key")
+    batcher.enqueue({ it[key] = "first" }) {}
+    batcher.enqueue({ it[key] = "second" }) {}
+
+    runBlocking { batcher.flush() }
+
+    Assert.assertEquals("second", dataStore.state.value[key])
+  }
+
+  @Test
+  fun flushWithoutPendingWritesDoesNotEdit() {
+    runBlocking { batcher.flush() }
+
+    Assert.assertEquals(0, dataStore.updateCount)
+  }
+
+  @Test
+  fun failedEditIsReportedToEveryCallback() {
+    dataStore.failure = IOException("disk full")
+    val results = mutableListOf<Result<Unit>>()
+    batcher.enqueue({ it[stringPreferencesKey("a")] = "a" }) { results.add(it) }
+    batcher.enqueue({ it[stringPreferencesKey("b")] = "b" }) { results.add(it) }
+
+    runBlocking { batcher.flush() }
+
+    Assert.assertEquals(2, results.size)
+    Assert.assertTrue(results.all { it.exceptionOrNull() === dataStore.failure })
+  }
+
+  @Test
+  fun onWrittenReceivesTheWrittenPreferences() {
+    val written = mutableListOf<Preferences>()
+    val observedBatcher =
+        PreferencesWriteBatcher({ dataStore }, scope, onWritten = { written.add(it) })
+    observedBatcher.enqueue({ it[stringPreferencesKey("key")] = "value" }) {}
+
+    runBlocking { observedBatcher.flush() }
+
+    Assert.assertEquals(listOf(dataStore.state.value), written)
+  }
+
+  @Test
+  fun writeAppliesPendingWritesAndRethrowsFailures() {
+    batcher.enqueue({ it[stringPreferencesKey("a")] = "a" }) {}
+
+    runBlocking { batcher.write { it[stringPreferencesKey("b")] = "b" } }
+
+    Assert.assertEquals(1, dataStore.updateCount)
+    Assert.assertEquals("a", dataStore.state.value[stringPreferencesKey("a")])
+
+    dataStore.failure = IOException("disk full")
+    try {
+      runBlocking { batcher.write { it[stringPreferencesKey("c")] = "c" } }
+      Assert.fail("Expected IOException")
+    } catch (e: IOException) {
+      Assert.assertSame(dataStore.failure, e)
+    }
+  }
+
+  @Test
+  fun enqueueWritesRightAwayWhenNoEditIsInProgress() {
+    val results = mutableListOf<Result<Unit>>()
+    batcher.enqueue({ it[stringPreferencesKey("key")] = "value" }) { results.add(it) }
+
+    dispatcher.runAll()
+
+    Assert.assertEquals(1, dataStore.updateCount)
+    Assert.assertEquals(1, results.size)
+    Assert.assertTrue(results.single().isSuccess)
+  }
+
+  @Test
+  fun writesEnqueuedDuringAnEditAreAppliedTogetherAfterIt() {
+    val gate = CompletableDeferred<Unit>()
+    dataStore.editGate = gate
+    val results = mutableListOf<Result<Unit>>()
+    batcher.enqueue({ it[stringPreferencesKey("a")] = "a" }) { results.add(it) }
+    dispatcher.runAll()
+    Assert.assertEquals(1, dataStore.updateCount)
+
+    batcher.enqueue({ it[stringPreferencesKey("b")] = "b" }) { results.add(it) }
+    batcher.enqueue({ it[stringPreferencesKey("c")] = "c" }) { results.add(it) }
+    dataStore.editGate = null
+    gate.complete(Unit)
+    dispatcher.runAll()
+
+    Assert.assertEquals(2, dataStore.updateCount)
+    Assert.assertEquals(3, results.size)
+    Assert.assertEquals("c", dataStore.state.value[stringPreferencesKey("c")])
+  }
+}
@@ -54,46 +54,46 @@ internal class SharedPreferencesTest {
   @Test
   fun testSetAndGetBool() {
     val plugin = pluginSetup()
-    plugin.setBool(boolKey, testBool, emptyOptions)
+    plugin.setBool(boolKey, testBool, emptyOptions) {}
     Assert.assertEquals(plugin.getBool(boolKey, emptyOptions), testBool)
   }
 
   @Test
   fun testSetAndGetString() {
     val plugin = pluginSetup()
-    plugin.setString(stringKey, testString, emptyOptions)
+    plugin.setString(stringKey, testString, emptyOptions) {}
     Assert.assertEquals(plugin.getString(stringKey, emptyOptions), testString)
   }
 
   @Test
   fun testSetAndGetInt() {
     val plugin = pluginSetup()
-    plugin.setInt(intKey, testInt, emptyOptions)
+    plugin.setInt(intKey, testInt, emptyOptions) {}
     Assert.assertEquals(plugin.getInt(intKey, emptyOptions), testInt)
   }
 
   @Test
   fun testSetAndGetDouble() {
     val plugin = pluginSetup()
-    plugin.setDouble(doubleKey, testDouble, emptyOptions)
+    plugin.setDouble(doubleKey, testDouble, emptyOptions) {}
     Assert.assertEquals(plugin.getDouble(doubleKey, emptyOptions), testDouble)
   }
 
   @Test
   fun testSetAndGetStringList() {
     val plugin = pluginSetup()
-    plugin.setStringList(listKey, testList, emptyOptions)
+    plugin.setStringList(listKey, testList, emptyOptions) {}
     Assert.assertEquals(plugin.getStringList(listKey, emptyOptions), testList)
   }
 
   @Test
   fun testGetKeys() {
     val plugin = pluginSetup()
-    plugin.setBool(boolKey, testBool, emptyOptions)
-    plugin.setString(stringKey, testString, emptyOptions)
-    plugin.setInt(intKey, testInt, emptyOptions)
-    plugin.setDouble(doubleKey, testDouble, emptyOptions)
-    plugin.setStringList(listKey, testList, emptyOptions)
+    plugin.setBool(boolKey, testBool, emptyOptions) {}
+    plugin.setString(stringKey, testString, emptyOptions) {}
+    plugin.setInt(intKey, testInt, emptyOptions) {}
+    plugin.setDouble(doubleKey, testDouble, emptyOptions) {}
+    plugin.setStringList(listKey, testList, emptyOptions) {}
     val keyList = plugin.getKeys(listOf(boolKey, stringKey), emptyOptions)
     Assert.assertEquals(keyList.size, 2)
     Assert.assertTrue(keyList.contains(stringKey))
@@ -103,11 +103,11 @@ internal class SharedPreferencesTest {
   @Test
   fun testClear() {
     val plugin = pluginSetup()
-    plugin.setBool(boolKey, testBool, emptyOptions)
-    plugin.setString(stringKey, testString, emptyOptions)
-    plugin.setInt(intKey, testInt, emptyOptions)
-    plugin.setDouble(doubleKey, testDouble, emptyOptions)
-    plugin.setStringList(listKey, testList, emptyOptions)
+    plugin.setBool(boolKey, testBool, emptyOptions) {}
+    plugin.setString(stringKey, testString, emptyOptions) {}
+    plugin.setInt(intKey, testInt, emptyOptions) {}
+    plugin.setDouble(doubleKey, testDouble, emptyOptions) {}
+    plugin.setStringList(listKey, testList, emptyOptions) {}
 
     plugin.clear(null, emptyOptions)
 
@@ -121,11 +121,11 @@ internal class SharedPreferencesTest {
   @Test
   fun testGetAll() {
     val plugin = pluginSetup()
-    plugin.setBool(boolKey, testBool, emptyOptions)
-    plugin.setString(stringKey, testString, emptyOptions)
-    plugin.setInt(intKey, testInt, emptyOptions)
-    plugin.setDouble(doubleKey, testDouble, emptyOptions)
-    plugin.setStringList(listKey, testList, emptyOptions)
+    plugin.setBool(boolKey, testBool, emptyOptions) {}
+    plugin.setString(stringKey, testString, emptyOptions) {}
+    plugin.setInt(intKey, testInt, emptyOptions) {}
+    plugin.setDouble(doubleKey, testDouble, emptyOptions) {}
+    plugin.setStringList(listKey, testList, emptyOptions) {}
 
     val all = plugin.getAll(null, emptyOptions)
 
@@ -139,11 +139,11 @@ internal class SharedPreferencesTest {
   @Test
   fun testClearWithAllowList() {
     val plugin = pluginSetup()
-    plugin.setBool(boolKey, testBool, emptyOptions)
-    plugin.setString(stringKey, testString, emptyOptions)
-    plugin.setInt(intKey, testInt, emptyOptions)
-    plugin.setDouble(doubleKey, testDouble, emptyOptions)
-    plugin.setStringList(listKey, testList, emptyOptions)
+    plugin.setBool(boolKey, testBool, emptyOptions) {}
+    plugin.setString(stringKey, testString, emptyOptions) {}
+    plugin.setInt(intKey, testInt, emptyOptions) {}
+    plugin.setDouble(doubleKey, testDouble, emptyOptions) {}
+    plugin.setStringList(listKey, testList, emptyOptions) {}
 
     plugin.clear(listOf(boolKey, stringKey), emptyOptions)
 
@@ -157,11 +157,11 @@ internal class SharedPreferencesTest {
   @Test
   fun testGetAllWithAllowList() {
     val plugin = pluginSetup()
-    plugin.setBool(boolKey, testBool, emptyOptions)
-    plugin.setString(stringKey, testString, emptyOptions)
-    plugin.setInt(intKey, testInt, emptyOptions)
-    plugin.setDouble(doubleKey, testDouble, emptyOptions)
-    plugin.setStringList(listKey, testList, emptyOptions)
+    plugin.setBool(boolKey, testBool, emptyOptions) {}
+    plugin.setString(stringKey, testString, emptyOptions) {}
+    plugin.setInt(intKey, testInt, emptyOptions) {}
+    plugin.setDouble(doubleKey, testDouble, emptyOptions) {}
+    plugin.setStringList(listKey, testList, emptyOptions) {}
 
     val all = plugin.getAll(listOf(boolKey, stringKey), emptyOptions)
 
@@ -171,4 +171,65 @@ internal class SharedPreferencesTest {
     Assert.assertNull(all[doubleKey])
     Assert.assertNull(all[listKey])
   }
+
+  @Test
+  fun testSetAll() {
+    val plugin = pluginSetup()
+    var result: Result<Unit>? = null
+    plugin.setAll(
+        mapOf(
+            boolKey to testBool,
+            stringKey to testString,
+            intKey to testInt,
+            doubleKey to testDouble,
+            listKey to testList),
+        emptyOptions) {
+          result = it
+        }
+
+    val all = plugin.getAll(null, emptyOptions)
+
+    Assert.assertTrue(result!!.isSuccess)
+    Assert.assertEquals(all[boolKey], testBool)
+    Assert.assertEquals(all[stringKey], testString)
+    Assert.assertEquals(all[intKey], testInt)
+    Assert.assertEquals(all[doubleKey], testDouble)
+    Assert.assertEquals(all[listKey], testList)
+  }
+
+  @Test
+  fun testSetAllWithUnsupportedValueFailsWithoutWriting() {
+    val plugin = pluginSetup()
+    plugin.clear(null, emptyOptions)
+    var result: Result<Unit>? = null
+    plugin.setAll(mapOf(stringKey to testString, intKey to Any()), emptyOptions) { result = it }
+
+    Assert.assertTrue(result!!.isFailure)
+    Assert.assertNull(plugin.getString(stringKey, emptyOptions))
+  }
+
+  @Test
+  fun testListsAreStoredUnderTheCompactListPrefix() {
+    val plugin = pluginSetup()
+    plugin.setStringList(listKey, testList, emptyOptions) {}
+
+    val storedValue = plugin.getString(listKey, emptyOptions)!!
+    Assert.assertTrue(storedValue.startsWith(StringListEncoding.COMPACT_LIST_PREFIX))
+    Assert.assertFalse(storedValue.startsWith(LIST_PREFIX))
+    Assert.assertEquals(plugin.getStringList(listKey, emptyOptions), testList)
+  }
+
+  @Test
+  fun testLegacyEncodedListIsMigrated() {
+    val plugin = pluginSetup()
+    val legacyValue = LIST_PREFIX + StringListEncoding.encodeLegacy(testList)
+    plugin.setString(listKey, legacyValue, emptyOptions) {}
+
+    Assert.assertEquals(plugin.getStringList(listKey, emptyOptions), testList)
+
+    // The migration is written with the next batch, which the next read flushes.
+    val migratedValue = plugin.getString(listKey, emptyOptions)!!
+    Assert.assertTrue(StringListEncoding.isCompact(migratedValue))
+    Assert.assertEquals(plugin.getStringList(listKey, emptyOptions), testList)
+  }
 }
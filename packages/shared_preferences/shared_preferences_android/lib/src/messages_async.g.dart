@@ -203,6 +203,35 @@ class SharedPreferencesAsyncApi {
     }
   }
 
+  /// Adds all properties in [values] to shared preferences data set in a
+  /// single write.
+  ///
+  /// Values must be of type bool, int, double, String or List<String>.
+  Future<void> setAll(Map<String?, Object?> values,
+      SharedPreferencesPigeonOptions options) async {
+    const String __pigeon_channelName =
+        'dev.flutter.pigeon.shared_preferences_android.SharedPreferencesAsyncApi.setAll';
+    final BasicMessageChannel<Object?> __pigeon_channel =
+        BasicMessageChannel<Object?>(
+      __pigeon_channelName,
+      pigeonChannelCodec,
+      binaryMessenger: __pigeon_binaryMessenger,
+    );
+    final List<Object?>? __pigeon_replyList = await __pigeon_channel
+        .send(<Object?>[values, options]) as List<Object?>?;
+    if (__pigeon_replyList == null) {
+      throw _createConnectionError(__pigeon_channelName);
+    } else if (__pigeon_replyList.length > 1) {
+      throw PlatformException(
+        code: __pigeon_replyList[0]! as String,
+        message: __pigeon_replyList[1] as String?,
+        details: __pigeon_replyList[2],
+      );
+    } else {
+      return;
+    }
+  }
+
   /// Gets individual String value stored with [key], if any.
   Future<String?> getString(
       String key, SharedPreferencesPigeonOptions options) async {
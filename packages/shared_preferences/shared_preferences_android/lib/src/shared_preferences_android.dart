@@ -55,6 +55,33 @@ class SharedPreferencesAndroid extends SharedPreferencesStorePlatform {
         message: '"$valueType" is not a supported type.');
   }
 
+  /// Stores all entries of [values] with a single write to disk.
+  ///
+  /// Values must be of type `bool`, `int`, `double`, `String` or
+  /// `List<String>`. Either all values are stored, or none are.
+  Future<bool> setValues(Map<String, Object> values) async {
+    return _api.setMany(values);
+  }
+
+  /// Removes all [keys] with a single write to disk.
+  Future<bool> removeValues(Iterable<String> keys) async {
+    return _api.removeMany(keys.toList());
+  }
+
+  /// Sets whether writes return before they have been written to disk.
+  ///
+  /// When enabled, writes only update the in-memory preferences before they
+  /// return, and are written to disk in the background. Call [flush] to wait
+  /// until they have been written. Disabled by default.
+  Future<void> setAsyncWritesEnabled(bool enabled) async {
+    return _api.setAsyncWritesEnabled(enabled);
+  }
+
+  /// Waits until all writes that have completed so far are written to disk.
+  Future<bool> flush() async {
+    return _api.flush();
+  }
+
   @override
   Future<bool> clear() async {
     return clearWithParameters(
@@ -10,6 +10,11 @@ import 'package:shared_preferences_platform_interface/types.dart';
 import 'messages_async.g.dart';
 
 const String _listPrefix = 'VGhpcyBpcyB0aGUgcHJlZml4IGZvciBhIGxpc3Qu';
+const String _compactListPrefix =
+    'VGhpcyBpcyB0aGUgcHJlZml4IGZvciBhIGNvbXBhY3QgbGlzdC4';
+
+bool _hasListPrefix(String value) =>
+    value.startsWith(_listPrefix) || value.startsWith(_compactListPrefix);
 
 /// The Android implementation of [SharedPreferencesAsyncPlatform].
 ///
@@ -56,7 +61,7 @@ base class SharedPreferencesAsyncAndroid
     String value,
     SharedPreferencesOptions options,
   ) async {
-    if (value.startsWith(_listPrefix)) {
+    if (_hasListPrefix(value)) {
       throw ArgumentError(
           'StorageError: This string cannot be stored as it clashes with special identifier prefixes');
     }
@@ -101,6 +106,31 @@ base class SharedPreferencesAsyncAndroid
         key, value, _convertOptionsToPigeonOptions(options));
   }
 
+  /// Stores all entries of [values] with a single write to disk.
+  ///
+  /// Values must be of type `bool`, `int`, `double`, `String` or
+  /// `List<String>`. Either all values are stored, or none are.
+  Future<void> setAll(
+    Map<String, Object> values,
+    SharedPreferencesOptions options,
+  ) async {
+    for (final Object value in values.values) {
+      if (value is String && _hasListPrefix(value)) {
+        throw ArgumentError(
+            'StorageError: This string cannot be stored as it clashes with special identifier prefixes');
+      }
+      if (value is! bool &&
+          value is! int &&
+          value is! double &&
+          value is! String &&
+          value is! List<String>) {
+        throw ArgumentError.value(value, 'values', 'Unsupported value type');
+      }
+    }
+
+    return _api.setAll(values, _convertOptionsToPigeonOptions(options));
+  }
+
   @override
   Future<String?> getString(
     String key,
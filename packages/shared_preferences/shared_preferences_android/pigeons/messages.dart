@@ -39,6 +39,29 @@ abstract class SharedPreferencesApi {
   @TaskQueue(type: TaskQueueType.serialBackgroundThread)
   bool setStringList(String key, List<String> value);
 
+  /// Adds all properties in [values] to shared preferences data set with a
+  /// single write.
+  ///
+  /// Values must be of type bool, int, double, String or List<String>.
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
+  bool setMany(Map<String, Object> values);
+
+  /// Removes all properties in [keys] from shared preferences data set with a
+  /// single write.
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
+  bool removeMany(List<String> keys);
+
+  /// Sets whether writes are applied asynchronously instead of being committed.
+  ///
+  /// Asynchronous writes return as soon as the in-memory data set has been
+  /// updated. Use [flush] to wait for them to be written to disk.
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
+  void setAsyncWritesEnabled(bool enabled);
+
+  /// Waits until all previously applied writes have been written to disk.
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
+  bool flush();
+
   /// Removes all properties from shared preferences data set with matching prefix.
   @TaskQueue(type: TaskQueueType.serialBackgroundThread)
   bool clear(
@@ -26,10 +26,12 @@ class SharedPreferencesPigeonOptions {
 abstract class SharedPreferencesAsyncApi {
   /// Adds property to shared preferences data set of type bool.
   @TaskQueue(type: TaskQueueType.serialBackgroundThread)
+  @async
   void setBool(String key, bool value, SharedPreferencesPigeonOptions options);
 
   /// Adds property to shared preferences data set of type String.
   @TaskQueue(type: TaskQueueType.serialBackgroundThread)
+  @async
   void setString(
     String key,
     String value,
@@ -38,6 +40,7 @@ abstract class SharedPreferencesAsyncApi {
 
   /// Adds property to shared preferences data set of type int.
   @TaskQueue(type: TaskQueueType.serialBackgroundThread)
+  @async
   void setInt(
     String key,
     int value,
@@ -46,6 +49,7 @@ abstract class SharedPreferencesAsyncApi {
 
   /// Adds property to shared preferences data set of type double.
   @TaskQueue(type: TaskQueueType.serialBackgroundThread)
+  @async
   void setDouble(
     String key,
     double value,
@@ -54,12 +58,24 @@ abstract class SharedPreferencesAsyncApi {
 
   /// Adds property to shared preferences data set of type List<String>.
   @TaskQueue(type: TaskQueueType.serialBackgroundThread)
+  @async
   void setStringList(
     String key,
     List<String> value,
     SharedPreferencesPigeonOptions options,
   );
 
+  /// Adds all properties in [values] to shared preferences data set in a
+  /// single write.
+  ///
+  /// Values must be of type bool, int, double, String or List<String>.
+  @TaskQueue(type: TaskQueueType.serialBackgroundThread)
+  @async
+  void setAll(
+    Map<String, Object> values,
+    SharedPreferencesPigeonOptions options,
+  );
+
   /// Gets individual String value stored with [key], if any.
   @TaskQueue(type: TaskQueueType.serialBackgroundThread)
   String? getString(
@@ -145,6 +145,29 @@ void main() {
     expect(all, flutterTestValues);
   });
 
+  test('setValues', () async {
+    expect(await plugin.setValues(flutterTestValues), isTrue);
+    expect(api.items, flutterTestValues);
+    expect(api.writeCount, 1);
+  });
+
+  test('removeValues', () async {
+    api.items.addAll(allTestValues);
+    expect(await plugin.removeValues(flutterTestValues.keys), isTrue);
+    expect(api.items, <String, Object>{
+      ...prefixTestValues,
+      ...nonPrefixTestValues,
+    });
+    expect(api.writeCount, 1);
+  });
+
+  test('async writes', () async {
+    await plugin.setAsyncWritesEnabled(true);
+    expect(api.asyncWritesEnabled, isTrue);
+    expect(await plugin.flush(), isTrue);
+    expect(api.flushCount, 1);
+  });
+
   test('getAllWithNoPrefix', () async {
     for (final String key in allTestValues.keys) {
       api.items[key] = allTestValues[key]!;
@@ -257,6 +280,9 @@ void main() {
 
 class _FakeSharedPreferencesApi implements SharedPreferencesApi {
   final Map<String, Object> items = <String, Object>{};
+  int writeCount = 0;
+  int flushCount = 0;
+  bool asyncWritesEnabled = false;
 
   @override
   Future<Map<String?, Object?>> getAll(
@@ -321,4 +347,29 @@ class _FakeSharedPreferencesApi implements SharedPreferencesApi {
     items[key] = value;
     return true;
   }
+
+  @override
+  Future<bool> setMany(Map<String?, Object?> values) async {
+    items.addAll(values.cast<String, Object>());
+    writeCount++;
+    return true;
+  }
+
+  @override
+  Future<bool> removeMany(List<String?> keys) async {
+    keys.forEach(items.remove);
+    writeCount++;
+    return true;
+  }
+
+  @override
+  Future<void> setAsyncWritesEnabled(bool enabled) async {
+    asyncWritesEnabled = enabled;
+  }
+
+  @override
+  Future<bool> flush() async {
+    flushCount++;
+    return true;
+  }
 }
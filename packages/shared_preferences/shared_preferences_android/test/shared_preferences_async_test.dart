@@ -196,6 +196,33 @@ void main() {
     expect(await preferences.getDouble(doubleKey, emptyOptions), testDouble);
     expect(await preferences.getStringList(listKey, emptyOptions), testList);
   });
+
+  test('setAll', () async {
+    final SharedPreferencesAsyncAndroid preferences = getPreferences();
+    await preferences.setAll(<String, Object>{
+      stringKey: testString,
+      boolKey: testBool,
+      intKey: testInt,
+      doubleKey: testDouble,
+      listKey: testList,
+    }, emptyOptions);
+    expect(await preferences.getString(stringKey, emptyOptions), testString);
+    expect(await preferences.getBool(boolKey, emptyOptions), testBool);
+    expect(await preferences.getInt(intKey, emptyOptions), testInt);
+    expect(await preferences.getDouble(doubleKey, emptyOptions), testDouble);
+    expect(await preferences.getStringList(listKey, emptyOptions), testList);
+  });
+
+  test('setAll rejects unsupported values without storing any', () async {
+    final SharedPreferencesAsyncAndroid preferences = getPreferences();
+    expect(
+        () => preferences.setAll(<String, Object>{
+              stringKey: testString,
+              intKey: Object(),
+            }, emptyOptions),
+        throwsArgumentError);
+    expect(await preferences.getString(stringKey, emptyOptions), null);
+  });
 }
 
 class _FakeSharedPreferencesApi implements SharedPreferencesAsyncApi {
@@ -297,4 +324,10 @@ class _FakeSharedPreferencesApi implements SharedPreferencesAsyncApi {
     items[key] = value;
     return true;
   }
+
+  @override
+  Future<void> setAll(Map<String?, Object?> values,
+      SharedPreferencesPigeonOptions options) async {
+    items.addAll(values.cast<String, Object>());
+  }
 }